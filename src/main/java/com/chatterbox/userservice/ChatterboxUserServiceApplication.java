@@ -1,12 +1,14 @@
 package com.chatterbox.userservice;
 
+import com.chatterbox.userservice.config.UserRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class})
+@SpringBootApplication
+@ImportRuntimeHints(UserRuntimeHints.class)
 public class ChatterboxUserServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(ChatterboxUserServiceApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.chatterbox.userservice.batching;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for group commit of user registrations, bound from `chatterbox.insert-batching.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   insert-batching:
+ *     window: 2ms
+ *     max-batch-size: 128
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.insert-batching")
+public class InsertBatchingProperties {
+
+    /** When disabled, every registration is written on its own request thread. */
+    private boolean enabled = true;
+
+    /** How long a batch stays open for more inserts after its first one arrived. */
+    private Duration window = Duration.ofMillis(2);
+
+    /** A batch is written as soon as it holds this many inserts, even if the window is still open. */
+    private int maxBatchSize = 128;
+
+    /** Inserts waiting for a batch beyond this are rejected with 503. */
+    private int queueCapacity = 10_000;
+}
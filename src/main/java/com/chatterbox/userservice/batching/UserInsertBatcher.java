@@ -0,0 +1,231 @@
+package com.chatterbox.userservice.batching;
+
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.exception.UserAlreadyExistsException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.resilience.Deadline;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * UserInsertBatcher coalesces concurrent user registrations into unordered bulk inserts (group
+ * commit), so that a surge of independent `POST /api/users/register` requests costs MongoDB a few
+ * bulk writes instead of one round trip and one journal commit per user.
+ *
+ * Request threads put their insert on a bounded queue and block until it has been written. A
+ * single flusher thread takes the first waiting insert, keeps the batch open for `window` or until
+ * `max-batch-size` inserts have joined, and writes it with `UserRepository.insertUnordered`, which
+ * goes through the circuit breaker like every repository call. A lone registration therefore waits
+ * at most `window` longer than before; under load the batches fill up and are written back to back.
+ *
+ * Every caller gets its own outcome:
+ * - a duplicate key rejected by the unique indexes fails only that caller, with a
+ *   `UserAlreadyExistsException` (409); the rest of the batch is inserted;
+ * - a failure of the whole write (e.g. MongoDB unreachable, breaker open) fails every insert of
+ *   that batch, and only of that batch;
+ * - a caller whose `Deadline` runs out while waiting gets a `DeadlineExceededException`. An insert
+ *   still queued is withdrawn, so that user is not stored; one already being written may still be
+ *   stored.
+ *
+ * The users of a batch get their `createdAt` and `updatedAt` when the batch is written, not when
+ * they were queued, so the time spent waiting for the batch does not separate a user's timestamps
+ * from its commit (see `UserChangeFeed`).
+ *
+ * The `onInserted` callback of each stored user runs before its caller is released, on the thread
+ * that wrote the batch, also when the caller has given up waiting. Whatever has to follow a stored
+ * user (change events, counters) belongs there, so it happens exactly when the user was stored.
+ *
+ * When the queue is full, registrations are rejected with a `ServiceUnavailableException` (503)
+ * instead of piling up. With `enabled: false` inserts are written on the calling thread, through
+ * the same code path.
+ *
+ * Key Methods:
+ * - `insert(User user, Runnable onInserted)`: Inserts the user, assigning its id, and returns once
+ *   it is stored.
+ */
+@Component
+@EnableConfigurationProperties(InsertBatchingProperties.class)
+@Log4j2
+public class UserInsertBatcher {
+
+    private final UserRepository userRepository;
+    private final InsertBatchingProperties properties;
+    private final BlockingQueue<PendingInsert> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public UserInsertBatcher(UserRepository userRepository, InsertBatchingProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.flusher = new Thread(this::run, "user-insert-batcher");
+        flusher.setDaemon(true);
+        if (properties.isEnabled()) {
+            flusher.start();
+        }
+    }
+
+    public void insert(User user, Runnable onInserted) {
+        PendingInsert pending = new PendingInsert(user, onInserted);
+        if (!properties.isEnabled()) {
+            write(List.of(pending));
+        } else if (!running || !queue.offer(pending)) {
+            throw new ServiceUnavailableException("Too many registrations in progress, please retry later.", 1);
+        }
+        await(pending);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void await(PendingInsert pending) {
+        Optional<Duration> remaining = Deadline.remaining();
+        try {
+            if (remaining.isPresent()) {
+                pending.result.get(Math.max(0, remaining.get().toNanos()), TimeUnit.NANOSECONDS);
+            } else {
+                pending.result.get();
+            }
+        } catch (TimeoutException ex) {
+            if (pending.take()) {
+                queue.remove(pending);
+            }
+            throw new DeadlineExceededException("Deadline exceeded while waiting for the user to be inserted");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the user to be inserted.", 1);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private void run() {
+        long windowNanos = properties.getWindow().toNanos();
+        List<PendingInsert> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long closesAt = first.enqueuedAt + windowNanos;
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    long wait = closesAt - System.nanoTime();
+                    PendingInsert next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected failure while writing a batch of {} users", batch.size(), ex);
+                batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+        ServiceUnavailableException stopped = new ServiceUnavailableException("User service is shutting down.", 1);
+        queue.forEach(pending -> pending.result.completeExceptionally(stopped));
+    }
+
+    private void write(List<PendingInsert> taken) {
+        List<PendingInsert> batch = taken.stream().filter(PendingInsert::take).toList(); // skips withdrawn ones
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<User> users = batch.stream().map(pending -> pending.user).toList();
+        // MongoDB stores milliseconds; truncating keeps the returned user equal to the stored one
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        users.forEach(user -> {
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+        });
+        List<BulkWriteError> errors;
+        try {
+            errors = userRepository.insertUnordered(users);
+        } catch (RuntimeException ex) {
+            log.warn("Bulk insert of {} users failed", users.size(), ex);
+            batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            return;
+        }
+        for (BulkWriteError error : errors) {
+            batch.get(error.getIndex()).result.completeExceptionally(translate(error, users.get(error.getIndex())));
+        }
+        for (PendingInsert pending : batch) {
+            if (!pending.result.isCompletedExceptionally()) {
+                inserted(pending);
+            }
+        }
+        log.debug("Inserted {} of {} users in one batch", users.size() - errors.size(), users.size());
+    }
+
+    private static void inserted(PendingInsert pending) {
+        try {
+            pending.onInserted.run();
+        } catch (RuntimeException ex) {
+            log.error("Callback after inserting user {} failed", pending.user.getId(), ex);
+        }
+        pending.result.complete(null);
+    }
+
+    private static RuntimeException translate(BulkWriteError error, User user) {
+        if (error.getCode() == 11000) {
+            return new UserAlreadyExistsException("User " + user.getUserName() + " or email " + user.getEmail()
+                    + " already exists.");
+        }
+        return new DataIntegrityViolationException("User " + user.getUserName() + " was rejected by the database: "
+                + error.getMessage());
+    }
+
+    private static final class PendingInsert {
+
+        private final User user;
+        private final Runnable onInserted;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        private PendingInsert(User user, Runnable onInserted) {
+            this.user = user;
+            this.onInserted = onInserted;
+        }
+
+        /**
+         * @return true for the one caller, writer or timed out waiter, that gets to decide the insert
+         */
+        private boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+    }
+}
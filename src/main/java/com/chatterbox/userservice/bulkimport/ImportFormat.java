@@ -0,0 +1,32 @@
+package com.chatterbox.userservice.bulkimport;
+
+import java.util.Locale;
+
+/**
+ * Supported bulk import file formats.
+ *
+ * - NDJSON: one JSON `User` object per line.
+ * - CSV: a header row naming the columns (`userName`, `firstName`, `lastName`, `email`, optionally
+ *   `id`), followed by one user per row. Fields may be quoted with `"`.
+ */
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+
+    /**
+     * Picks the format from an explicit value, falling back to the file extension.
+     */
+    public static ImportFormat resolve(String explicit, String fileName) {
+        if (explicit != null && !explicit.isBlank()) {
+            return valueOf(explicit.trim().toUpperCase(Locale.ROOT));
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot determine import format of " + fileName + ", pass format=NDJSON|CSV");
+    }
+}
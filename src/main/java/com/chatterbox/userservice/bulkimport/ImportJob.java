@@ -0,0 +1,102 @@
+package com.chatterbox.userservice.bulkimport;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable progress of a single import job. Counters are updated concurrently by the batch
+ * writers and read by the status endpoint through `toStatus()`.
+ */
+class ImportJob {
+
+    @Getter
+    private final String id;
+    @Getter
+    private final Path file;
+    private final String source;
+    @Getter
+    private final ImportFormat format;
+    private final boolean deleteWhenDone;
+    private final int maxReportedErrors;
+    private final Instant submittedAt = Instant.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final Queue<ImportRowError> errors = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reportedErrors = new AtomicInteger();
+
+    private volatile ImportJobState state = ImportJobState.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    ImportJob(String id, Path file, String source, ImportFormat format, boolean deleteWhenDone, int maxReportedErrors) {
+        this.id = id;
+        this.file = file;
+        this.source = source;
+        this.format = format;
+        this.deleteWhenDone = deleteWhenDone;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    boolean deleteWhenDone() {
+        return deleteWhenDone;
+    }
+
+    boolean isFinished() {
+        return state == ImportJobState.COMPLETED || state == ImportJobState.FAILED;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = ImportJobState.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        state = ImportJobState.COMPLETED;
+    }
+
+    void fail(String reason) {
+        failure = reason;
+        finishedAt = Instant.now();
+        state = ImportJobState.FAILED;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void imported(long rows) {
+        rowsImported.addAndGet(rows);
+    }
+
+    void reject(long line, String message) {
+        rowsRejected.incrementAndGet();
+        if (reportedErrors.getAndIncrement() < maxReportedErrors) {
+            errors.add(new ImportRowError(line, message));
+        }
+    }
+
+    ImportJobStatus toStatus() {
+        Instant started = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long read = rowsRead.get();
+        double rowsPerSecond = 0;
+        if (started != null) {
+            long millis = Math.max(1, Duration.between(started, end).toMillis());
+            rowsPerSecond = read * 1000.0 / millis;
+        }
+        return new ImportJobStatus(id, source, format, state, submittedAt, started, finishedAt,
+                read, rowsImported.get(), rowsRejected.get(), rowsPerSecond, failure, List.copyOf(errors));
+    }
+}
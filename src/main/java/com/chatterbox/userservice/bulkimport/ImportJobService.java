@@ -0,0 +1,355 @@
+package com.chatterbox.userservice.bulkimport;
+
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.events.UserChangeType;
+import com.chatterbox.userservice.exception.InvalidImportRequestException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.rollup.SignupRollups;
+import com.chatterbox.userservice.validator.UserServiceValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ImportJobService runs bulk user imports from NDJSON or CSV files in the background.
+ *
+ * A job is either an uploaded file (spooled to a temporary file first, so the request returns
+ * immediately) or a file below `chatterbox.import.base-directory`. A coordinator thread streams
+ * the file row by row and cuts it into batches of `batch-size` rows. Each batch is validated with
+ * the same rules as `registerUser` (`UserServiceValidator.collectErrors`, plus username
+ * and email uniqueness within the batch and against the stored users of every partition) and the
+ * surviving rows are written with `UserRepository.insertUnordered`, which places each user in its
+ * partition and claims its user name and email. Rows rejected there, e.g. by the unique indexes
+ * when two batches in flight carry the same username, are reported per row. Every inserted
+ * user is published to the `UserChangeLog` and counted by `SignupRollups` like a registration.
+ *
+ * Batches are written by a shared pool of `parallelism` threads. The coordinator has to take a
+ * permit before handing off a batch, so a fast reader never buffers more than `parallelism`
+ * batches ahead of the writers.
+ *
+ * Key Methods:
+ * - `submitUpload(MultipartFile file, String format)`: Queues a job for an uploaded file.
+ * - `submitFile(String path, String format)`: Queues a job for a file in the import directory.
+ * - `getStatus(String jobId)`: Returns progress, throughput and per-row errors of a job.
+ * - `getAllStatuses()`: Returns all running and retained jobs, oldest first.
+ */
+@Service
+@EnableConfigurationProperties(ImportProperties.class)
+@Log4j2
+public class ImportJobService {
+
+    private final UserRepository userRepository;
+    private final UserServiceValidator validator;
+    private final UserChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties properties;
+    private final SignupRollups signupRollups;
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private final ExecutorService coordinators;
+    private final ExecutorService writers;
+    private final Semaphore writePermits;
+
+    public ImportJobService(UserRepository userRepository, UserServiceValidator validator, UserChangeLog changeLog,
+                            ObjectMapper objectMapper, ImportProperties properties, SignupRollups signupRollups) {
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.signupRollups = signupRollups;
+        this.coordinators = Executors.newFixedThreadPool(properties.getMaxConcurrentJobs(), daemonThreads("import-job"));
+        this.writers = Executors.newFixedThreadPool(properties.getParallelism(), daemonThreads("import-writer"));
+        this.writePermits = new Semaphore(properties.getParallelism());
+    }
+
+    public ImportJobStatus submitUpload(MultipartFile file, String format) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidImportRequestException("The uploaded file is empty.");
+        }
+        ImportFormat importFormat = resolveFormat(format, file.getOriginalFilename());
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("user-import-", "." + importFormat.name().toLowerCase());
+            file.transferTo(spooled);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not spool uploaded file " + file.getOriginalFilename(), ex);
+        }
+        return submit(spooled, "upload:" + file.getOriginalFilename(), importFormat, true);
+    }
+
+    public ImportJobStatus submitFile(String path, String format) {
+        if (properties.getBaseDirectory() == null || properties.getBaseDirectory().isBlank()) {
+            throw new InvalidImportRequestException("Imports from server-side files are disabled.");
+        }
+        if (path == null || path.isBlank()) {
+            throw new InvalidImportRequestException("The parameter path is mandatory.");
+        }
+        Path baseDirectory = Path.of(properties.getBaseDirectory()).toAbsolutePath().normalize();
+        Path file = baseDirectory.resolve(path).normalize();
+        if (!file.startsWith(baseDirectory)) {
+            throw new InvalidImportRequestException("Path " + path + " is outside the import directory.");
+        }
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new InvalidImportRequestException("File " + path + " does not exist or is not readable.");
+        }
+        return submit(file, "file:" + path, resolveFormat(format, file.getFileName().toString()), false);
+    }
+
+    public Optional<ImportJobStatus> getStatus(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toStatus);
+        }
+    }
+
+    public List<ImportJobStatus> getAllStatuses() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(ImportJob::toStatus).toList();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    private ImportJobStatus submit(Path file, String source, ImportFormat format, boolean deleteWhenDone) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file, source, format, deleteWhenDone,
+                properties.getMaxReportedErrors());
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            evictFinishedJobs();
+        }
+        coordinators.execute(() -> run(job));
+        return job.toStatus();
+    }
+
+    private void evictFinishedJobs() {
+        var iterator = jobs.values().iterator();
+        while (jobs.size() > properties.getRetainedJobs() && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    void run(ImportJob job) {
+        job.start();
+        Phaser pendingBatches = new Phaser(1);
+        try (BufferedReader reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8);
+             UserRecordReader records = new UserRecordReader(reader, job.getFormat(), objectMapper)) {
+            List<ImportRow> batch = new ArrayList<>(properties.getBatchSize());
+            ImportRow row;
+            while ((row = records.next()) != null) {
+                job.rowRead();
+                batch.add(row);
+                if (batch.size() == properties.getBatchSize()) {
+                    dispatch(job, batch, pendingBatches);
+                    batch = new ArrayList<>(properties.getBatchSize());
+                }
+            }
+            if (!batch.isEmpty()) {
+                dispatch(job, batch, pendingBatches);
+            }
+            pendingBatches.arriveAndAwaitAdvance();
+            job.complete();
+            ImportJobStatus status = job.toStatus();
+            log.info("Import job {} completed: {} imported, {} rejected, {} rows/s", job.getId(),
+                    status.getRowsImported(), status.getRowsRejected(), Math.round(status.getRowsPerSecond()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } catch (IOException | RuntimeException ex) {
+            log.error("Import job {} failed", job.getId(), ex);
+            pendingBatches.arriveAndAwaitAdvance();
+            job.fail(ex.getMessage());
+        } finally {
+            if (job.deleteWhenDone()) {
+                deleteQuietly(job.getFile());
+            }
+        }
+    }
+
+    private void dispatch(ImportJob job, List<ImportRow> batch, Phaser pendingBatches) throws InterruptedException {
+        writePermits.acquire();
+        pendingBatches.register();
+        try {
+            writers.execute(() -> {
+                try {
+                    writeBatch(job, batch);
+                } finally {
+                    writePermits.release();
+                    pendingBatches.arriveAndDeregister();
+                }
+            });
+        } catch (RuntimeException ex) {
+            writePermits.release();
+            pendingBatches.arriveAndDeregister();
+            throw ex;
+        }
+    }
+
+    /**
+     * Writes one batch. Whatever fails in it, validation included, rejects the rows of the batch
+     * that were neither rejected nor imported yet, so every row read is counted.
+     */
+    void writeBatch(ImportJob job, List<ImportRow> batch) {
+        List<ImportRow> unsettled = batch;
+        try {
+            unsettled = validateRows(job, batch);
+            if (unsettled.isEmpty()) {
+                return;
+            }
+            unsettled = rejectTaken(job, unsettled);
+            if (unsettled.isEmpty()) {
+                return;
+            }
+            List<ImportRow> accepted = unsettled;
+            List<User> users = accepted.stream().map(ImportRow::getUser).toList();
+            // In unordered mode every row not listed as an error was inserted
+            List<BulkWriteError> errors = userRepository.insertUnordered(users);
+            unsettled = List.of();
+            job.imported(users.size() - errors.size());
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : errors) {
+                failed.add(error.getIndex());
+                job.reject(accepted.get(error.getIndex()).getLine(), describe(error));
+            }
+            for (int i = 0; i < users.size(); i++) {
+                if (!failed.contains(i)) {
+                    signupRollups.registered(users.get(i).getCreatedAt());
+                    changeLog.publish(UserChangeType.CREATED, users.get(i).getId(), users.get(i));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Import job {}: batch of {} rows failed", job.getId(), batch.size(), ex);
+            unsettled.forEach(row -> job.reject(row.getLine(), "Batch write failed: " + ex.getMessage()));
+        }
+    }
+
+    /**
+     * Rejects the rows that do not parse or validate, or repeat a user name or email of the batch.
+     */
+    private List<ImportRow> validateRows(ImportJob job, List<ImportRow> batch) {
+        List<ImportRow> valid = new ArrayList<>(batch.size());
+        Set<String> userNames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : batch) {
+            if (row.getParseError() != null) {
+                job.reject(row.getLine(), row.getParseError());
+                continue;
+            }
+            User user = row.getUser();
+            Map<String, String> errors = validator.collectErrors(user);
+            if (!errors.isEmpty()) {
+                job.reject(row.getLine(), String.join(" ", errors.values()));
+                continue;
+            }
+            if (!userNames.add(user.getUserName())) {
+                job.reject(row.getLine(), "Username " + user.getUserName() + " appears more than once in the file.");
+            } else if (!emails.add(user.getEmail())) {
+                job.reject(row.getLine(), "Email " + user.getEmail() + " appears more than once in the file.");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Rejects the rows whose user name or email is held by a stored user and stamps the others.
+     */
+    private List<ImportRow> rejectTaken(ImportJob job, List<ImportRow> valid) {
+        Set<String> userNames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        valid.forEach(row -> {
+            userNames.add(row.getUser().getUserName());
+            emails.add(row.getUser().getEmail());
+        });
+        Set<String> takenUserNames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (User user : userRepository.findAllHolding(userNames, emails)) {
+            takenUserNames.add(user.getUserName());
+            takenEmails.add(user.getEmail());
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(valid.size());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (ImportRow row : valid) {
+            User user = row.getUser();
+            if (takenUserNames.contains(user.getUserName())) {
+                job.reject(row.getLine(), "Username " + user.getUserName() + " already exists.");
+            } else if (takenEmails.contains(user.getEmail())) {
+                job.reject(row.getLine(), "Email " + user.getEmail() + " already exists.");
+            } else {
+                if (user.getId() == null) {
+                    user.setId(new ObjectId().toHexString());
+                }
+                user.setCreatedAt(now);
+                user.setUpdatedAt(now);
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private static String describe(BulkWriteError error) {
+        if (error.getCode() == 11000) {
+            return "User already exists: " + error.getMessage();
+        }
+        return "Rejected by the database: " + error.getMessage();
+    }
+
+    private static ImportFormat resolveFormat(String format, String fileName) {
+        try {
+            return ImportFormat.resolve(format, fileName);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidImportRequestException(ex.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled import file {}", file, ex);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
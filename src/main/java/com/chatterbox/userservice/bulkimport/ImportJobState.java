@@ -0,0 +1,13 @@
+package com.chatterbox.userservice.bulkimport;
+
+/**
+ * Lifecycle of an import job: QUEUED until a coordinator thread picks it up, RUNNING while rows
+ * are streamed, then COMPLETED (possibly with rejected rows) or FAILED when the file itself could
+ * not be read.
+ */
+public enum ImportJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
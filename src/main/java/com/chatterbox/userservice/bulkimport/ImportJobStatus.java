@@ -0,0 +1,31 @@
+package com.chatterbox.userservice.bulkimport;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Point-in-time snapshot of an import job, as returned by the job status endpoint.
+ *
+ * `rowsRead` counts every non-blank data row parsed so far; each one ends up either in
+ * `rowsImported` or in `rowsRejected` once its batch has been written. `rowsPerSecond` is the
+ * number of rows read per second of wall-clock time since the job started. `errors` holds the
+ * first `chatterbox.import.max-reported-errors` rejected rows.
+ */
+@Value
+public class ImportJobStatus {
+    String id;
+    String source;
+    ImportFormat format;
+    ImportJobState state;
+    Instant submittedAt;
+    Instant startedAt;
+    Instant finishedAt;
+    long rowsRead;
+    long rowsImported;
+    long rowsRejected;
+    double rowsPerSecond;
+    String failure;
+    List<ImportRowError> errors;
+}
@@ -0,0 +1,37 @@
+package com.chatterbox.userservice.bulkimport;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for bulk import jobs, bound from `chatterbox.import.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   import:
+ *     base-directory: /var/lib/chatterbox/imports
+ *     batch-size: 1000
+ *     parallelism: 4
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.import")
+public class ImportProperties {
+
+    /** Directory server-side files may be imported from; path imports are disabled when empty. */
+    private String baseDirectory = "";
+
+    /** Rows validated and written per bulk insert. */
+    private int batchSize = 1000;
+
+    /** Bulk inserts in flight at once across all running jobs. */
+    private int parallelism = 4;
+
+    /** Jobs parsed concurrently; further jobs wait in QUEUED. */
+    private int maxConcurrentJobs = 2;
+
+    /** Per-row errors kept per job; further errors are only counted. */
+    private int maxReportedErrors = 1000;
+
+    /** Finished jobs kept for the status endpoint; the oldest are forgotten first. */
+    private int retainedJobs = 100;
+}
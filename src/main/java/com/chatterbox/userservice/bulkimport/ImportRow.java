@@ -0,0 +1,22 @@
+package com.chatterbox.userservice.bulkimport;
+
+import com.chatterbox.userservice.model.User;
+import lombok.Value;
+
+/**
+ * One parsed line of an import file. Exactly one of `user` and `parseError` is set.
+ */
+@Value
+public class ImportRow {
+    long line;
+    User user;
+    String parseError;
+
+    static ImportRow parsed(long line, User user) {
+        return new ImportRow(line, user, null);
+    }
+
+    static ImportRow unparseable(long line, String parseError) {
+        return new ImportRow(line, null, parseError);
+    }
+}
@@ -0,0 +1,12 @@
+package com.chatterbox.userservice.bulkimport;
+
+import lombok.Value;
+
+/**
+ * A rejected row: its 1-based line number in the source file and the reason.
+ */
+@Value
+public class ImportRowError {
+    long line;
+    String message;
+}
@@ -0,0 +1,129 @@
+package com.chatterbox.userservice.bulkimport;
+
+import com.chatterbox.userservice.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * UserRecordReader streams `User` records out of an NDJSON or CSV source one line at a time, so
+ * files of any size are imported with constant memory. Lines that cannot be parsed are returned
+ * as `ImportRow.unparseable` rather than failing the whole file.
+ *
+ * Blank lines are skipped. Line numbers are 1-based and count the CSV header.
+ */
+public class UserRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private long line;
+    private List<String> header;
+
+    public UserRecordReader(BufferedReader reader, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next row, or null at the end of the source
+     */
+    public ImportRow next() {
+        try {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV && header == null) {
+                    header = parseCsvLine(text).stream().map(String::trim).toList();
+                    continue;
+                }
+                return format == ImportFormat.NDJSON ? parseJson(text) : parseCsv(text);
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private ImportRow parseJson(String text) {
+        try {
+            return ImportRow.parsed(line, objectMapper.readValue(text, User.class));
+        } catch (JsonProcessingException ex) {
+            return ImportRow.unparseable(line, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private ImportRow parseCsv(String text) {
+        List<String> values;
+        try {
+            values = parseCsvLine(text);
+        } catch (IllegalArgumentException ex) {
+            return ImportRow.unparseable(line, ex.getMessage());
+        }
+        if (values.size() != header.size()) {
+            return ImportRow.unparseable(line, "Expected " + header.size() + " columns but found " + values.size());
+        }
+        User user = new User();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (header.get(i).toLowerCase(Locale.ROOT)) {
+                case "id" -> user.setId(value);
+                case "username" -> user.setUserName(value);
+                case "firstname" -> user.setFirstName(value);
+                case "lastname" -> user.setLastName(value);
+                case "email" -> user.setEmail(value);
+                default -> {
+                    // unknown columns are ignored
+                }
+            }
+        }
+        return ImportRow.parsed(line, user);
+    }
+
+    static List<String> parseCsvLine(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.chatterbox.userservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Creates the `UserResponseCache` and registers the `UserResponseConverter` ahead of the Jackson
+ * converter, so that single-user responses are written from the cache.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfiguration implements WebMvcConfigurer {
+
+    private final UserResponseCache cache;
+
+    public ResponseCacheConfiguration(ObjectMapper objectMapper, ResponseCacheProperties properties) {
+        this.cache = new UserResponseCache(objectMapper, properties);
+    }
+
+    @Bean
+    public UserResponseCache userResponseCache() {
+        return cache;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new UserResponseConverter(cache));
+    }
+}
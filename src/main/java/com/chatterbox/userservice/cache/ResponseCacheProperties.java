@@ -0,0 +1,23 @@
+package com.chatterbox.userservice.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the cache of encoded user responses, bound from `chatterbox.response-cache.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   response-cache:
+ *     max-entries: 10000
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.response-cache")
+public class ResponseCacheProperties {
+
+    /** When disabled, every user response is serialized again. */
+    private boolean enabled = true;
+
+    /** Users whose encoded responses are kept; the least recently served are dropped first. */
+    private int maxEntries = 10_000;
+}
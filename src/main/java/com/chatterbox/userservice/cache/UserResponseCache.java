@@ -0,0 +1,174 @@
+package com.chatterbox.userservice.cache;
+
+import com.chatterbox.userservice.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserResponseCache keeps the encoded response bytes of recently served users, so that reading
+ * the same profile again costs a lookup and an `equals` instead of a full Jackson serialization.
+ *
+ * Entries are kept per user id, with one slot per supported content type (JSON today). An entry
+ * remembers the `User` it was encoded from and is only served for an equal user, so a response can
+ * never be older than the document it was served for, even if an update races with the read that
+ * filled the entry. `UserService` additionally drops a user's entry on every update and delete,
+ * which frees the memory right away.
+ *
+ * The cache holds at most `max-entries` users. Eviction follows the CLOCK (second chance) policy:
+ * users are queued in insertion order, and a user that was served again since it last reached the
+ * head of the queue is moved to the tail instead of being dropped. The queue holds the entries
+ * themselves, so an entry that was replaced or invalidated is recognized and skipped when it comes
+ * up; such dead entries are swept from the queue once they outnumber `max-entries`.
+ *
+ * Key Methods:
+ * - `encode(User user, MediaType mediaType)`: Returns the encoded response for the user, from the
+ *   cache when it holds an entry for an equal user.
+ * - `invalidate(String id)`: Drops the entry of one user.
+ * - `invalidateAll()`: Drops every entry.
+ */
+public class UserResponseCache {
+
+    static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheProperties properties;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger live = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock evicting = new ReentrantLock();
+
+    public UserResponseCache(ObjectMapper objectMapper, ResponseCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public byte[] encode(User user, MediaType mediaType) {
+        int slot = slotOf(mediaType);
+        if (!properties.isEnabled() || user.getId() == null) {
+            return serialize(user);
+        }
+        Entry entry = entries.get(user.getId());
+        if (entry != null && entry.user.equals(user)) {
+            if (!entry.referenced) { // hot entries are read by many threads; skip the redundant volatile write
+                entry.referenced = true;
+            }
+        } else {
+            entry = new Entry(user);
+            Entry previous = entries.put(user.getId(), entry);
+            if (previous != null) {
+                previous.removed = true;
+            } else {
+                live.incrementAndGet();
+            }
+            clock.add(entry);
+            if (queued.incrementAndGet() > 2 * properties.getMaxEntries() || live.get() > properties.getMaxEntries()) {
+                evict();
+            }
+        }
+        byte[] bytes = entry.encoded.get(slot);
+        if (bytes == null) {
+            bytes = serialize(user);
+            entry.encoded.lazySet(slot, bytes);
+        }
+        return bytes;
+    }
+
+    public void invalidate(String id) {
+        if (id != null) {
+            removed(entries.remove(id));
+        }
+    }
+
+    public void invalidateAll() {
+        entries.keySet().forEach(this::invalidate);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    private void removed(Entry entry) {
+        if (entry != null) {
+            entry.removed = true;
+            live.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs on one thread at a time; a thread finding it busy leaves the work to the one inside.
+     */
+    private void evict() {
+        if (!evicting.tryLock()) {
+            return;
+        }
+        try {
+            while (live.get() > properties.getMaxEntries()) {
+                Entry entry = clock.poll();
+                if (entry == null) {
+                    return;
+                }
+                if (entry.removed) {
+                    queued.decrementAndGet();
+                } else if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.add(entry);
+                } else {
+                    queued.decrementAndGet();
+                    if (entries.remove(entry.user.getId(), entry)) {
+                        removed(entry);
+                    }
+                }
+            }
+            if (queued.get() > 2 * properties.getMaxEntries()) {
+                int[] swept = new int[1];
+                clock.removeIf(entry -> entry.removed && ++swept[0] > 0);
+                queued.addAndGet(-swept[0]);
+            }
+        } finally {
+            evicting.unlock();
+        }
+    }
+
+    private static int slotOf(MediaType mediaType) {
+        for (int i = 0; i < SUPPORTED_MEDIA_TYPES.size(); i++) {
+            if (SUPPORTED_MEDIA_TYPES.get(i).isCompatibleWith(mediaType)) {
+                return i;
+            }
+        }
+        throw new HttpMessageNotWritableException("Cannot encode a user as " + mediaType);
+    }
+
+    private byte[] serialize(User user) {
+        try {
+            return objectMapper.writeValueAsBytes(user);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write user " + user.getId() + " as JSON", ex);
+        }
+    }
+
+    private static final class Entry {
+
+        private final User user;
+        private final AtomicReferenceArray<byte[]> encoded = new AtomicReferenceArray<>(SUPPORTED_MEDIA_TYPES.size());
+        private volatile boolean referenced;
+        private volatile boolean removed;
+
+        private Entry(User user) {
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.chatterbox.userservice.cache;
+
+import com.chatterbox.userservice.model.User;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * UserResponseConverter writes `User` response bodies (`GET /api/users/{id}` and
+ * `GET /api/users/username/{username}`) from the `UserResponseCache`: the encoded bytes are copied
+ * straight to the response output stream, with their `Content-Length`. The bytes are those Jackson
+ * would have written.
+ *
+ * It only writes single users; request bodies, lists and every other type are still handled by
+ * the Jackson converter.
+ */
+public class UserResponseConverter extends AbstractHttpMessageConverter<User> {
+
+    private final UserResponseCache cache;
+
+    public UserResponseConverter(UserResponseCache cache) {
+        super(UserResponseCache.SUPPORTED_MEDIA_TYPES.toArray(MediaType[]::new));
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return User.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected User readInternal(Class<? extends User> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("UserResponseConverter only writes users", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(User user, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        byte[] body = cache.encode(user, contentType != null ? contentType : MediaType.APPLICATION_JSON);
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
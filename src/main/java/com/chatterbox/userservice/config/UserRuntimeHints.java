@@ -0,0 +1,39 @@
+package com.chatterbox.userservice.config;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserLookupEntry;
+import com.chatterbox.userservice.model.UserTombstone;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * UserRuntimeHints registers the reflection metadata required to run the service as a
+ * GraalVM native image.
+ *
+ * The `User` document is created, read and written reflectively by both Jackson (request and
+ * response bodies) and the Spring Data MongoDB mapping layer. Spring AOT infers most of this
+ * from the repository, but the hints (also for the `UserTombstone` and `UserLookupEntry` documents) are declared explicitly so that the native executable
+ * does not depend on what the AOT engine happens to discover.
+ *
+ * The registrar is applied through `@ImportRuntimeHints` on the application class and is only
+ * consulted at build time (`mvn -Pfast-startup,native native:compile`).
+ */
+public class UserRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(User.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(UserTombstone.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(UserLookupEntry.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+    }
+}
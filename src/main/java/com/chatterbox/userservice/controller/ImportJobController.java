@@ -0,0 +1,76 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.bulkimport.ImportJobService;
+import com.chatterbox.userservice.bulkimport.ImportJobStatus;
+import com.chatterbox.userservice.exception.ImportJobNotFoundException;
+import com.chatterbox.userservice.ratelimit.EndpointTier;
+import com.chatterbox.userservice.ratelimit.RateLimitTier;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * ImportJobController exposes bulk user imports as asynchronous jobs.
+ *
+ * Key Endpoints:
+ * - `POST /api/users/imports`: Uploads an NDJSON or CSV file (multipart field `file`) and queues an
+ *   import job for it. The format is taken from the optional `format` parameter or from the file
+ *   extension (`.ndjson`, `.jsonl`, `.csv`).
+ * - `POST /api/users/imports/from-file?path=...`: Queues an import job for a file below the
+ *   configured `chatterbox.import.base-directory`, for files too large to upload.
+ * - `GET /api/users/imports/{jobId}`: Returns the job state, row counters, throughput and the
+ *   per-row errors collected so far.
+ * - `GET /api/users/imports`: Lists running and recently finished jobs.
+ *
+ * Both submit endpoints answer 202 Accepted with the initial job status and a `Location` header
+ * pointing at the status endpoint.
+ */
+@RestController
+@RequestMapping("/api/users/imports")
+@AllArgsConstructor
+@Log4j2
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @RateLimitTier(EndpointTier.EXPENSIVE)
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobStatus> uploadImport(@RequestParam("file") MultipartFile file,
+                                                        @RequestParam(value = "format", required = false) String format) {
+        return accepted(importJobService.submitUpload(file, format));
+    }
+
+    @RateLimitTier(EndpointTier.EXPENSIVE)
+    @PostMapping("/from-file")
+    public ResponseEntity<ImportJobStatus> fileImport(@RequestParam("path") String path,
+                                                      @RequestParam(value = "format", required = false) String format) {
+        return accepted(importJobService.submitFile(path, format));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobStatus> getImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobService.getStatus(jobId).orElseThrow(() ->
+                new ImportJobNotFoundException("Import job " + jobId + " not found")));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJobStatus>> getImports() {
+        return ResponseEntity.ok(importJobService.getAllStatuses());
+    }
+
+    private static ResponseEntity<ImportJobStatus> accepted(ImportJobStatus status) {
+        log.info("Import job {} accepted for {}", status.getId(), status.getSource());
+        return ResponseEntity.accepted().location(URI.create("/api/users/imports/" + status.getId())).body(status);
+    }
+}
@@ -0,0 +1,43 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.index.IndexBuildStatus;
+import com.chatterbox.userservice.index.IndexReconciler;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * IndexAdminController exposes the state of the declared MongoDB indexes to operators.
+ *
+ * Key Endpoints:
+ * - `GET /api/admin/indexes`: Lists every declared index with its build state and, for an index
+ *   that is currently being built, the `done`/`total` progress reported by MongoDB.
+ * - `POST /api/admin/indexes/reconcile`: Triggers a new background reconciliation pass, e.g. after
+ *   an index was dropped manually or a CONFLICT was resolved.
+ */
+@RestController
+@RequestMapping("/api/admin/indexes")
+@AllArgsConstructor
+@Log4j2
+public class IndexAdminController {
+
+    private final IndexReconciler indexReconciler;
+
+    @GetMapping
+    public ResponseEntity<List<IndexBuildStatus>> getIndexStatus() {
+        return ResponseEntity.ok(indexReconciler.getStatus());
+    }
+
+    @PostMapping("/reconcile")
+    public ResponseEntity<String> reconcile() {
+        log.info("Request received to reconcile indexes");
+        indexReconciler.reconcileAsync();
+        return ResponseEntity.accepted().body("Index reconciliation scheduled");
+    }
+}
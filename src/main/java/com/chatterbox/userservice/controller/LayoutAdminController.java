@@ -0,0 +1,40 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.layout.LayoutMigrationStatus;
+import com.chatterbox.userservice.layout.UserLayoutMigrator;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * LayoutAdminController lets operators rewrite the stored users to the compact document layout.
+ *
+ * Key Endpoints:
+ * - `POST /api/admin/layout/migration`: Starts the `UserLayoutMigrator` in the background, unless
+ *   it is already running, and returns its status. Outside the MIGRATE and COMPACT phases nothing
+ *   is started and the status is FAILED.
+ * - `GET /api/admin/layout/migration`: Returns the status of the current or last run.
+ */
+@RestController
+@RequestMapping("/api/admin/layout")
+@AllArgsConstructor
+@Log4j2
+public class LayoutAdminController {
+
+    private final UserLayoutMigrator migrator;
+
+    @PostMapping("/migration")
+    public ResponseEntity<LayoutMigrationStatus> migrate() {
+        log.info("Request received to migrate users to the compact layout");
+        return ResponseEntity.accepted().body(migrator.migrateAsync());
+    }
+
+    @GetMapping("/migration")
+    public ResponseEntity<LayoutMigrationStatus> getMigrationStatus() {
+        return ResponseEntity.ok(migrator.getStatus());
+    }
+}
@@ -0,0 +1,40 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.partition.RebalanceStatus;
+import com.chatterbox.userservice.partition.UserRebalancer;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * PartitionAdminController lets operators move users to their partitions after the list of
+ * partition databases changed.
+ *
+ * Key Endpoints:
+ * - `POST /api/admin/partitions/rebalance`: Starts the `UserRebalancer` in the background, unless it
+ *   is already running, and returns its status.
+ * - `GET /api/admin/partitions/rebalance`: Returns the status of the current or last run.
+ */
+@RestController
+@RequestMapping("/api/admin/partitions")
+@AllArgsConstructor
+@Log4j2
+public class PartitionAdminController {
+
+    private final UserRebalancer rebalancer;
+
+    @PostMapping("/rebalance")
+    public ResponseEntity<RebalanceStatus> rebalance() {
+        log.info("Request received to rebalance users across partitions");
+        return ResponseEntity.accepted().body(rebalancer.rebalanceAsync());
+    }
+
+    @GetMapping("/rebalance")
+    public ResponseEntity<RebalanceStatus> getRebalanceStatus() {
+        return ResponseEntity.ok(rebalancer.getStatus());
+    }
+}
@@ -0,0 +1,76 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.profiling.ContinuousRecording;
+import com.chatterbox.userservice.profiling.RecordingMode;
+import com.chatterbox.userservice.profiling.RecordingStatus;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ProfilingController lets operators control the continuous Java Flight Recorder recording.
+ *
+ * Key Endpoints:
+ * - `GET /api/admin/profiling/recording`: Returns whether the recording runs and with which settings.
+ * - `POST /api/admin/profiling/recording/start?mode=ALLOCATION`: (Re)starts the recording in the given
+ *   `RecordingMode` (`DEFAULT` if omitted).
+ * - `POST /api/admin/profiling/recording/stop`: Stops the recording and discards its buffer.
+ * - `GET /api/admin/profiling/recording/dump`: Downloads the current ring buffer as a `.jfr` file,
+ *   e.g. `curl -o spike.jfr localhost:8080/api/admin/profiling/recording/dump`. The recording keeps running.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling/recording")
+@AllArgsConstructor
+@Log4j2
+public class ProfilingController {
+
+    private final ContinuousRecording recording;
+
+    @GetMapping
+    public ResponseEntity<RecordingStatus> getStatus() {
+        return ResponseEntity.ok(recording.status());
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<RecordingStatus> start(@RequestParam(value = "mode", defaultValue = "DEFAULT") RecordingMode mode) {
+        log.info("Request received to start the continuous recording in {} mode", mode);
+        return ResponseEntity.ok(recording.start(mode));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<RecordingStatus> stop() {
+        log.info("Request received to stop the continuous recording");
+        return ResponseEntity.ok(recording.stop());
+    }
+
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dump() throws IOException {
+        Path file = recording.dump();
+        StreamingResponseBody body = output -> {
+            try {
+                Files.copy(file, output);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+}
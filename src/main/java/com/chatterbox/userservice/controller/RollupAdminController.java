@@ -0,0 +1,40 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.rollup.RollupBackfillStatus;
+import com.chatterbox.userservice.rollup.SignupRollupBackfill;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * RollupAdminController lets operators count the registrations and deletions that happened before
+ * the signup rollups were deployed.
+ *
+ * Key Endpoints:
+ * - `POST /api/admin/rollups/backfill`: Starts the `SignupRollupBackfill` in the background, unless
+ *   it is already running, and returns its status.
+ * - `GET /api/admin/rollups/backfill`: Returns the status of the current or last run.
+ */
+@RestController
+@RequestMapping("/api/admin/rollups")
+@AllArgsConstructor
+@Log4j2
+public class RollupAdminController {
+
+    private final SignupRollupBackfill backfill;
+
+    @PostMapping("/backfill")
+    public ResponseEntity<RollupBackfillStatus> backfill() {
+        log.info("Request received to backfill the signup rollups");
+        return ResponseEntity.accepted().body(backfill.backfillAsync());
+    }
+
+    @GetMapping("/backfill")
+    public ResponseEntity<RollupBackfillStatus> getBackfillStatus() {
+        return ResponseEntity.ok(backfill.getStatus());
+    }
+}
@@ -0,0 +1,39 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.rollup.RollupGranularity;
+import com.chatterbox.userservice.rollup.SignupRollupPoint;
+import com.chatterbox.userservice.rollup.SignupRollups;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * SignupRollupController serves registration and deletion counts over time for growth dashboards.
+ *
+ * Key Endpoints:
+ * - `GET /api/users/stats/signups?granularity=HOUR&from=2025-05-06T00:00:00Z&to=2025-05-07T00:00:00Z`:
+ *   Returns one point per hour or day (the default) overlapping `[from, to)`, read from the
+ *   precomputed rollups.
+ */
+@RestController
+@RequestMapping("/api/users/stats/signups")
+@AllArgsConstructor
+public class SignupRollupController {
+
+    private final SignupRollups rollups;
+
+    @GetMapping
+    public ResponseEntity<List<SignupRollupPoint>> getSignups(
+            @RequestParam(value = "granularity", defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(rollups.series(granularity, from, to));
+    }
+}
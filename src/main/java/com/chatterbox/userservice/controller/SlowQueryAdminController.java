@@ -0,0 +1,42 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.slowquery.SlowQueryEntry;
+import com.chatterbox.userservice.slowquery.SlowQueryLog;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * SlowQueryAdminController exposes the slow-query log to operators.
+ *
+ * Key Endpoints:
+ * - `GET /api/admin/slow-queries`: Lists every slow query shape, the one with the most total time
+ *   first, with its timings, the `UserService` operations that sent it and its query plan.
+ * - `DELETE /api/admin/slow-queries`: Clears the log, e.g. to check that a new index took effect.
+ */
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@AllArgsConstructor
+@Log4j2
+public class SlowQueryAdminController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @GetMapping
+    public ResponseEntity<List<SlowQueryEntry>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryLog.getEntries());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        log.info("Request received to clear the slow-query log");
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
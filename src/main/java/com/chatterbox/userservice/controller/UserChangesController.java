@@ -0,0 +1,36 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.sync.UserChangeFeed;
+import com.chatterbox.userservice.sync.UserChangesPage;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * UserChangesController serves the delta sync feed for clients that cache users locally.
+ *
+ * Key Endpoints:
+ * - `GET /api/users/changes?since=2025-05-06T10:45:00Z&limit=500`: Returns the inserts, updates and
+ *   deletions after `since`, oldest first. Clients continue with the returned `nextSince` and keep
+ *   requesting while `hasMore` is true.
+ */
+@RestController
+@RequestMapping("/api/users/changes")
+@AllArgsConstructor
+public class UserChangesController {
+
+    private final UserChangeFeed changeFeed;
+
+    @GetMapping
+    public ResponseEntity<UserChangesPage> getChanges(
+            @RequestParam("since") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(changeFeed.changesSince(since, limit));
+    }
+}
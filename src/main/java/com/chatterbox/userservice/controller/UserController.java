@@ -1,8 +1,9 @@
 package com.chatterbox.userservice.controller;
 
 import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.ratelimit.EndpointTier;
+import com.chatterbox.userservice.ratelimit.RateLimitTier;
 import com.chatterbox.userservice.service.UserService;
-import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
@@ -31,13 +32,20 @@ import java.util.Map;
  * - `GET /{id}`: Retrieves a user by their unique ID.
  * - `GET /username/{username}`: Retrieves a user by their username.
  * - `GET /`: Retrieves a list of all users.
+ * - `POST /{id}/heartbeat`: Records that the user is active now; answers 204 without reading the user.
  * - `DELETE /delete/{id}`: Deletes a user by their unique ID.
  * - `DELETE /deleteAll`: Deletes all users from the system.
  * - `RequestMapping "/**"`: Fallback handler for invalid or non-existent endpoints, returning a 404 error.
 
+ * Requests are rate limited per client by the `RateLimitInterceptor`; `@RateLimitTier` marks the handlers
+ * that scan or wipe the whole collection as EXPENSIVE so they draw from a smaller budget. Heartbeats
+ * only touch memory and are sent every few seconds, so they draw from the READ budget.
+ *
  * The controller delegates business logic to the `UserService` class for processing user data.
- * It uses `@Valid` to ensure incoming data is validated according to the constraints set on the `User` model.
- * Logging is enabled to track user operations and any issues with the requests.
+ * Request bodies are validated once, by `UserService` through the `UserValidationPipeline`, which reports every
+ * invalid field in a single 400 response.
+ * Per-request access logging is handled by `AccessLogFilter` (sampled, structured, no path variables);
+ * handlers only log exceptional operations such as deleting all users.
  */
 @RestController
 @RequestMapping("/api/users")
@@ -48,48 +56,51 @@ public class UserController {
     private final UserService userService;
 
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@Valid @RequestBody User user) {
-        log.info("Request received to register user with username: {}", user.getUserName());
+    public ResponseEntity<String> registerUser(@RequestBody User user) {
         String response = userService.registerUser(user);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/update")
-    public ResponseEntity<String> updateUser(@Valid @RequestBody User user) {
-        log.info("Request received to update user with id: {}", user.getId());
+    public ResponseEntity<String> updateUser(@RequestBody User user) {
         String response = userService.updateUser(user);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable String id) {
-        log.info("Fetching user with id: {}", id);
         User user = userService.getUserById(id);
         return ResponseEntity.ok(user);
     }
 
     @GetMapping("/username/{username}")
     public ResponseEntity<User> getUserByUserName(@PathVariable String username) {
-        log.info("Fetching user with username: {}", username);
         User user = userService.getUserByUserName(username);
         return ResponseEntity.ok(user);
     }
 
     @GetMapping
+    @RateLimitTier(EndpointTier.EXPENSIVE)
     public ResponseEntity<List<User>> getAllUsers() {
-        log.info("Fetching all users");
         List<User> users = userService.getAll();
         return ResponseEntity.ok(users);
     }
 
+    @PostMapping("/{id}/heartbeat")
+    @RateLimitTier(EndpointTier.READ)
+    public ResponseEntity<Void> recordHeartbeat(@PathVariable String id) {
+        userService.recordHeartbeat(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<String> deleteUser(@PathVariable String id) {
-        log.info("Request received to delete user with id: {}", id);
         String response = userService.deleteUser(id);
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/deleteAll")
+    @RateLimitTier(EndpointTier.EXPENSIVE)
     public ResponseEntity<String> deleteUserAll() {
         log.warn("Request received to delete all users");
         String response = userService.deleteAll();
@@ -0,0 +1,40 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.events.UserChangeStream;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * UserEventsController streams user change events to downstream services as Server-Sent Events.
+ *
+ * Key Endpoints:
+ * - `GET /api/users/events`: Opens an event stream. Each event is named after its change type
+ *   (`CREATED`, `UPDATED`, `DELETED`, `ALL_DELETED`) and carries its offset as SSE `id`.
+ *   - `fromOffset`: first offset to receive; without it the stream starts with the next change.
+ *   - `Last-Event-ID`: sent automatically by SSE clients on reconnect; the stream resumes after it.
+ *
+ * A `reset` event means events were lost (the subscriber resumed too late, fell too far behind,
+ * or resumed from an offset of before a restart); its `resumeOffset` is where the stream continues.
+ */
+@RestController
+@RequestMapping("/api/users/events")
+@AllArgsConstructor
+public class UserEventsController {
+
+    private final UserChangeStream changeStream;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(value = "fromOffset", required = false) Long fromOffset,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        if (fromOffset == null && lastEventId != null) {
+            fromOffset = lastEventId + 1;
+        }
+        return changeStream.subscribe(fromOffset);
+    }
+}
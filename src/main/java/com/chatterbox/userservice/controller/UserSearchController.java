@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.search.UserSearchIndex;
+import com.chatterbox.userservice.search.UserSearchResult;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * UserSearchController exposes typo-tolerant search over user names.
+ *
+ * Key Endpoints:
+ * - `GET /api/users/search?q=jon smiht&limit=10`: Returns users whose `userName`, `firstName` or
+ *   `lastName` resemble the query, best match first, each with a similarity score between 0 and 1.
+ *   Answers 503 until the in-memory search index has been loaded after startup.
+ */
+@RestController
+@RequestMapping("/api/users/search")
+@AllArgsConstructor
+public class UserSearchController {
+
+    private final UserSearchIndex searchIndex;
+
+    @GetMapping
+    public ResponseEntity<List<UserSearchResult>> searchUsers(@RequestParam("q") String query,
+                                                              @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(searchIndex.search(query, limit));
+    }
+}
@@ -0,0 +1,38 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.ratelimit.EndpointTier;
+import com.chatterbox.userservice.ratelimit.RateLimitTier;
+import com.chatterbox.userservice.stats.UserStats;
+import com.chatterbox.userservice.stats.UserStatsService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * UserStatsController exposes user counts for dashboards.
+ *
+ * Key Endpoints:
+ * - `GET /api/users/stats`: Returns the cached counts from memory, refreshed in the background.
+ * - `GET /api/users/stats?exact=true`: Counts live users with a query; rate limited like the other
+ *   collection-wide operations.
+ */
+@RestController
+@RequestMapping("/api/users/stats")
+@AllArgsConstructor
+public class UserStatsController {
+
+    private final UserStatsService statsService;
+
+    @GetMapping
+    public ResponseEntity<UserStats> getStats() {
+        return ResponseEntity.ok(statsService.getStats());
+    }
+
+    @GetMapping(params = "exact=true")
+    @RateLimitTier(EndpointTier.EXPENSIVE)
+    public ResponseEntity<UserStats> getExactStats() {
+        return ResponseEntity.ok(statsService.countExactly());
+    }
+}
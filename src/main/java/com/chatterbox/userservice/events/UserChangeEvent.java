@@ -0,0 +1,20 @@
+package com.chatterbox.userservice.events;
+
+import com.chatterbox.userservice.model.User;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A single change to the user store. `offset` is the position of the event in the change log;
+ * offsets are dense and increase by one per event, so a subscriber can resume after the last
+ * offset it has seen. `user` holds the stored state for CREATED and UPDATED and is null otherwise.
+ */
+@Value
+public class UserChangeEvent {
+    long offset;
+    UserChangeType type;
+    String userId;
+    User user;
+    Instant timestamp;
+}
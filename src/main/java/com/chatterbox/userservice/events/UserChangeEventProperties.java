@@ -0,0 +1,32 @@
+package com.chatterbox.userservice.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the user change-event stream, bound from `chatterbox.events.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   events:
+ *     buffer-capacity: 65536
+ *     heartbeat-interval: 15s
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.events")
+public class UserChangeEventProperties {
+
+    /** Events kept for resuming subscribers; rounded up to a power of two. */
+    private int bufferCapacity = 65_536;
+
+    /** Events sent to a subscriber per drain before other subscribers get a turn. */
+    private int maxBatch = 256;
+
+    /** Interval of keep-alive comments, which also detect disconnected subscribers. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** Lifetime of a single SSE connection; clients reconnect with `Last-Event-ID`. */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+}
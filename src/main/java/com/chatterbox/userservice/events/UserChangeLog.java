@@ -0,0 +1,119 @@
+package com.chatterbox.userservice.events;
+
+import com.chatterbox.userservice.model.User;
+import lombok.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * UserChangeLog is a bounded, lock-free ring buffer of the most recent `UserChangeEvent`s.
+ *
+ * Publishing claims the next offset with a single `getAndIncrement`, stores the event in its slot
+ * and notifies listeners; it never waits for readers, so the write path is unaffected by however
+ * many subscribers there are or how slow they are. When the buffer is full the oldest event is
+ * overwritten. A reader that falls more than `capacity` events behind has been lapped and learns
+ * about it from `read`, which reports the gap instead of silently skipping events. So does a
+ * reader asking for an offset past the head, e.g. one saved before a restart started the offsets
+ * over: it resumes from the head rather than waiting for the log to catch up and skipping every
+ * event before it.
+ *
+ * Key Methods:
+ * - `publish(UserChangeType type, String userId, User user)`: Appends an event; never blocks.
+ * - `read(long fromOffset, int max)`: Returns up to `max` published events starting at `fromOffset`.
+ * - `nextOffset()`: The offset the next published event will get.
+ * - `addListener(Runnable listener)`: Registers a callback run after each publish; it must not block.
+ */
+@Component
+@EnableConfigurationProperties(UserChangeEventProperties.class)
+public class UserChangeLog {
+
+    private final AtomicReferenceArray<UserChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public UserChangeLog(UserChangeEventProperties properties) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getBufferCapacity()) * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public void publish(UserChangeType type, String userId, User user) {
+        long offset = sequence.getAndIncrement();
+        slots.set(index(offset), new UserChangeEvent(offset, type, userId, user, Instant.now()));
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    public long nextOffset() {
+        return sequence.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reads published events in offset order, stopping at the first offset that has been claimed
+     * but not yet written. If `fromOffset` has already been overwritten the result is a gap that
+     * tells the reader where the retained events start; if it is past the head, a gap that
+     * resumes at the head.
+     */
+    public ReadResult read(long fromOffset, int max) {
+        long head = sequence.get();
+        long oldest = Math.max(0, head - capacity());
+        if (fromOffset < oldest) {
+            return ReadResult.gap(oldest);
+        }
+        if (fromOffset > head) {
+            return ReadResult.gap(head);
+        }
+        List<UserChangeEvent> events = new ArrayList<>(Math.min(max, (int) Math.max(0, head - fromOffset)));
+        for (long offset = fromOffset; offset < head && events.size() < max; offset++) {
+            UserChangeEvent event = slots.get(index(offset));
+            if (event == null || event.getOffset() < offset) {
+                break;
+            }
+            if (event.getOffset() > offset) {
+                // lapped while reading
+                return ReadResult.gap(Math.max(0, sequence.get() - capacity()));
+            }
+            events.add(event);
+        }
+        return new ReadResult(events, -1);
+    }
+
+    private int index(long offset) {
+        return (int) (offset & mask);
+    }
+
+    /**
+     * Events read from the log. When `resumeOffset` is not -1 the requested events are gone and
+     * the reader has to continue from `resumeOffset`.
+     */
+    @Value
+    public static class ReadResult {
+        List<UserChangeEvent> events;
+        long resumeOffset;
+
+        static ReadResult gap(long resumeOffset) {
+            return new ReadResult(List.of(), resumeOffset);
+        }
+
+        public boolean isGap() {
+            return resumeOffset >= 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.chatterbox.userservice.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserChangeStream fans the events of the `UserChangeLog` out to Server-Sent Events subscribers.
+ *
+ * Every subscriber has its own read position in the log and is drained on its own virtual thread,
+ * so a subscriber whose connection is slow only delays itself: it never holds up publishers or
+ * other subscribers. A publish only flips a flag and, at most once per burst, hands a dispatch
+ * task to the executor.
+ *
+ * A subscriber that falls so far behind that the log has overwritten events it has not received
+ * yet, or that resumes from an offset that is no longer retained, is sent a `reset` event holding
+ * the oldest retained offset and continues from there; it is expected to resynchronise the state
+ * it missed (e.g. via `GET /api/users`). One resuming from an offset the log has not reached,
+ * which happens after a restart started the offsets over, is reset to the head the same way.
+ *
+ * Each event is sent with its offset as SSE `id`, so browsers and SSE clients resume after a
+ * reconnect through the standard `Last-Event-ID` header.
+ *
+ * Key Methods:
+ * - `subscribe(Long fromOffset)`: Opens a stream starting at `fromOffset`, or at the next event when null.
+ * - `subscriberCount()`: Number of connected subscribers.
+ */
+@Service
+@Log4j2
+public class UserChangeStream {
+
+    static final String RESET_EVENT = "reset";
+
+    private final UserChangeLog changeLog;
+    private final UserChangeEventProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-change-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+    public UserChangeStream(UserChangeLog changeLog, UserChangeEventProperties properties) {
+        this.changeLog = changeLog;
+        this.properties = properties;
+        changeLog.addListener(this::onPublish);
+        long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long fromOffset) {
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, fromOffset != null ? fromOffset : changeLog.nextOffset());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void onPublish() {
+        if (dispatchPending.compareAndSet(false, true)) {
+            senders.execute(() -> {
+                dispatchPending.set(false);
+                subscribers.forEach(Subscriber::schedule);
+            });
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.forEach(subscriber -> senders.execute(() ->
+                subscriber.send(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicLong nextOffset;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, long nextOffset) {
+            this.emitter = emitter;
+            this.nextOffset = new AtomicLong(nextOffset);
+        }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (subscribers.contains(this)) {
+                    UserChangeLog.ReadResult result = changeLog.read(nextOffset.get(), properties.getMaxBatch());
+                    if (result.isGap()) {
+                        log.warn("Change-event subscriber at offset {} is reset to offset {}", nextOffset.get(),
+                                result.getResumeOffset());
+                        send(SseEmitter.event().name(RESET_EVENT)
+                                .data(Map.of("resumeOffset", result.getResumeOffset()), MediaType.APPLICATION_JSON));
+                        nextOffset.set(result.getResumeOffset());
+                        continue;
+                    }
+                    if (result.getEvents().isEmpty()) {
+                        break;
+                    }
+                    for (UserChangeEvent event : result.getEvents()) {
+                        send(SseEmitter.event()
+                                .id(Long.toString(event.getOffset()))
+                                .name(event.getType().name())
+                                .data(event, MediaType.APPLICATION_JSON));
+                        nextOffset.set(event.getOffset() + 1);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // an event published after the last read but before the flag was cleared
+            if (subscribers.contains(this) && hasPending()) {
+                schedule();
+            }
+        }
+
+        private boolean hasPending() {
+            UserChangeLog.ReadResult next = changeLog.read(nextOffset.get(), 1);
+            return next.isGap() || !next.getEvents().isEmpty();
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                // the container reports the broken connection to the emitter callbacks itself
+                subscribers.remove(this);
+            }
+        }
+    }
+}
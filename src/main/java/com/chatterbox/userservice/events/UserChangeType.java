@@ -0,0 +1,12 @@
+package com.chatterbox.userservice.events;
+
+/**
+ * Kind of change carried by a `UserChangeEvent`. `ALL_DELETED` is published by `deleteAll` and
+ * carries no user.
+ */
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    ALL_DELETED
+}
@@ -0,0 +1,25 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * DeadlineExceededException is a custom runtime exception used to indicate that an operation ran
+ * out of its time budget while waiting on the user store.
+ *
+ * It is thrown before a repository call when the operation's deadline has already passed, or when
+ * MongoDB aborts a query because its `maxTimeMS` expired. It is handled centrally by the
+ * GlobalExceptionHandler to return a 503 Service Unavailable response.
+ *
+ * Example usage:
+ * if (deadline - System.nanoTime() <= 0) {
+ *     throw new DeadlineExceededException("Deadline exceeded before findByUserName could run");
+ * }
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * IdempotencyKeyInUseException is a custom runtime exception used to signal that the request
+ * holding an idempotency key is still running and did not finish while a retry waited for it.
+ *
+ * It is mapped to a 409 Conflict HTTP response by the GlobalExceptionHandler; the client should
+ * retry later with the same key.
+ *
+ * Example usage:
+ * catch (TimeoutException ex) {
+ *     throw new IdempotencyKeyInUseException("A request with this Idempotency-Key is still in progress.");
+ * }
+ */
+public class IdempotencyKeyInUseException extends RuntimeException {
+    public IdempotencyKeyInUseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * IdempotencyKeyMismatchException is a custom runtime exception used to reject a request that
+ * reuses an idempotency key with a different payload than the request that first used the key.
+ *
+ * It is mapped to a 422 Unprocessable Entity HTTP response by the GlobalExceptionHandler.
+ *
+ * Example usage:
+ * if (!Arrays.equals(entry.getFingerprint(), fingerprint)) {
+ *     throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request.");
+ * }
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * IdempotentRequestTooLargeException is a custom runtime exception used to refuse a request with
+ * an `Idempotency-Key` whose body is larger than the idempotency filter buffers for its
+ * fingerprint.
+ *
+ * It is mapped to a 413 Payload Too Large HTTP response by the GlobalExceptionHandler; the client
+ * can send the request without the header.
+ *
+ * Example usage:
+ * if (request.getContentLengthLong() > maxRequestSize) {
+ *     throw new IdempotentRequestTooLargeException("Requests with an Idempotency-Key must not exceed 64KB.");
+ * }
+ */
+public class IdempotentRequestTooLargeException extends RuntimeException {
+    public IdempotentRequestTooLargeException(String message) {
+        super(message);
+    }
+}
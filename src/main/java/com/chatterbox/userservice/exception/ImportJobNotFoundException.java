@@ -0,0 +1,18 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * ImportJobNotFoundException is a custom runtime exception used to signal that the requested
+ * bulk import job is unknown, either because it never existed or because it finished long enough
+ * ago to have been evicted from the retained job history.
+ *
+ * It is mapped to a 404 Not Found HTTP response by the GlobalExceptionHandler.
+ *
+ * Example usage:
+ * importJobService.getStatus(jobId)
+ *     .orElseThrow(() -> new ImportJobNotFoundException("Import job " + jobId + " not found"));
+ */
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * InvalidIdempotencyKeyException is a custom runtime exception used to reject a request whose
+ * `Idempotency-Key` header is blank or longer than allowed.
+ *
+ * It is mapped to a 400 Bad Request HTTP response by the GlobalExceptionHandler.
+ *
+ * Example usage:
+ * if (key.length() > maxKeyLength) {
+ *     throw new InvalidIdempotencyKeyException("Idempotency-Key must not be longer than 255 characters.");
+ * }
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
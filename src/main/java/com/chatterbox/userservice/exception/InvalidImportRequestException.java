@@ -0,0 +1,20 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * InvalidImportRequestException is a custom runtime exception used to signal that a bulk import
+ * job could not be submitted, e.g. because the file format is unknown, the upload is empty or a
+ * server-side path lies outside the configured import directory.
+ *
+ * It is mapped to a 400 Bad Request HTTP response by the GlobalExceptionHandler. Problems with
+ * individual rows do not raise this exception; they are reported per row in the job status.
+ *
+ * Example usage:
+ * if (file.isEmpty()) {
+ *     throw new InvalidImportRequestException("The uploaded file is empty.");
+ * }
+ */
+public class InvalidImportRequestException extends RuntimeException {
+    public InvalidImportRequestException(String message) {
+        super(message);
+    }
+}
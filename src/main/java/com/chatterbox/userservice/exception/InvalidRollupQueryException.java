@@ -0,0 +1,19 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * InvalidRollupQueryException is a custom runtime exception used to signal that a signup
+ * time-series query cannot be answered, e.g. because its range is empty or spans more buckets than
+ * `chatterbox.rollups.max-points`.
+ *
+ * It is mapped to a 400 Bad Request HTTP response by the GlobalExceptionHandler.
+ *
+ * Example usage:
+ * if (!from.isBefore(to)) {
+ *     throw new InvalidRollupQueryException("from must be before to.");
+ * }
+ */
+public class InvalidRollupQueryException extends RuntimeException {
+    public InvalidRollupQueryException(String message) {
+        super(message);
+    }
+}
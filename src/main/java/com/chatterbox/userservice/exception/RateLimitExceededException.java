@@ -0,0 +1,27 @@
+package com.chatterbox.userservice.exception;
+
+import lombok.Getter;
+
+/**
+ * RateLimitExceededException is a custom runtime exception used to indicate that a client has
+ * used up its request budget for the current window.
+ *
+ * It is thrown by the `RateLimitInterceptor` before the request reaches a controller and is
+ * handled centrally by the GlobalExceptionHandler, which returns a 429 Too Many Requests response
+ * with a `Retry-After` header carrying `retryAfterSeconds`.
+ *
+ * Example usage:
+ * if (waitNanos > 0) {
+ *     throw new RateLimitExceededException("Rate limit exceeded for read requests.", 2);
+ * }
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.chatterbox.userservice.exception;
+
+/**
+ * RecordingNotActiveException is a custom runtime exception used to signal that a Java Flight
+ * Recorder dump was requested while no continuous recording is running.
+ *
+ * It is mapped to a 409 Conflict HTTP response by the GlobalExceptionHandler.
+ *
+ * Example usage:
+ * if (recording == null) {
+ *     throw new RecordingNotActiveException("No continuous recording is running; start one first.");
+ * }
+ */
+public class RecordingNotActiveException extends RuntimeException {
+    public RecordingNotActiveException(String message) {
+        super(message);
+    }
+}
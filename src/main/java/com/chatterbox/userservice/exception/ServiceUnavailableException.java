@@ -0,0 +1,27 @@
+package com.chatterbox.userservice.exception;
+
+import lombok.Getter;
+
+/**
+ * ServiceUnavailableException is a custom runtime exception used to indicate that the user store
+ * is currently considered unhealthy and the request was rejected without contacting it.
+ *
+ * It is thrown when the circuit breaker around `UserRepository` is open, and is handled centrally
+ * by the GlobalExceptionHandler to return a 503 Service Unavailable response with a `Retry-After`
+ * header.
+ *
+ * Example usage:
+ * if (!circuitBreaker.tryAcquirePermission()) {
+ *     throw new ServiceUnavailableException("User store is temporarily unavailable.", 5);
+ * }
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
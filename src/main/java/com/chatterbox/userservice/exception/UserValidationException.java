@@ -0,0 +1,33 @@
+package com.chatterbox.userservice.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * UserValidationException is a custom runtime exception used to reject a user whose fields failed
+ * validation. It carries every failing field at once, keyed by field name, as collected by the
+ * `UserValidationPipeline`.
+ *
+ * It is handled centrally by the GlobalExceptionHandler, which returns a 400 Bad Request response
+ * with the field errors as its message.
+ *
+ * Example usage:
+ * Map<String, String> errors = pipeline.validate(user);
+ * if (!errors.isEmpty()) {
+ *     throw new UserValidationException(errors);
+ * }
+ */
+public class UserValidationException extends RuntimeException {
+
+    private final Map<String, String> fieldErrors;
+
+    public UserValidationException(Map<String, String> fieldErrors) {
+        super(String.join(" ", fieldErrors.values()));
+        this.fieldErrors = Collections.unmodifiableMap(new LinkedHashMap<>(fieldErrors));
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+}
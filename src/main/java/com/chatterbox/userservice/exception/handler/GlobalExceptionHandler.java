@@ -1,19 +1,34 @@
 package com.chatterbox.userservice.exception.handler;
 
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+import com.chatterbox.userservice.exception.IdempotencyKeyInUseException;
+import com.chatterbox.userservice.exception.IdempotencyKeyMismatchException;
+import com.chatterbox.userservice.exception.IdempotentRequestTooLargeException;
+import com.chatterbox.userservice.exception.ImportJobNotFoundException;
+import com.chatterbox.userservice.exception.InvalidIdempotencyKeyException;
+import com.chatterbox.userservice.exception.InvalidImportRequestException;
+import com.chatterbox.userservice.exception.InvalidRollupQueryException;
 import com.chatterbox.userservice.exception.MandatoryFieldException;
+import com.chatterbox.userservice.exception.RateLimitExceededException;
+import com.chatterbox.userservice.exception.RecordingNotActiveException;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
 import com.chatterbox.userservice.exception.UserAlreadyExistsException;
 import com.chatterbox.userservice.exception.UserDoesNotExistException;
+import com.chatterbox.userservice.exception.UserValidationException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * GlobalExceptionHandler provides centralized exception handling across all controllers.
@@ -22,10 +37,31 @@ import java.util.stream.Collectors;
  * execution of REST API requests and returns standardized, user-friendly error responses.
  *
  * Handled Exceptions:
- * - MethodArgumentNotValidException: Captures and returns validation errors for request payloads.
+ * - UserValidationException: Returns every invalid field of a user payload, as collected by the
+ *   `UserValidationPipeline`.
+ * - MissingServletRequestParameterException / MethodArgumentTypeMismatchException: Raised for a missing
+ *   or malformed request parameter (e.g. `since` of the delta sync endpoint); answered with 400.
  * - UserAlreadyExistsException: Thrown when attempting to register a user with duplicate username/email.
  * - MandatoryFieldException: Triggered when required user input fields are missing.
  * - UserDoesNotExistException: Raised when the specified user is not found in the system.
+ * - RateLimitExceededException: Raised when a client exceeds its request budget; answered with 429 and `Retry-After`.
+ * - ServiceUnavailableException: Raised when the circuit breaker around the user store is open; answered with 503.
+ * - DeadlineExceededException: Raised when an operation runs out of its time budget; answered with 503.
+ * - InvalidImportRequestException: Raised when a bulk import job cannot be submitted; answered with 400.
+ * - ImportJobNotFoundException: Raised when an unknown bulk import job is requested; answered with 404.
+ * - InvalidRollupQueryException: Raised for a signup time-series query with an empty or too long
+ *   range; answered with 400.
+ * - RecordingNotActiveException: Raised when a JFR dump is requested without a running recording;
+ *   answered with 409.
+ * - InvalidIdempotencyKeyException: Raised for a blank or oversized `Idempotency-Key` header; answered with 400.
+ * - IdempotencyKeyMismatchException: Raised when an idempotency key is reused with a different payload;
+ *   answered with 422.
+ * - IdempotencyKeyInUseException: Raised when the request holding an idempotency key is still running;
+ *   answered with 409.
+ * - IdempotentRequestTooLargeException: Raised when a request with an idempotency key has a body
+ *   too large to fingerprint; answered with 413.
+ * - AsyncRequestTimeoutException: Raised when a long-lived event stream times out or its client went
+ *   away; the response is already committed, so it is only logged at debug level.
  * - Exception: Catch-all handler for any unanticipated runtime errors.
  *
  * Each handler returns a consistent error structure with HTTP status, timestamp, error type,
@@ -37,33 +73,37 @@ import java.util.stream.Collectors;
  *   "status": 400,
  *   "error": "Validation Error",
  *   "message": {
- *     "userName": "Username is required",
- *     "email": "Email format is invalid"
+ *     "firstName": "The field firstName is mandatory and cannot be null or empty.",
+ *     "email": "The field email must be a valid email address."
  *   }
  * }
  */
 @RestControllerAdvice
+@Log4j2
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex) {
+    @ExceptionHandler(UserValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationException(UserValidationException ex) {
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("status", HttpStatus.BAD_REQUEST.value());
         body.put("error", "Validation Error");
-
-        // Collect validation errors
-        Map<String, String> fieldErrors = ex.getBindingResult().getFieldErrors().stream()
-                .collect(Collectors.toMap(
-                        FieldError::getField,
-                        FieldError::getDefaultMessage,
-                        (existing, replacement) -> existing // in case of duplicate keys
-                ));
-
-        body.put("message", fieldErrors);
+        body.put("message", ex.getFieldErrors());
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<Map<String, Object>> handleBadRequestParameter(Exception ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Invalid value for parameter " + mismatch.getName() + ": " + mismatch.getValue()
+                : ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST); // 400 Bad Request
+    }
+
     // Handle UserAlreadyExistsException
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<Map<String, Object>> handleUserAlreadyExists(UserAlreadyExistsException ex) {
@@ -96,9 +136,130 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimitExceeded(RateLimitExceededException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(body); // 429 Too Many Requests
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(body); // 503 Service Unavailable
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceeded(DeadlineExceededException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE); // 503 Service Unavailable
+    }
+
+    @ExceptionHandler(InvalidImportRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidImportRequest(InvalidImportRequestException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST); // 400 Bad Request
+    }
+
+    @ExceptionHandler(InvalidRollupQueryException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRollupQuery(InvalidRollupQueryException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST); // 400 Bad Request
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.NOT_FOUND.value());
+        body.put("error", "Not Found");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(RecordingNotActiveException.class)
+    public ResponseEntity<Map<String, Object>> handleRecordingNotActive(RecordingNotActiveException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST); // 400 Bad Request
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.UNPROCESSABLE_ENTITY.value());
+        body.put("error", "Unprocessable Entity");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.UNPROCESSABLE_ENTITY); // 422 Unprocessable Entity
+    }
+
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyInUse(IdempotencyKeyInUseException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT); // 409 Conflict
+    }
+
+    @ExceptionHandler(IdempotentRequestTooLargeException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotentRequestTooLarge(IdempotentRequestTooLargeException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        body.put("error", "Payload Too Large");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.PAYLOAD_TOO_LARGE); // 413 Payload Too Large
+    }
+
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void handleAsyncRequestTimeout(AsyncRequestTimeoutException ex) {
+        log.debug("Asynchronous request timed out", ex);
+    }
+
     // Optional: catch-all for unexpected errors
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+        log.error("Unexpected error while processing request", ex);
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -0,0 +1,38 @@
+package com.chatterbox.userservice.idempotency;
+
+import com.chatterbox.userservice.ratelimit.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Registers the `IdempotencyFilter` for the public user API (`/api/users/*`), identifying clients
+ * by the same header and allow-listed API keys as the rate limiter.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfiguration {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties) {
+        return new IdempotencyStore(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore store, IdempotencyProperties properties, RateLimitProperties rateLimitProperties,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, properties, rateLimitProperties.getApiKeyHeader(),
+                        rateLimitProperties.getApiKeys(), exceptionResolver));
+        registration.addUrlPatterns("/api/users/*");
+        registration.setEnabled(properties.isEnabled());
+        // behind the AccessLogFilter, so that replayed responses are logged too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
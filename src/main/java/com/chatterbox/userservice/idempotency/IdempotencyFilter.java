@@ -0,0 +1,240 @@
+package com.chatterbox.userservice.idempotency;
+
+import com.chatterbox.userservice.exception.IdempotencyKeyInUseException;
+import com.chatterbox.userservice.exception.IdempotencyKeyMismatchException;
+import com.chatterbox.userservice.exception.IdempotentRequestTooLargeException;
+import com.chatterbox.userservice.exception.InvalidIdempotencyKeyException;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * IdempotencyFilter makes POST, PUT and PATCH requests to the user API safe to retry when they
+ * carry an `Idempotency-Key` header.
+ *
+ * The first request with a key claims it in the `IdempotencyStore` together with a SHA-256
+ * fingerprint of its body and runs normally; if it succeeds (2xx), its status, content type and
+ * body are stored. A retry with the same key and the same body gets the stored response replayed,
+ * marked with `Idempotent-Replayed: true`, without reaching the controller or MongoDB, so a
+ * registration whose response was lost to a client timeout no longer turns into a `409` on retry.
+ *
+ * - A retry arriving while the original request is still running waits for it (up to
+ *   `in-flight-timeout`, then `409`).
+ * - A failed request releases its key; the retry runs again.
+ * - Reusing a key with a different body is rejected with `422`.
+ * - Keys are scoped to the client and to method and path. The client is the API key header when it
+ *   holds one of the rate limiter's `api-keys`, otherwise the remote address, so that a caller
+ *   cannot pick another client's key value to reach its stored responses.
+ * - Bodies larger than `max-request-size` are refused with `413` instead of being buffered;
+ *   multipart requests, such as bulk import uploads, pass through without idempotency.
+ * - While the store is full of requests still running, new keys are rejected with `503`.
+ *
+ * Requests without the header are not affected. Errors are rendered through the
+ * `HandlerExceptionResolver`, i.e. by the GlobalExceptionHandler like any other API error.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final String clientHeader;
+    private final Set<String> apiKeys;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, String clientHeader,
+                             Set<String> apiKeys, HandlerExceptionResolver exceptionResolver) {
+        this.store = store;
+        this.properties = properties;
+        this.clientHeader = clientHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String contentType = request.getContentType();
+        return request.getHeader(properties.getHeader()) == null
+                || !(HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method) || HttpMethod.PATCH.matches(method))
+                || contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            String key = request.getHeader(properties.getHeader());
+            if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+                throw new InvalidIdempotencyKeyException(properties.getHeader() + " must be between 1 and "
+                        + properties.getMaxKeyLength() + " characters long.");
+            }
+            byte[] body = readBody(request);
+            byte[] fingerprint = sha256(body);
+            String scopedKey = clientId(request) + ' ' + request.getMethod() + ' ' + request.getRequestURI() + ' ' + key;
+            while (true) {
+                IdempotencyStore.Claim claim = store.claim(scopedKey, fingerprint);
+                if (!Arrays.equals(claim.getEntry().getFingerprint(), fingerprint)) {
+                    throw new IdempotencyKeyMismatchException(
+                            properties.getHeader() + " was already used for a request with a different body.");
+                }
+                if (claim.isAcquired()) {
+                    proceed(new CachedBodyRequest(request, body), response, chain, claim);
+                    return;
+                }
+                StoredResponse stored = awaitResponse(claim);
+                if (stored != null) {
+                    replay(stored, response);
+                    return;
+                }
+                // the request holding the key failed and released it; try to take it over
+            }
+        } catch (InvalidIdempotencyKeyException | IdempotencyKeyMismatchException | IdempotencyKeyInUseException
+                 | IdempotentRequestTooLargeException | ServiceUnavailableException ex) {
+            exceptionResolver.resolveException(request, response, null, ex);
+        }
+    }
+
+    /**
+     * Reads the body, but never more than one byte past `max-request-size`.
+     */
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        long maxSize = properties.getMaxRequestSize().toBytes();
+        byte[] body = request.getContentLengthLong() > maxSize ? null
+                : request.getInputStream().readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxSize + 1));
+        if (body == null || body.length > maxSize) {
+            throw new IdempotentRequestTooLargeException("Requests with an " + properties.getHeader()
+                    + " must not be larger than " + properties.getMaxRequestSize().toKilobytes() + "KB.");
+        }
+        return body;
+    }
+
+    private void proceed(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         IdempotencyStore.Claim claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper caching = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, caching);
+            int status = caching.getStatus();
+            if (status >= 200 && status < 300 && caching.getContentSize() <= properties.getMaxResponseSize().toBytes()) {
+                store.complete(claim, new StoredResponse(status, caching.getContentType(), caching.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(claim);
+            }
+            caching.copyBodyToResponse();
+        }
+    }
+
+    private StoredResponse awaitResponse(IdempotencyStore.Claim claim) {
+        try {
+            return claim.getEntry().awaitResponse(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyInUseException(
+                    "A request with this " + properties.getHeader() + " is still in progress. Retry later.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInUseException(
+                    "A request with this " + properties.getHeader() + " is still in progress. Retry later.");
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String apiKey = request.getHeader(clientHeader);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Serves the request body from the bytes already read for the fingerprint.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
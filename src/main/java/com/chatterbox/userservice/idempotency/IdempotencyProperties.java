@@ -0,0 +1,45 @@
+package com.chatterbox.userservice.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration for idempotent retries of writes, bound from `chatterbox.idempotency.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   idempotency:
+ *     ttl: 1h
+ *     max-entries: 50000
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    private String header = "Idempotency-Key";
+
+    /** How long a response is replayed for retries carrying the same key. */
+    private Duration ttl = Duration.ofHours(1);
+
+    /** Upper bound of remembered keys; the oldest are forgotten first once it is reached. */
+    private int maxEntries = 50_000;
+
+    private int maxKeyLength = 255;
+
+    /**
+     * Requests with a larger body are refused with a 413 rather than buffered for their fingerprint.
+     * Multipart requests, such as bulk import uploads, are never covered by idempotency keys.
+     */
+    private DataSize maxRequestSize = DataSize.ofKilobytes(64);
+
+    /** Responses larger than this are not stored; retries of such requests run again. */
+    private DataSize maxResponseSize = DataSize.ofKilobytes(64);
+
+    /** How long a retry waits for the original request that is still running before it gets a 409. */
+    private Duration inFlightTimeout = Duration.ofSeconds(10);
+}
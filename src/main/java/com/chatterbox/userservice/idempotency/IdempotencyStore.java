@@ -0,0 +1,176 @@
+package com.chatterbox.userservice.idempotency;
+
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import lombok.Value;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * IdempotencyStore remembers, per idempotency key, the fingerprint of the request that first used
+ * the key and, once that request has succeeded, its response.
+ *
+ * Entries live in a `ConcurrentHashMap`; claiming a key is a single `putIfAbsent`, so two requests
+ * racing with the same key can never both run. Every entry is also appended to a queue in creation
+ * order. Because all entries live for the same `ttl`, creation order is expiry order, and the
+ * queue head is always the next entry to go: expired entries are dropped from the head on every
+ * claim, and once the queue holds `maxEntries` entries the oldest finished ones (completed or
+ * released) are dropped even if they have not expired yet. An entry whose request is still running
+ * is never dropped early, since a retry would then run the request a second time; when nothing but
+ * running requests is left to drop, new claims are rejected with a `ServiceUnavailableException`
+ * (503) instead. Released keys stay queued until they are dropped, so the queue bounds the map,
+ * and memory is bounded by `maxEntries` stored responses.
+ *
+ * Key Methods:
+ * - `claim(String key, byte[] fingerprint)`: Claims the key, or returns the entry of the request
+ *   that already holds it. Throws `ServiceUnavailableException` when the store is full of running
+ *   requests.
+ * - `complete(Claim claim, StoredResponse response)`: Stores the response of a claimed key and
+ *   hands it to retries waiting for it.
+ * - `release(Claim claim)`: Forgets a claimed key whose request failed, so that it can be retried.
+ */
+public class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Claim> creationOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, LongSupplier clock) {
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxEntries = properties.getMaxEntries();
+        this.clock = clock;
+    }
+
+    public Claim claim(String key, byte[] fingerprint) {
+        long now = clock.getAsLong();
+        evict(now);
+        Entry fresh = new Entry(fingerprint, now + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, fresh);
+            if (existing == null) {
+                return enqueue(new Claim(key, fresh, true));
+            }
+            if (!existing.isExpired(now)) {
+                return new Claim(key, existing, false);
+            }
+            // expired but not evicted yet: take its place
+            if (entries.replace(key, existing, fresh)) {
+                return enqueue(new Claim(key, fresh, true));
+            }
+        }
+    }
+
+    public void complete(Claim claim, StoredResponse response) {
+        claim.getEntry().response.complete(response);
+    }
+
+    public void release(Claim claim) {
+        entries.remove(claim.getKey(), claim.getEntry());
+        claim.getEntry().response.complete(null);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Claim enqueue(Claim claim) {
+        creationOrder.add(claim);
+        queued.incrementAndGet();
+        return claim;
+    }
+
+    private void evict(long now) {
+        Claim oldest;
+        while ((oldest = creationOrder.peek()) != null && (oldest.getEntry().isExpired(now)
+                || (queued.get() >= maxEntries && oldest.getEntry().isFinished()))) {
+            // a concurrent claim may have taken the peeked head already; whatever is polled is just as old
+            Claim polled = creationOrder.poll();
+            if (polled != null) {
+                queued.decrementAndGet();
+                entries.remove(polled.getKey(), polled.getEntry());
+            }
+        }
+        // the head is still running: drop the oldest finished entries behind it, of which there
+        // are many unless the store is full of running requests
+        for (Claim claim : creationOrder) {
+            if (queued.get() < maxEntries) {
+                return;
+            }
+            if (claim.getEntry().isFinished() && creationOrder.remove(claim)) {
+                queued.decrementAndGet();
+                entries.remove(claim.getKey(), claim.getEntry());
+            }
+        }
+        if (queued.get() >= maxEntries) {
+            throw new ServiceUnavailableException(
+                    "Too many requests with an idempotency key are in progress, please retry later.", 1);
+        }
+    }
+
+    /**
+     * The state of one key: the request fingerprint and the eventual response, `null` when the
+     * request that held the key failed.
+     */
+    public static final class Entry {
+
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public byte[] getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Waits for the request holding the key to finish.
+         *
+         * @return its response, or `null` if it failed and the key was released
+         */
+        public StoredResponse awaitResponse(long timeout, TimeUnit unit)
+                throws InterruptedException, TimeoutException {
+            try {
+                return response.get(timeout, unit);
+            } catch (ExecutionException ex) {
+                return null;
+            }
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        private boolean isFinished() {
+            return response.isDone();
+        }
+    }
+
+    /**
+     * The result of `claim`: `acquired` is true when the caller now holds the key and must run the
+     * request, then `complete` or `release` it.
+     */
+    @Value
+    public static class Claim {
+        String key;
+        Entry entry;
+        boolean acquired;
+    }
+}
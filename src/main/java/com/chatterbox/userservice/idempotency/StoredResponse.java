@@ -0,0 +1,13 @@
+package com.chatterbox.userservice.idempotency;
+
+import lombok.Value;
+
+/**
+ * A successful response kept by the `IdempotencyStore` for replay.
+ */
+@Value
+public class StoredResponse {
+    int status;
+    String contentType;
+    byte[] body;
+}
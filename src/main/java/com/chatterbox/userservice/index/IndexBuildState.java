@@ -0,0 +1,19 @@
+package com.chatterbox.userservice.index;
+
+/**
+ * Lifecycle of a declared index as tracked by the `IndexReconciler`.
+ *
+ * - PENDING: declared and missing, waiting for its turn to be built.
+ * - BUILDING: `createIndexes` has been issued and has not returned yet.
+ * - READY: the index exists and matches its definition.
+ * - CONFLICT: an index with the same name exists but with different keys or options. The
+ *   reconciler never drops indexes on its own, so this needs an operator decision.
+ * - FAILED: the build was attempted and MongoDB rejected it (e.g. duplicate keys for a unique index).
+ */
+public enum IndexBuildState {
+    PENDING,
+    BUILDING,
+    READY,
+    CONFLICT,
+    FAILED
+}
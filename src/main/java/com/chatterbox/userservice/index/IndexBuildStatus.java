@@ -0,0 +1,32 @@
+package com.chatterbox.userservice.index;
+
+import lombok.Value;
+import lombok.With;
+
+import java.time.Instant;
+
+/**
+ * IndexBuildStatus is an immutable snapshot of one declared index, as reported by the admin
+ * endpoint. `progressDone`/`progressTotal` are taken from `$currentOp` while the build is running
+ * and are null otherwise. `partition` is the index of the `chatterbox.partitioning.databases` entry
+ * the index belongs to, or null for the primary database.
+ */
+@Value
+@With
+public class IndexBuildStatus {
+
+    Integer partition;
+    String collection;
+    String name;
+    IndexBuildState state;
+    Instant startedAt;
+    Instant finishedAt;
+    Long progressDone;
+    Long progressTotal;
+    String message;
+
+    static IndexBuildStatus of(Integer partition, IndexDefinition definition, IndexBuildState state) {
+        return new IndexBuildStatus(partition, definition.getCollection(), definition.getName(), state,
+                null, null, null, null, null);
+    }
+}
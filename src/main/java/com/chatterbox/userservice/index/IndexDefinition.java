@@ -0,0 +1,89 @@
+package com.chatterbox.userservice.index;
+
+import com.mongodb.client.model.IndexOptions;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import org.bson.Document;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IndexDefinition declares a single MongoDB index that the service expects to exist.
+ *
+ * Definitions are plain values: they are declared in `UserIndexDefinitions`, compared against the
+ * indexes that actually exist by the `IndexReconciler`, and turned into `createIndexes` commands
+ * only when something is missing. Keys keep their declaration order, which matters for compound
+ * indexes.
+ *
+ * Example:
+ * IndexDefinition.builder()
+ *     .collection("users_collection")
+ *     .name("userName")
+ *     .key("userName", 1)
+ *     .unique(true)
+ *     .build();
+ */
+@Value
+@Builder
+public class IndexDefinition {
+
+    String collection;
+    String name;
+    @Singular
+    Map<String, Integer> keys;
+    boolean unique;
+    Duration expireAfter;
+    Document partialFilter;
+
+    public Document keyDocument() {
+        Document document = new Document();
+        keys.forEach(document::append);
+        return document;
+    }
+
+    public IndexOptions toIndexOptions() {
+        IndexOptions options = new IndexOptions().name(name).unique(unique);
+        if (expireAfter != null) {
+            options.expireAfter(expireAfter.toSeconds(), TimeUnit.SECONDS);
+        }
+        if (partialFilter != null) {
+            options.partialFilterExpression(partialFilter);
+        }
+        return options;
+    }
+
+    /**
+     * Returns true when an entry from `listIndexes` has the same keys (in the same order) and the
+     * same options as this definition.
+     */
+    public boolean matches(Document existing) {
+        Document existingKeys = existing.get("key", Document.class);
+        if (existingKeys == null || !keysInOrder(existingKeys)) {
+            return false;
+        }
+        Number existingTtl = existing.get("expireAfterSeconds", Number.class);
+        Long expectedTtl = expireAfter != null ? expireAfter.toSeconds() : null;
+        return unique == existing.getBoolean("unique", false)
+                && Objects.equals(expectedTtl, existingTtl != null ? existingTtl.longValue() : null)
+                && Objects.equals(partialFilter, existing.get("partialFilterExpression", Document.class));
+    }
+
+    private boolean keysInOrder(Document existingKeys) {
+        if (existingKeys.size() != keys.size()) {
+            return false;
+        }
+        var expected = keys.entrySet().iterator();
+        for (Map.Entry<String, Object> actual : existingKeys.entrySet()) {
+            Map.Entry<String, Integer> next = expected.next();
+            if (!next.getKey().equals(actual.getKey())
+                    || !(actual.getValue() instanceof Number number) || number.intValue() != next.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
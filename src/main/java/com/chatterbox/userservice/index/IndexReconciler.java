@@ -0,0 +1,229 @@
+package com.chatterbox.userservice.index;
+
+import com.chatterbox.userservice.partition.UserPartitions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * IndexReconciler keeps the indexes declared in `UserIndexDefinitions` in place without putting
+ * index builds on the startup path.
+ *
+ * Once the application is ready (and therefore already serving traffic), a single background
+ * thread lists the existing indexes per collection, diffs them against the declarations and
+ * issues `createIndexes` for the missing ones, one at a time, so that a large collection never
+ * sees several concurrent builds. Existing indexes that do not match their declaration are
+ * reported as CONFLICT and left untouched. Indexes the declarations have retired are dropped at the
+ * end of the pass, but only from databases where every declared users index is READY, so that a
+ * unique index is never dropped before its replacement exists.
+ *
+ * With partitioned users, the indexes of the users collection are reconciled in every partition
+ * and reported once per partition; the other collections live in the primary database.
+ *
+ * Key Methods:
+ * - `reconcileAsync()`: Schedules a reconciliation pass; a pass already in flight is reused.
+ * - `getStatus()`: Returns the state of every declared index, including `$currentOp` progress for
+ *   the index currently being built.
+ */
+@Service
+@Log4j2
+public class IndexReconciler {
+
+    private final List<Target> targets = new ArrayList<>();
+    private final Map<Integer, MongoTemplate> userDatabases = new LinkedHashMap<>();
+    private final List<String> retiredUserIndexes;
+    private final Map<String, IndexBuildStatus> statuses = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "index-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> currentPass;
+
+    public IndexReconciler(UserPartitions partitions, UserIndexDefinitions indexDefinitions) {
+        for (IndexDefinition definition : indexDefinitions.definitions()) {
+            if (partitions.isPartitioned() && definition.getCollection().equals(UserIndexDefinitions.USERS_COLLECTION)) {
+                for (int i = 0; i < partitions.all().size(); i++) {
+                    targets.add(new Target(partitions.all().get(i), i, definition));
+                }
+            } else {
+                targets.add(new Target(partitions.primary(), null, definition));
+            }
+        }
+        targets.forEach(target -> statuses.put(target.key(), target.status(IndexBuildState.PENDING)));
+        if (partitions.isPartitioned()) {
+            for (int i = 0; i < partitions.all().size(); i++) {
+                userDatabases.put(i, partitions.all().get(i));
+            }
+        } else {
+            userDatabases.put(null, partitions.primary());
+        }
+        retiredUserIndexes = indexDefinitions.retiredUserIndexes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcileAsync();
+    }
+
+    public synchronized void reconcileAsync() {
+        if (currentPass == null || currentPass.isDone()) {
+            currentPass = executor.submit(this::reconcile);
+        }
+    }
+
+    public List<IndexBuildStatus> getStatus() {
+        List<IndexBuildStatus> report = new ArrayList<>();
+        for (Target target : targets) {
+            IndexBuildStatus status = statuses.get(target.key());
+            report.add(status.getState() == IndexBuildState.BUILDING ? withProgress(target, status) : status);
+        }
+        return report;
+    }
+
+    void reconcile() {
+        Map<String, List<Document>> existingByCollection = new HashMap<>();
+        for (Target target : targets) {
+            IndexDefinition definition = target.definition;
+            List<Document> existing;
+            try {
+                existing = existingByCollection.computeIfAbsent(target.partition + "." + definition.getCollection(),
+                        collection -> target.mongoTemplate.getCollection(definition.getCollection()).listIndexes()
+                                .into(new ArrayList<>()));
+            } catch (RuntimeException ex) {
+                log.error("Could not list indexes of {}", definition.getCollection(), ex);
+                statuses.put(target.key(), target.status(IndexBuildState.FAILED)
+                        .withMessage("Could not list existing indexes: " + ex.getMessage()));
+                continue;
+            }
+            Document current = existing.stream()
+                    .filter(index -> definition.getName().equals(index.getString("name")))
+                    .findFirst()
+                    .orElse(null);
+
+            if (current == null) {
+                build(target);
+            } else if (definition.matches(current)) {
+                statuses.put(target.key(), target.status(IndexBuildState.READY));
+            } else {
+                log.warn("Index {} on {} differs from its definition: {}", definition.getName(),
+                        definition.getCollection(), current.toJson());
+                statuses.put(target.key(), target.status(IndexBuildState.CONFLICT)
+                        .withMessage("Existing index differs from definition: " + current.toJson()));
+            }
+        }
+        if (!retiredUserIndexes.isEmpty()) {
+            userDatabases.forEach((partition, mongoTemplate) -> dropRetired(partition, mongoTemplate,
+                    existingByCollection.get(partition + "." + UserIndexDefinitions.USERS_COLLECTION)));
+        }
+    }
+
+    private void dropRetired(Integer partition, MongoTemplate mongoTemplate, List<Document> existing) {
+        if (existing == null) {
+            return; // listing failed above
+        }
+        boolean replacementsReady = targets.stream()
+                .filter(target -> Objects.equals(target.partition, partition)
+                        && target.definition.getCollection().equals(UserIndexDefinitions.USERS_COLLECTION))
+                .allMatch(target -> statuses.get(target.key()).getState() == IndexBuildState.READY);
+        if (!replacementsReady) {
+            log.warn("Not dropping retired indexes on {} (partition {}) while other indexes are not ready",
+                    UserIndexDefinitions.USERS_COLLECTION, partition);
+            return;
+        }
+        for (Document index : existing) {
+            String name = index.getString("name");
+            if (retiredUserIndexes.contains(name)) {
+                try {
+                    mongoTemplate.getCollection(UserIndexDefinitions.USERS_COLLECTION).dropIndex(name);
+                    log.info("Dropped retired index {} on {} (partition {})", name,
+                            UserIndexDefinitions.USERS_COLLECTION, partition);
+                } catch (RuntimeException ex) {
+                    log.error("Could not drop retired index {} on {}", name, UserIndexDefinitions.USERS_COLLECTION, ex);
+                }
+            }
+        }
+    }
+
+    private void build(Target target) {
+        IndexDefinition definition = target.definition;
+        IndexBuildStatus building = target.status(IndexBuildState.BUILDING).withStartedAt(Instant.now());
+        statuses.put(target.key(), building);
+        log.info("Building index {} on {}", definition.getName(), definition.getCollection());
+        try {
+            target.mongoTemplate.getCollection(definition.getCollection())
+                    .createIndex(definition.keyDocument(), definition.toIndexOptions());
+            statuses.put(target.key(), building.withState(IndexBuildState.READY).withFinishedAt(Instant.now()));
+            log.info("Index {} on {} is ready", definition.getName(), definition.getCollection());
+        } catch (RuntimeException ex) {
+            log.error("Index {} on {} failed to build", definition.getName(), definition.getCollection(), ex);
+            statuses.put(target.key(), building.withState(IndexBuildState.FAILED)
+                    .withFinishedAt(Instant.now())
+                    .withMessage(ex.getMessage()));
+        }
+    }
+
+    private IndexBuildStatus withProgress(Target target, IndexBuildStatus status) {
+        try {
+            Document command = new Document("currentOp", true)
+                    .append("command.createIndexes", status.getCollection());
+            Document result = target.mongoTemplate.getMongoDatabaseFactory().getMongoDatabase("admin").runCommand(command);
+            for (Document operation : result.getList("inprog", Document.class, List.of())) {
+                Document progress = operation.get("progress", Document.class);
+                if (progress != null) {
+                    return status.withProgressDone(progress.get("done", Number.class).longValue())
+                            .withProgressTotal(progress.get("total", Number.class).longValue())
+                            .withMessage(operation.getString("msg"));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.debug("Could not read index build progress for {}", status.getName(), ex);
+        }
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A declared index in one database: the primary one (`partition` null) or a partition.
+     */
+    private static final class Target {
+
+        private final MongoTemplate mongoTemplate;
+        private final Integer partition;
+        private final IndexDefinition definition;
+
+        private Target(MongoTemplate mongoTemplate, Integer partition, IndexDefinition definition) {
+            this.mongoTemplate = mongoTemplate;
+            this.partition = partition;
+            this.definition = definition;
+        }
+
+        private String key() {
+            return partition + "." + definition.getCollection() + "." + definition.getName();
+        }
+
+        private IndexBuildStatus status(IndexBuildState state) {
+            return IndexBuildStatus.of(partition, definition, state);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.chatterbox.userservice.index;
+
+import com.chatterbox.userservice.layout.LayoutPhase;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserTombstone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UserIndexDefinitions is the single place where the indexes backing `UserRepository` queries are
+ * declared. Any new query field should get its definition here rather than an `@Indexed`
+ * annotation on the model, so that the build happens in the background through the
+ * `IndexReconciler` instead of on the startup path.
+ *
+ * Declared indexes:
+ * - `userName` (unique, `userName` + `deletedAt`): backs `findByUserName` and the registration/update
+ *   uniqueness checks. Including `deletedAt` keeps live user names unique (all live users share
+ *   `deletedAt: null`) while letting a name be registered again after the previous owner was soft
+ *   deleted.
+ * - `email` (unique, `email` + `deletedAt`): the same for `findByEmail`.
+ * - `updatedAt`: backs the range scan of the delta sync endpoint.
+ * - `deletedAt` (partial, soft-deleted users only): backs the `SoftDeletePurger` scan and stays as
+ *   small as the backlog of users waiting to be purged.
+ * - `deletedAt_ttl` on the tombstones: backs the delta sync range scan and expires tombstones after
+ *   `chatterbox.sync.tombstone-retention`. Changing the retention later is reported as CONFLICT and
+ *   needs a manual `collMod`.
+ *
+ * The unique indexes depend on the `chatterbox.compact-layout.phase` (see `LayoutPhase`). A user in
+ * one layout has none of the fields of the other, so a unique index on one layout's fields must be
+ * partial to the users that have them; otherwise every user in the other layout would count as a
+ * duplicate `null`:
+ * - LEGACY: `userName` and `email` as above.
+ * - PREPARE and MIGRATE: `userName_compact`/`email_compact` on the compact fields and
+ *   `userName_legacy`/`email_legacy` on the legacy ones, both partial. The legacy ones sort
+ *   `deletedAt` descending only so that their key differs from the indexes they replace;
+ *   `userName` and `email` are retired, so that no compact user is written while they exist.
+ * - COMPACT: `userName_compact`/`email_compact` only; the legacy ones are retired as well.
+ * Uniqueness is enforced within each layout; across layouts it rests on the lookups by user name
+ * and email, which match both layouts until the COMPACT phase.
+ */
+@Component
+public class UserIndexDefinitions {
+
+    public static final String USERS_COLLECTION = User.class.getAnnotation(Document.class).collection();
+    public static final String TOMBSTONES_COLLECTION = UserTombstone.class.getAnnotation(Document.class).collection();
+
+    private static final List<String> UNIQUE_FIELDS = List.of("userName", "email");
+
+    private final Duration tombstoneRetention;
+    private final LayoutPhase layoutPhase;
+
+    public UserIndexDefinitions(@Value("${chatterbox.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+                                @Value("${chatterbox.compact-layout.phase:LEGACY}") LayoutPhase layoutPhase) {
+        this.tombstoneRetention = tombstoneRetention;
+        this.layoutPhase = layoutPhase;
+    }
+
+    public List<IndexDefinition> definitions() {
+        List<IndexDefinition> definitions = new ArrayList<>();
+        for (String field : UNIQUE_FIELDS) {
+            if (layoutPhase == LayoutPhase.LEGACY) {
+                definitions.add(IndexDefinition.builder()
+                        .collection(USERS_COLLECTION)
+                        .name(field)
+                        .key(field, 1)
+                        .key("deletedAt", 1)
+                        .unique(true)
+                        .build());
+            }
+            if (layoutPhase.readsCompact() && layoutPhase.readsLegacy()) {
+                definitions.add(partialUnique(field + "_legacy", field, -1));
+            }
+            if (layoutPhase.readsCompact()) {
+                definitions.add(partialUnique(field + "_compact", UserDocumentLayout.compactName(field), 1));
+            }
+        }
+        definitions.addAll(List.of(
+                IndexDefinition.builder()
+                        .collection(USERS_COLLECTION)
+                        .name("updatedAt")
+                        .key("updatedAt", 1)
+                        .build(),
+                IndexDefinition.builder()
+                        .collection(USERS_COLLECTION)
+                        .name("deletedAt")
+                        .key("deletedAt", 1)
+                        .partialFilter(new org.bson.Document("deletedAt", new org.bson.Document("$exists", true)))
+                        .build(),
+                IndexDefinition.builder()
+                        .collection(TOMBSTONES_COLLECTION)
+                        .name("deletedAt_ttl")
+                        .key("deletedAt", 1)
+                        .expireAfter(tombstoneRetention)
+                        .build()));
+        return definitions;
+    }
+
+    /**
+     * @return the names of the `users_collection` indexes that earlier phases declared and this one
+     * no longer needs; the `IndexReconciler` drops them
+     */
+    public List<String> retiredUserIndexes() {
+        List<String> retired = new ArrayList<>();
+        if (layoutPhase != LayoutPhase.LEGACY) {
+            retired.addAll(UNIQUE_FIELDS);
+        }
+        if (!layoutPhase.readsLegacy()) {
+            UNIQUE_FIELDS.forEach(field -> retired.add(field + "_legacy"));
+        }
+        return retired;
+    }
+
+    private static IndexDefinition partialUnique(String name, String field, int deletedAtOrder) {
+        return IndexDefinition.builder()
+                .collection(USERS_COLLECTION)
+                .name(name)
+                .key(field, 1)
+                .key("deletedAt", deletedAtOrder)
+                .unique(true)
+                .partialFilter(new org.bson.Document(field, new org.bson.Document("$exists", true)))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.chatterbox.userservice.layout;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the compact user document layout and its migration, bound from
+ * `chatterbox.compact-layout.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   compact-layout:
+ *     phase: MIGRATE
+ *     migration-batch-size: 500
+ *     migration-batch-pause: 100ms
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.compact-layout")
+public class CompactLayoutProperties {
+
+    /** Where this instance is in the move to the compact layout; see `LayoutPhase`. */
+    private LayoutPhase phase = LayoutPhase.LEGACY;
+
+    /** Users rewritten per bulk write by the migrator. */
+    private int migrationBatchSize = 500;
+
+    /** Pause after each batch, which bounds the write load the migrator adds to MongoDB. */
+    private Duration migrationBatchPause = Duration.ofMillis(100);
+
+    /**
+     * Passes over a partition at most. A pass that leaves legacy users behind, written meanwhile by
+     * instances not yet in MIGRATE, is followed by another one.
+     */
+    private int migrationMaxPasses = 3;
+}
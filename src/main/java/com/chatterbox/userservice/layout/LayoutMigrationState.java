@@ -0,0 +1,13 @@
+package com.chatterbox.userservice.layout;
+
+/**
+ * Lifecycle of the layout migration: IDLE until it first runs, RUNNING while users are being
+ * rewritten, then COMPLETED or FAILED. A new run can be started from COMPLETED or FAILED and
+ * resumes where the last one stopped.
+ */
+public enum LayoutMigrationState {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
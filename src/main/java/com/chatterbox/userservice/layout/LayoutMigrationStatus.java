@@ -0,0 +1,26 @@
+package com.chatterbox.userservice.layout;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time snapshot of the last layout migration run, as returned by
+ * `GET /api/admin/layout/migration`.
+ *
+ * `usersMigrated` counts the users rewritten to the compact layout by this run; `conflicts` those
+ * that could not be, because a compact user already holds their user name or email.
+ * `legacyUsersLeft` is the number of users still in the legacy layout once the run has finished,
+ * and null before; the phase can only move on to COMPACT once it is 0.
+ */
+@Value
+public class LayoutMigrationStatus {
+    LayoutMigrationState state;
+    LayoutPhase phase;
+    Instant startedAt;
+    Instant finishedAt;
+    long usersMigrated;
+    long conflicts;
+    Long legacyUsersLeft;
+    String failure;
+}
@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.layout;
+
+/**
+ * The steps of moving the stored users from the legacy to the compact document layout, set with
+ * `chatterbox.compact-layout.phase`. Each phase can run next to instances still in the previous
+ * one, so the phases are rolled out one deployment at a time, in this order:
+ *
+ * - LEGACY: users are written with their full field names and `_class`; queries use the full
+ *   names. This is the layout of every user stored before the compact layout existed.
+ * - PREPARE: still written in the legacy layout, but queries match both layouts, and the unique
+ *   indexes are replaced by partial ones per layout.
+ * - MIGRATE: users are written in the compact layout and queries match both; the
+ *   `UserLayoutMigrator` can now rewrite the rest.
+ * - COMPACT: once the migration has completed, queries only match the compact layout and the
+ *   legacy indexes are dropped.
+ */
+public enum LayoutPhase {
+    LEGACY,
+    PREPARE,
+    MIGRATE,
+    COMPACT;
+
+    public boolean writesCompact() {
+        return this == MIGRATE || this == COMPACT;
+    }
+
+    public boolean readsLegacy() {
+        return this != COMPACT;
+    }
+
+    public boolean readsCompact() {
+        return this != LEGACY;
+    }
+}
@@ -0,0 +1,130 @@
+package com.chatterbox.userservice.layout;
+
+import com.chatterbox.userservice.model.User;
+import org.bson.Document;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * UserDocumentLayout translates between the `User` entity and its two stored layouts.
+ *
+ * The legacy layout is what Spring Data writes by default: the full property names and a `_class`
+ * type key. The compact layout stores `userName`, `firstName`, `lastName` and `email` under two
+ * letter names and leaves the type key out, since `users_collection` only ever holds users. Across
+ * tens of millions of users this saves storage, index entries and bytes on the wire. The other
+ * fields keep their names in both layouts.
+ *
+ * The entity itself stays mapped to the full names, so that queries can address either layout by
+ * name: a full name is mapped as a property, a compact name passes through unchanged. Documents are
+ * converted around the mapping instead:
+ * - every user document read through a `MongoTemplate` is expanded to the full names before it is
+ *   mapped (`onAfterLoad`), so both layouts read alike in every phase;
+ * - in the phases that write the compact layout, every user document is compacted after it was
+ *   mapped and before it is sent (`onBeforeSave`), which covers `save`, `insert` and bulk inserts.
+ *
+ * Key Methods:
+ * - `matching(String property, Object value)`: Criteria on a user field for the current phase.
+ * - `matchingAny(String property, Collection<?> values)`: The same for `$in`.
+ * - `include(Query query, String... properties)`: Projects user fields in both layouts.
+ */
+@Component
+@EnableConfigurationProperties(CompactLayoutProperties.class)
+public class UserDocumentLayout extends AbstractMongoEventListener<User> {
+
+    public static final String TYPE_KEY = "_class";
+
+    /** The compact name of each user field that has one, by property name. */
+    public static final Map<String, String> COMPACT_NAMES =
+            Map.of("userName", "un", "firstName", "fn", "lastName", "ln", "email", "em");
+
+    private final CompactLayoutProperties properties;
+
+    public UserDocumentLayout(CompactLayoutProperties properties) {
+        this.properties = properties;
+    }
+
+    public LayoutPhase phase() {
+        return properties.getPhase();
+    }
+
+    public static String compactName(String property) {
+        return COMPACT_NAMES.getOrDefault(property, property);
+    }
+
+    public Criteria matching(String property, Object value) {
+        LayoutPhase phase = phase();
+        if (!phase.readsCompact() || !COMPACT_NAMES.containsKey(property)) {
+            return Criteria.where(property).is(value);
+        }
+        if (!phase.readsLegacy()) {
+            return Criteria.where(compactName(property)).is(value);
+        }
+        return new Criteria().orOperator(Criteria.where(compactName(property)).is(value),
+                Criteria.where(property).is(value));
+    }
+
+    public Criteria matchingAny(String property, Collection<?> values) {
+        LayoutPhase phase = phase();
+        if (!phase.readsCompact() || !COMPACT_NAMES.containsKey(property)) {
+            return Criteria.where(property).in(values);
+        }
+        if (!phase.readsLegacy()) {
+            return Criteria.where(compactName(property)).in(values);
+        }
+        return new Criteria().orOperator(Criteria.where(compactName(property)).in(values),
+                Criteria.where(property).in(values));
+    }
+
+    /**
+     * Includes the user fields in the projection of the query under both names; a name a document
+     * does not have costs nothing.
+     */
+    public static Query include(Query query, String... properties) {
+        for (String property : properties) {
+            query.fields().include(property);
+            if (COMPACT_NAMES.containsKey(property)) {
+                query.fields().include(compactName(property));
+            }
+        }
+        return query;
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<User> event) {
+        if (phase().writesCompact() && event.getDocument() != null) {
+            compact(event.getDocument());
+        }
+    }
+
+    @Override
+    public void onAfterLoad(AfterLoadEvent<User> event) {
+        if (event.getDocument() != null) {
+            expand(event.getDocument());
+        }
+    }
+
+    static void compact(Document document) {
+        COMPACT_NAMES.forEach((property, compact) -> {
+            if (document.containsKey(property)) {
+                document.put(compact, document.remove(property));
+            }
+        });
+        document.remove(TYPE_KEY);
+    }
+
+    static void expand(Document document) {
+        COMPACT_NAMES.forEach((property, compact) -> {
+            if (document.containsKey(compact)) {
+                document.put(property, document.remove(compact));
+            }
+        });
+    }
+}
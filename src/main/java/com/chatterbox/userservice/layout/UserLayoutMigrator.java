@@ -0,0 +1,227 @@
+package com.chatterbox.userservice.layout;
+
+import com.chatterbox.userservice.index.UserIndexDefinitions;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * UserLayoutMigrator rewrites the users still stored in the legacy layout to the compact one. Run
+ * it once every instance is in the MIGRATE phase; the service only moves on to COMPACT after it
+ * has left no legacy user behind.
+ *
+ * A single background thread walks each partition in `_id` order, `migration-batch-size` users at
+ * a time. Each batch is one unordered bulk write of in-place `$rename`s, so a user is never read
+ * into the service and written back, and a user updated by the service in the meantime loses
+ * nothing. A user that cannot be renamed because a compact user already holds its user name or
+ * email is counted as a conflict and left as is. After each batch the position is saved to
+ * `user_layout_migration` in the primary database, so a restarted run resumes where the last one
+ * stopped, and the migrator pauses for `migration-batch-pause` to leave room for the service's own
+ * writes.
+ *
+ * Instances that were not yet in MIGRATE may have written legacy users behind the position, so a
+ * partition is counted again at the end of its pass and walked again from the start, up to
+ * `migration-max-passes` times, while legacy users remain.
+ *
+ * Key Methods:
+ * - `migrateAsync()`: Starts a run unless one is in progress and returns its status.
+ * - `getStatus()`: Returns the status of the current or last run.
+ */
+@Service
+@Log4j2
+public class UserLayoutMigrator {
+
+    static final String CHECKPOINT_COLLECTION = "user_layout_migration";
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final UserPartitions partitions;
+    private final CompactLayoutProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-layout-migrator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong usersMigrated = new AtomicLong();
+    private final Set<Object> conflicts = ConcurrentHashMap.newKeySet();
+    private volatile LayoutMigrationState state = LayoutMigrationState.IDLE;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Long legacyUsersLeft;
+    private volatile String failure;
+    private Future<?> currentRun;
+
+    public UserLayoutMigrator(UserPartitions partitions, CompactLayoutProperties properties) {
+        this.partitions = partitions;
+        this.properties = properties;
+    }
+
+    public synchronized LayoutMigrationStatus migrateAsync() {
+        if (!properties.getPhase().writesCompact()) {
+            return new LayoutMigrationStatus(LayoutMigrationState.FAILED, properties.getPhase(), null, null, 0, 0,
+                    null, "Set chatterbox.compact-layout.phase to MIGRATE on every instance before migrating users");
+        }
+        if (currentRun == null || currentRun.isDone()) {
+            state = LayoutMigrationState.RUNNING;
+            startedAt = Instant.now();
+            finishedAt = null;
+            legacyUsersLeft = null;
+            failure = null;
+            usersMigrated.set(0);
+            conflicts.clear();
+            currentRun = executor.submit(this::run);
+        }
+        return getStatus();
+    }
+
+    public LayoutMigrationStatus getStatus() {
+        return new LayoutMigrationStatus(state, properties.getPhase(), startedAt, finishedAt, usersMigrated.get(),
+                conflicts.size(), legacyUsersLeft, failure);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            migrate();
+            finishedAt = Instant.now();
+            state = LayoutMigrationState.COMPLETED;
+            log.info("Migrated {} users to the compact layout, {} conflicts, {} legacy users left",
+                    usersMigrated.get(), conflicts.size(), legacyUsersLeft);
+        } catch (RuntimeException ex) {
+            failure = ex.getMessage();
+            finishedAt = Instant.now();
+            state = LayoutMigrationState.FAILED;
+            log.error("Migrating users to the compact layout failed after {} users", usersMigrated.get(), ex);
+        }
+    }
+
+    void migrate() {
+        long left = 0;
+        for (int i = 0; i < partitions.all().size(); i++) {
+            left += migrate(partitions.all().get(i), i);
+        }
+        legacyUsersLeft = left;
+    }
+
+    /**
+     * Migrates one partition and returns the number of legacy users left in it.
+     */
+    private long migrate(MongoTemplate partition, int index) {
+        Document checkpoint = partitions.primary().findById(index, Document.class, CHECKPOINT_COLLECTION);
+        Object lastId = checkpoint == null || checkpoint.getBoolean("done", false) ? null : checkpoint.get("lastId");
+        long left = partition.count(new Query(legacy()), UserIndexDefinitions.USERS_COLLECTION);
+        for (int pass = 0; pass < Math.max(1, properties.getMigrationMaxPasses()) && left > 0; pass++) {
+            long migratedBefore = usersMigrated.get();
+            lastId = migrateFrom(partition, index, pass == 0 ? lastId : null);
+            left = partition.count(new Query(legacy()), UserIndexDefinitions.USERS_COLLECTION);
+            if (pass > 0 && usersMigrated.get() == migratedBefore) {
+                break; // only conflicts are left
+            }
+        }
+        saveCheckpoint(index, lastId, left == 0);
+        if (left > 0) {
+            log.warn("{} users in partition {} are still in the legacy layout", left, index);
+        }
+        return left;
+    }
+
+    /**
+     * Walks the partition from after `lastId`, or from the start, and returns the last id seen.
+     */
+    private Object migrateFrom(MongoTemplate partition, int index, Object lastId) {
+        int batchSize = Math.max(1, properties.getMigrationBatchSize());
+        while (true) {
+            Query batch = new Query(lastId == null ? legacy() : legacy().and("_id").gt(lastId))
+                    .with(Sort.by("_id"))
+                    .limit(batchSize);
+            batch.fields().include("_id");
+            List<Object> ids = partition.find(batch, Document.class, UserIndexDefinitions.USERS_COLLECTION).stream()
+                    .map(document -> document.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return lastId;
+            }
+            rewrite(partition, ids);
+            lastId = ids.get(ids.size() - 1);
+            saveCheckpoint(index, lastId, false);
+            pause();
+        }
+    }
+
+    private void rewrite(MongoTemplate partition, List<Object> ids) {
+        BulkOperations bulk = partition.bulkOps(BulkMode.UNORDERED, UserIndexDefinitions.USERS_COLLECTION);
+        for (Object id : ids) {
+            Update update = new Update().unset(UserDocumentLayout.TYPE_KEY);
+            UserDocumentLayout.COMPACT_NAMES.forEach(update::rename);
+            bulk.updateOne(new Query(legacy().and("_id").is(id)), update);
+        }
+        try {
+            usersMigrated.addAndGet(bulk.execute().getModifiedCount());
+        } catch (BulkOperationException ex) {
+            List<BulkWriteError> errors = ex.getErrors();
+            if (errors.stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw ex;
+            }
+            usersMigrated.addAndGet(ex.getResult().getModifiedCount());
+            errors.forEach(error -> conflicts.add(ids.get(error.getIndex())));
+            log.warn("{} users could not be migrated because a compact user holds their user name or email",
+                    errors.size());
+        }
+    }
+
+    private void pause() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException("Migrating users was interrupted");
+        }
+        if (properties.getMigrationBatchPause().isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getMigrationBatchPause().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Migrating users was interrupted");
+        }
+    }
+
+    private void saveCheckpoint(int index, Object lastId, boolean done) {
+        partitions.primary().save(new Document("_id", index).append("lastId", lastId).append("done", done)
+                .append("updatedAt", Instant.now()), CHECKPOINT_COLLECTION);
+    }
+
+    /**
+     * @return the criteria matching users with any field of the legacy layout
+     */
+    private static Criteria legacy() {
+        List<Criteria> fields = Stream.concat(Stream.of(UserDocumentLayout.TYPE_KEY),
+                        UserDocumentLayout.COMPACT_NAMES.keySet().stream())
+                .map(field -> Criteria.where(field).exists(true))
+                .toList();
+        return new Criteria().orOperator(fields);
+    }
+}
@@ -0,0 +1,104 @@
+package com.chatterbox.userservice.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * AccessLogFilter writes one structured access-log event per sampled request.
+ *
+ * It replaces the per-handler `log.info` calls that used to run on every request in
+ * `UserController` and `UserService`. Successful requests are logged with probability
+ * `chatterbox.logging.access.sample-rate`, while server errors (5xx responses or exceptions that
+ * escape the handler chain) are always logged.
+ *
+ * The event carries its fields in the ThreadContext so that the JSON template layout renders them
+ * as top-level attributes:
+ * - `http.method`, `http.status`, `durationMicros`
+ * - `http.route`: the matched handler pattern (e.g. `/api/users/username/{username}`) rather than
+ *   the raw URI, so path variables such as usernames never reach the logs.
+ *
+ * Unsampled requests cost one random draw; nothing is formatted or enqueued for them. A sampled
+ * event allocates only the `durationMicros` string: status codes come from a table built once,
+ * and the route pattern is the String that Spring MVC already stores on the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Log4j2
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String UNMATCHED_ROUTE = "unmatched";
+
+    private static final String[] STATUS_CODES = IntStream.range(0, 600).mapToObj(Integer::toString).toArray(String[]::new);
+
+    private final double sampleRate;
+
+    public AccessLogFilter(@Value("${chatterbox.logging.access.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            boolean serverError = status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            if (serverError || isSampled()) {
+                writeAccessLog(request, status, (System.nanoTime() - start) / 1_000, serverError, failure);
+            }
+        }
+    }
+
+    boolean isSampled() {
+        return sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void writeAccessLog(HttpServletRequest request, int status, long durationMicros, boolean serverError,
+                                Throwable failure) {
+        ThreadContext.put("http.method", request.getMethod());
+        ThreadContext.put("http.route", routeOf(request));
+        ThreadContext.put("http.status", statusCode(status));
+        ThreadContext.put("durationMicros", Long.toString(durationMicros));
+        try {
+            if (serverError) {
+                log.error("access", failure);
+            } else {
+                log.info("access");
+            }
+        } finally {
+            ThreadContext.remove("http.method");
+            ThreadContext.remove("http.route");
+            ThreadContext.remove("http.status");
+            ThreadContext.remove("durationMicros");
+        }
+    }
+
+    static String routeOf(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String route
+                ? route : UNMATCHED_ROUTE;
+    }
+
+    static String statusCode(int status) {
+        return status >= 0 && status < STATUS_CODES.length ? STATUS_CODES[status] : Integer.toString(status);
+    }
+}
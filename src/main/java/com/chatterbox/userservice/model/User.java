@@ -1,25 +1,32 @@
 package com.chatterbox.userservice.model;
 
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 /**
  * User represents a user entity within the system. This class is annotated with
  * @Document to specify that it corresponds to a MongoDB collection.
  *
  * The fields of the User class are mapped to the respective attributes of a user,
- * such as username, first name, last name, and email. These fields are also validated
- * using Jakarta Validation annotations such as @NotBlank and @Email to ensure data integrity
- * and correctness when interacting with the system.
+ * such as username, first name, last name, and email. All four are mandatory and the email
+ * must be well-formed; these rules are enforced by the `UserValidationPipeline` on every write.
  *
  * Key features of the User class:
- * - The `userName` field is indexed and unique, ensuring no two users can have the same username.
+ * - The `userName` field is unique, ensuring no two users can have the same username.
  * - The `userName` setter ensures that the username is stored in lowercase, making it case-insensitive.
- * - The `@Indexed` annotation on the `userName` field enforces uniqueness at the database level.
+ * - Database indexes (including the unique `userName` and `email` indexes) are declared in
+ *   `UserIndexDefinitions` and built in the background by the `IndexReconciler`, not through `@Indexed`.
+ * - `createdAt` and `updatedAt` are maintained by `UserService` (clients cannot set them) and drive the
+ *   delta sync endpoint `GET /api/users/changes`.
+ * - `lastSeenAt` is the user's last heartbeat (`POST /api/users/{id}/heartbeat`). Heartbeats are buffered
+ *   by the `PresenceBuffer` and written in bulk, so it never moves `updatedAt`.
+ * - `deletedAt` marks a soft-deleted user. Such users are invisible to every `UserRepository` finder
+ *   and are physically removed later by the `SoftDeletePurger`; the field is never serialized.
  * - The class uses Lombok annotations (@Data) to automatically generate getters, setters, and other boilerplate code.
  *
  * The User class plays a critical role in the system by representing the core user information
@@ -32,20 +39,26 @@ public class User {
 	@Id
     private String id;
 
-    @Indexed(unique = true)
-    @NotBlank(message = "Username is mandatory")
     private String userName;
 
-    @NotBlank(message = "First name is mandatory")
     private String firstName;
 
-    @NotBlank(message = "Last name is mandatory")
     private String lastName;
 
-    @Email(message = "Email should be valid")
-    @NotBlank(message = "Email is mandatory")
     private String email;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant createdAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant lastSeenAt;
+
+    @JsonIgnore
+    private Instant deletedAt;
+
     // Lombok will generate setters/getters for other fields,
     // but this setter overrides Lombok’s for `userName`.
     public void setUserName(String userName) {
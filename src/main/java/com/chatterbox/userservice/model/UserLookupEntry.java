@@ -0,0 +1,27 @@
+package com.chatterbox.userservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * UserLookupEntry maps a `userName` or `email` to the id of the user holding it, so that in
+ * partitioned mode a lookup by either field reads one entry and one partition instead of all of them.
+ *
+ * Entries are keyed by `<field>:<value>` (e.g. `userName:john_doe`), which also makes the primary
+ * database enforce that a user name or email is held by one user across every partition. See
+ * `UserLookupIndex`.
+ */
+@Document(collection = "user_lookup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupEntry {
+
+    @Id
+    private String key;
+
+    private String userId;
+}
@@ -0,0 +1,31 @@
+package com.chatterbox.userservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * UserTombstone records that a user was deleted, so that clients syncing through
+ * `GET /api/users/changes` learn about deletions of users they have cached.
+ *
+ * Tombstones are keyed by the deleted user's id and expire through a TTL index on `deletedAt`
+ * (see `UserIndexDefinitions`) after `chatterbox.sync.tombstone-retention`. `deleteAll` writes the
+ * special tombstone `ALL_USERS`, which tells clients to drop their whole cache.
+ */
+@Document(collection = "user_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTombstone {
+
+    public static final String ALL_USERS = "*";
+
+    @Id
+    private String userId;
+
+    private Instant deletedAt;
+}
@@ -0,0 +1,83 @@
+package com.chatterbox.userservice.partition;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the `UserPartitions` and the `UserLookupIndex`.
+ *
+ * With partitioning enabled, every configured database gets its own `MongoClient`, built with the
+ * same `MongoClientSettingsBuilderCustomizer`s as the primary client (so that, for example, its
+ * commands are traced too), and a `MongoTemplate` sharing the primary template's mapping. The
+ * partition templates publish their mapping events to the application context like the primary
+ * one, so that the `UserDocumentLayout` converts the users of every partition.
+ */
+@Configuration
+@EnableConfigurationProperties(PartitioningProperties.class)
+@Log4j2
+public class PartitioningConfiguration {
+
+    private final List<MongoClient> clients = new ArrayList<>();
+
+    @Bean(destroyMethod = "close")
+    public UserPartitions userPartitions(MongoTemplate mongoTemplate, PartitioningProperties properties,
+                                         MongoProperties mongoProperties,
+                                         ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+                                         ApplicationContext applicationContext) {
+        if (!properties.isEnabled()) {
+            return UserPartitions.single(mongoTemplate);
+        }
+        if (properties.getDatabases().isEmpty()) {
+            throw new IllegalStateException("chatterbox.partitioning.databases must list at least one database");
+        }
+        ConnectionString primary = new ConnectionString(mongoProperties.determineUri());
+        List<MongoTemplate> partitions = new ArrayList<>();
+        for (String uri : properties.getDatabases()) {
+            ConnectionString connectionString = new ConnectionString(uri);
+            if (connectionString.getDatabase() == null) {
+                throw new IllegalStateException("Partition " + connectionString + " does not name a database");
+            }
+            if (connectionString.getHosts().equals(primary.getHosts())
+                    && connectionString.getDatabase().equals(mongoTemplate.getDb().getName())) {
+                // the rebalancer would remove the users it just copied
+                throw new IllegalStateException("The primary database cannot also be a partition: " + connectionString);
+            }
+            MongoClientSettings.Builder settings = MongoClientSettings.builder().applyConnectionString(connectionString);
+            customizers.orderedStream().forEach(customizer -> customizer.customize(settings));
+            MongoClient client = MongoClients.create(settings.build());
+            clients.add(client);
+            MongoTemplate partition = new MongoTemplate(
+                    new SimpleMongoClientDatabaseFactory(client, connectionString.getDatabase()), mongoTemplate.getConverter());
+            partition.setApplicationContext(applicationContext);
+            partitions.add(partition);
+        }
+        log.info("Users are partitioned across {} databases", partitions.size());
+        return new UserPartitions(mongoTemplate, partitions);
+    }
+
+    @Bean
+    public UserLookupIndex userLookupIndex(MongoTemplate mongoTemplate) {
+        return new UserLookupIndex(mongoTemplate);
+    }
+
+    @PreDestroy
+    public void closeClients() {
+        clients.forEach(MongoClient::close);
+    }
+}
@@ -0,0 +1,37 @@
+package com.chatterbox.userservice.partition;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for spreading users across several MongoDB databases, bound from
+ * `chatterbox.partitioning.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   partitioning:
+ *     enabled: true
+ *     databases:
+ *       - mongodb://users-0.internal:27017/users
+ *       - mongodb://users-1.internal:27017/users
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.partitioning")
+public class PartitioningProperties {
+
+    /** When disabled, users are stored in the `spring.data.mongodb` database only. */
+    private boolean enabled = false;
+
+    /**
+     * Connection strings of the partitions, each naming its database. A user's partition is derived
+     * from its position in this list: only append entries, then run the rebalancer. The primary
+     * database cannot be one of them.
+     */
+    private List<String> databases = new ArrayList<>();
+
+    /** Users copied per batch by the rebalancer. */
+    private int rebalanceBatchSize = 500;
+}
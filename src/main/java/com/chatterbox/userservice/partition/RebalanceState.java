@@ -0,0 +1,12 @@
+package com.chatterbox.userservice.partition;
+
+/**
+ * Lifecycle of the rebalancer: IDLE until it first runs, RUNNING while users are being moved, then
+ * COMPLETED or FAILED. A new run can be started from COMPLETED or FAILED.
+ */
+public enum RebalanceState {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
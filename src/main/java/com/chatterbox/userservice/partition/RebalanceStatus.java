@@ -0,0 +1,23 @@
+package com.chatterbox.userservice.partition;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time snapshot of the last rebalancer run, as returned by
+ * `GET /api/admin/partitions/rebalance`.
+ *
+ * `usersScanned` counts every user document read so far, including soft-deleted ones;
+ * `usersMoved` those copied to another database and removed from their old one.
+ */
+@Value
+public class RebalanceStatus {
+    RebalanceState state;
+    int partitions;
+    Instant startedAt;
+    Instant finishedAt;
+    long usersScanned;
+    long usersMoved;
+    String failure;
+}
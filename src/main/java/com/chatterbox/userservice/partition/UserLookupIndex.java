@@ -0,0 +1,122 @@
+package com.chatterbox.userservice.partition;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserLookupEntry;
+import com.chatterbox.userservice.resilience.Deadline;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * UserLookupIndex is the global index from `userName` and `email` to user id used in partitioned
+ * mode. It lives in the primary database, as `UserLookupEntry` documents keyed by `<field>:<value>`.
+ *
+ * Entries are written before the user document and removed after it, so an entry may briefly
+ * point at a user that does not (or no longer) hold the value; readers therefore always re-check
+ * the field on the user they load, and writers take over such stale entries (see
+ * `UserRepositoryCustomImpl`).
+ *
+ * Key Methods:
+ * - `find(String field, String value)`: Returns the id of the user the value's entry points at.
+ * - `insertAll(List<UserLookupEntry> entries)`: Inserts the entries with one unordered bulk write
+ *   and returns the positions of those whose key was already taken.
+ * - `replace(String key, String expectedUserId, String userId)`: Moves an entry to another user if
+ *   it still points at `expectedUserId`.
+ * - `remove(String key, String userId)`: Removes an entry if it still points at `userId`.
+ */
+public class UserLookupIndex {
+
+    public static final String USER_NAME = "userName";
+    public static final String EMAIL = "email";
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserLookupIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public static String key(String field, String value) {
+        return field + ":" + value;
+    }
+
+    /**
+     * @return the lookup entries of the user's `userName` and `email`, skipping unset fields
+     */
+    public static List<UserLookupEntry> entriesOf(User user) {
+        List<UserLookupEntry> entries = new ArrayList<>(2);
+        if (user.getUserName() != null) {
+            entries.add(new UserLookupEntry(key(USER_NAME, user.getUserName()), user.getId()));
+        }
+        if (user.getEmail() != null) {
+            entries.add(new UserLookupEntry(key(EMAIL, user.getEmail()), user.getId()));
+        }
+        return entries;
+    }
+
+    public Optional<String> find(String field, String value) {
+        return holderOf(key(field, value));
+    }
+
+    public Optional<String> holderOf(String key) {
+        Query query = Query.query(Criteria.where("key").is(key));
+        Deadline.maxTime().ifPresent(query::maxTime);
+        return Optional.ofNullable(mongoTemplate.findOne(query, UserLookupEntry.class)).map(UserLookupEntry::getUserId);
+    }
+
+    public List<Integer> insertAll(List<UserLookupEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, UserLookupEntry.class).insert(entries).execute();
+            return List.of();
+        } catch (BulkOperationException ex) {
+            List<Integer> taken = new ArrayList<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw ex;
+                }
+                taken.add(error.getIndex());
+            }
+            return taken;
+        }
+    }
+
+    public boolean replace(String key, String expectedUserId, String userId) {
+        Query query = Query.query(Criteria.where("key").is(key).and("userId").is(expectedUserId));
+        return mongoTemplate.updateFirst(query, Update.update("userId", userId), UserLookupEntry.class)
+                .getModifiedCount() > 0;
+    }
+
+    /**
+     * Points every entry at its user, whoever held it before.
+     */
+    public void putAll(List<UserLookupEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, UserLookupEntry.class);
+        entries.forEach(entry ->
+                bulk.upsert(Query.query(Criteria.where("key").is(entry.getKey())), Update.update("userId", entry.getUserId())));
+        bulk.execute();
+    }
+
+    public void remove(String key, String userId) {
+        mongoTemplate.remove(Query.query(Criteria.where("key").is(key).and("userId").is(userId)), UserLookupEntry.class);
+    }
+
+    public void clear() {
+        mongoTemplate.dropCollection(UserLookupEntry.class);
+    }
+}
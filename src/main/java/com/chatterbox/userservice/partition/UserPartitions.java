@@ -0,0 +1,144 @@
+package com.chatterbox.userservice.partition;
+
+import com.chatterbox.userservice.resilience.Deadline;
+import com.chatterbox.userservice.slowquery.QueryOrigin;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * UserPartitions knows which MongoDB database holds which user.
+ *
+ * A user lives in the partition picked by a jump consistent hash (Lamping and Veach) of its id.
+ * The hash only depends on the id and on the number of partitions, and appending an N+1th
+ * partition moves just 1/(N+1) of the users, which is what the `UserRebalancer` then copies over.
+ *
+ * The primary database (`spring.data.mongodb`) keeps everything that is not a user document:
+ * the `UserLookupIndex`, tombstones and so on. When partitioning is disabled it is also the only
+ * partition, so callers can always iterate `all()`.
+ *
+ * Key Methods:
+ * - `forId(String id)`: Returns the partition holding the user with this id.
+ * - `fanOut(Function<MongoTemplate, T> query)`: Runs the query on every partition in parallel and
+ *   returns the results in partition order.
+ * - `inParallel(List<Supplier<T>> tasks)`: Runs the tasks in parallel and waits for all of them;
+ *   the first task runs on the calling thread. Tasks run under the caller's `Deadline` and
+ *   `QueryOrigin`.
+ *
+ * The other tasks go to a pool of one thread per partition with a queue of
+ * `QUEUED_TASKS_PER_THREAD` tasks per thread. Once that queue is full, a task runs on the calling
+ * thread as well, so a burst of fan-outs slows down its own requests instead of piling up threads.
+ */
+public class UserPartitions implements AutoCloseable {
+
+    static final int QUEUED_TASKS_PER_THREAD = 16;
+
+    private final MongoTemplate primary;
+    private final List<MongoTemplate> partitions;
+    private final ExecutorService fanOut;
+
+    public UserPartitions(MongoTemplate primary, List<MongoTemplate> partitions) {
+        if (partitions.isEmpty()) {
+            throw new IllegalArgumentException("At least one partition is required");
+        }
+        this.primary = primary;
+        this.partitions = List.copyOf(partitions);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(partitions.size(), partitions.size(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(partitions.size() * QUEUED_TASKS_PER_THREAD), runnable -> {
+                    Thread thread = new Thread(runnable, "user-partition-fan-out");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> task.run()); // also after shutdown, so no caller waits for a dropped task
+        pool.allowCoreThreadTimeOut(true);
+        this.fanOut = pool;
+    }
+
+    public static UserPartitions single(MongoTemplate mongoTemplate) {
+        return new UserPartitions(mongoTemplate, List.of(mongoTemplate));
+    }
+
+    public MongoTemplate primary() {
+        return primary;
+    }
+
+    public List<MongoTemplate> all() {
+        return partitions;
+    }
+
+    public boolean isPartitioned() {
+        return partitions.size() > 1 || partitions.get(0) != primary;
+    }
+
+    public int indexOf(String id) {
+        return partitionOf(id, partitions.size());
+    }
+
+    public MongoTemplate forId(String id) {
+        return partitions.get(indexOf(id));
+    }
+
+    public <T> List<T> fanOut(Function<MongoTemplate, T> query) {
+        return inParallel(partitions.stream().<Supplier<T>>map(partition -> () -> query.apply(partition)).toList());
+    }
+
+    public <T> List<T> inParallel(List<Supplier<T>> tasks) {
+        if (tasks.size() == 1) {
+            return Collections.singletonList(tasks.get(0).get());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        futures.add(null); // the first task runs on this thread once the others are handed off
+        tasks.subList(1, tasks.size()).forEach(task ->
+                futures.add(CompletableFuture.supplyAsync(QueryOrigin.propagate(Deadline.propagate(task)), fanOut)));
+        futures.set(0, runHere(tasks.get(0)));
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        futures.forEach(future -> results.add(future.join()));
+        return results;
+    }
+
+    private static <T> CompletableFuture<T> runHere(Supplier<T> task) {
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        fanOut.shutdownNow();
+    }
+
+    static int partitionOf(String id, int partitions) {
+        long key = 0xcbf29ce484222325L; // FNV-1a of the id, fed to the jump hash
+        for (int i = 0; i < id.length(); i++) {
+            key = (key ^ id.charAt(i)) * 0x100000001b3L;
+        }
+        long bucket = -1;
+        long next = 0;
+        while (next < partitions) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
@@ -0,0 +1,172 @@
+package com.chatterbox.userservice.partition;
+
+import com.chatterbox.userservice.model.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * UserRebalancer moves every user to the partition its id hashes to. Run it after appending a
+ * database to `chatterbox.partitioning.databases`, or after enabling partitioning on a deployment
+ * whose users are still in the primary database.
+ *
+ * A single background thread scans each partition, newest first, then the primary database, and
+ * collects the users, soft-deleted ones included, that belong elsewhere. Each batch of
+ * `rebalance-batch-size` users is inserted into its new partitions; only the users found there afterwards are removed
+ * from the old one, so a failed insert never loses a user. A user that was already written to its
+ * new partition by the service in the meantime is left as is, since that copy is the newer one.
+ * Users migrated from the primary database also get their `UserLookupIndex` entries.
+ *
+ * Until it has been moved, a user is not found by id, user name or email, so the rebalancer should
+ * be started right after the partitions change.
+ *
+ * Key Methods:
+ * - `rebalanceAsync()`: Starts a run unless one is in progress and returns its status.
+ * - `getStatus()`: Returns the status of the current or last run.
+ */
+@Service
+@Log4j2
+public class UserRebalancer {
+
+    private final UserPartitions partitions;
+    private final UserLookupIndex lookupIndex;
+    private final PartitioningProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong usersScanned = new AtomicLong();
+    private final AtomicLong usersMoved = new AtomicLong();
+    private volatile RebalanceState state = RebalanceState.IDLE;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+    private Future<?> currentRun;
+
+    public UserRebalancer(UserPartitions partitions, UserLookupIndex lookupIndex, PartitioningProperties properties) {
+        this.partitions = partitions;
+        this.lookupIndex = lookupIndex;
+        this.properties = properties;
+    }
+
+    public synchronized RebalanceStatus rebalanceAsync() {
+        if (currentRun == null || currentRun.isDone()) {
+            state = RebalanceState.RUNNING;
+            startedAt = Instant.now();
+            finishedAt = null;
+            failure = null;
+            usersScanned.set(0);
+            usersMoved.set(0);
+            currentRun = executor.submit(this::run);
+        }
+        return getStatus();
+    }
+
+    public RebalanceStatus getStatus() {
+        return new RebalanceStatus(state, partitions.all().size(), startedAt, finishedAt, usersScanned.get(),
+                usersMoved.get(), failure);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            rebalance();
+            finishedAt = Instant.now();
+            state = RebalanceState.COMPLETED;
+            log.info("Rebalanced users across {} partitions: {} scanned, {} moved", partitions.all().size(),
+                    usersScanned.get(), usersMoved.get());
+        } catch (RuntimeException ex) {
+            failure = ex.getMessage();
+            finishedAt = Instant.now();
+            state = RebalanceState.FAILED;
+            log.error("Rebalancing users failed after moving {}", usersMoved.get(), ex);
+        }
+    }
+
+    void rebalance() {
+        // newest partition first and the primary last: users only move to partitions appended after
+        // the one they are in, so each lands in one that was already scanned and is scanned once
+        for (int i = partitions.all().size() - 1; i >= 0; i--) {
+            rebalance(partitions.all().get(i), i);
+        }
+        if (partitions.isPartitioned() && !partitions.all().contains(partitions.primary())) {
+            rebalance(partitions.primary(), -1);
+        }
+    }
+
+    /**
+     * Moves the misplaced users of one database; `index` is its partition, or -1 for the primary.
+     */
+    private void rebalance(MongoTemplate source, int index) {
+        int batchSize = Math.max(1, properties.getRebalanceBatchSize());
+        List<User> misplaced = new ArrayList<>(batchSize);
+        try (Stream<User> users = source.stream(new Query(), User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                usersScanned.incrementAndGet();
+                if (partitions.indexOf(user.getId()) != index) {
+                    misplaced.add(user);
+                }
+                if (misplaced.size() == batchSize) {
+                    move(source, index < 0, misplaced);
+                    misplaced.clear();
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Rebalancing was interrupted");
+                }
+            }
+        }
+        if (!misplaced.isEmpty()) {
+            move(source, index < 0, misplaced);
+        }
+    }
+
+    private void move(MongoTemplate source, boolean fromPrimary, List<User> users) {
+        Map<MongoTemplate, List<User>> byTarget = new LinkedHashMap<>();
+        users.forEach(user -> byTarget.computeIfAbsent(partitions.forId(user.getId()), target -> new ArrayList<>()).add(user));
+        byTarget.forEach((target, targetUsers) -> {
+            List<String> ids = targetUsers.stream().map(User::getId).toList();
+            try {
+                target.bulkOps(BulkMode.UNORDERED, User.class).insert(targetUsers).execute();
+            } catch (RuntimeException ex) {
+                log.debug("Some users were not inserted into their new partition: {}", ex.getMessage());
+            }
+            Query copied = Query.query(Criteria.where("id").in(ids));
+            copied.fields().include("id");
+            Set<String> present = target.find(copied, User.class).stream().map(User::getId).collect(Collectors.toSet());
+            if (present.size() < ids.size()) {
+                log.warn("{} users could not be moved to {} and stay where they are", ids.size() - present.size(),
+                        target.getDb().getName());
+            }
+            if (fromPrimary) {
+                lookupIndex.putAll(targetUsers.stream()
+                        .filter(user -> present.contains(user.getId()) && user.getDeletedAt() == null)
+                        .flatMap(user -> UserLookupIndex.entriesOf(user).stream())
+                        .toList());
+            }
+            source.remove(Query.query(Criteria.where("id").in(present)), User.class);
+            usersMoved.addAndGet(present.size());
+        });
+    }
+}
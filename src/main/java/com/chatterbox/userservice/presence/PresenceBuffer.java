@@ -0,0 +1,194 @@
+package com.chatterbox.userservice.presence;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PresenceBuffer absorbs presence heartbeats in memory and writes them to MongoDB in bulk
+ * (write-behind), so that a client reporting activity every few seconds costs a map update instead
+ * of a document rewrite.
+ *
+ * Heartbeats go to one of `stripes` maps, picked by the user id and each guarded by its own lock,
+ * and only the latest heartbeat per user is kept. Every `flush-interval`, or as soon as
+ * `max-buffered-users` users are waiting, a background thread swaps out every stripe and hands the
+ * collected instants to `UserRepository.advanceLastSeen`, one `$max` update per user in an
+ * unordered bulk write. `$max` makes the write idempotent and keeps a late flush from moving
+ * `lastSeenAt` backwards. If the write fails, its heartbeats go back into the buffer for the next
+ * flush; the last flush runs on shutdown.
+ *
+ * Until their flush has completed, heartbeats remain readable: `mergeInto` raises a user's
+ * `lastSeenAt` to the buffered instant, so reads never lag behind the heartbeats this instance has
+ * accepted. Heartbeats are not checked against existing users; those of unknown or deleted users
+ * simply match nothing when they are flushed.
+ *
+ * Key Methods:
+ * - `record(String id, Instant at)`: Buffers a heartbeat of the user.
+ * - `mergeInto(User user)`: Applies the user's buffered heartbeat, if later than the stored one.
+ * - `flush()`: Writes every buffered heartbeat and returns the number of users written.
+ */
+@Service
+@EnableConfigurationProperties(PresenceProperties.class)
+@Log4j2
+public class PresenceBuffer {
+
+    private final UserRepository userRepository;
+    private final PresenceProperties properties;
+    private final Stripe[] stripes;
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "presence-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PresenceBuffer(UserRepository userRepository, PresenceProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        int count = Integer.highestOneBit(Math.max(1, properties.getStripes() * 2 - 1));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            long interval = properties.getFlushInterval().toMillis();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    public void record(String id, Instant at) {
+        if (!properties.isEnabled()) {
+            userRepository.advanceLastSeen(Map.of(id, at));
+            return;
+        }
+        if (put(id, at) && buffered.incrementAndGet() >= properties.getMaxBufferedUsers()
+                && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException ex) {
+                flushRequested.set(false); // shutting down, the final flush picks them up
+            }
+        }
+    }
+
+    public void mergeInto(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        Stripe stripe = stripeOf(user.getId());
+        Instant buffered;
+        synchronized (stripe) {
+            buffered = later(stripe.pending.get(user.getId()), stripe.flushing.get(user.getId()));
+        }
+        if (buffered != null) {
+            user.setLastSeenAt(later(user.getLastSeenAt(), buffered));
+        }
+    }
+
+    public synchronized int flush() {
+        flushRequested.set(false);
+        Map<String, Instant> batch = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.pending.isEmpty()) {
+                    stripe.flushing = stripe.pending;
+                    stripe.pending = new HashMap<>();
+                    batch.putAll(stripe.flushing);
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        buffered.addAndGet(-batch.size());
+        try {
+            userRepository.advanceLastSeen(batch);
+            log.debug("Flushed the last heartbeat of {} users", batch.size());
+            return batch.size();
+        } catch (RuntimeException ex) {
+            requeue(batch);
+            throw ex;
+        } finally {
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.flushing = Map.of();
+                }
+            }
+        }
+    }
+
+    int bufferedUsers() {
+        return Math.max(0, buffered.get());
+    }
+
+    private void requeue(Map<String, Instant> batch) {
+        batch.forEach((id, at) -> {
+            if (put(id, at)) {
+                buffered.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Keeps the later of the buffered and the given instant; returns true if the user was not buffered yet.
+     */
+    private boolean put(String id, Instant at) {
+        Stripe stripe = stripeOf(id);
+        synchronized (stripe) {
+            Instant previous = stripe.pending.put(id, later(stripe.pending.get(id), at));
+            return previous == null;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Flushing {} buffered heartbeats failed, retrying with the next flush", bufferedUsers(), ex);
+        }
+    }
+
+    private Stripe stripeOf(String id) {
+        int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || !b.isAfter(a) ? a : b;
+    }
+
+    private static final class Stripe {
+
+        private Map<String, Instant> pending = new HashMap<>();
+        private Map<String, Instant> flushing = Map.of();
+    }
+}
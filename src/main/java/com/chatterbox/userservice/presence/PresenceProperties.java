@@ -0,0 +1,32 @@
+package com.chatterbox.userservice.presence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for buffering presence heartbeats, bound from `chatterbox.presence.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   presence:
+ *     flush-interval: 5s
+ *     max-buffered-users: 100000
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.presence")
+public class PresenceProperties {
+
+    /** When disabled, every heartbeat is written to MongoDB on its own request thread. */
+    private boolean enabled = true;
+
+    /** Delay between the end of one flush and the start of the next. */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /** Number of independently locked parts of the buffer; rounded up to a power of two. */
+    private int stripes = 16;
+
+    /** A flush starts right away once this many users have a buffered heartbeat. */
+    private int maxBufferedUsers = 100_000;
+}
@@ -0,0 +1,104 @@
+package com.chatterbox.userservice.profiling;
+
+import com.chatterbox.userservice.exception.RecordingNotActiveException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * ContinuousRecording runs a Java Flight Recorder recording as a ring buffer: the JVM keeps the last
+ * `max-age` (bounded by `max-size`) of events on disk and discards older chunks, so the recording
+ * can stay on in production and be dumped after a latency spike has already happened.
+ *
+ * The recording starts on application startup when `record-on-startup` is set, and can be started
+ * (in either `RecordingMode`) and stopped at runtime through the profiling admin endpoints.
+ *
+ * Key Methods:
+ * - `start(RecordingMode mode)`: (Re)starts the recording with the given event settings.
+ * - `stop()`: Stops and discards the recording.
+ * - `dump()`: Writes the current buffer to a new `.jfr` file and returns its path; the caller owns
+ *   the file.
+ * - `status()`: Returns whether a recording is running, and with which settings.
+ */
+@Service
+@EnableConfigurationProperties(ProfilingProperties.class)
+@Log4j2
+public class ContinuousRecording {
+
+    static final String RECORDING_NAME = "chatterbox-continuous";
+
+    private final ProfilingProperties properties;
+    private Recording recording;
+    private RecordingStatus status = RecordingStatus.inactive();
+
+    public ContinuousRecording(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isRecordOnStartup()) {
+            start(properties.getMode());
+        }
+    }
+
+    public synchronized RecordingStatus start(RecordingMode mode) {
+        closeRecording();
+        Recording started = new Recording(mode.settings());
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(properties.getMaxAge());
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        started.enable(UserOperationEvent.class).withThreshold(properties.getOperationThreshold());
+        started.start();
+        recording = started;
+        status = new RecordingStatus(true, mode, Instant.now(), properties.getMaxAge(), properties.getMaxSize().toBytes());
+        log.info("Started continuous JFR recording in {} mode, keeping {}", mode, properties.getMaxAge());
+        return status;
+    }
+
+    public synchronized RecordingStatus stop() {
+        closeRecording();
+        log.info("Stopped continuous JFR recording");
+        return status;
+    }
+
+    public synchronized RecordingStatus status() {
+        return status;
+    }
+
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new RecordingNotActiveException("No continuous recording is running; start one first.");
+        }
+        Path directory = properties.getDumpDirectory();
+        Path file = directory == null
+                ? Files.createTempFile("chatterbox-", ".jfr")
+                : Files.createTempFile(Files.createDirectories(directory), "chatterbox-", ".jfr");
+        recording.dump(file);
+        log.info("Dumped continuous JFR recording to {} ({} bytes)", file, Files.size(file));
+        return file;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closeRecording();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        status = RecordingStatus.inactive();
+    }
+}
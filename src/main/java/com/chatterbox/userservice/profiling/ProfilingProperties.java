@@ -0,0 +1,40 @@
+package com.chatterbox.userservice.profiling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for the continuous Java Flight Recorder recording, bound from `chatterbox.profiling.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   profiling:
+ *     record-on-startup: true
+ *     mode: DEFAULT
+ *     max-age: 15m
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.profiling")
+public class ProfilingProperties {
+
+    /** Starts the continuous recording once the application is ready. */
+    private boolean recordOnStartup = true;
+
+    private RecordingMode mode = RecordingMode.DEFAULT;
+
+    /** Oldest data kept in the ring buffer. */
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    /** Upper bound of the on-disk ring buffer. */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    /** Only `UserOperationEvent`s at least this long are recorded; raise it under heavy traffic. */
+    private Duration operationThreshold = Duration.ZERO;
+
+    /** Directory dumps are written to before they are streamed to the caller; the system temp directory if unset. */
+    private Path dumpDirectory;
+}
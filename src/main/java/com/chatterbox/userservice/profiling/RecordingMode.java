@@ -0,0 +1,44 @@
+package com.chatterbox.userservice.profiling;
+
+import jdk.jfr.Configuration;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Event settings of the continuous recording.
+ *
+ * - DEFAULT: the JDK `default` configuration (about 1% overhead), suitable for always-on use.
+ * - ALLOCATION: the JDK `profile` configuration with allocation sampling raised to 1000 samples
+ *   per second and old-object sampling with paths to GC roots, for hunting allocation pressure and
+ *   leaks. Noticeably more expensive; switch it on for a limited time.
+ */
+public enum RecordingMode {
+    DEFAULT("default", Map.of()),
+    ALLOCATION("profile", Map.of(
+            "jdk.ObjectAllocationSample#enabled", "true",
+            "jdk.ObjectAllocationSample#throttle", "1000/s",
+            "jdk.OldObjectSample#enabled", "true",
+            "jdk.OldObjectSample#cutoff", "1 s",
+            "jdk.GCHeapSummary#enabled", "true"));
+
+    private final String configuration;
+    private final Map<String, String> overrides;
+
+    RecordingMode(String configuration, Map<String, String> overrides) {
+        this.configuration = configuration;
+        this.overrides = overrides;
+    }
+
+    Map<String, String> settings() {
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(configuration).getSettings());
+            settings.putAll(overrides);
+            return settings;
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("JFR configuration " + configuration + " is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.chatterbox.userservice.profiling;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of the continuous recording as reported by `GET /api/admin/profiling/recording`.
+ */
+@Value
+public class RecordingStatus {
+    boolean active;
+    RecordingMode mode;
+    Instant startedAt;
+    Duration maxAge;
+    long maxSizeBytes;
+
+    static RecordingStatus inactive() {
+        return new RecordingStatus(false, null, null, null, 0);
+    }
+}
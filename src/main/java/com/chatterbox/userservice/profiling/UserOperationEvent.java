@@ -0,0 +1,36 @@
+package com.chatterbox.userservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UserOperationEvent is the Java Flight Recorder event emitted for every public `UserService`
+ * operation by the `UserOperationEventAspect`. The event duration is the time spent in the
+ * operation, including validation and all repository round trips.
+ *
+ * In JDK Mission Control the events appear under "ChatterBox / User Service"; from the command line:
+ * jfr print --events chatterbox.UserOperation recording.jfr
+ */
+@Name(UserOperationEvent.NAME)
+@Label("User Operation")
+@Category({"ChatterBox", "User Service"})
+@Description("A UserService operation with its outcome and number of repository calls")
+@StackTrace(false)
+public class UserOperationEvent extends Event {
+
+    public static final String NAME = "chatterbox.UserOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Outcome")
+    @Description("SUCCESS, or the simple name of the exception the operation failed with")
+    String outcome;
+
+    @Label("Repository Calls")
+    int repositoryCalls;
+}
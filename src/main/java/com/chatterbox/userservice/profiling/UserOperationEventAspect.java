@@ -0,0 +1,63 @@
+package com.chatterbox.userservice.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * UserOperationEventAspect emits a `UserOperationEvent` around every public `UserService` method
+ * and counts the `UserRepository` and `UserTombstoneRepository` calls made while it runs.
+ *
+ * It runs outside the `RepositoryResilienceAspect`, so the recorded duration includes the deadline
+ * and circuit breaker handling, and failures caused by them show up as the outcome. When no
+ * recording has the event enabled, the only cost is the `isEnabled()` check.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UserOperationEventAspect {
+
+    static final String SUCCESS = "SUCCESS";
+
+    private static final ThreadLocal<UserOperationEvent> CURRENT = new ThreadLocal<>();
+
+    @Around("execution(public * com.chatterbox.userservice.service.UserService.*(..))")
+    public Object recordOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        UserOperationEvent event = new UserOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        UserOperationEvent enclosing = CURRENT.get();
+        CURRENT.set(event);
+        event.operation = joinPoint.getSignature().getName();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.outcome = SUCCESS;
+            return result;
+        } catch (Throwable ex) {
+            event.outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.commit();
+            if (enclosing == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(enclosing);
+            }
+        }
+    }
+
+    @Around("target(com.chatterbox.userservice.repository.UserRepository)"
+            + " || target(com.chatterbox.userservice.repository.UserTombstoneRepository)")
+    public Object countRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        UserOperationEvent event = CURRENT.get();
+        if (event != null) {
+            event.repositoryCalls++;
+        }
+        return joinPoint.proceed();
+    }
+}
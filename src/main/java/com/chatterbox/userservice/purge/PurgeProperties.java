@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.purge;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the physical removal of soft-deleted users, bound from `chatterbox.purge.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   purge:
+ *     retention: 7d
+ *     max-deletes-per-second: 1000
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.purge")
+public class PurgeProperties {
+
+    private boolean enabled = true;
+
+    /** How long a soft-deleted user is kept before it is removed for good. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** Delay between the end of one purge pass and the start of the next. */
+    private Duration interval = Duration.ofMinutes(1);
+
+    /** Users removed per `delete` command. */
+    private int batchSize = 500;
+
+    /** Upper bound on the removal rate, so that purging never competes with peak write traffic. */
+    private int maxDeletesPerSecond = 1000;
+}
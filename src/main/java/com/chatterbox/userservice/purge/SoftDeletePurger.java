@@ -0,0 +1,124 @@
+package com.chatterbox.userservice.purge;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SoftDeletePurger physically removes users that were soft deleted more than `retention` ago.
+ *
+ * A TTL index would remove them too, but the TTL monitor deletes everything that has expired in
+ * one go, which after a wave of deletions turns into exactly the write spike soft deletion is
+ * meant to avoid. The purger instead removes expired users in batches of `batch-size` ids, found
+ * through the partial `deletedAt` index, and sleeps between batches so that the removal rate stays
+ * below `max-deletes-per-second`. Passes run on a single background thread, `interval` apart, and
+ * go through the partitions one after the other.
+ *
+ * Key Methods:
+ * - `purge()`: Runs one pass until no expired user is left and returns the number removed.
+ */
+@Service
+@EnableConfigurationProperties(PurgeProperties.class)
+@Log4j2
+public class SoftDeletePurger {
+
+    private final UserPartitions partitions;
+    private final PurgeProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "soft-delete-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public SoftDeletePurger(UserPartitions partitions, PurgeProperties properties) {
+        this(partitions, properties, Clock.systemUTC());
+    }
+
+    SoftDeletePurger(UserPartitions partitions, PurgeProperties properties, Clock clock) {
+        this.partitions = partitions;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            long interval = properties.getInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::purgeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public long purge() {
+        Instant cutoff = clock.instant().minus(properties.getRetention());
+        long removed = 0;
+        for (MongoTemplate partition : partitions.all()) {
+            removed += purge(partition, cutoff);
+        }
+        if (removed > 0) {
+            log.info("Purged {} users soft deleted before {}", removed, cutoff);
+        }
+        return removed;
+    }
+
+    private long purge(MongoTemplate mongoTemplate, Instant cutoff) {
+        long removed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long batchStart = System.nanoTime();
+            Query expired = Query.query(Criteria.where("deletedAt").lt(cutoff)).limit(properties.getBatchSize());
+            expired.fields().include("id");
+            List<String> ids = mongoTemplate.find(expired, User.class).stream().map(User::getId).toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+            // re-checks deletedAt so that a user restored by an update in the meantime is kept
+            long deleted = mongoTemplate.remove(Query.query(Criteria.where("id").in(ids).and("deletedAt").lt(cutoff)),
+                    User.class).getDeletedCount();
+            removed += deleted;
+            throttle(deleted, System.nanoTime() - batchStart);
+        }
+        return removed;
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (RuntimeException ex) {
+            log.error("Purging soft-deleted users failed", ex);
+        }
+    }
+
+    private void throttle(long deleted, long elapsedNanos) {
+        long budgetNanos = deleted * TimeUnit.SECONDS.toNanos(1) / Math.max(1, properties.getMaxDeletesPerSecond());
+        long pauseNanos = budgetNanos - elapsedNanos;
+        if (pauseNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(pauseNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
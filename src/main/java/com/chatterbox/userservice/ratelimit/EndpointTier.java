@@ -0,0 +1,15 @@
+package com.chatterbox.userservice.ratelimit;
+
+/**
+ * Budget classes used by the rate limiter. Each client gets one token bucket per tier.
+ *
+ * - READ: single-document lookups (`GET /api/users/{id}`, `GET /api/users/username/{username}`).
+ * - WRITE: registration, update and single deletes.
+ * - EXPENSIVE: operations that scan or modify the whole collection (`GET /api/users`, `DELETE /deleteAll`,
+ *   `GET /api/users/stats?exact=true`).
+ */
+public enum EndpointTier {
+    READ,
+    WRITE,
+    EXPENSIVE
+}
@@ -0,0 +1,28 @@
+package com.chatterbox.userservice.ratelimit;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the `RateLimitInterceptor` for the public user API (`/api/users/**`). Admin endpoints
+ * are not rate limited.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@AllArgsConstructor
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    private final RateLimitProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(new RateLimitInterceptor(new RateLimiter(properties), properties.getApiKeyHeader(),
+                            properties.getApiKeys()))
+                    .addPathPatterns("/api/users", "/api/users/**");
+        }
+    }
+}
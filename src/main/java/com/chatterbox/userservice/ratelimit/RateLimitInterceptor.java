@@ -0,0 +1,63 @@
+package com.chatterbox.userservice.ratelimit;
+
+import com.chatterbox.userservice.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitInterceptor applies the per-client budgets before a `/api/users` handler runs.
+ *
+ * The client is identified by the configured API key header when it carries one of the configured
+ * `api-keys`, and by the remote address otherwise. Keys are not authenticated, so accepting any key
+ * would let a client escape its budget by sending a new one with every request.
+ * The tier comes from `@RateLimitTier` on the handler method, or from the HTTP method otherwise.
+ * Rejected requests never reach the service layer; a `RateLimitExceededException` is thrown and
+ * turned into `429 Too Many Requests` with a `Retry-After` header by the GlobalExceptionHandler.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, String apiKeyHeader, Set<String> apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        EndpointTier tier = tierOf(handlerMethod, request);
+        long waitNanos = rateLimiter.tryAcquire(tier, clientId(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException(
+                    "Rate limit exceeded for " + tier.name().toLowerCase() + " requests. Retry after "
+                            + retryAfterSeconds + " second(s).", retryAfterSeconds);
+        }
+        return true;
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private static EndpointTier tierOf(HandlerMethod handlerMethod, HttpServletRequest request) {
+        RateLimitTier annotation = handlerMethod.getMethodAnnotation(RateLimitTier.class);
+        if (annotation != null) {
+            return annotation.value();
+        }
+        return HttpMethod.GET.matches(request.getMethod()) ? EndpointTier.READ : EndpointTier.WRITE;
+    }
+}
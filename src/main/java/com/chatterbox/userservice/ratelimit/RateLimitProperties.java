@@ -0,0 +1,60 @@
+package com.chatterbox.userservice.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration for per-client rate limiting, bound from `chatterbox.rate-limit.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   rate-limit:
+ *     api-key-header: X-API-Key
+ *     api-keys: [dashboard-7f3a, mobile-c21e]
+ *     budgets:
+ *       read: { capacity: 100, refill-per-second: 50 }
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Header identifying the client; the remote address is used when it is absent. */
+    private String apiKeyHeader = "X-API-Key";
+
+    /**
+     * API keys that get budgets of their own. The header is not authenticated, so a request with
+     * any other key is limited by its remote address, as if it sent none.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /** Number of tracked buckets above which idle buckets are evicted. */
+    private int maxTrackedBuckets = 100_000;
+
+    private Map<EndpointTier, Budget> budgets = new EnumMap<>(Map.of(
+            EndpointTier.READ, new Budget(100, 50),
+            EndpointTier.WRITE, new Budget(20, 10),
+            EndpointTier.EXPENSIVE, new Budget(5, 1)));
+
+    @Data
+    public static class Budget {
+        /** Maximum burst size. */
+        private long capacity;
+        /** Sustained requests per second. */
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.chatterbox.userservice.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a handler method to a rate-limit tier. Handlers without the annotation are classified by
+ * HTTP method: GET is READ, everything else is WRITE.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimitTier {
+    EndpointTier value();
+}
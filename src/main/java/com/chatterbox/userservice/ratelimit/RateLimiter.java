@@ -0,0 +1,84 @@
+package com.chatterbox.userservice.ratelimit;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * RateLimiter holds one `TokenBucket` per (tier, client) pair.
+ *
+ * Buckets live in a `ConcurrentHashMap`, so lookups never lock and creation only contends on the
+ * affected hash bin; the buckets themselves are single-CAS. To keep memory bounded when many
+ * distinct clients show up, the map is swept once it grows past `maxTrackedBuckets`: buckets that
+ * have fully refilled are removed (they are indistinguishable from a fresh bucket). Each request
+ * that finds the map too large sweeps at most `SWEEP_BATCH` buckets, continuing where the previous
+ * sweep stopped, so no request pays for a pass over the whole map. Only one thread sweeps at a
+ * time and request threads never wait for it.
+ */
+public class RateLimiter {
+
+    static final int SWEEP_BATCH = 256;
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+    private Iterator<TokenBucket> sweep = Collections.emptyIterator(); // only used while holding sweeping
+
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 0 when the request is permitted, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(EndpointTier tier, String clientId) {
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.get(tier.name() + ':' + clientId);
+        if (bucket != null) {
+            return bucket.tryAcquire(now);
+        }
+        RateLimitProperties.Budget budget = properties.getBudgets().get(tier);
+        if (budget == null) {
+            return 0;
+        }
+        bucket = buckets.computeIfAbsent(tier.name() + ':' + clientId,
+                key -> new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (buckets.size() > properties.getMaxTrackedBuckets()) {
+            evictIdleBuckets(now);
+        }
+        return waitNanos;
+    }
+
+    int trackedBuckets() {
+        return buckets.size();
+    }
+
+    private void evictIdleBuckets(long now) {
+        if (sweeping.compareAndSet(false, true)) {
+            try {
+                for (int i = 0; i < SWEEP_BATCH; i++) {
+                    if (!sweep.hasNext()) {
+                        sweep = buckets.values().iterator();
+                        if (!sweep.hasNext()) {
+                            return;
+                        }
+                    }
+                    if (sweep.next().isIdle(now)) {
+                        sweep.remove();
+                    }
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+}
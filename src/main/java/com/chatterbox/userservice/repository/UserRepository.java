@@ -1,25 +1,29 @@
 package com.chatterbox.userservice.repository;
 
 import com.chatterbox.userservice.model.User;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.Repository;
 
 import java.util.Optional;
 
 /**
- * UserRepository is a Spring Data repository interface for the User entity.
- * It extends MongoRepository to provide basic CRUD operations, as well as custom query methods
- * for finding users by their username and email.
+ * UserRepository is a Spring Data repository interface for the User entity, with custom query
+ * methods for finding users by their username and email.
  *
  * Key methods:
  * - `findByUserName(String userName)`: Finds a user by their username. The search is case-sensitive,
  *   but the username input is expected to always be in lowercase to ensure consistency.
  * - `findByEmail(String email)`: Finds a user by their email address.
  *
+ * Every method is implemented in `UserRepositoryCustomImpl`, which skips soft-deleted users and
+ * passes the remaining operation deadline to MongoDB as `maxTimeMS`. The repository extends the
+ * plain `Repository` marker rather than `MongoRepository`, so that none of the generic CRUD and
+ * query-by-example methods, which would return soft-deleted users, can be called by accident.
+ *
  * This repository acts as an abstraction layer between the service layer and MongoDB,
  * enabling efficient data retrieval and management for user-related operations.
  */
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends Repository<User, String>, UserRepositoryCustom {
 
     Optional<User> findByUserName(String userName); // case-sensitive but input is always lowercase
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.chatterbox.userservice.repository;
+
+import com.chatterbox.userservice.model.User;
+import com.mongodb.bulk.BulkWriteError;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * UserRepositoryCustom declares the `UserRepository` methods that are implemented by hand in
+ * `UserRepositoryCustomImpl` instead of being derived by Spring Data.
+ *
+ * Spring Data routes calls to a custom fragment ahead of query derivation, so callers keep using
+ * the familiar method names while every query carries the caller's remaining deadline as
+ * `maxTimeMS` and skips soft-deleted users. They are also the methods routed to the right
+ * database when users are partitioned, and the only ones `UserRepository` exposes besides its
+ * lookups.
+ */
+public interface UserRepositoryCustom {
+
+    Optional<User> findById(String id);
+
+    Optional<User> findByUserName(String userName);
+
+    Optional<User> findByEmail(String email);
+
+    List<User> findAll();
+
+    List<User> findAllById(Iterable<String> ids);
+
+    /**
+     * Returns the live users holding any of the user names or any of the emails, from every
+     * partition. Only `id`, `userName` and `email` are loaded.
+     */
+    List<User> findAllHolding(Collection<String> userNames, Collection<String> emails);
+
+    /**
+     * Counts the users that are not soft deleted.
+     */
+    long count();
+
+    <S extends User> S save(S user);
+
+    /**
+     * Marks the user as deleted at `deletedAt`. Returns false when there is no such live user.
+     */
+    boolean softDeleteById(String id, Instant deletedAt);
+
+    /**
+     * Inserts the users with one unordered bulk write. Every user not listed in the returned errors
+     * was inserted; the errors carry the index of the rejected user in `users`. Users without an id
+     * are assigned one before the write.
+     */
+    List<BulkWriteError> insertUnordered(List<User> users);
+
+    /**
+     * Raises the `lastSeenAt` of each live user in the map to the given instant, with one unordered
+     * bulk of `$max` updates per partition. A user whose stored value is already later keeps it;
+     * unknown and soft-deleted users are skipped.
+     */
+    void advanceLastSeen(Map<String, Instant> lastSeenById);
+
+    /**
+     * Removes every user by swapping in an empty, fully indexed collection and dropping the old one.
+     */
+    void truncate();
+}
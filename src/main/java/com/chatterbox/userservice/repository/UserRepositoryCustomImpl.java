@@ -0,0 +1,375 @@
+package com.chatterbox.userservice.repository;
+
+import com.chatterbox.userservice.index.IndexDefinition;
+import com.chatterbox.userservice.index.UserIndexDefinitions;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserLookupEntry;
+import com.chatterbox.userservice.partition.UserLookupIndex;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.resilience.Deadline;
+import com.mongodb.MongoNamespace;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.RenameCollectionOptions;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Streamable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * UserRepositoryCustomImpl runs the user lookups through `MongoTemplate` so that each query is
+ * sent with `maxTimeMS` set to the time left on the current `Deadline`. MongoDB then aborts the
+ * query server-side once the caller can no longer use the result, instead of letting it keep a
+ * connection and a Tomcat thread busy.
+ *
+ * Queries issued outside of any deadline are sent without `maxTimeMS`, exactly as the derived
+ * queries were. Every lookup is restricted to users without `deletedAt`; the unique indexes are
+ * compound with `deletedAt`, so these lookups stay index-only equality matches.
+ *
+ * `truncate()` replaces a mass `deleteMany` (one index update per document and index) with a
+ * metadata operation: an empty staging collection gets the declared indexes and is renamed over
+ * the users collection with `dropTarget`, which drops the old collection atomically.
+ *
+ * Every operation is routed through `UserPartitions`. When users are partitioned:
+ * - `findById` and the writes go to the partition of the id; `findByUserName` and `findByEmail`
+ *   first read the id from the `UserLookupIndex`, then check the field on the user they load;
+ * - `findAll`, `findAllById`, `findAllHolding`, `count`, `advanceLastSeen` and `truncate` run on all
+ *   partitions in parallel and merge;
+ * - writes claim the user's `userName` and `email` in the lookup index before the user document is
+ *   written, and release them after it was changed or deleted. The per-partition unique indexes
+ *   cannot see the other partitions, so a value already claimed by another live user is rejected
+ *   as a duplicate key here.
+ *
+ * `UserRepository` exposes no other methods, so no call can bypass the routing or the
+ * soft-delete filter.
+ *
+ * Lookups by `userName` and `email` go through `UserDocumentLayout.matching`, so that they find
+ * users in either stored layout while the compact layout is being rolled out.
+ */
+@AllArgsConstructor
+@Log4j2
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String DELETED_AT = "deletedAt";
+    private static final String LAST_SEEN_AT = "lastSeenAt";
+    private static final String STAGING_COLLECTION = UserIndexDefinitions.USERS_COLLECTION + "_next";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final UserPartitions partitions;
+    private final UserLookupIndex lookupIndex;
+    private final UserIndexDefinitions indexDefinitions;
+    private final UserDocumentLayout layout;
+
+    @Override
+    public Optional<User> findById(String id) {
+        return findOne(partitions.forId(id), Criteria.where("id").is(id));
+    }
+
+    @Override
+    public Optional<User> findByUserName(String userName) {
+        return findByLookup(UserLookupIndex.USER_NAME, userName);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return findByLookup(UserLookupIndex.EMAIL, email);
+    }
+
+    @Override
+    public List<User> findAll() {
+        Query query = withDeadline(Query.query(Criteria.where(DELETED_AT).is(null)));
+        return partitions.fanOut(partition -> partition.find(query, User.class)).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public List<User> findAllById(Iterable<String> ids) {
+        Map<MongoTemplate, List<String>> idsByPartition = new LinkedHashMap<>();
+        for (String id : Streamable.of(ids)) {
+            idsByPartition.computeIfAbsent(partitions.forId(id), partition -> new ArrayList<>()).add(id);
+        }
+        List<Supplier<List<User>>> lookups = new ArrayList<>();
+        idsByPartition.forEach((partition, partitionIds) -> {
+            Query query = withDeadline(Query.query(live(Criteria.where("id").in(partitionIds))));
+            lookups.add(() -> partition.find(query, User.class));
+        });
+        if (lookups.isEmpty()) {
+            return List.of();
+        }
+        return partitions.inParallel(lookups).stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public List<User> findAllHolding(Collection<String> userNames, Collection<String> emails) {
+        Query query = withDeadline(Query.query(new Criteria().orOperator(
+                live(layout.matchingAny("userName", userNames)),
+                live(layout.matchingAny("email", emails)))));
+        UserDocumentLayout.include(query, "userName", "email");
+        return partitions.fanOut(partition -> partition.find(query, User.class)).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        Query query = withDeadline(Query.query(Criteria.where(DELETED_AT).is(null)));
+        return partitions.fanOut(partition -> partition.count(query, User.class)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public <S extends User> S save(S user) {
+        if (!partitions.isPartitioned()) {
+            return partitions.primary().save(user);
+        }
+        if (user.getId() == null) {
+            user.setId(new ObjectId().toHexString());
+        }
+        MongoTemplate partition = partitions.forId(user.getId());
+        User previous = partition.findById(user.getId(), User.class);
+        if (!claim(List.of(user)).isEmpty()) {
+            throw new DuplicateKeyException("User " + user.getUserName() + " or email " + user.getEmail()
+                    + " is held by another user");
+        }
+        S saved = partition.save(user);
+        if (previous != null && previous.getDeletedAt() == null) {
+            releaseChanged(previous, saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean softDeleteById(String id, Instant deletedAt) {
+        Query query = withDeadline(Query.query(live(Criteria.where("id").is(id))));
+        Update update = Update.update(DELETED_AT, deletedAt);
+        if (!partitions.isPartitioned()) {
+            return partitions.primary().updateFirst(query, update, User.class).getModifiedCount() > 0;
+        }
+        User deleted = partitions.forId(id).findAndModify(query, update, FindAndModifyOptions.none(), User.class);
+        if (deleted == null) {
+            return false;
+        }
+        release(deleted);
+        return true;
+    }
+
+    @Override
+    public List<BulkWriteError> insertUnordered(List<User> users) {
+        // bulk inserts do not write generated ids back to the entities
+        for (User user : users) {
+            if (user.getId() == null) {
+                user.setId(new ObjectId().toHexString());
+            }
+        }
+        if (!partitions.isPartitioned()) {
+            return insertUnordered(partitions.primary(), users, null);
+        }
+
+        Set<Integer> rejected = claim(users);
+        List<BulkWriteError> errors = new ArrayList<>();
+        Map<MongoTemplate, List<Integer>> positionsByPartition = new LinkedHashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            if (rejected.contains(i)) {
+                errors.add(new BulkWriteError(DUPLICATE_KEY, "userName or email is held by another user",
+                        new BsonDocument(), i));
+            } else {
+                positionsByPartition.computeIfAbsent(partitions.forId(users.get(i).getId()),
+                        partition -> new ArrayList<>()).add(i);
+            }
+        }
+        List<Supplier<List<BulkWriteError>>> inserts = new ArrayList<>();
+        positionsByPartition.forEach((partition, positions) -> inserts.add(() ->
+                insertUnordered(partition, positions.stream().map(users::get).toList(), positions)));
+        if (!inserts.isEmpty()) {
+            for (List<BulkWriteError> partitionErrors : partitions.inParallel(inserts)) {
+                for (BulkWriteError error : partitionErrors) {
+                    release(users.get(error.getIndex()));
+                    errors.add(error);
+                }
+            }
+        }
+        errors.sort(Comparator.comparingInt(BulkWriteError::getIndex));
+        return errors;
+    }
+
+    @Override
+    public void advanceLastSeen(Map<String, Instant> lastSeenById) {
+        Map<MongoTemplate, List<Map.Entry<String, Instant>>> byPartition = new LinkedHashMap<>();
+        lastSeenById.entrySet().forEach(entry ->
+                byPartition.computeIfAbsent(partitions.forId(entry.getKey()), partition -> new ArrayList<>()).add(entry));
+        List<Supplier<Void>> writes = new ArrayList<>();
+        byPartition.forEach((partition, entries) -> writes.add(() -> {
+            BulkOperations bulk = partition.bulkOps(BulkMode.UNORDERED, User.class);
+            entries.forEach(entry -> bulk.updateOne(Query.query(live(Criteria.where("id").is(entry.getKey()))),
+                    new Update().max(LAST_SEEN_AT, entry.getValue())));
+            bulk.execute();
+            return null;
+        }));
+        if (!writes.isEmpty()) {
+            partitions.inParallel(writes);
+        }
+    }
+
+    @Override
+    public void truncate() {
+        partitions.fanOut(partition -> {
+            truncate(partition);
+            return null;
+        });
+        if (partitions.isPartitioned()) {
+            lookupIndex.clear();
+        }
+    }
+
+    private Optional<User> findByLookup(String field, String value) {
+        if (!partitions.isPartitioned()) {
+            return findOne(partitions.primary(), layout.matching(field, value));
+        }
+        return lookupIndex.find(field, value)
+                .flatMap(id -> findOne(partitions.forId(id), layout.matching(field, value).and("id").is(id)));
+    }
+
+    /**
+     * Points the lookup entries of the users at them and returns the positions of the users that
+     * could not claim all of theirs. The entries newly claimed by those users are released again.
+     */
+    private Set<Integer> claim(List<User> users) {
+        List<UserLookupEntry> entries = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        Set<String> pending = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            pending.add(users.get(i).getId());
+            for (UserLookupEntry entry : UserLookupIndex.entriesOf(users.get(i))) {
+                entries.add(entry);
+                owners.add(i);
+            }
+        }
+        Set<Integer> taken = new HashSet<>(lookupIndex.insertAll(entries));
+        List<Integer> claimed = new ArrayList<>();
+        Set<Integer> rejected = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (!taken.contains(i)) {
+                claimed.add(i);
+                continue;
+            }
+            UserLookupEntry entry = entries.get(i);
+            Optional<String> holder = lookupIndex.holderOf(entry.getKey());
+            if (holder.isPresent() && holder.get().equals(entry.getUserId())) {
+                continue; // already held, e.g. an unchanged userName on update
+            }
+            if (takeOver(entry, holder, pending)) {
+                claimed.add(i);
+            } else {
+                rejected.add(owners.get(i));
+            }
+        }
+        for (int i : claimed) {
+            if (rejected.contains(owners.get(i))) {
+                lookupIndex.remove(entries.get(i).getKey(), entries.get(i).getUserId());
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Points an entry held by another user at the entry's user, unless that user still holds the
+     * value or is being written in the same batch.
+     */
+    private boolean takeOver(UserLookupEntry entry, Optional<String> holder, Set<String> pending) {
+        if (holder.isEmpty()) {
+            return lookupIndex.insertAll(List.of(entry)).isEmpty(); // released in the meantime
+        }
+        if (pending.contains(holder.get())) {
+            return false;
+        }
+        int separator = entry.getKey().indexOf(':');
+        Criteria holds = layout.matching(entry.getKey().substring(0, separator), entry.getKey().substring(separator + 1))
+                .and("id").is(holder.get());
+        return findOne(partitions.forId(holder.get()), holds).isEmpty()
+                && lookupIndex.replace(entry.getKey(), holder.get(), entry.getUserId());
+    }
+
+    private void release(User user) {
+        UserLookupIndex.entriesOf(user).forEach(entry -> lookupIndex.remove(entry.getKey(), entry.getUserId()));
+    }
+
+    private void releaseChanged(User previous, User current) {
+        List<UserLookupEntry> kept = UserLookupIndex.entriesOf(current);
+        UserLookupIndex.entriesOf(previous).stream()
+                .filter(entry -> !kept.contains(entry))
+                .forEach(entry -> lookupIndex.remove(entry.getKey(), entry.getUserId()));
+    }
+
+    /**
+     * Inserts the users into one partition; `positions`, when given, maps the users back to their
+     * position in the caller's list for the returned errors.
+     */
+    private static List<BulkWriteError> insertUnordered(MongoTemplate partition, List<User> users, List<Integer> positions) {
+        try {
+            partition.bulkOps(BulkMode.UNORDERED, User.class).insert(users).execute();
+            return List.of();
+        } catch (BulkOperationException ex) {
+            if (positions == null) {
+                return ex.getErrors();
+            }
+            return ex.getErrors().stream()
+                    .map(error -> new BulkWriteError(error.getCode(), error.getMessage(), error.getDetails(),
+                            positions.get(error.getIndex())))
+                    .toList();
+        }
+    }
+
+    private void truncate(MongoTemplate partition) {
+        MongoCollection<Document> staging = partition.getCollection(STAGING_COLLECTION);
+        staging.drop(); // leftover of an interrupted swap
+        for (IndexDefinition definition : indexDefinitions.definitions()) {
+            if (definition.getCollection().equals(UserIndexDefinitions.USERS_COLLECTION)) {
+                staging.createIndex(definition.keyDocument(), definition.toIndexOptions());
+            }
+        }
+        staging.renameCollection(
+                new MongoNamespace(partition.getDb().getName(), UserIndexDefinitions.USERS_COLLECTION),
+                new RenameCollectionOptions().dropTarget(true));
+        log.info("Replaced {} in {} with an empty collection", UserIndexDefinitions.USERS_COLLECTION,
+                partition.getDb().getName());
+    }
+
+    private static Optional<User> findOne(MongoTemplate partition, Criteria criteria) {
+        return Optional.ofNullable(partition.findOne(withDeadline(Query.query(live(criteria))), User.class));
+    }
+
+    private static Criteria live(Criteria criteria) {
+        return criteria.and(DELETED_AT).is(null);
+    }
+
+    private static Query withDeadline(Query query) {
+        Deadline.maxTime().ifPresent(query::maxTime);
+        return query;
+    }
+}
@@ -0,0 +1,10 @@
+package com.chatterbox.userservice.repository;
+
+import com.chatterbox.userservice.model.UserTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * UserTombstoneRepository stores the deletion markers read by the delta sync endpoint.
+ */
+public interface UserTombstoneRepository extends MongoRepository<UserTombstone, String> {
+}
@@ -0,0 +1,189 @@
+package com.chatterbox.userservice.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AdaptiveConcurrencyLimiter bounds the number of calls in flight against MongoDB, and adjusts
+ * that bound from the latency it observes instead of relying on a fixed pool size.
+ *
+ * It follows the gradient algorithm used by Netflix' concurrency-limits. Completed calls are
+ * averaged in windows of `sampleWindow` calls (the short RTT), and a slow exponential average of
+ * those windows, spanning about a hundred of them, serves as the baseline (the long RTT). After
+ * each window:
+ *
+ *   gradient = clamp(rttTolerance * longRtt / shortRtt, 0.5, 1)
+ *   limit    = (1 - smoothing) * limit + smoothing * (limit * gradient + sqrt(limit))
+ *
+ * While the store answers as fast as usual the gradient is 1 and the limit grows by about the
+ * square root of itself, probing for more throughput. Once queueing in the store shows up as
+ * latency, the gradient drops below 1 and the limit shrinks until the latency recovers. The limit
+ * only grows while at least half of it is in use, so a quiet period cannot inflate it.
+ *
+ * A call over the limit waits up to `maxQueueWait` for a slot, with at most `maxQueued` calls
+ * waiting; beyond that it is rejected at once and counted in `getRejectedCount()`.
+ *
+ * Taking and freeing a slot is a compare-and-set of the in-flight count against the current limit,
+ * so calls under the limit never lock. Only waiting calls take a lock, and the limit is recomputed
+ * by the one release that closes a window.
+ *
+ * Key Methods:
+ * - `tryAcquire(Duration maxWait)`: Takes a slot, waiting at most `maxWait`; false if rejected.
+ * - `release(long durationNanos)`: Frees the slot and records how long the call took.
+ * - `release()`: Frees the slot of a call that did not reach MongoDB.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_RTT_SMOOTHING = 0.01;
+
+    private final ResilienceProperties.ConcurrencyLimitSettings settings;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition slotFreed = waitLock.newCondition();
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder windowNanos = new LongAdder();
+    private final AtomicInteger windowCalls = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ResilienceProperties.ConcurrencyLimitSettings settings) {
+        this.settings = settings;
+        this.limit = clamp(settings.getInitialLimit());
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public boolean tryAcquire(Duration maxWait) {
+        if (!settings.isEnabled() || tryTake()) {
+            return true;
+        }
+        long nanos = maxWait.toNanos();
+        if (nanos <= 0 || waiting.incrementAndGet() > settings.getMaxQueued()) {
+            if (nanos > 0) {
+                waiting.decrementAndGet();
+            }
+            rejected.increment();
+            return false;
+        }
+        waitLock.lock();
+        try {
+            // a release after the increment above either sees the waiter or frees the slot taken here
+            while (!tryTake()) {
+                if (nanos <= 0) {
+                    rejected.increment();
+                    return false;
+                }
+                nanos = slotFreed.awaitNanos(nanos);
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+            waitLock.unlock();
+        }
+    }
+
+    public void release(long durationNanos) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        windowNanos.add(durationNanos);
+        if (windowCalls.incrementAndGet() >= Math.max(1, settings.getSampleWindow()) && windowLock.tryLock()) {
+            try {
+                closeWindow();
+            } finally {
+                windowLock.unlock();
+            }
+        }
+        wakeWaiters(false);
+    }
+
+    public void release() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        wakeWaiters(false);
+    }
+
+    private boolean tryTake() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    private void wakeWaiters(boolean all) {
+        if (waiting.get() == 0) {
+            return;
+        }
+        waitLock.lock();
+        try {
+            if (all) {
+                slotFreed.signalAll();
+            } else {
+                slotFreed.signal();
+            }
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    private void closeWindow() {
+        int calls = windowCalls.getAndSet(0);
+        if (calls == 0) {
+            return; // closed by another release in the meantime
+        }
+        double shortRttNanos = Math.max(1.0, (double) windowNanos.sumThenReset() / calls);
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos = (1 - LONG_RTT_SMOOTHING) * longRttNanos + LONG_RTT_SMOOTHING * shortRttNanos;
+        }
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95; // the store got faster, let the baseline follow sooner
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, settings.getRttTolerance() * longRttNanos / shortRttNanos));
+        if (gradient >= 1.0 && maxInFlight < limit / 2) {
+            return;
+        }
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothing = settings.getSmoothing();
+        double previous = limit;
+        limit = clamp((1 - smoothing) * limit + smoothing * estimate);
+        if ((int) limit > (int) previous) {
+            wakeWaiters(true);
+        }
+    }
+
+    private double clamp(double value) {
+        return Math.max(Math.max(1, settings.getMinLimit()), Math.min(settings.getMaxLimit(), value));
+    }
+}
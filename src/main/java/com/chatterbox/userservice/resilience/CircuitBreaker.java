@@ -0,0 +1,145 @@
+package com.chatterbox.userservice.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * CircuitBreaker stops sending calls to MongoDB once it is clearly unhealthy.
+ *
+ * Outcomes are counted in fixed time windows. Once a window has seen at least `minimumCalls`
+ * calls and either the failure rate or the slow-call rate reaches its threshold, the breaker
+ * OPENs and rejects every call for `openDuration`. It then goes HALF_OPEN and lets
+ * `halfOpenPermits` trial calls through: if they all succeed in time it CLOSEs again, and a
+ * single failed or slow trial re-opens it.
+ *
+ * All state is held in atomics; recording an outcome never blocks the calling thread.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final ResilienceProperties.CircuitBreakerSettings settings;
+    private final LongSupplier clock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicReference<Window> window;
+    private final AtomicInteger halfOpenPermitsLeft = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+    private volatile long openedAt;
+
+    public CircuitBreaker(ResilienceProperties.CircuitBreakerSettings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    CircuitBreaker(ResilienceProperties.CircuitBreakerSettings settings, LongSupplier clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.window = new AtomicReference<>(new Window(clock.getAsLong()));
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * @return true when the call may proceed; the caller must then report its outcome through
+     * `onSuccess` or `onFailure`
+     */
+    public boolean tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.OPEN) {
+            if (clock.getAsLong() - openedAt < settings.getOpenDuration().toNanos()) {
+                return false;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                halfOpenSuccesses.set(0);
+                halfOpenPermitsLeft.set(settings.getHalfOpenPermits());
+            }
+            current = state.get();
+        }
+        if (current == State.HALF_OPEN) {
+            return halfOpenPermitsLeft.getAndDecrement() > 0;
+        }
+        return true;
+    }
+
+    /**
+     * @return how long callers should wait before retrying while the breaker is open
+     */
+    public long retryAfterSeconds() {
+        long remaining = settings.getOpenDuration().toNanos() - (clock.getAsLong() - openedAt);
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L));
+    }
+
+    public void onSuccess(long durationNanos) {
+        boolean slow = durationNanos >= settings.getSlowCallThreshold().toNanos();
+        if (state.get() == State.HALF_OPEN) {
+            if (slow) {
+                open(State.HALF_OPEN);
+            } else if (halfOpenSuccesses.incrementAndGet() >= settings.getHalfOpenPermits()
+                    && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                window.set(new Window(clock.getAsLong()));
+            }
+            return;
+        }
+        record(false, slow);
+    }
+
+    public void onFailure(long durationNanos) {
+        if (state.get() == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+            return;
+        }
+        record(true, durationNanos >= settings.getSlowCallThreshold().toNanos());
+    }
+
+    private void record(boolean failed, boolean slow) {
+        Window current = currentWindow();
+        current.calls.increment();
+        if (failed) {
+            current.failures.increment();
+        }
+        if (slow) {
+            current.slowCalls.increment();
+        }
+        long calls = current.calls.sum();
+        if (calls >= settings.getMinimumCalls()
+                && (current.failures.sum() * 100 >= settings.getFailureRateThreshold() * calls
+                || current.slowCalls.sum() * 100 >= settings.getSlowCallRateThreshold() * calls)) {
+            open(State.CLOSED);
+        }
+    }
+
+    private void open(State from) {
+        if (state.compareAndSet(from, State.OPEN)) {
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    private Window currentWindow() {
+        long now = clock.getAsLong();
+        Window current = window.get();
+        if (now - current.start >= settings.getWindow().toNanos()) {
+            Window next = new Window(now);
+            current = window.compareAndSet(current, next) ? next : window.get();
+        }
+        return current;
+    }
+
+    private static final class Window {
+        final long start;
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder slowCalls = new LongAdder();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
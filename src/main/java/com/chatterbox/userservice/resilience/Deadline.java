@@ -0,0 +1,100 @@
+package com.chatterbox.userservice.resilience;
+
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Deadline tracks the time budget of the current `UserService` operation on the calling thread.
+ *
+ * A deadline is opened by the `RepositoryResilienceAspect` when a service method starts and is
+ * consumed by every repository call made on its behalf: queries receive the remaining budget as
+ * MongoDB `maxTimeMS` (see `UserRepositoryCustomImpl`), and a call that would start after the
+ * deadline has passed fails immediately with a `DeadlineExceededException`.
+ *
+ * Scopes nest: an inner scope can only shorten the deadline, never extend it, and closing a
+ * scope restores the previous one.
+ *
+ * Example usage:
+ * try (Deadline.Scope ignored = Deadline.start(Duration.ofSeconds(2))) {
+ *     userRepository.findByUserName(userName);
+ * }
+ */
+public final class Deadline {
+
+    private static final Duration MINIMUM_MAX_TIME = Duration.ofMillis(1);
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private Deadline() {
+    }
+
+    public static Scope start(Duration budget) {
+        Long previous = CURRENT.get();
+        long candidate = System.nanoTime() + budget.toNanos();
+        CURRENT.set(previous != null && previous - candidate < 0 ? previous : candidate);
+        return new Scope(previous);
+    }
+
+    /**
+     * @return the time left before the current deadline (possibly negative), or empty when the
+     * caller is not running under a deadline
+     */
+    public static Optional<Duration> remaining() {
+        Long deadline = CURRENT.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return the time left to send as MongoDB `maxTimeMS`, at least 1 ms so that an expired
+     * deadline still sets a limit, or empty when the caller is not running under a deadline
+     */
+    public static Optional<Duration> maxTime() {
+        return remaining().map(remaining -> remaining.compareTo(MINIMUM_MAX_TIME) < 0 ? MINIMUM_MAX_TIME : remaining);
+    }
+
+    /**
+     * @return the task, made to run under the caller's deadline on whichever thread executes it
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Long deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                new Scope(previous).close();
+            }
+        };
+    }
+
+    public static void checkNotExceeded(String operation) {
+        Long deadline = CURRENT.get();
+        if (deadline != null && deadline - System.nanoTime() <= 0) {
+            throw new DeadlineExceededException("Deadline exceeded before " + operation + " could run");
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Long previous;
+
+        private Scope(Long previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.chatterbox.userservice.resilience;
+
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.log4j.Log4j2;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * RepositoryResilienceAspect bounds how long `UserService` operations may wait on MongoDB.
+ *
+ * - Around every public `UserService` method it opens a `Deadline` with the budget configured for
+ *   that operation. Repository queries pick up the remaining budget as `maxTimeMS`.
+ * - Around every `UserRepository` call it checks the deadline, takes a slot from the
+ *   `AdaptiveConcurrencyLimiter` and asks the `CircuitBreaker` before touching MongoDB, then
+ *   reports the outcome and latency to both.
+ *
+ * When the breaker is open, calls fail fast with a `ServiceUnavailableException` (503) instead of
+ * occupying a Tomcat thread. So do calls that find the concurrency limit reached and no slot freed
+ * within `max-queue-wait` (or the remaining deadline, if shorter). A query killed by `maxTimeMS`
+ * surfaces as a `DeadlineExceededException` (also 503).
+ *
+ * Only failures of the store itself count against the breaker: lost connections, server
+ * selection and socket timeouts, queries killed by `maxTimeMS`, a primary stepping down. Errors
+ * the request caused, such as a duplicate key, pass through and are recorded like a successful
+ * call, so a burst of duplicate signups cannot open the breaker for everyone.
+ *
+ * The limiter is published as the `chatterbox.repository.concurrency.limit`, `.inflight` and
+ * `.rejected` meters.
+ */
+@Aspect
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+@Log4j2
+public class RepositoryResilienceAspect implements MeterBinder {
+
+    private final ResilienceProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public RepositoryResilienceAspect(ResilienceProperties properties) {
+        this.properties = properties;
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker());
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties.getConcurrencyLimit());
+    }
+
+    @Around("execution(public * com.chatterbox.userservice.service.UserService.*(..))")
+    public Object withDeadline(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (Deadline.Scope ignored = Deadline.start(properties.deadlineFor(joinPoint.getSignature().getName()))) {
+            return joinPoint.proceed();
+        }
+    }
+
+    @Around("target(com.chatterbox.userservice.repository.UserRepository)")
+    public Object guardRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        Deadline.checkNotExceeded(operation);
+        if (!concurrencyLimiter.tryAcquire(maxQueueWait())) {
+            Deadline.checkNotExceeded(operation);
+            throw new ServiceUnavailableException("User store is at its concurrency limit, please retry later.", 1);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            concurrencyLimiter.release();
+            throw new ServiceUnavailableException("User store is temporarily unavailable, please retry later.",
+                    circuitBreaker.retryAfterSeconds());
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long duration = System.nanoTime() - start;
+            concurrencyLimiter.release(duration);
+            circuitBreaker.onSuccess(duration);
+            return result;
+        } catch (Throwable ex) {
+            long duration = System.nanoTime() - start;
+            concurrencyLimiter.release(duration);
+            if (isStoreFailure(ex)) {
+                circuitBreaker.onFailure(duration);
+            } else {
+                circuitBreaker.onSuccess(duration);
+            }
+            if (isQueryTimeout(ex)) {
+                throw new DeadlineExceededException("Deadline exceeded while running " + operation, ex);
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chatterbox.repository.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Repository calls currently allowed in flight")
+                .register(registry);
+        Gauge.builder("chatterbox.repository.concurrency.inflight", concurrencyLimiter,
+                        AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Repository calls in flight")
+                .register(registry);
+        FunctionCounter.builder("chatterbox.repository.concurrency.rejected", concurrencyLimiter,
+                        AdaptiveConcurrencyLimiter::getRejectedCount)
+                .description("Repository calls rejected at the concurrency limit")
+                .register(registry);
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    private Duration maxQueueWait() {
+        Duration maxQueueWait = properties.getConcurrencyLimit().getMaxQueueWait();
+        return Deadline.remaining()
+                .filter(remaining -> remaining.compareTo(maxQueueWait) < 0)
+                .orElse(maxQueueWait);
+    }
+
+    /**
+     * @return whether the exception, or one of its causes, means MongoDB could not serve the call
+     */
+    static boolean isStoreFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof MongoSocketException
+                    || cause instanceof MongoTimeoutException
+                    || cause instanceof MongoExecutionTimeoutException
+                    || cause instanceof MongoNotPrimaryException
+                    || cause instanceof MongoNodeIsRecoveringException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isQueryTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoExecutionTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
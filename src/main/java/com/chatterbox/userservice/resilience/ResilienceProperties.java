@@ -0,0 +1,70 @@
+package com.chatterbox.userservice.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deadlines, circuit breaker and concurrency limit settings for repository access, bound from
+ * `chatterbox.resilience.*`.
+ *
+ * `deadlines.operations` is keyed by `UserService` method name; operations that are not listed
+ * use `deadlines.default`.
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.resilience")
+public class ResilienceProperties {
+
+    private Deadlines deadlines = new Deadlines();
+    private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+    private ConcurrencyLimitSettings concurrencyLimit = new ConcurrencyLimitSettings();
+
+    public Duration deadlineFor(String operation) {
+        return deadlines.getOperations().getOrDefault(operation, deadlines.getDefaultBudget());
+    }
+
+    @Data
+    public static class Deadlines {
+        private Duration defaultBudget = Duration.ofSeconds(2);
+        private Map<String, Duration> operations = new HashMap<>();
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+        /** Percentage of failed calls in a window that opens the breaker. */
+        private int failureRateThreshold = 50;
+        /** Calls slower than this count as slow. */
+        private Duration slowCallThreshold = Duration.ofSeconds(1);
+        /** Percentage of slow calls in a window that opens the breaker. */
+        private int slowCallRateThreshold = 80;
+        /** Calls needed in a window before the rates are evaluated. */
+        private int minimumCalls = 20;
+        private Duration window = Duration.ofSeconds(10);
+        private Duration openDuration = Duration.ofSeconds(5);
+        /** Trial calls let through while half-open. */
+        private int halfOpenPermits = 5;
+    }
+
+    @Data
+    public static class ConcurrencyLimitSettings {
+        private boolean enabled = true;
+        /** Repository calls allowed in flight before any latency has been observed. */
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        /** Upper bound on the limit; no use going past the driver's connection pool size. */
+        private int maxLimit = 100;
+        /** How much slower than its baseline the store may get before the limit shrinks. */
+        private double rttTolerance = 1.5;
+        /** Weight of each new estimate in the limit, between 0 and 1. */
+        private double smoothing = 0.2;
+        /** Completed calls whose average latency makes up one sample. */
+        private int sampleWindow = 10;
+        /** Calls that may wait for a free slot; further calls are rejected right away. */
+        private int maxQueued = 50;
+        /** How long a call waits for a free slot, at most, before it is rejected. */
+        private Duration maxQueueWait = Duration.ofMillis(50);
+    }
+}
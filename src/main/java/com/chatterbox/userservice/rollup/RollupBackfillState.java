@@ -0,0 +1,12 @@
+package com.chatterbox.userservice.rollup;
+
+/**
+ * Lifecycle of the rollup backfill: IDLE until it first runs, RUNNING while the history is being
+ * counted, then COMPLETED or FAILED.
+ */
+public enum RollupBackfillState {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.chatterbox.userservice.rollup;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time snapshot of the last rollup backfill, as returned by
+ * `GET /api/admin/rollups/backfill`.
+ *
+ * `countedUntil` is the instant the live counters took over; the backfill only counts the users
+ * registered, and the tombstones of users deleted, before it. `buckets` is the number of hourly
+ * and daily buckets written.
+ */
+@Value
+public class RollupBackfillStatus {
+    RollupBackfillState state;
+    Instant countedUntil;
+    Instant startedAt;
+    Instant finishedAt;
+    long registrations;
+    long deletions;
+    long buckets;
+    String failure;
+}
@@ -0,0 +1,33 @@
+package com.chatterbox.userservice.rollup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The bucket sizes of the signup rollups. Buckets start at the full hour or at midnight, both in
+ * UTC, and every bucket is stored under the id `<granularity>:<start>`, e.g.
+ * `HOUR:2025-05-06T10:00:00Z`. Ids of one granularity sort like their start, so a time range is a
+ * range scan on `_id`.
+ */
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public Instant bucketOf(Instant at) {
+        return at.truncatedTo(unit);
+    }
+
+    public Instant next(Instant start) {
+        return start.plus(1, unit);
+    }
+
+    public String bucketId(Instant start) {
+        return name() + ":" + start;
+    }
+}
@@ -0,0 +1,209 @@
+package com.chatterbox.userservice.rollup;
+
+import com.chatterbox.userservice.index.UserIndexDefinitions;
+import com.chatterbox.userservice.model.UserTombstone;
+import com.chatterbox.userservice.partition.UserPartitions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * SignupRollupBackfill counts the registrations and deletions that happened before live counting
+ * started (see `SignupRollups.countingSince()`) into the rollup buckets.
+ *
+ * Registrations are counted from the `createdAt` of the users still stored, deletions from the
+ * tombstones; both are grouped per hour by MongoDB, on every partition in parallel, so only the
+ * hourly counts travel to the service, which sums them into days. Users stored before `createdAt`
+ * was kept are counted by the creation time in their ObjectId `_id`, which only their ids have to
+ * be read for. Users removed by the purger or by
+ * `deleteAll`, and tombstones past their retention, are no longer there to be counted.
+ *
+ * The counts go to the `backfilledRegistered` and `backfilledDeleted` fields of the buckets, never
+ * to the live ones, so a run can be repeated at any time: each run replaces the backfilled counts
+ * of the previous one and leaves live counting alone.
+ *
+ * Key Methods:
+ * - `backfillAsync()`: Starts a run unless one is in progress and returns its status.
+ * - `getStatus()`: Returns the status of the current or last run.
+ */
+@Service
+@Log4j2
+public class SignupRollupBackfill {
+
+    private static final String HOUR_FORMAT = "%Y-%m-%dT%H:00:00Z";
+    private static final String BACKFILLED_AT = "backfilledAt";
+    private static final String CREATED_AT = "createdAt";
+
+    private final UserPartitions partitions;
+    private final SignupRollups rollups;
+    private final SignupRollupProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "signup-rollup-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile RollupBackfillState state = RollupBackfillState.IDLE;
+    private volatile Instant countedUntil;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long registrations;
+    private volatile long deletions;
+    private volatile long buckets;
+    private volatile String failure;
+    private Future<?> currentRun;
+
+    public SignupRollupBackfill(UserPartitions partitions, SignupRollups rollups, SignupRollupProperties properties) {
+        this.partitions = partitions;
+        this.rollups = rollups;
+        this.properties = properties;
+    }
+
+    public synchronized RollupBackfillStatus backfillAsync() {
+        if (currentRun == null || currentRun.isDone()) {
+            state = RollupBackfillState.RUNNING;
+            startedAt = Instant.now();
+            finishedAt = null;
+            countedUntil = null;
+            registrations = 0;
+            deletions = 0;
+            buckets = 0;
+            failure = null;
+            currentRun = executor.submit(this::run);
+        }
+        return getStatus();
+    }
+
+    public RollupBackfillStatus getStatus() {
+        return new RollupBackfillStatus(state, countedUntil, startedAt, finishedAt, registrations, deletions, buckets,
+                failure);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            backfill();
+            finishedAt = Instant.now();
+            state = RollupBackfillState.COMPLETED;
+            log.info("Backfilled signup rollups until {}: {} registrations and {} deletions in {} buckets",
+                    countedUntil, registrations, deletions, buckets);
+        } catch (RuntimeException ex) {
+            failure = ex.getMessage();
+            finishedAt = Instant.now();
+            state = RollupBackfillState.FAILED;
+            log.error("Backfilling signup rollups failed", ex);
+        }
+    }
+
+    void backfill() {
+        Instant runAt = Instant.now();
+        Instant until = rollups.countingSince();
+        countedUntil = until;
+
+        Map<Instant, long[]> hours = new TreeMap<>();
+        partitions.fanOut(partition -> {
+                    Map<Instant, Long> counts = countPerHour(partition, UserIndexDefinitions.USERS_COLLECTION,
+                            CREATED_AT, Criteria.where(CREATED_AT).lt(until));
+                    countLegacyPerHour(partition, until).forEach((hour, count) -> counts.merge(hour, count, Long::sum));
+                    return counts;
+                })
+                .forEach(counts -> counts.forEach((hour, count) -> hours.computeIfAbsent(hour, key -> new long[2])[0] += count));
+        countPerHour(partitions.primary(), UserIndexDefinitions.TOMBSTONES_COLLECTION, "deletedAt",
+                Criteria.where("deletedAt").lt(until).and("_id").ne(UserTombstone.ALL_USERS))
+                .forEach((hour, count) -> hours.computeIfAbsent(hour, key -> new long[2])[1] += count);
+
+        Map<Instant, long[]> days = new TreeMap<>();
+        hours.forEach((hour, counts) -> {
+            long[] day = days.computeIfAbsent(RollupGranularity.DAY.bucketOf(hour), key -> new long[2]);
+            day[0] += counts[0];
+            day[1] += counts[1];
+            registrations += counts[0];
+            deletions += counts[1];
+        });
+
+        MongoTemplate mongoTemplate = partitions.primary();
+        write(mongoTemplate, RollupGranularity.HOUR, hours, runAt);
+        write(mongoTemplate, RollupGranularity.DAY, days, runAt);
+        // buckets a previous run counted into and this one did not, e.g. after the purger ran
+        mongoTemplate.updateMulti(Query.query(Criteria.where(BACKFILLED_AT).lt(Date.from(runAt))),
+                new Update().unset(SignupRollups.BACKFILLED_REGISTERED).unset(SignupRollups.BACKFILLED_DELETED)
+                        .unset(BACKFILLED_AT),
+                SignupRollups.COLLECTION);
+    }
+
+    private static Map<Instant, Long> countPerHour(MongoTemplate mongoTemplate, String collection, String field,
+                                                   Criteria criteria) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.project().and(DateOperators.DateToString.dateOf(field).toString(HOUR_FORMAT)).as("hour"),
+                Aggregation.group("hour").count().as("count"));
+        Map<Instant, Long> counts = new TreeMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            counts.put(Instant.parse(group.getString("_id")), group.get("count", Number.class).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the users stored before `createdAt` was kept by the creation time in their ObjectId.
+     * Only their ids are read; users with an id of another type are not counted.
+     */
+    private static Map<Instant, Long> countLegacyPerHour(MongoTemplate mongoTemplate, Instant until) {
+        Query legacy = Query.query(Criteria.where(CREATED_AT).is(null).and("_id").lt(firstObjectIdAt(until)));
+        legacy.fields().include("_id");
+        Map<Instant, Long> counts = new TreeMap<>();
+        try (Stream<Document> users = mongoTemplate.stream(legacy, Document.class, UserIndexDefinitions.USERS_COLLECTION)) {
+            users.forEach(user -> counts.merge(RollupGranularity.HOUR.bucketOf(
+                    user.getObjectId("_id").getDate().toInstant()), 1L, Long::sum));
+        }
+        return counts;
+    }
+
+    /**
+     * @return the lowest ObjectId generated at the given instant; only ObjectIds compare below it
+     */
+    private static ObjectId firstObjectIdAt(Instant instant) {
+        return new ObjectId(String.format("%08x%016x", instant.getEpochSecond(), 0));
+    }
+
+    private void write(MongoTemplate mongoTemplate, RollupGranularity granularity, Map<Instant, long[]> counts,
+                       Instant runAt) {
+        List<Map.Entry<Instant, long[]>> entries = new ArrayList<>(counts.entrySet());
+        int batchSize = Math.max(1, properties.getBackfillBatchSize());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, SignupRollups.COLLECTION);
+            for (Map.Entry<Instant, long[]> entry : entries.subList(from, Math.min(entries.size(), from + batchSize))) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(granularity.bucketId(entry.getKey()))), new Update()
+                        .set(SignupRollups.BACKFILLED_REGISTERED, entry.getValue()[0])
+                        .set(SignupRollups.BACKFILLED_DELETED, entry.getValue()[1])
+                        .set(BACKFILLED_AT, Date.from(runAt)));
+            }
+            bulk.execute();
+            buckets += Math.min(batchSize, entries.size() - from);
+        }
+    }
+}
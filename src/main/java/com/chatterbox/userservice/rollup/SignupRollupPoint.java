@@ -0,0 +1,18 @@
+package com.chatterbox.userservice.rollup;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One bucket of the series returned by `GET /api/users/stats/signups`.
+ *
+ * `registered` and `deleted` count the registrations and deletions that happened in the bucket
+ * starting at `start`; buckets without any are included with zeros.
+ */
+@Value
+public class SignupRollupPoint {
+    Instant start;
+    long registered;
+    long deleted;
+}
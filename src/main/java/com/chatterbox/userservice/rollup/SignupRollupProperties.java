@@ -0,0 +1,32 @@
+package com.chatterbox.userservice.rollup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the signup rollups, bound from `chatterbox.rollups.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   rollups:
+ *     flush-interval: 10s
+ *     max-points: 2000
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.rollups")
+public class SignupRollupProperties {
+
+    /** When disabled, registrations and deletions are not counted. */
+    private boolean enabled = true;
+
+    /** Delay between the end of one flush of the in-memory counters and the start of the next. */
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    /** Most buckets a single time-series query may span. */
+    private int maxPoints = 2000;
+
+    /** Buckets written per bulk write by the backfill. */
+    private int backfillBatchSize = 1000;
+}
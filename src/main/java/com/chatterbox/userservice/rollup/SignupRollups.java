@@ -0,0 +1,223 @@
+package com.chatterbox.userservice.rollup;
+
+import com.chatterbox.userservice.exception.InvalidRollupQueryException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SignupRollups keeps hourly and daily registration and deletion counts in the `signup_rollups`
+ * collection, so that growth dashboards read a few small documents instead of aggregating over
+ * `users_collection`.
+ *
+ * `UserService` reports every registration and deletion, which only adds to an in-memory counter
+ * per bucket. Every `flush-interval` a background thread takes the counters out and adds them to
+ * their bucket documents with one unordered bulk write of `$inc` upserts, so concurrent instances
+ * simply add up. Counters of a write that failed go back into memory for the next flush; the last
+ * flush runs on shutdown.
+ *
+ * Live counting covers the events since the first instance with rollups started, which is kept in
+ * the collection as `countingSince`. Everything before it is counted by the `SignupRollupBackfill`
+ * into separate fields of the same buckets, so the two never count an event twice. A series adds
+ * both, plus the counters of this instance not flushed yet.
+ *
+ * Key Methods:
+ * - `registered(Instant at)` / `deleted(Instant at)`: Count one registration or deletion.
+ * - `flush()`: Writes the in-memory counters and returns the number of buckets written.
+ * - `series(RollupGranularity granularity, Instant from, Instant to)`: Returns one point per bucket
+ *   overlapping `[from, to)`, oldest first.
+ * - `countingSince()`: Returns the instant live counting started at.
+ */
+@Service
+@EnableConfigurationProperties(SignupRollupProperties.class)
+@Log4j2
+public class SignupRollups {
+
+    static final String COLLECTION = "signup_rollups";
+    static final String REGISTERED = "registered";
+    static final String DELETED = "deleted";
+    static final String BACKFILLED_REGISTERED = "backfilledRegistered";
+    static final String BACKFILLED_DELETED = "backfilledDeleted";
+
+    private static final String COUNTING_SINCE_ID = "countingSince";
+
+    private final MongoTemplate mongoTemplate;
+    private final SignupRollupProperties properties;
+    private final Instant startedAt = Instant.now();
+    private final Map<String, Long> registered = new ConcurrentHashMap<>();
+    private final Map<String, Long> deleted = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "signup-rollup-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean startRecorded;
+
+    public SignupRollups(MongoTemplate mongoTemplate, SignupRollupProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            long interval = properties.getFlushInterval().toMillis();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    public void registered(Instant at) {
+        count(registered, at);
+    }
+
+    public void deleted(Instant at) {
+        count(deleted, at);
+    }
+
+    /**
+     * @return the instant since which registrations and deletions are counted live: the earliest
+     * start of an instance with rollups, each of which only counts events after its own start
+     */
+    public Instant countingSince() {
+        Document stored = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(COUNTING_SINCE_ID)),
+                new Update().min("at", Date.from(startedAt)),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+        return stored.getDate("at").toInstant();
+    }
+
+    public synchronized int flush() {
+        if (!startRecorded) {
+            // before any count is stored, so that a backfill never counts the same events
+            countingSince();
+            startRecorded = true;
+        }
+        Map<String, long[]> batch = new LinkedHashMap<>();
+        drain(registered, batch, 0);
+        drain(deleted, batch, 1);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = new ArrayList<>(batch.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, COLLECTION);
+        for (String id : ids) {
+            long[] counts = batch.get(id);
+            bulk.upsert(Query.query(Criteria.where("_id").is(id)), new Update()
+                    .inc(REGISTERED, counts[0])
+                    .inc(DELETED, counts[1]));
+        }
+        try {
+            bulk.execute();
+            log.debug("Flushed signup counts of {} buckets", ids.size());
+            return ids.size();
+        } catch (BulkOperationException ex) {
+            // in unordered mode every bucket not listed as an error was written
+            ex.getErrors().forEach(error -> requeue(ids.get(error.getIndex()), batch.get(ids.get(error.getIndex()))));
+            throw ex;
+        } catch (RuntimeException ex) {
+            batch.forEach(this::requeue);
+            throw ex;
+        }
+    }
+
+    public List<SignupRollupPoint> series(RollupGranularity granularity, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRollupQueryException("from must be before to.");
+        }
+        Instant first = granularity.bucketOf(from);
+        Instant end = granularity.bucketOf(to).equals(to) ? to : granularity.next(granularity.bucketOf(to));
+        Map<Instant, long[]> points = new LinkedHashMap<>();
+        for (Instant start = first; start.isBefore(end); start = granularity.next(start)) {
+            if (points.size() == properties.getMaxPoints()) {
+                throw new InvalidRollupQueryException("The range from " + from + " to " + to + " spans more than "
+                        + properties.getMaxPoints() + " buckets.");
+            }
+            points.put(start, new long[2]);
+        }
+        Query stored = Query.query(Criteria.where("_id").gte(granularity.bucketId(first)).lt(granularity.bucketId(end)))
+                .with(Sort.by("_id"));
+        for (Document bucket : mongoTemplate.find(stored, Document.class, COLLECTION)) {
+            long[] counts = points.get(Instant.parse(bucket.getString("_id").substring(granularity.name().length() + 1)));
+            if (counts != null) {
+                counts[0] += count(bucket, REGISTERED) + count(bucket, BACKFILLED_REGISTERED);
+                counts[1] += count(bucket, DELETED) + count(bucket, BACKFILLED_DELETED);
+            }
+        }
+        points.forEach((start, counts) -> {
+            counts[0] += registered.getOrDefault(granularity.bucketId(start), 0L);
+            counts[1] += deleted.getOrDefault(granularity.bucketId(start), 0L);
+        });
+        return points.entrySet().stream()
+                .map(point -> new SignupRollupPoint(point.getKey(), point.getValue()[0], point.getValue()[1]))
+                .toList();
+    }
+
+    private void count(Map<String, Long> counters, Instant at) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            counters.merge(granularity.bucketId(granularity.bucketOf(at)), 1L, Long::sum);
+        }
+    }
+
+    private static void drain(Map<String, Long> counters, Map<String, long[]> batch, int slot) {
+        for (String id : counters.keySet()) {
+            Long count = counters.remove(id); // atomic against concurrent merges, so no count is lost
+            if (count != null) {
+                batch.computeIfAbsent(id, key -> new long[2])[slot] += count;
+            }
+        }
+    }
+
+    private void requeue(String id, long[] counts) {
+        if (counts[0] > 0) {
+            registered.merge(id, counts[0], Long::sum);
+        }
+        if (counts[1] > 0) {
+            deleted.merge(id, counts[1], Long::sum);
+        }
+    }
+
+    private static long count(Document bucket, String field) {
+        Number count = bucket.get(field, Number.class);
+        return count == null ? 0 : count.longValue();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Flushing signup counts failed, retrying with the next flush: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.chatterbox.userservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used as posting list of `TrigramIndex`. Ordinals are appended
+ * in increasing order, so every list stays sorted.
+ */
+final class IntList {
+
+    int[] values;
+    int size;
+
+    IntList() {
+        values = new int[4];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Rewrites every value through `remap`, dropping values mapped to -1. The mapping must be
+     * monotonic so that the list stays sorted.
+     */
+    void remap(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int mapped = remap[values[i]];
+            if (mapped >= 0) {
+                values[kept++] = mapped;
+            }
+        }
+        size = kept;
+        values = Arrays.copyOf(values, Math.max(kept, 1));
+    }
+
+    /**
+     * Returns the first index at or after `from` whose value is >= `key`, galloping forward from
+     * `from` so that a sequence of increasing keys costs O(log distance) per lookup.
+     */
+    int seek(int from, int key) {
+        if (from >= size || values[from] >= key) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while (high < size && values[high] < key) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        int index = Arrays.binarySearch(values, low + 1, Math.min(high, size), key);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the fuzzy user search, bound from `chatterbox.search.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   search:
+ *     min-score: 0.3
+ *     max-limit: 50
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.search")
+public class SearchProperties {
+
+    /** Builds the in-memory index after startup; the search endpoint answers 503 when disabled. */
+    private boolean enabled = true;
+
+    /** Minimum trigram similarity (Dice coefficient, 0..1) of a result. */
+    private double minScore = 0.3;
+
+    /** Fraction of the query's trigrams a user has to contain to be considered at all. */
+    private double minOverlap = 0.34;
+
+    private int defaultLimit = 10;
+
+    private int maxLimit = 50;
+
+    /** Change events read from the change log at a time while catching up. */
+    private int applyBatch = 512;
+}
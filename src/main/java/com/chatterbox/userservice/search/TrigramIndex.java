@@ -0,0 +1,341 @@
+package com.chatterbox.userservice.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TrigramIndex is an in-memory inverted index from character trigrams to documents, answering
+ * typo-tolerant queries ranked by trigram similarity.
+ *
+ * Text is lowercased, split into words on anything that is not a letter or digit, and every word
+ * is padded with a space on both sides before it is cut into trigrams, so "Jon" yields " jo",
+ * "jon" and "on ". A document is the set of distinct trigrams over all its fields. A query matches
+ * a document when they share at least `minOverlap` of the query's trigrams, and matches are ranked
+ * by the Dice coefficient `2 * shared / (queryTrigrams + documentTrigrams)`.
+ *
+ * Layout, chosen to keep ten million documents within a few gigabytes of heap:
+ * - every document gets an int ordinal; posting lists are sorted primitive int arrays;
+ * - ids live in a `String[]` by ordinal, found through an open-addressing table of ordinals
+ *   instead of a `HashMap<String, Integer>`;
+ * - updates and removals only mark the old ordinal deleted; once a quarter of the ordinals are
+ *   dead, `compact()` renumbers the live ones and rewrites the posting lists.
+ *
+ * Queries only have to visit the shortest `lists - minShared + 1` posting lists to enumerate
+ * candidates (a document sharing `minShared` trigrams must appear in one of them); the remaining,
+ * longer lists are probed with galloping search. Reads run concurrently under a read lock; writes
+ * take the write lock.
+ */
+public class TrigramIndex {
+
+    private static final char PAD = ' ';
+    private static final Comparator<Match> RANKING =
+            Comparator.comparingDouble(Match::getScore).thenComparing(Match::getId, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private String[] ids = new String[1024];
+    private short[] trigramCounts = new short[1024];
+    private int[] idTable = new int[2048];
+    private int nextOrdinal;
+    private int liveCount;
+
+    /**
+     * Indexes a document, replacing any previous version with the same id.
+     */
+    public void put(String id, String... fields) {
+        long[] trigrams = trigrams(fields);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (trigrams.length == 0) {
+                return;
+            }
+            int ordinal = nextOrdinal++;
+            ensureCapacity(ordinal + 1);
+            ids[ordinal] = id;
+            trigramCounts[ordinal] = (short) Math.min(trigrams.length, Short.MAX_VALUE);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new IntList()).add(ordinal);
+            }
+            insertId(ordinal);
+            liveCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            deleted.clear();
+            ids = new String[1024];
+            trigramCounts = new short[1024];
+            idTable = new int[2048];
+            nextOrdinal = 0;
+            liveCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to `limit` documents sharing at least `minOverlap` of the query's trigrams and
+     * scoring at least `minScore`, best first.
+     */
+    public List<Match> search(String query, int limit, double minScore, double minOverlap) {
+        long[] queryTrigrams = trigrams(query);
+        int queryCount = queryTrigrams.length;
+        if (queryCount == 0 || limit <= 0) {
+            return List.of();
+        }
+        int minShared = Math.max(1, (int) Math.ceil(queryCount * minOverlap));
+
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>(queryCount);
+            for (long trigram : queryTrigrams) {
+                IntList list = postings.get(trigram);
+                if (list != null && list.size > 0) {
+                    lists.add(list);
+                }
+            }
+            if (lists.size() < minShared) {
+                return List.of();
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            int shortCount = lists.size() - minShared + 1;
+            IntList[] shortLists = lists.subList(0, shortCount).toArray(new IntList[0]);
+            IntList[] longLists = lists.subList(shortCount, lists.size()).toArray(new IntList[0]);
+            int[] shortCursors = new int[shortLists.length];
+            int[] longCursors = new int[longLists.length];
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING);
+
+            while (true) {
+                // next candidate: the smallest ordinal under any short-list cursor
+                int candidate = Integer.MAX_VALUE;
+                for (int i = 0; i < shortLists.length; i++) {
+                    if (shortCursors[i] < shortLists[i].size) {
+                        candidate = Math.min(candidate, shortLists[i].values[shortCursors[i]]);
+                    }
+                }
+                if (candidate == Integer.MAX_VALUE) {
+                    break;
+                }
+                int shared = 0;
+                for (int i = 0; i < shortLists.length; i++) {
+                    if (shortCursors[i] < shortLists[i].size && shortLists[i].values[shortCursors[i]] == candidate) {
+                        shared++;
+                        shortCursors[i]++;
+                    }
+                }
+                for (int i = 0; i < longLists.length && shared + longLists.length - i >= minShared; i++) {
+                    longCursors[i] = longLists[i].seek(longCursors[i], candidate);
+                    if (longCursors[i] < longLists[i].size && longLists[i].values[longCursors[i]] == candidate) {
+                        shared++;
+                    }
+                }
+                if (shared < minShared || deleted.get(candidate)) {
+                    continue;
+                }
+                double score = 2.0 * shared / (queryCount + trigramCounts[candidate]);
+                if (score >= minScore) {
+                    best.add(new Match(ids[candidate], score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<Match> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING.reversed());
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops deleted ordinals: live documents are renumbered in order and every posting list is
+     * rewritten. Runs automatically once a quarter of the ordinals are dead.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        int ordinal = findOrdinal(id);
+        if (ordinal < 0) {
+            return;
+        }
+        deleted.set(ordinal);
+        ids[ordinal] = null;
+        liveCount--;
+        int dead = nextOrdinal - liveCount;
+        if (dead > 1024 && dead > nextOrdinal / 4) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        int[] remap = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                ids[live] = ids[ordinal];
+                trigramCounts[live] = trigramCounts[ordinal];
+                remap[ordinal] = live++;
+            }
+        }
+        postings.values().removeIf(list -> {
+            list.remap(remap);
+            return list.size == 0;
+        });
+        Arrays.fill(ids, live, nextOrdinal, null);
+        deleted.clear();
+        nextOrdinal = live;
+        idTable = new int[idTable.length];
+        for (int ordinal = 0; ordinal < live; ordinal++) {
+            insertId(ordinal);
+        }
+    }
+
+    private void ensureCapacity(int ordinals) {
+        if (ordinals > ids.length) {
+            int capacity = Math.max(ordinals, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+        }
+        if (ordinals * 2 > idTable.length) {
+            idTable = new int[idTable.length * 2];
+            for (int ordinal = 0; ordinal < ordinals - 1; ordinal++) {
+                if (ids[ordinal] != null) {
+                    insertId(ordinal);
+                }
+            }
+        }
+    }
+
+    // idTable holds ordinal + 1 (0 = empty slot); slots of deleted ordinals stay until the next compaction
+    private void insertId(int ordinal) {
+        int mask = idTable.length - 1;
+        int slot = mix(ids[ordinal].hashCode()) & mask;
+        while (idTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        idTable[slot] = ordinal + 1;
+    }
+
+    private int findOrdinal(String id) {
+        int mask = idTable.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        while (idTable[slot] != 0) {
+            int ordinal = idTable[slot] - 1;
+            if (id.equals(ids[ordinal])) {
+                return ordinal;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    /**
+     * Returns the distinct trigrams of the given texts, sorted, each packed into a long.
+     */
+    static long[] trigrams(String... texts) {
+        long[] trigrams = new long[32];
+        int count = 0;
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            int length = text.length();
+            int index = 0;
+            while (index < length) {
+                while (index < length && !Character.isLetterOrDigit(text.charAt(index))) {
+                    index++;
+                }
+                if (index == length) {
+                    break;
+                }
+                char first = PAD;
+                char second = Character.toLowerCase(text.charAt(index++));
+                while (true) {
+                    char third = index < length && Character.isLetterOrDigit(text.charAt(index))
+                            ? Character.toLowerCase(text.charAt(index++)) : PAD;
+                    if (count == trigrams.length) {
+                        trigrams = Arrays.copyOf(trigrams, count * 2);
+                    }
+                    trigrams[count++] = pack(first, second, third);
+                    if (third == PAD) {
+                        break;
+                    }
+                    first = second;
+                    second = third;
+                }
+            }
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static long pack(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    /**
+     * A matching document and its similarity to the query, between 0 and 1.
+     */
+    @Value
+    public static class Match {
+        String id;
+        double score;
+    }
+}
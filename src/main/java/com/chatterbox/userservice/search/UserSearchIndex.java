@@ -0,0 +1,164 @@
+package com.chatterbox.userservice.search;
+
+import com.chatterbox.userservice.events.UserChangeEvent;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * UserSearchIndex serves typo-tolerant user search from an in-memory `TrigramIndex` over
+ * `userName`, `firstName` and `lastName`, instead of unindexed regex scans in MongoDB.
+ *
+ * Once the application is ready, a background thread streams all users, one partition after the
+ * other, into a fresh index (a snapshot), then replays the `UserChangeLog` from the offset it noted before the snapshot
+ * started, so writes made during the load are not lost. From then on it follows the change log,
+ * which carries every `UserService` write and bulk import; indexing therefore never adds latency
+ * to the write path. If the indexer falls so far behind that the log has overwritten events it has
+ * not applied, it rebuilds the snapshot; the previous index keeps serving searches meanwhile.
+ *
+ * Key Methods:
+ * - `search(String query, Integer limit)`: Returns the best matches with their similarity score.
+ *   Users are loaded by id for the final page, so results never show deleted users.
+ * - `isReady()`: Whether the first snapshot has been loaded.
+ */
+@Service
+@EnableConfigurationProperties(SearchProperties.class)
+@Log4j2
+public class UserSearchIndex {
+
+    private static final long RETRY_DELAY_SECONDS = 30;
+
+    private final UserPartitions partitions;
+    private final UserRepository userRepository;
+    private final UserChangeLog changeLog;
+    private final SearchProperties properties;
+    private final ScheduledExecutorService indexer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean applyPending = new AtomicBoolean();
+    private volatile TrigramIndex index = new TrigramIndex();
+    private volatile boolean ready;
+    private long nextOffset; // indexer thread only
+
+    public UserSearchIndex(UserPartitions partitions, UserRepository userRepository, UserChangeLog changeLog,
+                           SearchProperties properties) {
+        this.partitions = partitions;
+        this.userRepository = userRepository;
+        this.changeLog = changeLog;
+        this.properties = properties;
+        changeLog.addListener(this::onPublish);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            indexer.execute(this::rebuild);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<UserSearchResult> search(String query, Integer limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("User search index is not available yet, please retry later.", 5);
+        }
+        int size = limit == null ? properties.getDefaultLimit() : Math.max(1, Math.min(limit, properties.getMaxLimit()));
+        List<TrigramIndex.Match> matches = index.search(query, size, properties.getMinScore(), properties.getMinOverlap());
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<String, User> users = new HashMap<>();
+        userRepository.findAllById(matches.stream().map(TrigramIndex.Match::getId).toList())
+                .forEach(user -> users.put(user.getId(), user));
+        return matches.stream()
+                .filter(match -> users.containsKey(match.getId()))
+                .map(match -> new UserSearchResult(users.get(match.getId()), match.getScore()))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    private void onPublish() {
+        if (ready && applyPending.compareAndSet(false, true)) {
+            indexer.execute(this::applyChanges);
+        }
+    }
+
+    private void rebuild() {
+        long startOffset = changeLog.nextOffset();
+        long startNanos = System.nanoTime();
+        TrigramIndex fresh = new TrigramIndex();
+        Query query = new Query(Criteria.where("deletedAt").is(null));
+        UserDocumentLayout.include(query, "userName", "firstName", "lastName");
+        try {
+            for (MongoTemplate partition : partitions.all()) {
+                try (Stream<User> users = partition.stream(query, User.class)) {
+                    users.forEach(user -> fresh.put(user.getId(), user.getUserName(), user.getFirstName(), user.getLastName()));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not load users into the search index, retrying in {}s", RETRY_DELAY_SECONDS, ex);
+            indexer.schedule(this::rebuild, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+            return;
+        }
+        index = fresh;
+        nextOffset = startOffset;
+        ready = true;
+        log.info("Search index loaded {} users in {} ms", fresh.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        applyChanges();
+    }
+
+    private void applyChanges() {
+        applyPending.set(false);
+        while (true) {
+            UserChangeLog.ReadResult result = changeLog.read(nextOffset, properties.getApplyBatch());
+            if (result.isGap()) {
+                log.warn("Search index fell behind the change log, rebuilding");
+                rebuild();
+                return;
+            }
+            if (result.getEvents().isEmpty()) {
+                return;
+            }
+            TrigramIndex current = index;
+            for (UserChangeEvent event : result.getEvents()) {
+                switch (event.getType()) {
+                    case CREATED, UPDATED -> current.put(event.getUserId(), event.getUser().getUserName(),
+                            event.getUser().getFirstName(), event.getUser().getLastName());
+                    case DELETED -> current.remove(event.getUserId());
+                    case ALL_DELETED -> current.clear();
+                }
+                nextOffset = event.getOffset() + 1;
+            }
+        }
+    }
+}
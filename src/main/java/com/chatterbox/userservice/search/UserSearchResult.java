@@ -0,0 +1,13 @@
+package com.chatterbox.userservice.search;
+
+import com.chatterbox.userservice.model.User;
+import lombok.Value;
+
+/**
+ * A fuzzy search hit: the user and its similarity to the query, between 0 and 1.
+ */
+@Value
+public class UserSearchResult {
+    User user;
+    double score;
+}
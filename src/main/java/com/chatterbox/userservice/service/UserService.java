@@ -1,14 +1,25 @@
 package com.chatterbox.userservice.service;
 
+import com.chatterbox.userservice.batching.UserInsertBatcher;
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.events.UserChangeType;
 import com.chatterbox.userservice.exception.UserDoesNotExistException;
 import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserTombstone;
+import com.chatterbox.userservice.presence.PresenceBuffer;
 import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.repository.UserTombstoneRepository;
+import com.chatterbox.userservice.rollup.SignupRollups;
 import com.chatterbox.userservice.validator.UserServiceValidator;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * UserService is a service class responsible for handling the business logic related to user operations.
@@ -16,17 +27,39 @@ import java.util.List;
  * user input and ensuring data consistency during operations.
  *
  * Key Methods:
- * - `registerUser(User user)`: Registers a new user after validating the mandatory fields and checking for uniqueness.
- * - `updateUser(User user)`: Updates an existing user by validating mandatory fields and ensuring no conflicts with other users.
+ * - `registerUser(User user)`: Registers a new user after validating its fields and checking for uniqueness.
+ * - `updateUser(User user)`: Updates an existing user by validating its fields and ensuring no conflicts with other users.
  * - `getUserById(String id)`: Retrieves a user by their unique ID, throwing an exception if the user is not found.
  * - `getUserByUserName(String userName)`: Retrieves a user by their username, ensuring the username is checked in a case-insensitive manner.
  * - `getAll()`: Retrieves a list of all users.
- * - `deleteUser(String id)`: Deletes a user by their ID if found, or logs that the user does not exist.
- * - `deleteAll()`: Deletes all users from the database.
+ * - `deleteUser(String id)`: Soft deletes a user by their ID if found, or logs that the user does not exist.
+ * - `deleteAll()`: Deletes all users from the database by swapping in an empty collection.
+ * - `recordHeartbeat(String id)`: Records that the user is active now, as its `lastSeenAt`.
  *
  * This service utilizes a repository to interact with the database and a validator to ensure that user data
  * adheres to the required constraints and business rules. It handles errors such as non-existent users and
- * conflicts like duplicate usernames or emails.
+ * conflicts like duplicate usernames or emails. Every successful write is published to the `UserChangeLog`
+ * for downstream subscribers.
+ *
+ * Writes also maintain `createdAt`/`updatedAt` on the user, and deletions leave a `UserTombstone`,
+ * which together back the delta sync endpoint.
+ *
+ * Registrations are inserted through the `UserInsertBatcher`, which groups concurrent registrations
+ * into one bulk insert; a duplicate key that slips past the uniqueness check fails only its own caller.
+ * A registration is published and counted from the batcher's callback once it is stored, so one whose
+ * caller ran out of time while the batch was being written is not lost to subscribers.
+ *
+ * Updates and deletions drop the user's encoded responses from the `UserResponseCache`.
+ *
+ * Heartbeats only go to the `PresenceBuffer`, which writes them in bulk later: they neither read the
+ * user nor publish a change. Reads merge the buffered `lastSeenAt` into the users they return, and
+ * updates keep the stored one.
+ *
+ * `deleteUser` only sets `deletedAt`, a single-document update instead of a removal that touches
+ * every index; the `SoftDeletePurger` removes the document later at a bounded rate.
+ *
+ * Registrations and deletions are counted in memory by `SignupRollups`, which writes the hourly and
+ * daily totals behind the signup time series in bulk.
  */
 @Service
 @AllArgsConstructor
@@ -35,50 +68,92 @@ public class UserService {
     
     private UserRepository userRepository;
     private UserServiceValidator validator;
+    private UserChangeLog changeLog;
+    private UserTombstoneRepository tombstoneRepository;
+    private UserInsertBatcher insertBatcher;
+    private UserResponseCache responseCache;
+    private PresenceBuffer presenceBuffer;
+    private SignupRollups signupRollups;
 
     public String registerUser(User user) {
-        validator.validateMandatoryFields(user);
+        validator.validateUser(user);
         validator.validateUserUniquenessForRegistration(user, userRepository);
 
-    	userRepository.save(user);
-        log.info("user with id {} is registered", user.getId());
+        insertBatcher.insert(user, () -> {
+            signupRollups.registered(user.getCreatedAt());
+            changeLog.publish(UserChangeType.CREATED, user.getId(), user);
+        });
+        log.debug("user with id {} is registered", user.getId());
         return String.format("User registered with id %s, userName %s, firstName %s, lastName %s, and email %s",
                 user.getId(), user.getUserName(), user.getFirstName(), user.getLastName(), user.getEmail());
     }
 
     public String updateUser(User user) {
-        validator.validateMandatoryFields(user);
+        validator.validateUser(user);
         validator.validateUserUniquenessOnUpdate(user, userRepository);
 
+        Instant now = now();
+        Optional<User> stored = userRepository.findById(user.getId());
+        user.setCreatedAt(stored.map(User::getCreatedAt).orElse(now));
+        user.setUpdatedAt(now);
+        user.setLastSeenAt(stored.map(User::getLastSeenAt).orElse(null));
+        presenceBuffer.mergeInto(user);
         userRepository.save(user);
-        log.info("User details updated for id: {}", user.getId());
+        responseCache.invalidate(user.getId());
+        changeLog.publish(UserChangeType.UPDATED, user.getId(), user);
+        log.debug("User details updated for id: {}", user.getId());
         return "User details updated";
     }
 
     public User getUserById(String id) {
         validator.validateUserId(id);
-        return userRepository.findById(id).orElseThrow(() ->
+        User user = userRepository.findById(id).orElseThrow(() ->
                 new UserDoesNotExistException("User with ID " + id + " not found"));
+        presenceBuffer.mergeInto(user);
+        return user;
     }
 
     public User getUserByUserName(String userName) {
         validator.validateUserName(userName);
-        return userRepository.findByUserName(userName.toLowerCase()).orElseThrow(() ->
+        User user = userRepository.findByUserName(userName.toLowerCase()).orElseThrow(() ->
                 new UserDoesNotExistException("User with userName " + userName + " not found"));
+        presenceBuffer.mergeInto(user);
+        return user;
     }
 
     public List<User> getAll() {
-        return userRepository.findAll();
+        List<User> users = userRepository.findAll();
+        users.forEach(presenceBuffer::mergeInto);
+        return users;
     }
 
     public String deleteUser(String id) {
-        userRepository.findById(id).ifPresent(user -> userRepository.delete(user));
-        log.info("User with id {} is deleted or does not exist", id);
+        Instant now = now();
+        if (userRepository.softDeleteById(id, now)) {
+            responseCache.invalidate(id);
+            tombstoneRepository.save(new UserTombstone(id, now));
+            signupRollups.deleted(now);
+            changeLog.publish(UserChangeType.DELETED, id, null);
+        }
+        log.debug("User with id {} is deleted or does not exist", id);
         return "User with id " + id + " is deleted or does not exist";
     }
 
     public String deleteAll() {
-        userRepository.deleteAll();
+        userRepository.truncate();
+        responseCache.invalidateAll();
+        tombstoneRepository.save(new UserTombstone(UserTombstone.ALL_USERS, now()));
+        changeLog.publish(UserChangeType.ALL_DELETED, null, null);
         return "All users deleted";
     }
-}
\ No newline at end of file
+
+    public void recordHeartbeat(String id) {
+        validator.validateUserId(id);
+        presenceBuffer.record(id, now());
+    }
+
+    // MongoDB stores milliseconds; truncating keeps the returned user equal to the stored one
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
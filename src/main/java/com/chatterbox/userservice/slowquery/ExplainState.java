@@ -0,0 +1,16 @@
+package com.chatterbox.userservice.slowquery;
+
+/**
+ * Progress of the `explain` of a slow query shape.
+ *
+ * - PENDING: queued on the explain thread.
+ * - DONE: the winning plan is known, see `SlowQueryEntry.plan`.
+ * - FAILED: MongoDB rejected the explain; `SlowQueryEntry.message` holds its error.
+ * - SKIPPED: explaining is disabled (`chatterbox.slow-query.explain`).
+ */
+public enum ExplainState {
+    PENDING,
+    DONE,
+    FAILED,
+    SKIPPED
+}
@@ -0,0 +1,63 @@
+package com.chatterbox.userservice.slowquery;
+
+import java.util.function.Supplier;
+
+/**
+ * QueryOrigin names the `UserService` operation running on the calling thread, so that the
+ * `SlowQueryCommandListener` can tell which operation sent a query.
+ *
+ * It is set by the `QueryOriginAspect`. Scopes nest like those of `Deadline`: closing a scope
+ * restores the enclosing operation.
+ *
+ * Key Methods:
+ * - `enter(String operation)`: Makes the operation current until the returned scope is closed.
+ * - `current()`: Returns the current operation, or null outside of any.
+ * - `propagate(Supplier<T> task)`: Makes the task run under the caller's operation on any thread.
+ */
+public final class QueryOrigin {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private QueryOrigin() {
+    }
+
+    public static Scope enter(String operation) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(operation);
+        return scope;
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        String operation = CURRENT.get();
+        if (operation == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = enter(operation)) {
+                return task.get();
+            }
+        };
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
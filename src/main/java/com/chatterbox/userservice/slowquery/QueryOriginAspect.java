@@ -0,0 +1,25 @@
+package com.chatterbox.userservice.slowquery;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * QueryOriginAspect makes the name of every public `UserService` method the `QueryOrigin` of the
+ * MongoDB commands sent while it runs.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class QueryOriginAspect {
+
+    @Around("execution(public * com.chatterbox.userservice.service.UserService.*(..))")
+    public Object trackOrigin(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (QueryOrigin.Scope ignored = QueryOrigin.enter(joinPoint.getSignature().getName())) {
+            return joinPoint.proceed();
+        }
+    }
+}
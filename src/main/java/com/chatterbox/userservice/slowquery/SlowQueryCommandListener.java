@@ -0,0 +1,84 @@
+package com.chatterbox.userservice.slowquery;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlowQueryCommandListener hands every query that takes at least `chatterbox.slow-query.threshold`
+ * to the `SlowQueryLog`, together with the `QueryOrigin` it was sent for.
+ *
+ * Only commands that select documents are watched: find, aggregate, count, distinct,
+ * findAndModify, update and delete. The command document handed to `commandStarted` is only valid
+ * during the callback, and most queries turn out not to be slow, so the listener never copies it:
+ * it keeps the collection and the query shape (see `SlowQueryLog.shapeDocumentOf`), in which the
+ * values are already replaced by `"?"`, until the command completes.
+ */
+public class SlowQueryCommandListener implements CommandListener {
+
+    static final Set<String> QUERY_COMMANDS =
+            Set.of("find", "aggregate", "count", "distinct", "findAndModify", "update", "delete");
+
+    private final SlowQueryLog slowQueryLog;
+    private final SlowQueryProperties properties;
+    private final Map<Integer, StartedQuery> inFlight = new ConcurrentHashMap<>();
+
+    public SlowQueryCommandListener(SlowQueryLog slowQueryLog, SlowQueryProperties properties) {
+        this.slowQueryLog = slowQueryLog;
+        this.properties = properties;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!properties.isEnabled() || !QUERY_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        inFlight.put(event.getRequestId(), new StartedQuery(event.getDatabaseName(), event.getCommandName(),
+                SlowQueryLog.collectionOf(event.getCommandName(), command),
+                SlowQueryLog.shapeDocumentOf(event.getCommandName(), command), QueryOrigin.current()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        completed(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        completed(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void completed(int requestId, long elapsedNanos) {
+        StartedQuery query = inFlight.remove(requestId);
+        if (query != null && elapsedNanos >= properties.getThreshold().toNanos()) {
+            slowQueryLog.record(query.database, query.command, query.collection, query.shape, query.origin,
+                    Duration.ofNanos(elapsedNanos));
+        }
+    }
+
+    private static final class StartedQuery {
+
+        private final String database;
+        private final String command;
+        private final String collection;
+        private final BsonDocument shape;
+        private final String origin;
+
+        private StartedQuery(String database, String command, String collection, BsonDocument shape, String origin) {
+            this.database = database;
+            this.command = command;
+            this.collection = collection;
+            this.shape = shape;
+            this.origin = origin;
+        }
+    }
+}
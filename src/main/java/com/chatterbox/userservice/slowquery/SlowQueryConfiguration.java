@@ -0,0 +1,19 @@
+package com.chatterbox.userservice.slowquery;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the `SlowQueryCommandListener` on the MongoDB driver. The customizer is applied to the
+ * primary client and, via `PartitioningConfiguration`, to the client of every partition.
+ */
+@Configuration
+public class SlowQueryConfiguration {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryLogging(SlowQueryLog slowQueryLog,
+                                                                 SlowQueryProperties properties) {
+        return builder -> builder.addCommandListener(new SlowQueryCommandListener(slowQueryLog, properties));
+    }
+}
@@ -0,0 +1,33 @@
+package com.chatterbox.userservice.slowquery;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * SlowQueryEntry is an immutable snapshot of one slow query shape, as reported by the admin
+ * endpoint. The `shape` is the filter (and sort) of the query with every value replaced by `"?"`,
+ * so `findByEmail("a@b.c")` and `findByEmail("x@y.z")` share an entry. `operations` are the
+ * `UserService` methods the queries were sent for; queries sent by background jobs have none.
+ * `plan` lists the stages of the winning plan from the top, e.g. `FETCH -> IXSCAN email`.
+ */
+@Value
+public class SlowQueryEntry {
+
+    String database;
+    String collection;
+    String command;
+    String shape;
+    long count;
+    double averageMillis;
+    double maxMillis;
+    double lastMillis;
+    Instant firstSeen;
+    Instant lastSeen;
+    List<String> operations;
+    ExplainState explainState;
+    String plan;
+    boolean collectionScan;
+    String message;
+}
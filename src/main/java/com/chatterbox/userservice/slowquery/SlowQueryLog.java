@@ -0,0 +1,384 @@
+package com.chatterbox.userservice.slowquery;
+
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.client.MongoDatabase;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * SlowQueryLog collects the queries reported by the `SlowQueryCommandListener`, grouped by query
+ * shape: the database, command, collection and the filter with every value replaced by `"?"`.
+ * Sorts, the `$sort`, `$project`, `$limit` and `$skip` stages of a pipeline and `$field`
+ * references are kept as they are, since they hold no user data and tell apart queries that need
+ * different indexes.
+ *
+ * The first slow query of a shape is logged at WARN and queued for an `explain` with
+ * `queryPlanner` verbosity, which asks MongoDB for the plan it picks without running the query
+ * again. The shape itself is explained, so no query has to be kept for it: a pipeline as an
+ * `aggregate`, any other filter as a `find` with its sort. Explains run one at a time on a
+ * background thread, against the database the query was sent to. A winning plan containing a COLLSCAN stage means that no index serves the filter; the
+ * shape is flagged and logged at WARN once more. Further slow queries of a known shape only update
+ * its counters and are logged at DEBUG.
+ *
+ * At most `max-shapes` shapes are kept, so that queries with unusual filters cannot grow the log
+ * without bound; slow queries of further shapes are logged at DEBUG and otherwise dropped until
+ * the log is cleared.
+ *
+ * Key Methods:
+ * - `record(...)`: Adds one slow query to its shape, given as the query or as its `shapeDocumentOf`.
+ * - `getEntries()`: Returns every shape, the one with the most total time first.
+ * - `clear()`: Forgets every shape, e.g. after an index was added.
+ */
+@Service
+@EnableConfigurationProperties(SlowQueryProperties.class)
+@Log4j2
+public class SlowQueryLog {
+
+    static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+    private static final Set<String> VERBATIM_STAGES = Set.of("$sort", "$project", "$limit", "$skip");
+
+    private final SlowQueryProperties properties;
+    private final ObjectProvider<UserPartitions> partitions;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final ExecutorService explainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SlowQueryLog(SlowQueryProperties properties, ObjectProvider<UserPartitions> partitions) {
+        this.properties = properties;
+        this.partitions = partitions;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    public void record(String database, String command, BsonDocument query, String origin, Duration duration) {
+        record(database, command, collectionOf(command, query), shapeDocumentOf(command, query), origin, duration);
+    }
+
+    public void record(String database, String command, String collection, BsonDocument shapeDocument, String origin,
+                       Duration duration) {
+        String filter = shapeDocument.toJson();
+        String key = database + " " + command + " " + collection + " " + filter;
+        Shape shape = shapes.get(key);
+        boolean added = false;
+        if (shape == null) {
+            if (shapes.size() >= properties.getMaxShapes()) {
+                log.debug("Slow {} on {}.{} took {} ms, not kept: {} shapes are tracked already",
+                        command, database, collection, duration.toMillis(), shapes.size());
+                return;
+            }
+            Shape created = new Shape(database, command, collection, filter, shapeDocument);
+            shape = shapes.putIfAbsent(key, created);
+            if (shape == null) {
+                shape = created;
+                added = true;
+            }
+        }
+        shape.add(origin, duration);
+        if (added) {
+            log.warn("New slow query shape: {} on {}.{} with {} took {} ms (operation: {})",
+                    command, database, collection, filter, duration.toMillis(), origin);
+            explain(shape);
+        } else {
+            log.debug("Slow {} on {}.{} with {} took {} ms (operation: {})",
+                    command, database, collection, filter, duration.toMillis(), origin);
+        }
+    }
+
+    public List<SlowQueryEntry> getEntries() {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong(Shape::totalNanos).reversed())
+                .map(Shape::snapshot)
+                .toList();
+    }
+
+    public void clear() {
+        shapes.clear();
+    }
+
+    private void explain(Shape shape) {
+        if (!properties.isExplain()) {
+            shape.explained(ExplainState.SKIPPED, null, false, null);
+            return;
+        }
+        try {
+            explainer.execute(() -> runExplain(shape));
+        } catch (RejectedExecutionException ex) {
+            shape.explained(ExplainState.FAILED, null, false, "Shutting down");
+        }
+    }
+
+    private void runExplain(Shape shape) {
+        try {
+            BsonDocument explain = new BsonDocument("explain", explainedCommand(shape.command, shape.collection,
+                    shape.takeShapeDocument()))
+                    .append("verbosity", new BsonString("queryPlanner"));
+            BsonDocument result = databaseOf(shape.database).runCommand(explain, BsonDocument.class);
+            List<String> stages = planStages(result);
+            boolean collectionScan = stages.stream().anyMatch(stage -> stage.startsWith(COLLECTION_SCAN));
+            shape.explained(ExplainState.DONE, String.join(" -> ", stages), collectionScan, null);
+            if (collectionScan) {
+                log.warn("Slow query shape {} on {}.{} with {} scans the whole collection, an index is probably missing",
+                        shape.command, shape.database, shape.collection, shape.filter);
+            }
+        } catch (RuntimeException ex) {
+            shape.explained(ExplainState.FAILED, null, false, ex.getMessage());
+            log.warn("Explaining slow query shape {} on {}.{} failed: {}",
+                    shape.command, shape.database, shape.collection, ex.getMessage());
+        }
+    }
+
+    private MongoDatabase databaseOf(String name) {
+        UserPartitions userPartitions = partitions.getObject();
+        return Stream.concat(Stream.of(userPartitions.primary()), userPartitions.all().stream())
+                .map(MongoTemplate::getDb)
+                .filter(db -> db.getName().equals(name))
+                .findFirst()
+                .orElseGet(() -> userPartitions.primary().getDb());
+    }
+
+    static String collectionOf(String command, BsonDocument query) {
+        BsonValue value = query.get(command);
+        return value == null ? null : value.isString() ? value.asString().getValue() : value.toString();
+    }
+
+    static String shapeOf(String command, BsonDocument query) {
+        return shapeDocumentOf(command, query).toJson();
+    }
+
+    /**
+     * @return the filter of the query, and its sort if any, with every value replaced by `"?"`; it
+     * shares nothing with the query, so it stays valid after the driver released the command
+     */
+    static BsonDocument shapeDocumentOf(String command, BsonDocument query) {
+        BsonDocument shape = new BsonDocument();
+        switch (command) {
+            case "find" -> {
+                shape.put("filter", normalize(query.getOrDefault("filter", new BsonDocument())));
+                copyIfPresent(query, "sort", shape);
+            }
+            case "aggregate" -> shape.put("pipeline", normalize(query.getOrDefault("pipeline", new BsonArray())));
+            case "count", "distinct" -> {
+                shape.put("query", normalize(query.getOrDefault("query", new BsonDocument())));
+                copyIfPresent(query, "key", shape);
+            }
+            case "findAndModify" -> {
+                shape.put("query", normalize(query.getOrDefault("query", new BsonDocument())));
+                copyIfPresent(query, "sort", shape);
+            }
+            case "update", "delete" -> {
+                BsonValue statements = query.get(command + "s");
+                if (statements != null && statements.isArray() && !statements.asArray().isEmpty()) {
+                    shape.put("q", normalize(statements.asArray().get(0).asDocument().getOrDefault("q", new BsonDocument())));
+                }
+            }
+            default -> {
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * @return the command explaining a shape: an `aggregate` of its pipeline, or a `find` of its
+     * filter and sort, which MongoDB plans like the count, update or delete it came from
+     */
+    static BsonDocument explainedCommand(String command, String collection, BsonDocument shape) {
+        if (command.equals("aggregate")) {
+            return new BsonDocument("aggregate", new BsonString(collection))
+                    .append("pipeline", shape.getOrDefault("pipeline", new BsonArray()))
+                    .append("cursor", new BsonDocument());
+        }
+        BsonValue filter = shape.getOrDefault("filter", shape.getOrDefault("query", shape.getOrDefault("q", new BsonDocument())));
+        BsonDocument find = new BsonDocument("find", new BsonString(collection)).append("filter", filter);
+        if (shape.containsKey("sort")) {
+            find.append("sort", shape.get("sort"));
+        }
+        return find;
+    }
+
+    private static void copyIfPresent(BsonDocument from, String field, BsonDocument to) {
+        if (from.containsKey(field)) {
+            to.put(field, copy(from.get(field)));
+        }
+    }
+
+    private static BsonValue copy(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument copy = new BsonDocument();
+            value.asDocument().forEach((name, field) -> copy.put(name, copy(field)));
+            return copy;
+        }
+        if (value.isArray()) {
+            BsonArray copy = new BsonArray();
+            value.asArray().forEach(element -> copy.add(copy(element)));
+            return copy;
+        }
+        return value;
+    }
+
+    private static BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument normalized = new BsonDocument();
+            value.asDocument().forEach((name, field) ->
+                    normalized.put(name, VERBATIM_STAGES.contains(name) ? copy(field) : normalize(field)));
+            return normalized;
+        }
+        if (value.isArray()) {
+            // scalars all become "?", so an $in of any length has a single shape
+            Set<BsonValue> elements = new LinkedHashSet<>();
+            value.asArray().forEach(element -> elements.add(normalize(element)));
+            return new BsonArray(new ArrayList<>(elements));
+        }
+        if (value.isString() && value.asString().getValue().startsWith("$")) {
+            return value;
+        }
+        return PLACEHOLDER;
+    }
+
+    /**
+     * @return the stages of the winning plan in an `explain` result, from the top, with the index
+     * used by index scans, e.g. `[FETCH, IXSCAN email]`
+     */
+    static List<String> planStages(BsonDocument explain) {
+        List<String> stages = new ArrayList<>();
+        BsonDocument winningPlan = find(explain, "winningPlan");
+        if (winningPlan != null) {
+            collectStages(winningPlan, stages);
+        }
+        return stages;
+    }
+
+    private static BsonDocument find(BsonValue value, String field) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (document.isDocument(field)) {
+                return document.getDocument(field);
+            }
+            for (BsonValue child : document.values()) {
+                BsonDocument found = find(child, field);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value.isArray()) {
+            for (BsonValue child : value.asArray()) {
+                BsonDocument found = find(child, field);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void collectStages(BsonValue value, List<String> stages) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (document.isString("stage")) {
+                String stage = document.getString("stage").getValue();
+                stages.add(document.isString("indexName") ? stage + " " + document.getString("indexName").getValue() : stage);
+            }
+            document.forEach((name, child) -> {
+                if (!name.equals("stage")) {
+                    collectStages(child, stages);
+                }
+            });
+        } else if (value.isArray()) {
+            value.asArray().forEach(child -> collectStages(child, stages));
+        }
+    }
+
+    private static final class Shape {
+
+        private final String database;
+        private final String command;
+        private final String collection;
+        private final String filter;
+        private final Instant firstSeen = Instant.now();
+        private final Set<String> operations = new LinkedHashSet<>();
+        private BsonDocument shapeDocument;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastNanos;
+        private Instant lastSeen;
+        private ExplainState explainState = ExplainState.PENDING;
+        private String plan;
+        private boolean collectionScan;
+        private String message;
+
+        private Shape(String database, String command, String collection, String filter, BsonDocument shapeDocument) {
+            this.database = database;
+            this.command = command;
+            this.collection = collection;
+            this.filter = filter;
+            this.shapeDocument = shapeDocument;
+        }
+
+        private synchronized void add(String origin, Duration duration) {
+            long nanos = duration.toNanos();
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastNanos = nanos;
+            lastSeen = Instant.now();
+            if (origin != null) {
+                operations.add(origin);
+            }
+        }
+
+        private synchronized long totalNanos() {
+            return totalNanos;
+        }
+
+        // the document is only needed for the explain, so it is not kept afterwards
+        private synchronized BsonDocument takeShapeDocument() {
+            BsonDocument taken = shapeDocument;
+            shapeDocument = null;
+            return taken;
+        }
+
+        private synchronized void explained(ExplainState state, String plan, boolean collectionScan, String message) {
+            this.shapeDocument = null;
+            this.explainState = state;
+            this.plan = plan;
+            this.collectionScan = collectionScan;
+            this.message = message;
+        }
+
+        private synchronized SlowQueryEntry snapshot() {
+            return new SlowQueryEntry(database, collection, command, filter, count,
+                    count == 0 ? 0 : totalNanos / 1e6 / count, maxNanos / 1e6, lastNanos / 1e6,
+                    firstSeen, lastSeen, List.copyOf(operations), explainState, plan, collectionScan, message);
+        }
+    }
+}
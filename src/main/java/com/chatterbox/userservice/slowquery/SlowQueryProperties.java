@@ -0,0 +1,32 @@
+package com.chatterbox.userservice.slowquery;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the slow-query log, bound from `chatterbox.slow-query.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   slow-query:
+ *     threshold: 100ms
+ *     explain: true
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.slow-query")
+public class SlowQueryProperties {
+
+    /** When disabled, the command listener returns right away and nothing is recorded. */
+    private boolean enabled = true;
+
+    /** Queries taking at least this long, failed ones included, are recorded. */
+    private Duration threshold = Duration.ofMillis(100);
+
+    /** Whether the query plan of every new query shape is fetched with `explain`. */
+    private boolean explain = true;
+
+    /** Number of distinct query shapes kept; slow queries of further shapes are only logged. */
+    private int maxShapes = 1000;
+}
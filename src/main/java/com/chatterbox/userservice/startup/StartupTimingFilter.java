@@ -0,0 +1,59 @@
+package com.chatterbox.userservice.startup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * StartupTimingFilter reports how long a fresh instance takes before it can serve traffic.
+ *
+ * Two figures are logged, both measured from JVM start rather than from Spring context start,
+ * so that class loading, CDS and AOT savings are included:
+ * - time to ready: logged once the `ApplicationReadyEvent` is published.
+ * - time to first request: logged once the very first HTTP response has been written.
+ *
+ * After the first request the filter is reduced to a single volatile read, so it is safe to keep
+ * in the chain permanently. The `fast-startup` Maven profile relies on these log lines to report
+ * time-to-first-request during `mvn -Pfast-startup verify`.
+ */
+@Component
+@Log4j2
+public class StartupTimingFilter extends OncePerRequestFilter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final AtomicBoolean firstRequestServed = new AtomicBoolean(false);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Application ready {} ms after JVM start", millisSinceJvmStart());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!firstRequestServed.get() && firstRequestServed.compareAndSet(false, true)) {
+                log.info("Time to first request: {} ms after JVM start", millisSinceJvmStart());
+            }
+        }
+    }
+
+    boolean isFirstRequestServed() {
+        return firstRequestServed.get();
+    }
+
+    private static long millisSinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
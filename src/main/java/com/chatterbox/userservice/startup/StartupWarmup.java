@@ -0,0 +1,223 @@
+package com.chatterbox.userservice.startup;
+
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.controller.UserController;
+import com.chatterbox.userservice.exception.UserDoesNotExistException;
+import com.chatterbox.userservice.exception.UserValidationException;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * StartupWarmup brings a fresh instance up to speed before it takes traffic, so that the first
+ * minutes after a deploy are not served by a cold JIT, an empty MongoDB connection pool and cold
+ * MongoDB caches.
+ *
+ * Once the application is ready, a background thread:
+ * 1. opens `pool-connections` MongoDB connections at once (concurrent `ping`s);
+ * 2. reads the `preload-users` most recently updated users through `UserController`, which pulls
+ *    their documents and index entries into the MongoDB cache, and fills the `UserResponseCache`
+ *    with their encoded responses;
+ * 3. runs `passes` synthetic requests through `UserController`, `UserService`, the
+ *    `UserValidationPipeline` and Jackson: a registration body is deserialized, rejected by
+ *    validation (so nothing is ever written), and a lookup result is serialized. When MongoDB is
+ *    unreachable, the lookups are skipped and only the in-memory passes run.
+ *
+ * The `WarmupHealthIndicator` keeps the readiness probe `OUT_OF_SERVICE` until the warmup has
+ * finished or `budget` has elapsed, whichever comes first; a warmup that overruns its budget keeps
+ * going only until its current step ends. Synthetic calls go through the same aspects as real
+ * ones, so they show up in JFR recordings and traces taken during startup.
+ *
+ * Key Methods:
+ * - `isComplete()`: Whether the warmup has finished or run out of budget.
+ * - `getPhase()`: The current step, for the health details.
+ */
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+@Log4j2
+public class StartupWarmup {
+
+    static final String SYNTHETIC_USER_NAME = "warmup-synthetic-user";
+
+    private static final String SYNTHETIC_REGISTRATION = "{\"userName\":\"" + SYNTHETIC_USER_NAME + "\","
+            + "\"firstName\":\"Warm\",\"lastName\":\"Up\",\"email\":\"not-an-email\"}";
+
+    private final UserController userController;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserResponseCache responseCache;
+    private final WarmupProperties properties;
+    private final Thread worker;
+    private volatile long budgetEndsAt;
+    private volatile boolean started;
+    private volatile boolean finished;
+    private volatile String phase = "PENDING";
+    private volatile int passesRun;
+
+    public StartupWarmup(UserController userController, MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                         UserResponseCache responseCache, WarmupProperties properties) {
+        this.userController = userController;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.properties = properties;
+        this.worker = new Thread(this::run, "startup-warmup");
+        worker.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        budgetEndsAt = System.nanoTime() + properties.getBudget().toNanos();
+        started = true;
+        if (properties.isEnabled()) {
+            worker.start();
+        } else {
+            phase = "DISABLED";
+            finished = true;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.interrupt();
+    }
+
+    public boolean isComplete() {
+        return finished || started && System.nanoTime() - budgetEndsAt >= 0;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public int getPassesRun() {
+        return passesRun;
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        try {
+            phase = "CONNECTION_POOL";
+            boolean mongoAvailable = openConnectionPool();
+            List<String> userNames = new ArrayList<>();
+            if (mongoAvailable && properties.getPreloadUsers() > 0 && withinBudget()) {
+                phase = "PRELOAD_USERS";
+                userNames.addAll(preloadUsers());
+            }
+            if (userNames.isEmpty()) {
+                userNames.add(SYNTHETIC_USER_NAME);
+            }
+            phase = "SYNTHETIC_PASSES";
+            for (int i = 0; i < properties.getPasses() && withinBudget() && !Thread.currentThread().isInterrupted(); i++) {
+                syntheticPass(mongoAvailable ? userNames.get(i % userNames.size()) : null);
+                passesRun = i + 1;
+            }
+            phase = withinBudget() ? "DONE" : "BUDGET_EXCEEDED";
+        } catch (RuntimeException ex) {
+            phase = "FAILED";
+            log.warn("Warmup failed, the instance starts cold", ex);
+        } finally {
+            finished = true;
+            log.info("Warmup {} after {} ms and {} synthetic passes", phase,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), passesRun);
+        }
+    }
+
+    private boolean withinBudget() {
+        return System.nanoTime() - budgetEndsAt < 0;
+    }
+
+    private boolean openConnectionPool() {
+        int connections = Math.max(1, properties.getPoolConnections());
+        ExecutorService openers = Executors.newFixedThreadPool(connections, runnable -> {
+            Thread thread = new Thread(runnable, "startup-warmup-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<?>[] pings = new CompletableFuture<?>[connections];
+            for (int i = 0; i < connections; i++) {
+                pings[i] = CompletableFuture.runAsync(() -> mongoTemplate.executeCommand("{ ping: 1 }"), openers);
+            }
+            CompletableFuture.allOf(pings).get(Math.max(0, budgetEndsAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException ex) {
+            log.warn("Could not open the MongoDB connection pool during warmup: {}", ex.toString());
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            openers.shutdownNow();
+        }
+    }
+
+    private List<String> preloadUsers() {
+        Query query = new Query(Criteria.where("deletedAt").is(null))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+                .limit(properties.getPreloadUsers());
+        UserDocumentLayout.include(query, "userName");
+        List<String> userNames = new ArrayList<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            if (!withinBudget()) {
+                break;
+            }
+            try {
+                responseCache.encode(userController.getUserByUserName(user.getUserName()).getBody(),
+                        MediaType.APPLICATION_JSON);
+                userNames.add(user.getUserName());
+            } catch (UserDoesNotExistException deletedSinceQueried) {
+                // nothing to preload
+            }
+        }
+        return userNames;
+    }
+
+    private void syntheticPass(String userName) {
+        try {
+            User registration = objectMapper.readValue(SYNTHETIC_REGISTRATION, User.class);
+            try {
+                userController.registerUser(registration);
+                throw new IllegalStateException("Warmup registration passed validation: " + SYNTHETIC_REGISTRATION);
+            } catch (UserValidationException expected) {
+                objectMapper.writeValueAsBytes(expected.getFieldErrors());
+            }
+            User user = registration;
+            if (userName != null) {
+                try {
+                    user = userController.getUserByUserName(userName).getBody();
+                } catch (UserDoesNotExistException expected) {
+                    // synthetic user name, or the user was deleted since the preload
+                }
+            }
+            objectMapper.writeValueAsBytes(user);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Warmup could not (de)serialize a user", ex);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.chatterbox.userservice.startup;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * WarmupHealthIndicator reports the `StartupWarmup` as the `warmup` health component, which is part
+ * of the readiness group (`/actuator/health/readiness`): the component is `OUT_OF_SERVICE`, and the
+ * instance therefore not ready, until the warmup has finished or run out of its budget.
+ */
+@Component
+@AllArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmup warmup;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmup.isComplete() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("phase", warmup.getPhase())
+                .withDetail("passes", warmup.getPassesRun())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.chatterbox.userservice.startup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the startup warmup, bound from `chatterbox.warmup.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   warmup:
+ *     budget: 30s
+ *     passes: 2000
+ *     pool-connections: 10
+ *     preload-users: 100
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.warmup")
+public class WarmupProperties {
+
+    /** When disabled, the instance reports ready as soon as the application has started. */
+    private boolean enabled = true;
+
+    /** The instance reports ready after this long even if the warmup has not finished. */
+    private Duration budget = Duration.ofSeconds(30);
+
+    /** Synthetic passes through the controller, the service, the validator and Jackson. */
+    private int passes = 2_000;
+
+    /** MongoDB connections opened concurrently before the first request. */
+    private int poolConnections = 10;
+
+    /** Most recently updated users read once, so their documents and index entries are in the MongoDB cache; 0 disables. */
+    private int preloadUsers = 100;
+}
@@ -0,0 +1,19 @@
+package com.chatterbox.userservice.stats;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * User counts as returned by `GET /api/users/stats`.
+ *
+ * `totalUsers` counts live users; `pendingPurge` counts soft-deleted users still waiting for the
+ * purger. Unless `exact` is set, both were taken from collection metadata at `asOf`.
+ */
+@Value
+public class UserStats {
+    long totalUsers;
+    long pendingPurge;
+    boolean exact;
+    Instant asOf;
+}
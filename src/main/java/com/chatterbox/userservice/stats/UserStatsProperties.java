@@ -0,0 +1,22 @@
+package com.chatterbox.userservice.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the cached user statistics, bound from `chatterbox.stats.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   stats:
+ *     refresh-interval: 5s
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.stats")
+public class UserStatsProperties {
+
+    /** Delay between two refreshes of the cached counts; also the maximum staleness of `GET /api/users/stats`. */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+}
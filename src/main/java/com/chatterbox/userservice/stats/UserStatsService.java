@@ -0,0 +1,103 @@
+package com.chatterbox.userservice.stats;
+
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserStatsService keeps the user count in memory so that dashboards no longer have to fetch every
+ * user to count them.
+ *
+ * A background thread refreshes the cached `UserStats` every `refresh-interval` from
+ * `estimatedDocumentCount`, which reads the collection metadata instead of scanning, minus the
+ * soft-deleted users, which are counted through the partial `deletedAt` index and are therefore
+ * only as many as the purger has not removed yet. Requests just read the cached value. With
+ * partitioned users, every count runs on all partitions in parallel and the results are summed.
+ *
+ * Key Methods:
+ * - `getStats()`: Returns the cached counts, at most `refresh-interval` old.
+ * - `countExactly()`: Counts live users with a query; this scans the collection and is meant for
+ *   occasional use only.
+ */
+@Service
+@EnableConfigurationProperties(UserStatsProperties.class)
+@Log4j2
+public class UserStatsService {
+
+    private final UserPartitions partitions;
+    private final UserStatsProperties properties;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-stats-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile UserStats cached;
+
+    public UserStatsService(UserPartitions partitions, UserStatsProperties properties) {
+        this.partitions = partitions;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, properties.getRefreshInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    public UserStats getStats() {
+        UserStats stats = cached;
+        if (stats == null) {
+            throw new ServiceUnavailableException("User statistics are not available yet, please retry later.",
+                    Math.max(1, properties.getRefreshInterval().toSeconds()));
+        }
+        return stats;
+    }
+
+    public UserStats countExactly() {
+        long pendingPurge = countSoftDeleted();
+        long totalUsers = sum(partition -> partition.count(Query.query(Criteria.where("deletedAt").is(null)), User.class));
+        return new UserStats(totalUsers, pendingPurge, true, Instant.now());
+    }
+
+    void refresh() {
+        long pendingPurge = countSoftDeleted();
+        long documents = sum(partition -> partition.estimatedCount(User.class));
+        cached = new UserStats(Math.max(0, documents - pendingPurge), pendingPurge, false, Instant.now());
+    }
+
+    private long countSoftDeleted() {
+        return sum(partition -> partition.count(Query.query(Criteria.where("deletedAt").exists(true)), User.class));
+    }
+
+    private long sum(Function<MongoTemplate, Long> count) {
+        return partitions.fanOut(count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh user statistics: {}", ex.getMessage());
+        }
+    }
+}
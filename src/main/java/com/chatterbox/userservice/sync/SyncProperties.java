@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.sync;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the delta sync endpoint, bound from `chatterbox.sync.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   sync:
+ *     tombstone-retention: 30d
+ *     settle-time: 1s
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.sync")
+public class SyncProperties {
+
+    /** How long deletions are remembered; clients older than this must do a full resync. */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /**
+     * Changes younger than this are held back, so that a write that took its timestamp just
+     * before a page was read, but committed just after, is not skipped by the next page. Raised to
+     * the longest write deadline plus the insert batching window when that is longer.
+     */
+    private Duration settleTime = Duration.ofSeconds(1);
+
+    private int defaultPageSize = 500;
+
+    private int maxPageSize = 1000;
+}
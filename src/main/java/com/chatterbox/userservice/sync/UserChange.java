@@ -0,0 +1,19 @@
+package com.chatterbox.userservice.sync;
+
+import com.chatterbox.userservice.events.UserChangeType;
+import com.chatterbox.userservice.model.User;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One entry of a delta sync page. CREATED and UPDATED carry the current state of the user;
+ * DELETED and ALL_DELETED are tombstones and carry no user.
+ */
+@Value
+public class UserChange {
+    UserChangeType type;
+    String userId;
+    User user;
+    Instant changedAt;
+}
@@ -0,0 +1,160 @@
+package com.chatterbox.userservice.sync;
+
+import com.chatterbox.userservice.batching.InsertBatchingProperties;
+import com.chatterbox.userservice.events.UserChangeType;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserTombstone;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.resilience.ResilienceProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * UserChangeFeed answers "what changed since T" for clients that keep a local copy of the users.
+ *
+ * Inserts and updates are found through the `updatedAt` index of the users collection (skipping
+ * soft-deleted users), deletions through the `UserTombstone`s. Both are range scans on an indexed timestamp, merged in timestamp
+ * order, so the cost of a request depends on the number of changes rather than on the number of
+ * users.
+ *
+ * Pages are cut at timestamp boundaries: a page never ends in the middle of a group of changes
+ * sharing the same millisecond, which lets `nextSince` be a plain timestamp. Changes younger than
+ * the settle time are held back until the next request: `settle-time`, but never less than the
+ * longest deadline of `registerUser`, `updateUser` and `deleteUser` plus the insert batching
+ * window. A write stamps its timestamp before it commits, at most that long before, so it can not
+ * commit behind a `nextSince` that a client has already moved past.
+ *
+ * With partitioned users, the inserts and updates are read from every partition in parallel, each
+ * returning at most one page, and merged with the deletions.
+ *
+ * Key Methods:
+ * - `changesSince(Instant since, Integer limit)`: Returns the next page of changes after `since`.
+ */
+@Service
+@EnableConfigurationProperties(SyncProperties.class)
+public class UserChangeFeed {
+
+    private static final Comparator<UserChange> BY_TIME = Comparator.comparing(UserChange::getChangedAt);
+    private static final List<String> WRITE_OPERATIONS = List.of("registerUser", "updateUser", "deleteUser");
+
+    private final UserPartitions partitions;
+    private final SyncProperties properties;
+    private final Duration settleTime;
+    private final Clock clock;
+
+    @Autowired
+    public UserChangeFeed(UserPartitions partitions, SyncProperties properties, ResilienceProperties resilience,
+                          InsertBatchingProperties batching) {
+        this(partitions, properties, settleTime(properties, resilience, batching), Clock.systemUTC());
+    }
+
+    UserChangeFeed(UserPartitions partitions, SyncProperties properties, Duration settleTime, Clock clock) {
+        this.partitions = partitions;
+        this.properties = properties;
+        this.settleTime = settleTime;
+        this.clock = clock;
+    }
+
+    /**
+     * @return `settle-time`, raised to the longest time a write may take from stamping its
+     * timestamp to committing
+     */
+    static Duration settleTime(SyncProperties properties, ResilienceProperties resilience,
+                               InsertBatchingProperties batching) {
+        Duration longestWrite = WRITE_OPERATIONS.stream()
+                .map(resilience::deadlineFor)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        if (batching.isEnabled()) {
+            longestWrite = longestWrite.plus(batching.getWindow());
+        }
+        return longestWrite.compareTo(properties.getSettleTime()) > 0 ? longestWrite : properties.getSettleTime();
+    }
+
+    public UserChangesPage changesSince(Instant since, Integer limit) {
+        Instant now = clock.instant();
+        Instant upTo = now.minus(settleTime);
+        if (since.isBefore(now.minus(properties.getTombstoneRetention()))) {
+            return new UserChangesPage(List.of(), upTo, false, true);
+        }
+        if (!since.isBefore(upTo)) {
+            return new UserChangesPage(List.of(), since, false, false);
+        }
+
+        int pageSize = limit == null ? properties.getDefaultPageSize()
+                : Math.max(1, Math.min(limit, properties.getMaxPageSize()));
+        List<UserChange> changes = new ArrayList<>(upserts(since, upTo, pageSize + 1));
+        changes.addAll(deletions(since, upTo, pageSize + 1));
+        changes.sort(BY_TIME);
+
+        if (changes.size() <= pageSize) {
+            // both sources returned fewer than pageSize + 1 entries, so nothing is left before upTo
+            return new UserChangesPage(changes, upTo, false, false);
+        }
+
+        Instant boundary = changes.get(pageSize - 1).getChangedAt();
+        List<UserChange> page = new ArrayList<>(changes.stream()
+                .filter(change -> change.getChangedAt().isBefore(boundary))
+                .toList());
+        page.addAll(upsertsAt(since, boundary));
+        page.addAll(deletionsAt(boundary));
+        page.sort(BY_TIME);
+        return new UserChangesPage(page, boundary, true, false);
+    }
+
+    private List<UserChange> upserts(Instant since, Instant upTo, int limit) {
+        Query query = new Query(Criteria.where("updatedAt").gt(since).lte(upTo).and("deletedAt").is(null))
+                .with(Sort.by("updatedAt"))
+                .limit(limit);
+        return findUsers(query).stream().map(user -> upsert(user, since)).toList();
+    }
+
+    private List<UserChange> upsertsAt(Instant since, Instant at) {
+        return findUsers(new Query(Criteria.where("updatedAt").is(at).and("deletedAt").is(null))).stream()
+                .map(user -> upsert(user, since))
+                .toList();
+    }
+
+    private List<User> findUsers(Query query) {
+        return partitions.fanOut(partition -> partition.find(query, User.class)).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private List<UserChange> deletions(Instant since, Instant upTo, int limit) {
+        Query query = new Query(Criteria.where("deletedAt").gt(since).lte(upTo))
+                .with(Sort.by("deletedAt"))
+                .limit(limit);
+        return partitions.primary().find(query, UserTombstone.class).stream().map(UserChangeFeed::deletion).toList();
+    }
+
+    private List<UserChange> deletionsAt(Instant at) {
+        return partitions.primary().find(new Query(Criteria.where("deletedAt").is(at)), UserTombstone.class).stream()
+                .map(UserChangeFeed::deletion)
+                .toList();
+    }
+
+    private static UserChange upsert(User user, Instant since) {
+        boolean created = user.getCreatedAt() != null && user.getCreatedAt().isAfter(since);
+        return new UserChange(created ? UserChangeType.CREATED : UserChangeType.UPDATED, user.getId(), user,
+                user.getUpdatedAt());
+    }
+
+    private static UserChange deletion(UserTombstone tombstone) {
+        if (UserTombstone.ALL_USERS.equals(tombstone.getUserId())) {
+            return new UserChange(UserChangeType.ALL_DELETED, null, null, tombstone.getDeletedAt());
+        }
+        return new UserChange(UserChangeType.DELETED, tombstone.getUserId(), null, tombstone.getDeletedAt());
+    }
+}
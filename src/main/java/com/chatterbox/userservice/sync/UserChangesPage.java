@@ -0,0 +1,22 @@
+package com.chatterbox.userservice.sync;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A page of the delta sync feed.
+ *
+ * Clients apply `changes` in order and pass `nextSince` as `since` of the next request; while
+ * `hasMore` is true there are further changes to fetch right away. When `fullResyncRequired` is
+ * true, `since` predates the tombstone retention: the client has to reload all users and continue
+ * with `nextSince`.
+ */
+@Value
+public class UserChangesPage {
+    List<UserChange> changes;
+    Instant nextSince;
+    boolean hasMore;
+    boolean fullResyncRequired;
+}
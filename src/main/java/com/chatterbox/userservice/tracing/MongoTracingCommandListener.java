@@ -0,0 +1,74 @@
+package com.chatterbox.userservice.tracing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MongoTracingCommandListener turns every command the MongoDB driver sends into a CLIENT span,
+ * named `<command> <collection>` (e.g. `find users_collection`), as a child of whatever span is
+ * current on the calling thread.
+ *
+ * Only the command name, database and collection are recorded, never the command document, which
+ * contains user data. The synchronous driver reports start and completion on the calling thread;
+ * spans are matched by request id regardless.
+ */
+public class MongoTracingCommandListener implements CommandListener {
+
+    private final Tracer tracer;
+    private final Map<Integer, Span> inFlight = new ConcurrentHashMap<>();
+
+    public MongoTracingCommandListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = collection(event);
+        Span span = tracer.spanBuilder(collection != null ? event.getCommandName() + " " + collection : event.getCommandName())
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("db.system", "mongodb")
+                .setAttribute("db.name", event.getDatabaseName())
+                .setAttribute("db.operation", event.getCommandName())
+                .setAttribute("server.address", event.getConnectionDescription().getServerAddress().getHost())
+                .setAttribute("server.port", (long) event.getConnectionDescription().getServerAddress().getPort())
+                .startSpan();
+        if (collection != null) {
+            span.setAttribute("db.mongodb.collection", collection);
+        }
+        inFlight.put(event.getRequestId(), span);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Span span = inFlight.remove(event.getRequestId());
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Span span = inFlight.remove(event.getRequestId());
+        if (span != null) {
+            span.recordException(event.getThrowable());
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+        }
+    }
+
+    // the collection is the value of the command's first key, e.g. { find: "users_collection", ... }
+    private static String collection(CommandStartedEvent event) {
+        BsonValue value = event.getCommand().get(event.getCommandName());
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flat representation of a finished span shared by the LOGGING and FILE exporters.
+ */
+final class SpanRecord {
+
+    private SpanRecord() {
+    }
+
+    static Map<String, Object> of(SpanData span) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("trace_id", span.getTraceId());
+        record.put("span_id", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            record.put("parent_span_id", span.getParentSpanId());
+        }
+        record.put("name", span.getName());
+        record.put("kind", span.getKind().name());
+        record.put("startEpochNanos", span.getStartEpochNanos());
+        record.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+        record.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        record.put("attributes", attributes);
+        return record;
+    }
+}
@@ -0,0 +1,16 @@
+package com.chatterbox.userservice.tracing;
+
+/**
+ * Where finished spans are sent.
+ *
+ * - NONE: tracing is off; spans are no-ops and cost next to nothing.
+ * - LOGGING: one structured log event per span through the regular async JSON logger.
+ * - FILE: one JSON line per span appended to `chatterbox.tracing.file`; works offline.
+ * - OTLP: OTLP over HTTP to `chatterbox.tracing.otlp-endpoint` (an OpenTelemetry Collector, Jaeger, Tempo, ...).
+ */
+public enum TraceExporter {
+    NONE,
+    LOGGING,
+    FILE,
+    OTLP
+}
@@ -0,0 +1,54 @@
+package com.chatterbox.userservice.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * TracingAspect opens an INTERNAL span named `Class.method` around every public `UserController`
+ * handler, `UserService` method and `UserServiceValidator` check. Together with the Mongo command
+ * spans below them, they show how a slow request splits between validation queries, the write and
+ * everything else.
+ *
+ * An exception escaping the method is recorded on the span and marks it as an error, including
+ * expected ones such as `UserAlreadyExistsException`.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * com.chatterbox.userservice.controller.UserController.*(..))"
+            + " || execution(public * com.chatterbox.userservice.service.UserService.*(..))"
+            + " || execution(public * com.chatterbox.userservice.validator.UserServiceValidator.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        String type = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.spanBuilder(type + "." + method)
+                .setAttribute("code.namespace", joinPoint.getSignature().getDeclaringTypeName())
+                .setAttribute("code.function", method)
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            span.recordException(ex);
+            span.setStatus(StatusCode.ERROR, ex.getClass().getSimpleName());
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+}
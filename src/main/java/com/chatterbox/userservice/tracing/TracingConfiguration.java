@@ -0,0 +1,100 @@
+package com.chatterbox.userservice.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * TracingConfiguration sets up the OpenTelemetry SDK and the instrumentation that feeds it.
+ *
+ * - `TracingFilter`: one SERVER span per HTTP request, continuing the W3C `traceparent` of the caller.
+ * - `TracingAspect`: one span per `UserController` handler, `UserService` method and
+ *   `UserServiceValidator` check.
+ * - `MongoTracingCommandListener`: one CLIENT span per MongoDB command, registered on the driver.
+ *
+ * With the NONE exporter the no-op implementation is used, so all of the above reduces to a few
+ * method calls per request. The SDK is not registered as `GlobalOpenTelemetry`; instrumentation
+ * receives it as a bean.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+@Log4j2
+public class TracingConfiguration {
+
+    static final String INSTRUMENTATION_SCOPE = "com.chatterbox.userservice";
+
+    @Bean
+    public OpenTelemetry openTelemetry(TracingProperties properties) {
+        if (properties.getExporter() == TraceExporter.NONE) {
+            return OpenTelemetry.noop();
+        }
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.of(AttributeKey.stringKey("service.name"), properties.getServiceName()))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(properties.getSamplingRatio())))
+                .addSpanProcessor(BatchSpanProcessor.builder(spanExporter(properties)).build())
+                .build();
+        log.info("Exporting traces via {}", properties.getExporter());
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(TextMapPropagator.composite(
+                        W3CTraceContextPropagator.getInstance(), W3CBaggagePropagator.getInstance())))
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(OpenTelemetry openTelemetry, Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new TracingFilter(openTelemetry.getPropagators(), tracer));
+        // ahead of the AccessLogFilter, so that access log events carry the trace id
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTracing(Tracer tracer) {
+        return builder -> builder.addCommandListener(new MongoTracingCommandListener(tracer));
+    }
+
+    private static SpanExporter spanExporter(TracingProperties properties) {
+        return switch (properties.getExporter()) {
+            case LOGGING -> new LoggingSpanExporter();
+            case FILE -> {
+                try {
+                    yield new JsonLinesFileSpanExporter(properties.getFile());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Cannot open trace file " + properties.getFile(), ex);
+                }
+            }
+            case OTLP -> OtlpHttpSpanExporter.builder().setEndpoint(properties.getOtlpEndpoint()).build();
+            case NONE -> SpanExporter.composite();
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.chatterbox.userservice.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * TracingFilter opens the SERVER span of every HTTP request.
+ *
+ * The trace context is extracted from the incoming `traceparent`/`tracestate` (and `baggage`)
+ * headers, so the span joins the caller's trace; requests without them start a new trace. The span
+ * is named after the matched route (`GET /api/users/{id}`) once the handler is known, never after
+ * the raw URI, which may contain user names. While the request runs, the trace id is put in the
+ * log ThreadContext as `trace_id`, so log events, including the access log, can be joined with the
+ * trace.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String TRACE_ID = "trace_id";
+
+    private static final TextMapGetter<HttpServletRequest> HEADERS = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(HttpServletRequest request) {
+            return Collections.list(request.getHeaderNames());
+        }
+
+        @Override
+        public String get(HttpServletRequest request, String key) {
+            return request == null ? null : request.getHeader(key);
+        }
+    };
+
+    private final ContextPropagators propagators;
+    private final Tracer tracer;
+
+    public TracingFilter(ContextPropagators propagators, Tracer tracer) {
+        this.propagators = propagators;
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Context parent = propagators.getTextMapPropagator().extract(Context.root(), request, HEADERS);
+        Span span = tracer.spanBuilder(request.getMethod())
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("http.request.method", request.getMethod())
+                .startSpan();
+        boolean recorded = span.getSpanContext().isValid();
+        if (recorded) {
+            ThreadContext.put(TRACE_ID, span.getSpanContext().getTraceId());
+        }
+        Throwable failure = null;
+        try (Scope ignored = span.makeCurrent()) {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (route != null) {
+                span.updateName(request.getMethod() + " " + route);
+                span.setAttribute("http.route", route.toString());
+            }
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            span.setAttribute("http.response.status_code", status);
+            if (failure != null) {
+                span.recordException(failure);
+            }
+            if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+            if (recorded) {
+                ThreadContext.remove(TRACE_ID);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for OpenTelemetry tracing, bound from `chatterbox.tracing.*`.
+ *
+ * Example:
+ * chatterbox:
+ *   tracing:
+ *     exporter: FILE
+ *     file: /var/log/chatterbox/traces.jsonl
+ */
+@Data
+@ConfigurationProperties(prefix = "chatterbox.tracing")
+public class TracingProperties {
+
+    private TraceExporter exporter = TraceExporter.NONE;
+
+    /** Value of the `service.name` resource attribute. */
+    private String serviceName = "chatterbox-user-service";
+
+    /** Fraction of new traces that are recorded; requests arriving with a sampled parent are always recorded. */
+    private double samplingRatio = 1.0;
+
+    /** Target of the FILE exporter. */
+    private Path file = Path.of("traces.jsonl");
+
+    /** Traces endpoint of the OTLP exporter. */
+    private String otlpEndpoint = "http://localhost:4318/v1/traces";
+}
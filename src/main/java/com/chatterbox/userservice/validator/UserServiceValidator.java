@@ -2,11 +2,14 @@ package com.chatterbox.userservice.validator;
 
 import com.chatterbox.userservice.exception.MandatoryFieldException;
 import com.chatterbox.userservice.exception.UserAlreadyExistsException;
+import com.chatterbox.userservice.exception.UserValidationException;
 import com.chatterbox.userservice.model.User;
 import com.chatterbox.userservice.repository.UserRepository;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 /**
  * Validator is a component class responsible for validating various aspects of the User entity.
  * It performs checks for mandatory fields, user uniqueness, and proper formatting of user data.
@@ -14,28 +17,33 @@ import org.springframework.stereotype.Component;
  * and prevent errors such as missing or duplicate values.
  *
  * Key Methods:
- * - `validateMandatoryFields(User user)`: Validates that all mandatory fields (e.g., first name, email, username) are provided and not empty.
+ * - `validateUser(User user)`: Validates all fields of the user in one pass through the `UserValidationPipeline` and
+ *   throws a `UserValidationException` listing every failing field.
+ * - `collectErrors(User user)`: Returns the failing fields without throwing, for batch paths such as the bulk import.
  * - `validateUserName(String userName)`: Validates that the username is not blank.
  * - `validateUserId(String id)`: Validates that the user ID is not blank.
  * - `validateUserUniquenessForRegistration(User user, UserRepository userRepository)`: Checks if the username or email already exists in the repository during user registration.
  * - `validateUserUniquenessOnUpdate(User user, UserRepository userRepository)`: Checks if the username or email is already used by another user during user update.
  *
  * The class ensures that all necessary fields are present and that there are no duplicate usernames or emails,
- * throwing appropriate exceptions when validation fails (e.g., `MandatoryFieldException`, `UserAlreadyExistsException`).
+ * throwing appropriate exceptions when validation fails (e.g., `UserValidationException`, `MandatoryFieldException`, `UserAlreadyExistsException`).
  */
 @Component
 public class UserServiceValidator {
 
-    public void validateMandatoryFields(User user) {
-        if (Strings.isBlank(user.getFirstName())) {
-            throw new MandatoryFieldException("The field firstName is mandatory and cannot be null or empty.");
-        }
-        validateUserName(user.getUserName());
-        if (Strings.isBlank(user.getEmail())) {
-            throw new MandatoryFieldException("The field email is mandatory and cannot be null or empty.");
+    private final UserValidationPipeline pipeline = new UserValidationPipeline();
+
+    public void validateUser(User user) {
+        Map<String, String> errors = pipeline.validate(user);
+        if (!errors.isEmpty()) {
+            throw new UserValidationException(errors);
         }
     }
 
+    public Map<String, String> collectErrors(User user) {
+        return pipeline.validate(user);
+    }
+
     public void validateUserName(String userName) {
         if (Strings.isBlank(userName)) {
             throw new MandatoryFieldException("The field userName is mandatory and cannot be null or empty.");
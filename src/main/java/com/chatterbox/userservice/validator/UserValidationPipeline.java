@@ -0,0 +1,115 @@
+package com.chatterbox.userservice.validator;
+
+import com.chatterbox.userservice.model.User;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * UserValidationPipeline checks the fields of a `User` in a single pass and reports every failing
+ * field at once instead of stopping at the first one.
+ *
+ * The rules are compiled once, when the pipeline is created, into a flat array of field accessors
+ * and checks; validating a user reads each field exactly once, throws nothing and allocates nothing
+ * unless a field fails. It is the only field validation of users: the REST endpoints, `UserService`
+ * and the bulk import all go through it, via `UserServiceValidator`.
+ *
+ * Rules:
+ * - `userName`, `firstName`, `lastName` and `email` are mandatory and must not be blank.
+ * - `email` must be an address of the form `local@domain`, without whitespace, with exactly one `@`
+ *   and a domain made of non-empty dot-separated labels.
+ *
+ * Key Methods:
+ * - `validate(User user)`: Returns the error message of every failing field keyed by field name, in
+ *   declaration order; the map is empty when the user is valid.
+ */
+public class UserValidationPipeline {
+
+    private static final String INVALID_EMAIL = "The field email must be a valid email address.";
+
+    private final FieldRule[] rules = {
+            new FieldRule("userName", User::getUserName, FieldCheck.NONE),
+            new FieldRule("firstName", User::getFirstName, FieldCheck.NONE),
+            new FieldRule("lastName", User::getLastName, FieldCheck.NONE),
+            new FieldRule("email", User::getEmail, UserValidationPipeline::checkEmail),
+    };
+
+    public Map<String, String> validate(User user) {
+        Map<String, String> errors = null;
+        for (FieldRule rule : rules) {
+            String message = rule.check(user);
+            if (message != null) {
+                if (errors == null) {
+                    errors = new LinkedHashMap<>(rules.length * 2);
+                }
+                errors.put(rule.field, message);
+            }
+        }
+        return errors == null ? Map.of() : errors;
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String checkEmail(String email) {
+        int at = -1;
+        char previous = 0;
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            boolean invalid = c == '@'
+                    ? at >= 0 || i == 0
+                    // domain labels must be non-empty: no leading, trailing or doubled dots
+                    : Character.isWhitespace(c) || at >= 0 && c == '.' && (previous == '.' || previous == '@');
+            if (invalid) {
+                return INVALID_EMAIL;
+            }
+            if (c == '@') {
+                at = i;
+            }
+            previous = c;
+        }
+        return at > 0 && previous != '@' && previous != '.' ? null : INVALID_EMAIL;
+    }
+
+    /**
+     * A check on a field that is already known not to be blank; returns an error message, or `null`
+     * when the value passes.
+     */
+    @FunctionalInterface
+    interface FieldCheck {
+
+        FieldCheck NONE = value -> null;
+
+        String check(String value);
+    }
+
+    private static final class FieldRule {
+
+        private final String field;
+        private final Function<User, String> accessor;
+        private final FieldCheck check;
+        private final String blankMessage;
+
+        private FieldRule(String field, Function<User, String> accessor, FieldCheck check) {
+            this.field = field;
+            this.accessor = accessor;
+            this.check = check;
+            this.blankMessage = "The field " + field + " is mandatory and cannot be null or empty.";
+        }
+
+        private String check(User user) {
+            String value = accessor.apply(user);
+            return isBlank(value) ? blankMessage : check.check(value);
+        }
+    }
+}
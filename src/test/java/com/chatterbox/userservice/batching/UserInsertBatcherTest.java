@@ -0,0 +1,289 @@
+package com.chatterbox.userservice.batching;
+
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.exception.UserAlreadyExistsException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.resilience.Deadline;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserInsertBatcherTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private UserInsertBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batcher.close();
+    }
+
+    private void start(Duration window, int maxBatchSize, int queueCapacity,
+                       Function<List<User>, List<BulkWriteError>> store) {
+        when(userRepository.insertUnordered(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            batches.add(users.stream().map(User::getUserName).toList());
+            return store.apply(users);
+        });
+        InsertBatchingProperties properties = new InsertBatchingProperties();
+        properties.setWindow(window);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setQueueCapacity(queueCapacity);
+        batcher = new UserInsertBatcher(userRepository, properties);
+    }
+
+    private static User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setEmail(userName + "@example.com");
+        return user;
+    }
+
+    private CompletableFuture<Void> insertAsync(String userName) {
+        return CompletableFuture.runAsync(() -> batcher.insert(user(userName), () -> { }));
+    }
+
+    private static Throwable failureOf(CompletableFuture<Void> future) {
+        return assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause();
+    }
+
+    @Test
+    void concurrentInserts_areWrittenAsOneBatch() throws Exception {
+        // Arrange
+        start(Duration.ofMillis(500), 10, 100, users -> List.of());
+
+        // Act
+        List<CompletableFuture<Void>> inserts = IntStream.range(0, 10).mapToObj(i -> insertAsync("user" + i)).toList();
+        CompletableFuture.allOf(inserts.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, batches.size());
+        assertEquals(10, batches.get(0).size());
+    }
+
+    @Test
+    void loneInsert_waitsNoLongerThanTheWindow() {
+        // Arrange
+        start(Duration.ofMillis(50), 100, 100, users -> List.of());
+
+        // Act
+        long start = System.nanoTime();
+        batcher.insert(user("alone"), () -> { });
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMillis >= 40, "written before the window closed: " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 1_000, "waited " + elapsedMillis + " ms for a 50 ms window");
+        assertEquals(List.of(List.of("alone")), batches);
+    }
+
+    @Test
+    void insert_stampsTheUserWhenTheBatchIsWritten() {
+        // Arrange
+        start(Duration.ofMillis(200), 100, 100, users -> List.of());
+        User user = user("late");
+        user.setCreatedAt(Instant.EPOCH);
+        Instant queuedAt = Instant.now();
+
+        // Act
+        batcher.insert(user, () -> { });
+
+        // Assert: not before the window closed, and both timestamps equal
+        assertTrue(!user.getCreatedAt().isBefore(queuedAt.plusMillis(150)), "stamped at " + user.getCreatedAt());
+        assertEquals(user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    @Test
+    void fullBatch_isWrittenWithoutWaitingForTheWindow() throws Exception {
+        // Arrange
+        start(Duration.ofSeconds(30), 3, 100, users -> List.of());
+
+        // Act
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> inserts = List.of(insertAsync("a"), insertAsync("b"), insertAsync("c"));
+        CompletableFuture.allOf(inserts.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void duplicateKey_failsOnlyItsOwnCaller() throws Exception {
+        // Arrange
+        start(Duration.ofMillis(500), 3, 100, users -> {
+            List<BulkWriteError> errors = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                if (users.get(i).getUserName().equals("taken")) {
+                    errors.add(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), i));
+                }
+            }
+            return errors;
+        });
+
+        // Act
+        CompletableFuture<Void> first = insertAsync("first");
+        CompletableFuture<Void> taken = insertAsync("taken");
+        CompletableFuture<Void> last = insertAsync("last");
+
+        // Assert
+        first.get(5, TimeUnit.SECONDS);
+        last.get(5, TimeUnit.SECONDS);
+        assertInstanceOf(UserAlreadyExistsException.class, failureOf(taken));
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void failedBatch_failsOnlyItsOwnInserts() throws Exception {
+        // Arrange
+        start(Duration.ofMillis(200), 2, 100, users -> {
+            if (users.stream().anyMatch(user -> user.getUserName().startsWith("doomed"))) {
+                throw new DataAccessResourceFailureException("Timed out waiting for a server");
+            }
+            return List.of();
+        });
+
+        // Act
+        CompletableFuture<Void> doomed1 = insertAsync("doomed1");
+        CompletableFuture<Void> doomed2 = insertAsync("doomed2");
+        assertInstanceOf(DataAccessResourceFailureException.class, failureOf(doomed1));
+        assertInstanceOf(DataAccessResourceFailureException.class, failureOf(doomed2));
+        batcher.insert(user("survivor"), () -> { });
+
+        // Assert
+        assertEquals(List.of("survivor"), batches.get(batches.size() - 1));
+    }
+
+    @Test
+    void waitingCaller_givesUpAtItsDeadline() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        start(Duration.ZERO, 1, 100, users -> {
+            block(release);
+            return List.of();
+        });
+
+        // Act & Assert
+        try (Deadline.Scope ignored = Deadline.start(Duration.ofMillis(100))) {
+            assertThrows(DeadlineExceededException.class, () -> batcher.insert(user("slow"), () -> { }));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void waitingCaller_atItsDeadline_withdrawsItsQueuedInsert() throws Exception {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        start(Duration.ZERO, 1, 100, users -> {
+            writing.countDown();
+            block(release);
+            return List.of();
+        });
+        CompletableFuture<Void> inFlight = insertAsync("in-flight");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        List<String> callbacks = new CopyOnWriteArrayList<>();
+
+        // Act
+        try (Deadline.Scope ignored = Deadline.start(Duration.ofMillis(100))) {
+            assertThrows(DeadlineExceededException.class,
+                    () -> batcher.insert(user("withdrawn"), () -> callbacks.add("withdrawn")));
+        } finally {
+            release.countDown();
+        }
+
+        // Assert
+        inFlight.get(5, TimeUnit.SECONDS);
+        batcher.insert(user("later"), () -> callbacks.add("later"));
+        assertTrue(batches.stream().noneMatch(batch -> batch.contains("withdrawn")));
+        assertEquals(List.of("later"), callbacks);
+    }
+
+    @Test
+    void waitingCaller_atItsDeadline_stillGetsTheCallbackOfAnInsertBeingWritten() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch called = new CountDownLatch(1);
+        start(Duration.ZERO, 1, 100, users -> {
+            block(release);
+            return List.of();
+        });
+
+        // Act
+        try (Deadline.Scope ignored = Deadline.start(Duration.ofMillis(100))) {
+            assertThrows(DeadlineExceededException.class, () -> batcher.insert(user("slow"), called::countDown));
+        } finally {
+            release.countDown();
+        }
+
+        // Assert
+        assertTrue(called.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("slow")), batches);
+    }
+
+    @Test
+    void fullQueue_rejectsInsteadOfQueueing() throws Exception {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        start(Duration.ZERO, 1, 1, users -> {
+            writing.countDown();
+            block(release);
+            return List.of();
+        });
+        CompletableFuture<Void> inFlight = insertAsync("in-flight");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> queued = insertAsync("queued");
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            try {
+                batcher.insert(user("rejected"), () -> { });
+                return false;
+            } catch (ServiceUnavailableException ex) {
+                return true;
+            }
+        });
+
+        // Act
+        release.countDown();
+
+        // Assert
+        inFlight.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        assertTrue(batches.stream().noneMatch(batch -> batch.contains("rejected")));
+    }
+
+    private static void block(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.chatterbox.userservice.benchmark;
+
+import com.chatterbox.userservice.logging.AccessLogFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request throughput through AccessLogFilter with access logging off (rate 0), at the default
+ * sampling rate (0.01) and fully on (rate 1), using the production async JSON configuration
+ * redirected to a file.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AccessLogFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=log4j2-benchmark.xml")
+public class AccessLogFilterBenchmark {
+
+    @Param({"0.0", "0.01", "1.0"})
+    public double sampleRate;
+
+    private AccessLogFilter filter;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        filter = new AccessLogFilter(sampleRate);
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/api/users/username/johndoe");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/username/{username}");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public void request(Exchange exchange) throws Exception {
+        filter.doFilter(exchange.request, exchange.response, chain);
+    }
+}
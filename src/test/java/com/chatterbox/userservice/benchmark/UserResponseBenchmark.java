@@ -0,0 +1,93 @@
+package com.chatterbox.userservice.benchmark;
+
+import com.chatterbox.userservice.cache.ResponseCacheProperties;
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.cache.UserResponseConverter;
+import com.chatterbox.userservice.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of writing a hot user profile (`GET /api/users/{id}`) to the response: the Jackson
+ * converter serializing the `User` every time, against the `UserResponseConverter` copying the bytes
+ * cached by `UserResponseCache`. The response body is discarded, so only serialization is measured.
+ *
+ * Run with `-prof gc` to compare allocation per request (`gc.alloc.rate.norm`).
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserResponseBenchmark {
+
+    private MappingJackson2HttpMessageConverter jackson;
+    private UserResponseConverter cached;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        cached = new UserResponseConverter(new UserResponseCache(objectMapper, new ResponseCacheProperties()));
+        user = new User();
+        user.setId("66312f0c9d1e4a2b3c4d5e6f");
+        user.setUserName("john_doe");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john.doe@example.com");
+        user.setCreatedAt(Instant.parse("2024-04-30T08:00:00.000Z"));
+        user.setUpdatedAt(Instant.parse("2024-05-01T10:15:30.123Z"));
+    }
+
+    @Benchmark
+    public HttpHeaders jacksonConverter() throws IOException {
+        DiscardingOutputMessage output = new DiscardingOutputMessage();
+        jackson.write(user, MediaType.APPLICATION_JSON, output);
+        return output.getHeaders();
+    }
+
+    @Benchmark
+    public HttpHeaders cachedBytes() throws IOException {
+        DiscardingOutputMessage output = new DiscardingOutputMessage();
+        cached.write(user, MediaType.APPLICATION_JSON, output);
+        return output.getHeaders();
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.chatterbox.userservice.benchmark;
+
+import com.chatterbox.userservice.search.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the fuzzy user search index with one and ten million synthetic users, for
+ * misspelled full names ("jhon smiht") and single misspelled user name fragments. Names are drawn
+ * from small first and last name pools plus a numeric suffix, so common trigrams have posting
+ * lists of hundreds of thousands of entries, which is the expensive case.
+ *
+ * The ten million case needs about 4 GB of heap.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:+UseParallelGC"})
+public class UserSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"john", "maria", "james", "patricia", "robert", "jennifer",
+            "michael", "linda", "william", "elizabeth", "david", "barbara", "richard", "susan", "joseph",
+            "jessica", "thomas", "sarah", "charles", "karen", "christopher", "nancy", "daniel", "lisa",
+            "matthew", "betty", "anthony", "margaret", "mark", "sandra", "aleksandr", "yuki", "wei", "fatima"};
+    private static final String[] LAST_NAMES = {"smith", "johnson", "williams", "brown", "jones", "garcia",
+            "miller", "davis", "rodriguez", "martinez", "hernandez", "lopez", "gonzalez", "wilson", "anderson",
+            "thomas", "taylor", "moore", "jackson", "martin", "lee", "perez", "thompson", "white", "harris",
+            "sanchez", "clark", "ramirez", "lewis", "robinson", "nakamura", "kowalski", "okafor", "zhang"};
+
+    @Param({"1000000", "10000000"})
+    public int users;
+
+    private TrigramIndex index;
+    private final List<String> fullNameQueries = List.of("jhon smiht", "mraia garica", "willaim tompson",
+            "elizbeth rodriguez", "kowalsky aleksander", "nakamra yuki");
+    private final List<String> userNameQueries = List.of("jsmiht4711", "mgarcai90210", "okafr123456");
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new TrigramIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < users; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String userName = firstName.charAt(0) + lastName + random.nextInt(1_000_000);
+            index.put(Integer.toHexString(i), userName, firstName, lastName);
+        }
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Match> misspelledFullName() {
+        return index.search(fullNameQueries.get(next++ % fullNameQueries.size()), 10, 0.3, 0.34);
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Match> misspelledUserName() {
+        return index.search(userNameQueries.get(next++ % userNameQueries.size()), 10, 0.3, 0.34);
+    }
+}
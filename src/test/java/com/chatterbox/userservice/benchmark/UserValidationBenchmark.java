@@ -0,0 +1,82 @@
+package com.chatterbox.userservice.benchmark;
+
+import com.chatterbox.userservice.exception.MandatoryFieldException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.validator.UserValidationPipeline;
+import org.apache.logging.log4j.util.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of validating a user payload: the `UserValidationPipeline` against the checks it
+ * replaced (`validateMandatoryFields`, which threw a `MandatoryFieldException` on the first blank
+ * field), for a valid payload and for one with a blank first name and a blank email.
+ *
+ * The old checks find only the first error, so an invalid payload needed one rejected request per
+ * field; `previousChecks` is measured for a single such request.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String payload;
+
+    private final UserValidationPipeline pipeline = new UserValidationPipeline();
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setUserName("jdoe");
+        user.setFirstName("invalid".equals(payload) ? " " : "John");
+        user.setLastName("Doe");
+        user.setEmail("invalid".equals(payload) ? "" : "john.doe@example.com");
+    }
+
+    @Benchmark
+    public Map<String, String> pipeline() {
+        return pipeline.validate(user);
+    }
+
+    @Benchmark
+    public Object previousChecks() {
+        try {
+            validateMandatoryFields(user);
+            return null;
+        } catch (MandatoryFieldException ex) {
+            return ex;
+        }
+    }
+
+    // UserServiceValidator.validateMandatoryFields before the pipeline replaced it
+    private static void validateMandatoryFields(User user) {
+        if (Strings.isBlank(user.getFirstName())) {
+            throw new MandatoryFieldException("The field firstName is mandatory and cannot be null or empty.");
+        }
+        if (Strings.isBlank(user.getUserName())) {
+            throw new MandatoryFieldException("The field userName is mandatory and cannot be null or empty.");
+        }
+        if (Strings.isBlank(user.getEmail())) {
+            throw new MandatoryFieldException("The field email is mandatory and cannot be null or empty.");
+        }
+    }
+}
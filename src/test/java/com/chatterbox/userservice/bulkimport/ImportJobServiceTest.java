@@ -0,0 +1,259 @@
+package com.chatterbox.userservice.bulkimport;
+
+import com.chatterbox.userservice.events.UserChangeEventProperties;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+import com.chatterbox.userservice.exception.InvalidImportRequestException;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.index.UserIndexDefinitions;
+import com.chatterbox.userservice.layout.CompactLayoutProperties;
+import com.chatterbox.userservice.layout.LayoutPhase;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserLookupIndex;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.repository.UserRepositoryCustomImpl;
+import com.chatterbox.userservice.rollup.RollupGranularity;
+import com.chatterbox.userservice.rollup.SignupRollupProperties;
+import com.chatterbox.userservice.rollup.SignupRollups;
+import com.chatterbox.userservice.validator.UserServiceValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs import jobs end to end against an in-memory MongoDB server.
+ */
+class ImportJobServiceTest {
+
+    @TempDir
+    Path importDirectory;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private SignupRollups signupRollups;
+    private ImportJobService importJobService;
+    private final UserChangeLog changeLog = new UserChangeLog(new UserChangeEventProperties());
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index("userName", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique());
+
+        ImportProperties properties = new ImportProperties();
+        properties.setBaseDirectory(importDirectory.toString());
+        properties.setBatchSize(10);
+        properties.setParallelism(3);
+        properties.setMaxReportedErrors(5);
+        UserRepository userRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(UserRepository.class, RepositoryFragments.just(
+                        new UserRepositoryCustomImpl(UserPartitions.single(mongoTemplate),
+                                new UserLookupIndex(mongoTemplate),
+                                new UserIndexDefinitions(Duration.ofDays(30), LayoutPhase.LEGACY),
+                                new UserDocumentLayout(new CompactLayoutProperties()))));
+        signupRollups = new SignupRollups(mongoTemplate, new SignupRollupProperties());
+        importJobService = new ImportJobService(userRepository, new UserServiceValidator(), changeLog, new ObjectMapper(),
+                properties, signupRollups);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importJobService.shutdown();
+        client.close();
+        server.shutdown();
+    }
+
+    private static String ndjson(int index) {
+        return "{\"userName\":\"user" + index + "\",\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\"user"
+                + index + "@example.com\"}";
+    }
+
+    private ImportJobStatus awaitFinished(String jobId) {
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+                importJobService.getStatus(jobId).orElseThrow().getState() != ImportJobState.RUNNING
+                        && importJobService.getStatus(jobId).orElseThrow().getState() != ImportJobState.QUEUED);
+        return importJobService.getStatus(jobId).orElseThrow();
+    }
+
+    @Test
+    void submitFile_importsAllValidRowsAcrossBatches() throws IOException {
+        // Arrange
+        String content = IntStream.range(0, 95).mapToObj(ImportJobServiceTest::ndjson).collect(Collectors.joining("\n"));
+        Files.writeString(importDirectory.resolve("users.ndjson"), content);
+
+        // Act
+        ImportJobStatus status = awaitFinished(importJobService.submitFile("users.ndjson", null).getId());
+
+        // Assert
+        assertEquals(ImportJobState.COMPLETED, status.getState());
+        assertEquals(95, status.getRowsRead());
+        assertEquals(95, status.getRowsImported());
+        assertEquals(0, status.getRowsRejected());
+        assertTrue(status.getRowsPerSecond() > 0);
+        assertEquals(95, mongoTemplate.count(new Query(), User.class));
+        assertEquals(95, changeLog.nextOffset());
+        Instant now = Instant.now();
+        assertEquals(95, signupRollups.series(RollupGranularity.DAY, now, now.plusSeconds(1)).get(0).getRegistered());
+    }
+
+    @Test
+    void submitUpload_reportsRejectedRowsWithLineNumbers() {
+        // Arrange
+        User existing = new User();
+        existing.setUserName("taken");
+        existing.setFirstName("Taken");
+        existing.setLastName("User");
+        existing.setEmail("taken@example.com");
+        mongoTemplate.insert(existing);
+        String csv = """
+                userName,firstName,lastName,email
+                alice,Alice,A,alice@example.com
+                bob,,B,bob@example.com
+                taken,Someone,Else,other@example.com
+                alice,Alice,Again,alice2@example.com
+                carol,Carol,C
+                """;
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv", csv.getBytes());
+
+        // Act
+        ImportJobStatus status = awaitFinished(importJobService.submitUpload(file, null).getId());
+
+        // Assert
+        assertEquals(ImportJobState.COMPLETED, status.getState());
+        assertEquals(5, status.getRowsRead());
+        assertEquals(1, status.getRowsImported());
+        assertEquals(4, status.getRowsRejected());
+        assertEquals(3, status.getErrors().get(0).getLine());
+        assertEquals("The field firstName is mandatory and cannot be null or empty.", status.getErrors().get(0).getMessage());
+        assertTrue(status.getErrors().stream().anyMatch(error -> error.getLine() == 4
+                && error.getMessage().equals("Username taken already exists.")));
+        assertTrue(status.getErrors().stream().anyMatch(error -> error.getLine() == 5
+                && error.getMessage().contains("more than once")));
+        assertTrue(status.getErrors().stream().anyMatch(error -> error.getLine() == 6));
+    }
+
+    @Test
+    void writeBatch_reportsRowsRejectedByTheDatabase() {
+        // Arrange
+        ImportJob job = new ImportJob("job", importDirectory.resolve("none"), "test", ImportFormat.NDJSON, false, 5);
+        User first = new User();
+        first.setUserName("dave");
+        first.setFirstName("Dave");
+        first.setLastName("D");
+        first.setEmail("dave@example.com");
+        User second = new User();
+        second.setUserName("erin");
+        second.setFirstName("Erin");
+        second.setLastName("E");
+        second.setEmail("erin@example.com");
+        importJobService.writeBatch(job, List.of(ImportRow.parsed(1, first)));
+        second.setId(first.getId());
+
+        // Act
+        importJobService.writeBatch(job, List.of(ImportRow.parsed(2, second)));
+
+        // Assert
+        ImportJobStatus status = job.toStatus();
+        assertEquals(1, status.getRowsImported());
+        assertEquals(1, status.getRowsRejected());
+        assertEquals(2, status.getErrors().get(0).getLine());
+        assertTrue(status.getErrors().get(0).getMessage().startsWith("User already exists"));
+        assertEquals(1, changeLog.nextOffset());
+    }
+
+    @Test
+    void writeBatch_repositoryFailing_rejectsEveryRowOfTheBatch() {
+        // Arrange
+        UserRepository failing = mock(UserRepository.class);
+        when(failing.findAllHolding(anyCollection(), anyCollection()))
+                .thenThrow(new ServiceUnavailableException("Circuit open", 5))
+                .thenReturn(List.of());
+        when(failing.insertUnordered(anyList())).thenThrow(new DeadlineExceededException("Deadline exceeded"));
+        ImportProperties properties = new ImportProperties();
+        properties.setBaseDirectory(importDirectory.toString());
+        ImportJobService service = new ImportJobService(failing, new UserServiceValidator(), changeLog,
+                new ObjectMapper(), properties, signupRollups);
+        ImportJob job = new ImportJob("job", importDirectory.resolve("none"), "test", ImportFormat.NDJSON, false, 10);
+        User invalid = new User();
+        invalid.setUserName("x");
+
+        try {
+            // Act: validation fails in the first batch, the insert in the second
+            service.writeBatch(job, List.of(ImportRow.parsed(1, user("dave")), ImportRow.parsed(2, invalid)));
+            service.writeBatch(job, List.of(ImportRow.parsed(3, user("erin")), ImportRow.parsed(4, user("fred"))));
+        } finally {
+            service.shutdown();
+        }
+
+        // Assert
+        ImportJobStatus status = job.toStatus();
+        assertEquals(0, status.getRowsImported());
+        assertEquals(4, status.getRowsRejected());
+        assertEquals(List.of(1L, 2L, 3L, 4L), status.getErrors().stream().map(ImportRowError::getLine).sorted().toList());
+        assertTrue(status.getErrors().stream().filter(error -> error.getLine() != 2)
+                .allMatch(error -> error.getMessage().startsWith("Batch write failed")));
+        assertEquals(0, changeLog.nextOffset());
+    }
+
+    private static User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(userName + "@example.com");
+        return user;
+    }
+
+    @Test
+    void submitFile_rejectsPathsOutsideImportDirectory() {
+        assertThrows(InvalidImportRequestException.class, () -> importJobService.submitFile("../etc/passwd", "csv"));
+        assertThrows(InvalidImportRequestException.class, () -> importJobService.submitFile("missing.csv", null));
+    }
+
+    @Test
+    void submitUpload_rejectsEmptyFileAndUnknownFormat() {
+        MockMultipartFile empty = new MockMultipartFile("file", "users.csv", "text/csv", new byte[0]);
+        MockMultipartFile text = new MockMultipartFile("file", "users.txt", "text/plain", "x".getBytes());
+
+        assertThrows(InvalidImportRequestException.class, () -> importJobService.submitUpload(empty, null));
+        assertThrows(InvalidImportRequestException.class, () -> importJobService.submitUpload(text, null));
+    }
+}
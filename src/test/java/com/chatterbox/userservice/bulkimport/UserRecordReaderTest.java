@@ -0,0 +1,78 @@
+package com.chatterbox.userservice.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserRecordReaderTest {
+
+    private static UserRecordReader reader(String content, ImportFormat format) {
+        return new UserRecordReader(new BufferedReader(new StringReader(content)), format, new ObjectMapper());
+    }
+
+    @Test
+    void ndjson_parsesEachLineAndReportsMalformedOnes() {
+        // Arrange
+        UserRecordReader records = reader("""
+                {"userName":"Alice","firstName":"Alice","lastName":"A","email":"alice@example.com"}
+
+                {"userName":"bob",
+                """, ImportFormat.NDJSON);
+
+        // Act
+        ImportRow first = records.next();
+        ImportRow second = records.next();
+
+        // Assert
+        assertEquals(1, first.getLine());
+        assertEquals("alice", first.getUser().getUserName());
+        assertEquals(3, second.getLine());
+        assertNull(second.getUser());
+        assertNotNull(second.getParseError());
+        assertNull(records.next());
+    }
+
+    @Test
+    void csv_mapsColumnsByHeaderAndHandlesQuotes() {
+        // Arrange
+        UserRecordReader records = reader("""
+                email,userName,firstName,lastName
+                alice@example.com,Alice,"Alice \"\"Al\"\"",Smith
+                bob@example.com,bob,Bob
+                """, ImportFormat.CSV);
+
+        // Act
+        ImportRow first = records.next();
+        ImportRow second = records.next();
+
+        // Assert
+        assertEquals(2, first.getLine());
+        assertEquals("alice", first.getUser().getUserName());
+        assertEquals("Alice \"Al\"", first.getUser().getFirstName());
+        assertEquals("alice@example.com", first.getUser().getEmail());
+        assertEquals("Expected 4 columns but found 3", second.getParseError());
+        assertNull(records.next());
+    }
+
+    @Test
+    void parseCsvLine_emptyFieldsAndCommasInQuotes() {
+        assertEquals(List.of("a", "", "b,c"), UserRecordReader.parseCsvLine("a,,\"b,c\""));
+        assertThrows(IllegalArgumentException.class, () -> UserRecordReader.parseCsvLine("a,\"b"));
+    }
+
+    @Test
+    void resolveFormat_fromExplicitValueOrExtension() {
+        assertEquals(ImportFormat.CSV, ImportFormat.resolve("csv", "users.ndjson"));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.resolve(null, "users.jsonl"));
+        assertEquals(ImportFormat.CSV, ImportFormat.resolve("", "USERS.CSV"));
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.resolve(null, "users.txt"));
+    }
+}
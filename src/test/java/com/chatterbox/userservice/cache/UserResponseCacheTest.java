@@ -0,0 +1,177 @@
+package com.chatterbox.userservice.cache;
+
+import com.chatterbox.userservice.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ResponseCacheProperties properties = new ResponseCacheProperties();
+    private final UserResponseCache cache = new UserResponseCache(objectMapper, properties);
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setUserName("user-" + id);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("user-" + id + "@example.com");
+        user.setUpdatedAt(Instant.parse("2024-05-01T10:15:30.123Z"));
+        return user;
+    }
+
+    @Test
+    void encode_writesWhatJacksonWrites() throws Exception {
+        // Arrange
+        User user = user("1");
+
+        // Act
+        byte[] encoded = cache.encode(user, MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(user), encoded);
+    }
+
+    @Test
+    void encode_anEqualUserAgain_servesTheCachedBytes() {
+        // Arrange
+        byte[] first = cache.encode(user("1"), MediaType.APPLICATION_JSON);
+
+        // Act
+        byte[] second = cache.encode(user("1"), MediaType.valueOf("application/json;charset=UTF-8"));
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void encode_aChangedUser_encodesItAgain() throws Exception {
+        // Arrange
+        byte[] before = cache.encode(user("1"), MediaType.APPLICATION_JSON);
+        User changed = user("1");
+        changed.setFirstName("Jane");
+
+        // Act
+        byte[] after = cache.encode(changed, MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertNotSame(before, after);
+        assertArrayEquals(objectMapper.writeValueAsBytes(changed), after);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidate_dropsTheEntryOfThatUserOnly() {
+        // Arrange
+        byte[] first = cache.encode(user("1"), MediaType.APPLICATION_JSON);
+        cache.encode(user("2"), MediaType.APPLICATION_JSON);
+
+        // Act
+        cache.invalidate("1");
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertNotSame(first, cache.encode(user("1"), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void invalidateAll_dropsEveryEntry() {
+        // Arrange
+        cache.encode(user("1"), MediaType.APPLICATION_JSON);
+        cache.encode(user("2"), MediaType.APPLICATION_JSON);
+
+        // Act
+        cache.invalidateAll();
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void encode_beyondMaxEntries_keepsTheUsersServedAgain() {
+        // Arrange
+        properties.setMaxEntries(2);
+        byte[] hot = cache.encode(user("hot"), MediaType.APPLICATION_JSON);
+        cache.encode(user("cold"), MediaType.APPLICATION_JSON);
+        cache.encode(user("hot"), MediaType.APPLICATION_JSON);
+        cache.encode(user("newer"), MediaType.APPLICATION_JSON); // evicts: hot gets a second chance
+        cache.encode(user("newest"), MediaType.APPLICATION_JSON);
+
+        // Act
+        byte[] hotAgain = cache.encode(user("hot"), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertSame(hot, hotAgain);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void encode_afterInvalidate_keepsTheQueueBoundedAndTheOtherUsers() {
+        // Arrange
+        properties.setMaxEntries(3);
+        byte[] other = cache.encode(user("other"), MediaType.APPLICATION_JSON);
+        cache.encode(user("other"), MediaType.APPLICATION_JSON);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            cache.encode(user("updated"), MediaType.APPLICATION_JSON);
+            cache.invalidate("updated");
+        }
+        cache.encode(user("updated"), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertTrue(cache.queued() <= 2 * properties.getMaxEntries(), "queued " + cache.queued());
+        assertSame(other, cache.encode(user("other"), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void encode_aChangedUser_countsAsOneEntry() {
+        // Arrange
+        properties.setMaxEntries(2);
+        User changed = user("changed");
+        cache.encode(user("changed"), MediaType.APPLICATION_JSON);
+        changed.setFirstName("Jane");
+        cache.encode(changed, MediaType.APPLICATION_JSON);
+        byte[] second = cache.encode(user("second"), MediaType.APPLICATION_JSON);
+
+        // Act
+        cache.encode(changed, MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertSame(second, cache.encode(user("second"), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void encode_whenDisabled_doesNotCache() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act
+        byte[] first = cache.encode(user("1"), MediaType.APPLICATION_JSON);
+        byte[] second = cache.encode(user("1"), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void encode_unsupportedMediaType_throwsNotWritable() {
+        assertThrows(HttpMessageNotWritableException.class, () -> cache.encode(user("1"), MediaType.APPLICATION_XML));
+    }
+}
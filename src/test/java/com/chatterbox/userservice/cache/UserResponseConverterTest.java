@@ -0,0 +1,51 @@
+package com.chatterbox.userservice.cache;
+
+import com.chatterbox.userservice.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserResponseConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserResponseConverter converter =
+            new UserResponseConverter(new UserResponseCache(objectMapper, new ResponseCacheProperties()));
+
+    @Test
+    void write_copiesTheEncodedUserWithItsLength() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setId("1");
+        user.setUserName("john_doe");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(user, MediaType.APPLICATION_JSON, output);
+
+        // Assert
+        byte[] expected = objectMapper.writeValueAsBytes(user);
+        assertArrayEquals(expected, output.getBodyAsBytes());
+        assertEquals(expected.length, output.getHeaders().getContentLength());
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+    }
+
+    @Test
+    void canWrite_singleUsersOnly() {
+        assertTrue(converter.canWrite(User.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(User.class, MediaType.APPLICATION_XML));
+    }
+
+    @Test
+    void canRead_isFalse() {
+        assertFalse(converter.canRead(User.class, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,35 @@
+package com.chatterbox.userservice.config;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserLookupEntry;
+import com.chatterbox.userservice.model.UserTombstone;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserRuntimeHintsTest {
+
+    @Test
+    void registerHints_registersUserForReflection() {
+        // Arrange
+        RuntimeHints hints = new RuntimeHints();
+
+        // Act
+        new UserRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(User.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(User.class, "setUserName").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserTombstone.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserLookupEntry.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+                .test(hints));
+    }
+}
@@ -0,0 +1,91 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.bulkimport.ImportFormat;
+import com.chatterbox.userservice.bulkimport.ImportJobService;
+import com.chatterbox.userservice.bulkimport.ImportJobState;
+import com.chatterbox.userservice.bulkimport.ImportJobStatus;
+import com.chatterbox.userservice.bulkimport.ImportRowError;
+import com.chatterbox.userservice.exception.InvalidImportRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ImportJobController.class)
+class ImportJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportJobService importJobService;
+
+    private static ImportJobStatus jobStatus(ImportJobState state, List<ImportRowError> errors) {
+        return new ImportJobStatus("job-1", "upload:users.csv", ImportFormat.CSV, state, Instant.now(),
+                null, null, 3, 2, errors.size(), 0, null, errors);
+    }
+
+    @Test
+    void uploadImport_returnsAcceptedWithLocation() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv", "userName\n".getBytes());
+        when(importJobService.submitUpload(any(), eq(null))).thenReturn(jobStatus(ImportJobState.QUEUED, List.of()));
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/users/imports").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/users/imports/job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void fileImport_invalidPath_returnsBadRequest() throws Exception {
+        // Arrange
+        when(importJobService.submitFile("../secret.csv", null))
+                .thenThrow(new InvalidImportRequestException("Path ../secret.csv is outside the import directory."));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/imports/from-file").param("path", "../secret.csv"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Path ../secret.csv is outside the import directory."));
+    }
+
+    @Test
+    void getImportStatus_returnsProgressAndErrors() throws Exception {
+        // Arrange
+        when(importJobService.getStatus("job-1")).thenReturn(Optional.of(
+                jobStatus(ImportJobState.RUNNING, List.of(new ImportRowError(3, "Username bob already exists.")))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/imports/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsImported").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void getImportStatus_unknownJob_returnsNotFound() throws Exception {
+        // Arrange
+        when(importJobService.getStatus("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/imports/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
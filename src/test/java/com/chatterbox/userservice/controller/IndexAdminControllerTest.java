@@ -0,0 +1,53 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.index.IndexBuildState;
+import com.chatterbox.userservice.index.IndexBuildStatus;
+import com.chatterbox.userservice.index.IndexReconciler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(IndexAdminController.class)
+class IndexAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IndexReconciler indexReconciler;
+
+    @Test
+    void getIndexStatus() throws Exception {
+        // Arrange
+        IndexBuildStatus building = new IndexBuildStatus(null, "users_collection", "email", IndexBuildState.BUILDING,
+                Instant.now(), null, 250L, 1000L, "Index Build: scanning collection");
+        when(indexReconciler.getStatus()).thenReturn(List.of(building));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/indexes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("email"))
+                .andExpect(jsonPath("$[0].state").value("BUILDING"))
+                .andExpect(jsonPath("$[0].progressDone").value(250));
+    }
+
+    @Test
+    void reconcile() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/indexes/reconcile"))
+                .andExpect(status().isAccepted());
+        verify(indexReconciler).reconcileAsync();
+    }
+}
@@ -0,0 +1,55 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.layout.LayoutMigrationState;
+import com.chatterbox.userservice.layout.LayoutMigrationStatus;
+import com.chatterbox.userservice.layout.LayoutPhase;
+import com.chatterbox.userservice.layout.UserLayoutMigrator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LayoutAdminController.class)
+class LayoutAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserLayoutMigrator migrator;
+
+    @Test
+    void migrate() throws Exception {
+        // Arrange
+        when(migrator.migrateAsync()).thenReturn(new LayoutMigrationStatus(LayoutMigrationState.RUNNING,
+                LayoutPhase.MIGRATE, Instant.now(), null, 0, 0, null, null));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/layout/migration"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.phase").value("MIGRATE"));
+    }
+
+    @Test
+    void getMigrationStatus() throws Exception {
+        // Arrange
+        when(migrator.getStatus()).thenReturn(new LayoutMigrationStatus(LayoutMigrationState.COMPLETED,
+                LayoutPhase.MIGRATE, Instant.now(), Instant.now(), 1200, 2, 2L, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/layout/migration"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usersMigrated").value(1200))
+                .andExpect(jsonPath("$.legacyUsersLeft").value(2));
+    }
+}
@@ -0,0 +1,54 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.partition.RebalanceState;
+import com.chatterbox.userservice.partition.RebalanceStatus;
+import com.chatterbox.userservice.partition.UserRebalancer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PartitionAdminController.class)
+class PartitionAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserRebalancer rebalancer;
+
+    @Test
+    void rebalance() throws Exception {
+        // Arrange
+        when(rebalancer.rebalanceAsync()).thenReturn(
+                new RebalanceStatus(RebalanceState.RUNNING, 3, Instant.now(), null, 0, 0, null));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/partitions/rebalance"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.partitions").value(3));
+    }
+
+    @Test
+    void getRebalanceStatus() throws Exception {
+        // Arrange
+        when(rebalancer.getStatus()).thenReturn(
+                new RebalanceStatus(RebalanceState.COMPLETED, 3, Instant.now(), Instant.now(), 1200, 400, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/partitions/rebalance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.usersMoved").value(400));
+    }
+}
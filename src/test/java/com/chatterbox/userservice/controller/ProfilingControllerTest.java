@@ -0,0 +1,87 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.exception.RecordingNotActiveException;
+import com.chatterbox.userservice.profiling.ContinuousRecording;
+import com.chatterbox.userservice.profiling.RecordingMode;
+import com.chatterbox.userservice.profiling.RecordingStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProfilingController.class)
+class ProfilingControllerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ContinuousRecording recording;
+
+    @Test
+    void start_withMode_startsRecording() throws Exception {
+        // Arrange
+        when(recording.start(RecordingMode.ALLOCATION)).thenReturn(
+                new RecordingStatus(true, RecordingMode.ALLOCATION, Instant.now(), Duration.ofMinutes(15), 100));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/profiling/recording/start").param("mode", "ALLOCATION"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(true))
+                .andExpect(jsonPath("$.mode").value("ALLOCATION"));
+        mockMvc.perform(post("/api/admin/profiling/recording/start").param("mode", "everything"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void dump_streamsFileAndDeletesIt() throws Exception {
+        // Arrange
+        Path file = Files.write(tempDir.resolve("chatterbox-1.jfr"), new byte[] {1, 2, 3});
+        when(recording.dump()).thenReturn(file);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/admin/profiling/recording/dump"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"chatterbox-1.jfr\""))
+                .andExpect(content().bytes(new byte[] {1, 2, 3}));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void dump_withoutRecording_returnsConflict() throws Exception {
+        // Arrange
+        when(recording.dump()).thenThrow(new RecordingNotActiveException("No continuous recording is running"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/profiling/recording/dump"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("No continuous recording is running"));
+    }
+}
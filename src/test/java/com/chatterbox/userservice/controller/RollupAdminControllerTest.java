@@ -0,0 +1,54 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.rollup.RollupBackfillState;
+import com.chatterbox.userservice.rollup.RollupBackfillStatus;
+import com.chatterbox.userservice.rollup.SignupRollupBackfill;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RollupAdminController.class)
+class RollupAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SignupRollupBackfill backfill;
+
+    @Test
+    void backfill() throws Exception {
+        // Arrange
+        when(backfill.backfillAsync()).thenReturn(
+                new RollupBackfillStatus(RollupBackfillState.RUNNING, null, Instant.now(), null, 0, 0, 0, null));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/rollups/backfill"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    @Test
+    void getBackfillStatus() throws Exception {
+        // Arrange
+        when(backfill.getStatus()).thenReturn(new RollupBackfillStatus(RollupBackfillState.COMPLETED,
+                Instant.parse("2025-05-06T10:45:00Z"), Instant.now(), Instant.now(), 1200, 40, 310, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/rollups/backfill"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.registrations").value(1200))
+                .andExpect(jsonPath("$.buckets").value(310));
+    }
+}
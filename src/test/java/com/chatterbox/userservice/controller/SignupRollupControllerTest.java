@@ -0,0 +1,71 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.exception.InvalidRollupQueryException;
+import com.chatterbox.userservice.rollup.RollupGranularity;
+import com.chatterbox.userservice.rollup.SignupRollupPoint;
+import com.chatterbox.userservice.rollup.SignupRollups;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SignupRollupController.class)
+class SignupRollupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SignupRollups rollups;
+
+    @Test
+    void getSignups_defaultsToDailyPoints() throws Exception {
+        // Arrange
+        Instant from = Instant.parse("2025-05-06T00:00:00Z");
+        Instant to = Instant.parse("2025-05-08T00:00:00Z");
+        when(rollups.series(RollupGranularity.DAY, from, to)).thenReturn(List.of(
+                new SignupRollupPoint(from, 120, 4),
+                new SignupRollupPoint(Instant.parse("2025-05-07T00:00:00Z"), 95, 0)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/stats/signups")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].registered").value(120))
+                .andExpect(jsonPath("$[0].deleted").value(4))
+                .andExpect(jsonPath("$[1].registered").value(95));
+    }
+
+    @Test
+    void getSignups_invalidRange_returnsBadRequest() throws Exception {
+        // Arrange
+        when(rollups.series(any(), any(), any())).thenThrow(new InvalidRollupQueryException("from must be before to."));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/stats/signups")
+                        .param("granularity", "HOUR")
+                        .param("from", "2025-05-07T00:00:00Z")
+                        .param("to", "2025-05-06T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("from must be before to."));
+    }
+
+    @Test
+    void getSignups_missingFrom_returnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/stats/signups").param("to", "2025-05-06T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,55 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.slowquery.ExplainState;
+import com.chatterbox.userservice.slowquery.SlowQueryEntry;
+import com.chatterbox.userservice.slowquery.SlowQueryLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SlowQueryAdminController.class)
+class SlowQueryAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SlowQueryLog slowQueryLog;
+
+    @Test
+    void getSlowQueries() throws Exception {
+        // Arrange
+        SlowQueryEntry entry = new SlowQueryEntry("users", "users_collection", "find", "{\"filter\": {\"email\": \"?\"}}",
+                3, 180.5, 250.0, 120.0, Instant.now(), Instant.now(), List.of("getUserByEmail"),
+                ExplainState.DONE, "LIMIT -> COLLSCAN", true, null);
+        when(slowQueryLog.getEntries()).thenReturn(List.of(entry));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].shape").value("{\"filter\": {\"email\": \"?\"}}"))
+                .andExpect(jsonPath("$[0].operations[0]").value("getUserByEmail"))
+                .andExpect(jsonPath("$[0].explainState").value("DONE"))
+                .andExpect(jsonPath("$[0].collectionScan").value(true));
+    }
+
+    @Test
+    void clear() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/admin/slow-queries"))
+                .andExpect(status().isNoContent());
+        verify(slowQueryLog).clear();
+    }
+}
@@ -0,0 +1,54 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.events.UserChangeType;
+import com.chatterbox.userservice.sync.UserChange;
+import com.chatterbox.userservice.sync.UserChangeFeed;
+import com.chatterbox.userservice.sync.UserChangesPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserChangesController.class)
+class UserChangesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserChangeFeed changeFeed;
+
+    @Test
+    void getChanges_returnsPage() throws Exception {
+        // Arrange
+        Instant since = Instant.parse("2025-05-06T10:45:00Z");
+        Instant deletedAt = Instant.parse("2025-05-06T10:46:00Z");
+        when(changeFeed.changesSince(since, 100)).thenReturn(new UserChangesPage(
+                List.of(new UserChange(UserChangeType.DELETED, "42", null, deletedAt)), deletedAt, true, false));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/changes").param("since", "2025-05-06T10:45:00Z").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].type").value("DELETED"))
+                .andExpect(jsonPath("$.changes[0].userId").value("42"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getChanges_missingOrInvalidSince_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/changes"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users/changes").param("since", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter since: yesterday"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserController.class)
+@TestPropertySource(properties = {
+        "chatterbox.rate-limit.budgets.expensive.capacity=1",
+        "chatterbox.rate-limit.budgets.expensive.refill-per-second=0.1",
+        "chatterbox.rate-limit.api-keys=dashboard,another-client"
+})
+class UserControllerRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void getAllUsers_overLimit_returnsTooManyRequests() throws Exception {
+        // Arrange
+        when(userService.getAll()).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").header("X-API-Key", "dashboard"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header("X-API-Key", "dashboard"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+        mockMvc.perform(get("/api/users").header("X-API-Key", "another-client"))
+                .andExpect(status().isOk());
+        verify(userService, times(2)).getAll();
+    }
+}
@@ -1,5 +1,6 @@
 package com.chatterbox.userservice.controller;
 
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
 import com.chatterbox.userservice.model.User;
 import com.chatterbox.userservice.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -101,6 +103,21 @@ class UserControllerTest {
         verify(userService, times(1)).getUserById("1");
     }
 
+    @Test
+    void getUserById_storeUnavailable() throws Exception {
+        // Arrange
+        when(userService.getUserById("1"))
+                .thenThrow(new ServiceUnavailableException("User store is temporarily unavailable, please retry later.", 5));
+
+        // Act
+        ResultActions result = mockMvc.perform(get("/api/users/1"));
+
+        // Assert
+        result.andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
     @Test
     void getUserByUserName() throws Exception {
         // Arrange
@@ -161,6 +178,16 @@ class UserControllerTest {
         verify(userService, times(1)).deleteAll();
     }
 
+    @Test
+    void recordHeartbeat() throws Exception {
+        // Act
+        ResultActions result = mockMvc.perform(post("/api/users/1/heartbeat"));
+
+        // Assert
+        result.andExpect(status().isNoContent());
+        verify(userService, times(1)).recordHeartbeat("1");
+    }
+
     @Test
     void handleInvalidPath() throws Exception {
         // Act
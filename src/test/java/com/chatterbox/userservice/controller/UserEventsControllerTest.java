@@ -0,0 +1,121 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.events.UserChangeStream;
+import com.chatterbox.userservice.events.UserChangeType;
+import com.chatterbox.userservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(UserEventsController.class)
+@Import({UserChangeLog.class, UserChangeStream.class})
+@TestPropertySource(properties = "chatterbox.events.buffer-capacity=4")
+class UserEventsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserChangeLog changeLog;
+
+    private void publishDeletes(int count) {
+        long first = changeLog.nextOffset();
+        IntStream.range(0, count).forEach(i -> changeLog.publish(UserChangeType.DELETED, "user-" + (first + i), null));
+    }
+
+    private static void awaitContent(MvcResult result, String expected) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> result.getResponse().getContentAsString().contains(expected));
+    }
+
+    @Test
+    void streamEvents_deliversEventsPublishedAfterSubscribing() throws Exception {
+        // Arrange
+        publishDeletes(1);
+        long next = changeLog.nextOffset();
+        MvcResult result = mockMvc.perform(get("/api/users/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act
+        User user = new User();
+        user.setId("42");
+        user.setUserName("alice");
+        changeLog.publish(UserChangeType.CREATED, "42", user);
+
+        // Assert
+        awaitContent(result, "id:" + next);
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.contains("event:CREATED"));
+        assertTrue(content.contains("\"userName\":\"alice\""));
+        assertFalse(content.contains("id:" + (next - 1) + "\n"));
+    }
+
+    @Test
+    void streamEvents_resumesAfterLastEventId() throws Exception {
+        // Arrange
+        long first = changeLog.nextOffset();
+        publishDeletes(3);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/users/events").header("Last-Event-ID", Long.toString(first)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        awaitContent(result, "id:" + (first + 2));
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.contains("id:" + (first + 1)));
+        assertFalse(content.contains("id:" + first + "\n"));
+    }
+
+    @Test
+    void streamEvents_offsetNoLongerRetained_sendsResetFirst() throws Exception {
+        // Arrange
+        long first = changeLog.nextOffset();
+        publishDeletes(10);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/users/events").param("fromOffset", Long.toString(first)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        awaitContent(result, "id:" + (first + 9));
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.startsWith("event:reset"));
+        assertTrue(content.contains("\"resumeOffset\":" + (first + 6)));
+    }
+
+    @Test
+    void streamEvents_lastEventIdPastTheHead_sendsResetAndResumesAtTheHead() throws Exception {
+        // Arrange: the client saw offsets of before a restart
+        long head = changeLog.nextOffset();
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/users/events").header("Last-Event-ID", Long.toString(head + 500)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "event:reset");
+        publishDeletes(1);
+
+        // Assert
+        awaitContent(result, "id:" + head);
+        String content = result.getResponse().getContentAsString();
+        assertTrue(content.startsWith("event:reset"));
+        assertTrue(content.contains("\"resumeOffset\":" + head));
+    }
+}
@@ -0,0 +1,55 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.search.UserSearchIndex;
+import com.chatterbox.userservice.search.UserSearchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserSearchController.class)
+class UserSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserSearchIndex searchIndex;
+
+    @Test
+    void searchUsers_returnsRankedResults() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setId("1");
+        user.setUserName("jsmith");
+        when(searchIndex.search("jon smiht", 5)).thenReturn(List.of(new UserSearchResult(user, 0.62)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/search").param("q", "jon smiht").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].user.userName").value("jsmith"))
+                .andExpect(jsonPath("$[0].score").value(0.62));
+    }
+
+    @Test
+    void searchUsers_whileIndexLoading_returnsServiceUnavailable() throws Exception {
+        // Arrange
+        when(searchIndex.search("john", null)).thenThrow(new ServiceUnavailableException("loading", 5));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/search").param("q", "john"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+}
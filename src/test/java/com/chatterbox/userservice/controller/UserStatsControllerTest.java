@@ -0,0 +1,61 @@
+package com.chatterbox.userservice.controller;
+
+import com.chatterbox.userservice.stats.UserStats;
+import com.chatterbox.userservice.stats.UserStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserStatsController.class)
+@TestPropertySource(properties = {
+        "chatterbox.rate-limit.budgets.expensive.capacity=1",
+        "chatterbox.rate-limit.budgets.expensive.refill-per-second=0.1"
+})
+class UserStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserStatsService statsService;
+
+    @Test
+    void getStats_returnsCachedCounts() throws Exception {
+        // Arrange
+        when(statsService.getStats()).thenReturn(new UserStats(1200, 3, false, Instant.parse("2025-05-06T10:45:00Z")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsers").value(1200))
+                .andExpect(jsonPath("$.pendingPurge").value(3))
+                .andExpect(jsonPath("$.exact").value(false));
+        verify(statsService, never()).countExactly();
+    }
+
+    @Test
+    void getStats_exact_countsAndIsRateLimitedAsExpensive() throws Exception {
+        // Arrange
+        when(statsService.countExactly()).thenReturn(new UserStats(1201, 2, true, Instant.now()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/stats").param("exact", "true").header("X-API-Key", "dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsers").value(1201))
+                .andExpect(jsonPath("$.exact").value(true));
+        mockMvc.perform(get("/api/users/stats").param("exact", "true").header("X-API-Key", "dashboard"))
+                .andExpect(status().isTooManyRequests());
+    }
+}
@@ -0,0 +1,113 @@
+package com.chatterbox.userservice.events;
+
+import com.chatterbox.userservice.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserChangeLogTest {
+
+    private static UserChangeLog changeLog(int capacity) {
+        UserChangeEventProperties properties = new UserChangeEventProperties();
+        properties.setBufferCapacity(capacity);
+        return new UserChangeLog(properties);
+    }
+
+    @Test
+    void capacity_isRoundedUpToPowerOfTwo() {
+        assertEquals(8, changeLog(5).capacity());
+        assertEquals(8, changeLog(8).capacity());
+    }
+
+    @Test
+    void read_returnsEventsInOffsetOrder() {
+        // Arrange
+        UserChangeLog log = changeLog(8);
+        User user = new User();
+        user.setId("1");
+        log.publish(UserChangeType.CREATED, "1", user);
+        log.publish(UserChangeType.UPDATED, "1", user);
+        log.publish(UserChangeType.DELETED, "1", null);
+
+        // Act
+        UserChangeLog.ReadResult result = log.read(1, 10);
+
+        // Assert
+        assertFalse(result.isGap());
+        assertEquals(List.of(1L, 2L), result.getEvents().stream().map(UserChangeEvent::getOffset).toList());
+        assertEquals(UserChangeType.DELETED, result.getEvents().get(1).getType());
+        assertTrue(log.read(3, 10).getEvents().isEmpty());
+        assertEquals(1, log.read(0, 1).getEvents().size());
+    }
+
+    @Test
+    void read_overwrittenOffset_reportsGap() {
+        // Arrange
+        UserChangeLog log = changeLog(4);
+        LongStream.range(0, 10).forEach(i -> log.publish(UserChangeType.DELETED, Long.toString(i), null));
+
+        // Act
+        UserChangeLog.ReadResult result = log.read(2, 10);
+
+        // Assert
+        assertTrue(result.isGap());
+        assertEquals(6, result.getResumeOffset());
+        assertEquals(4, log.read(6, 10).getEvents().size());
+    }
+
+    @Test
+    void read_offsetPastTheHead_reportsGapAtTheHead() {
+        // Arrange: a subscriber resuming from an offset of before a restart
+        UserChangeLog log = changeLog(8);
+        LongStream.range(0, 3).forEach(i -> log.publish(UserChangeType.CREATED, Long.toString(i), null));
+
+        // Act
+        UserChangeLog.ReadResult result = log.read(1_000, 10);
+
+        // Assert
+        assertTrue(result.isGap());
+        assertEquals(3, result.getResumeOffset());
+        assertFalse(log.read(3, 10).isGap());
+    }
+
+    @Test
+    void publish_notifiesListeners() {
+        UserChangeLog log = changeLog(4);
+        AtomicInteger notifications = new AtomicInteger();
+        log.addListener(notifications::incrementAndGet);
+
+        log.publish(UserChangeType.ALL_DELETED, null, null);
+
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    void publish_concurrentWriters_keepOffsetsDense() throws InterruptedException {
+        // Arrange
+        UserChangeLog log = changeLog(1 << 14);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+
+        // Act
+        for (int writer = 0; writer < 4; writer++) {
+            writers.execute(() -> LongStream.range(0, 2000).forEach(i -> log.publish(UserChangeType.DELETED, "x", null)));
+        }
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        List<UserChangeEvent> events = log.read(0, 10_000).getEvents();
+        assertEquals(8000, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).getOffset());
+        }
+    }
+}
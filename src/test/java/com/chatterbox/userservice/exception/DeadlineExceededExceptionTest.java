@@ -0,0 +1,28 @@
+package com.chatterbox.userservice.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineExceededExceptionTest {
+
+    @Test
+    void instance() {
+        String errorMessage = "message";
+        DeadlineExceededException exception = new DeadlineExceededException(errorMessage);
+        assertNotNull(exception);
+        assertEquals(errorMessage, exception.getMessage());
+    }
+
+    @Test
+    void instanceWithCause() {
+        RuntimeException cause = new RuntimeException("operation exceeded time limit");
+        DeadlineExceededException exception = new DeadlineExceededException("message", cause);
+        assertSame(cause, exception.getCause());
+    }
+}
@@ -0,0 +1,20 @@
+package com.chatterbox.userservice.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyMismatchExceptionTest {
+
+    @Test
+    void instance() {
+        String errorMessage = "message";
+        IdempotencyKeyMismatchException exception = new IdempotencyKeyMismatchException(errorMessage);
+        assertNotNull(exception);
+        assertEquals(errorMessage, exception.getMessage());
+    }
+}
@@ -0,0 +1,20 @@
+package com.chatterbox.userservice.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidIdempotencyKeyExceptionTest {
+
+    @Test
+    void instance() {
+        String errorMessage = "message";
+        InvalidIdempotencyKeyException exception = new InvalidIdempotencyKeyException(errorMessage);
+        assertNotNull(exception);
+        assertEquals(errorMessage, exception.getMessage());
+    }
+}
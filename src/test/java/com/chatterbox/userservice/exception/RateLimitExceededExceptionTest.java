@@ -0,0 +1,21 @@
+package com.chatterbox.userservice.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitExceededExceptionTest {
+
+    @Test
+    void instance() {
+        String errorMessage = "message";
+        RateLimitExceededException exception = new RateLimitExceededException(errorMessage, 3);
+        assertNotNull(exception);
+        assertEquals(errorMessage, exception.getMessage());
+        assertEquals(3, exception.getRetryAfterSeconds());
+    }
+}
@@ -0,0 +1,26 @@
+package com.chatterbox.userservice.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ExtendWith(MockitoExtension.class)
+class UserValidationExceptionTest {
+
+    @Test
+    void instance() {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        fieldErrors.put("firstName", "first");
+        fieldErrors.put("email", "second");
+        UserValidationException exception = new UserValidationException(fieldErrors);
+        assertNotNull(exception);
+        assertEquals("first second", exception.getMessage());
+        assertEquals(fieldErrors, exception.getFieldErrors());
+    }
+}
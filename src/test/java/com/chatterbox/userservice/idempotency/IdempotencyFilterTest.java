@@ -0,0 +1,292 @@
+package com.chatterbox.userservice.idempotency;
+
+import com.chatterbox.userservice.exception.IdempotencyKeyInUseException;
+import com.chatterbox.userservice.exception.IdempotencyKeyMismatchException;
+import com.chatterbox.userservice.exception.IdempotentRequestTooLargeException;
+import com.chatterbox.userservice.exception.InvalidIdempotencyKeyException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"userName\":\"jdoe\"}";
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private IdempotencyProperties properties;
+    private IdempotencyFilter filter;
+
+    // stands in for the GlobalExceptionHandler
+    private final HandlerExceptionResolver resolver = (request, response, handler, ex) -> {
+        response.setStatus(ex instanceof InvalidIdempotencyKeyException ? 400
+                : ex instanceof IdempotencyKeyMismatchException ? 422
+                : ex instanceof IdempotencyKeyInUseException ? 409
+                : ex instanceof IdempotentRequestTooLargeException ? 413 : 500);
+        return new ModelAndView();
+    };
+
+    // stands in for UserController.registerUser: echoes the body it read
+    private final FilterChain registerChain = (request, response) -> {
+        int call = handled.incrementAndGet();
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        response.setContentType("text/plain");
+        response.getWriter().write("registered #" + call + " " + body);
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setInFlightTimeout(Duration.ofSeconds(5));
+        filter = new IdempotencyFilter(new IdempotencyStore(properties), properties, "X-API-Key",
+                Set.of("client-a", "client-b"), resolver);
+    }
+
+    private static MockHttpServletRequest register(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/register");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader("Idempotency-Key", key);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void retryWithSameKey_replaysTheStoredResponseWithoutRunningTheRequest() throws Exception {
+        // Act
+        MockHttpServletResponse first = send(register("k1", BODY), registerChain);
+        MockHttpServletResponse retry = send(register("k1", BODY), registerChain);
+
+        // Assert
+        assertEquals(1, handled.get());
+        assertEquals("registered #1 " + BODY, first.getContentAsString());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(200, retry.getStatus());
+        assertEquals("registered #1 " + BODY, retry.getContentAsString());
+        assertEquals("text/plain", retry.getContentType());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void requestsWithoutKey_orWithDifferentKeys_allRun() throws Exception {
+        // Act
+        send(register(null, BODY), registerChain);
+        send(register(null, BODY), registerChain);
+        send(register("k1", BODY), registerChain);
+        send(register("k2", BODY), registerChain);
+
+        // Assert
+        assertEquals(4, handled.get());
+    }
+
+    @Test
+    void sameKeyFromAnotherClient_runsAgain() throws Exception {
+        // Arrange
+        MockHttpServletRequest first = register("k1", BODY);
+        first.addHeader("X-API-Key", "client-a");
+        MockHttpServletRequest other = register("k1", BODY);
+        other.addHeader("X-API-Key", "client-b");
+
+        // Act
+        send(first, registerChain);
+        send(other, registerChain);
+
+        // Assert
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void unlistedApiKey_isScopedByRemoteAddress() throws Exception {
+        // Arrange: a caller guessing a key value does not share the listed client's responses
+        MockHttpServletRequest listed = register("k1", BODY);
+        listed.addHeader("X-API-Key", "client-a");
+        listed.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest guessed = register("k1", BODY);
+        guessed.addHeader("X-API-Key", "client-c");
+        guessed.setRemoteAddr("10.0.0.2");
+        MockHttpServletRequest sameAddress = register("k1", BODY);
+        sameAddress.addHeader("X-API-Key", "client-d");
+        sameAddress.setRemoteAddr("10.0.0.2");
+
+        // Act
+        send(listed, registerChain);
+        MockHttpServletResponse first = send(guessed, registerChain);
+        MockHttpServletResponse replayed = send(sameAddress, registerChain);
+
+        // Assert
+        assertEquals(2, handled.get());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void sameKeyWithDifferentBody_isRejected() throws Exception {
+        // Arrange
+        send(register("k1", BODY), registerChain);
+
+        // Act
+        MockHttpServletResponse response = send(register("k1", "{\"userName\":\"other\"}"), registerChain);
+
+        // Assert
+        assertEquals(422, response.getStatus());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void failedRequest_releasesTheKeySoTheRetryRunsAgain() throws Exception {
+        // Arrange
+        FilterChain failing = (request, response) -> {
+            handled.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        // Act
+        send(register("k1", BODY), failing);
+        MockHttpServletResponse retry = send(register("k1", BODY), registerChain);
+
+        // Assert
+        assertEquals(2, handled.get());
+        assertEquals("registered #2 " + BODY, retry.getContentAsString());
+    }
+
+    @Test
+    void oversizedKey_isRejected() throws Exception {
+        // Act
+        MockHttpServletResponse response = send(register("k".repeat(properties.getMaxKeyLength() + 1), BODY), registerChain);
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        assertEquals(0, handled.get());
+    }
+
+    @Test
+    void oversizedBody_isRefusedWithoutBeingBuffered() throws Exception {
+        // Arrange
+        properties.setMaxRequestSize(DataSize.ofBytes(BODY.length()));
+        MockHttpServletRequest declared = register("k1", BODY + " ");
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/api/users/register") {
+            @Override
+            public long getContentLengthLong() {
+                return -1; // sent chunked, the size is only known once read
+            }
+        };
+        chunked.setContent((BODY + " ").getBytes(StandardCharsets.UTF_8));
+        chunked.addHeader("Idempotency-Key", "k2");
+
+        // Act
+        MockHttpServletResponse first = send(declared, registerChain);
+        MockHttpServletResponse second = send(chunked, registerChain);
+        MockHttpServletResponse fits = send(register("k3", BODY), registerChain);
+
+        // Assert
+        assertEquals(413, first.getStatus());
+        assertEquals(413, second.getStatus());
+        assertEquals(200, fits.getStatus());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void multipartUpload_passesThroughWithoutKeyHandling() throws Exception {
+        // Arrange
+        properties.setMaxRequestSize(DataSize.ofBytes(1));
+        MockHttpServletRequest upload = register("k1", BODY);
+        upload.setContentType("multipart/form-data; boundary=x");
+
+        // Act
+        send(upload, registerChain);
+        MockHttpServletResponse again = send(upload, registerChain);
+
+        // Assert
+        assertEquals(200, again.getStatus());
+        assertNull(again.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void retryWhileOriginalIsRunning_waitsForItsResponse() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            registerChain.doFilter(request, response);
+        };
+        CompletableFuture<MockHttpServletResponse> original =
+                CompletableFuture.supplyAsync(() -> sendUnchecked(register("k1", BODY), slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<MockHttpServletResponse> retry =
+                CompletableFuture.supplyAsync(() -> sendUnchecked(register("k1", BODY), registerChain));
+        release.countDown();
+
+        // Assert
+        assertEquals("registered #1 " + BODY, original.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals("registered #1 " + BODY, retry.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void retryWhileOriginalIsRunning_getsConflictAfterTimeout() throws Exception {
+        // Arrange
+        properties.setInFlightTimeout(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain stuck = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<MockHttpServletResponse> original =
+                CompletableFuture.supplyAsync(() -> sendUnchecked(register("k1", BODY), stuck));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        MockHttpServletResponse retry = send(register("k1", BODY), registerChain);
+        release.countDown();
+
+        // Assert
+        assertEquals(409, retry.getStatus());
+        assertEquals(0, handled.get());
+        original.get(5, TimeUnit.SECONDS);
+    }
+
+    private MockHttpServletResponse sendUnchecked(MockHttpServletRequest request, FilterChain chain) {
+        try {
+            return send(request, chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.chatterbox.userservice.idempotency;
+
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyStoreTest {
+
+    private static final byte[] FINGERPRINT = {1, 2, 3};
+
+    private final AtomicLong clock = new AtomicLong();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setTtl(Duration.ofSeconds(60));
+        properties.setMaxEntries(3);
+        store = new IdempotencyStore(properties, clock::get);
+    }
+
+    private static StoredResponse response(String body) {
+        return new StoredResponse(200, "text/plain", body.getBytes());
+    }
+
+    @Test
+    void claim_sameKeyTwice_secondGetsTheFirstEntryAndItsResponse() throws Exception {
+        // Arrange
+        IdempotencyStore.Claim first = store.claim("key", FINGERPRINT);
+        store.complete(first, response("done"));
+
+        // Act
+        IdempotencyStore.Claim second = store.claim("key", new byte[]{9});
+
+        // Assert
+        assertTrue(first.isAcquired());
+        assertFalse(second.isAcquired());
+        assertSame(first.getEntry(), second.getEntry());
+        assertEquals("done", new String(second.getEntry().awaitResponse(1, TimeUnit.SECONDS).getBody()));
+    }
+
+    @Test
+    void release_wakesWaitersWithNullAndFreesTheKey() throws Exception {
+        // Arrange
+        IdempotencyStore.Claim first = store.claim("key", FINGERPRINT);
+        IdempotencyStore.Claim waiting = store.claim("key", FINGERPRINT);
+
+        // Act
+        store.release(first);
+
+        // Assert
+        assertNull(waiting.getEntry().awaitResponse(1, TimeUnit.SECONDS));
+        assertTrue(store.claim("key", FINGERPRINT).isAcquired());
+    }
+
+    @Test
+    void claim_afterTtl_startsOver() {
+        // Arrange
+        store.complete(store.claim("key", FINGERPRINT), response("done"));
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        IdempotencyStore.Claim again = store.claim("key", FINGERPRINT);
+
+        // Assert
+        assertTrue(again.isAcquired());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void claim_beyondMaxEntries_forgetsTheOldestKeys() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            store.complete(store.claim("key-" + i, FINGERPRINT), response("done"));
+            clock.incrementAndGet();
+        }
+
+        // Assert
+        assertEquals(3, store.size());
+        assertTrue(store.claim("key-0", FINGERPRINT).isAcquired());
+        assertFalse(store.claim("key-9", FINGERPRINT).isAcquired());
+    }
+
+    @Test
+    void claim_beyondMaxEntries_keepsRunningRequestsAndForgetsFinishedOnes() {
+        // Arrange
+        IdempotencyStore.Claim running = store.claim("running", FINGERPRINT);
+        store.complete(store.claim("done", FINGERPRINT), response("done"));
+        store.claim("also-running", FINGERPRINT);
+
+        // Act
+        IdempotencyStore.Claim fresh = store.claim("fresh", FINGERPRINT);
+
+        // Assert
+        assertTrue(fresh.isAcquired());
+        assertEquals(3, store.size());
+        store.complete(fresh, response("fresh"));
+        assertSame(running.getEntry(), store.claim("running", FINGERPRINT).getEntry());
+        assertTrue(store.claim("done", FINGERPRINT).isAcquired());
+    }
+
+    @Test
+    void claim_whenFullOfRunningRequests_rejects() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            store.claim("running-" + i, FINGERPRINT);
+        }
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> store.claim("one-more", FINGERPRINT));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void releasedKeys_countTowardsTheBound() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            store.release(store.claim("key-" + i, FINGERPRINT));
+        }
+        store.claim("live", FINGERPRINT);
+
+        // Assert
+        assertEquals(1, store.size());
+    }
+}
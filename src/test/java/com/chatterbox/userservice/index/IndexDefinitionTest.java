@@ -0,0 +1,63 @@
+package com.chatterbox.userservice.index;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexDefinitionTest {
+
+    private final IndexDefinition definition = IndexDefinition.builder()
+            .collection("users_collection")
+            .name("userName_email")
+            .key("userName", 1)
+            .key("email", -1)
+            .unique(true)
+            .build();
+
+    @Test
+    void matches_sameKeysAndOptions_returnsTrue() {
+        Document existing = new Document("name", "userName_email")
+                .append("key", new Document("userName", 1).append("email", -1))
+                .append("unique", true);
+
+        assertTrue(definition.matches(existing));
+    }
+
+    @Test
+    void matches_differentKeyOrder_returnsFalse() {
+        Document existing = new Document("name", "userName_email")
+                .append("key", new Document("email", -1).append("userName", 1))
+                .append("unique", true);
+
+        assertFalse(definition.matches(existing));
+    }
+
+    @Test
+    void matches_notUnique_returnsFalse() {
+        Document existing = new Document("name", "userName_email")
+                .append("key", new Document("userName", 1).append("email", -1));
+
+        assertFalse(definition.matches(existing));
+    }
+
+    @Test
+    void toIndexOptions_copiesNameUniqueAndTtl() {
+        IndexDefinition ttl = IndexDefinition.builder()
+                .collection("c")
+                .name("expiresAt")
+                .key("expiresAt", 1)
+                .expireAfter(Duration.ofDays(1))
+                .build();
+
+        assertEquals("expiresAt", ttl.toIndexOptions().getName());
+        assertFalse(ttl.toIndexOptions().isUnique());
+        assertEquals(86400L, ttl.toIndexOptions().getExpireAfter(TimeUnit.SECONDS));
+        assertEquals(new Document("expiresAt", 1), ttl.keyDocument());
+    }
+}
@@ -0,0 +1,205 @@
+package com.chatterbox.userservice.index;
+
+import com.chatterbox.userservice.layout.LayoutPhase;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.MongoException;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexReconcilerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private ListIndexesIterable<Document> listIndexes;
+
+    @Mock
+    private MongoCollection<Document> tombstones;
+
+    @Mock
+    private ListIndexesIterable<Document> tombstoneIndexes;
+
+    private IndexReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new IndexReconciler(UserPartitions.single(mongoTemplate),
+                new UserIndexDefinitions(Duration.ofDays(30), LayoutPhase.LEGACY));
+        when(mongoTemplate.getCollection(UserIndexDefinitions.USERS_COLLECTION)).thenReturn(collection);
+        when(collection.listIndexes()).thenReturn(listIndexes);
+        lenient().when(mongoTemplate.getCollection(UserIndexDefinitions.TOMBSTONES_COLLECTION)).thenReturn(tombstones);
+        lenient().when(tombstones.listIndexes()).thenReturn(tombstoneIndexes);
+        lenient().when(tombstoneIndexes.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.add(new Document("name", "deletedAt_ttl").append("key", new Document("deletedAt", 1))
+                    .append("expireAfterSeconds", Duration.ofDays(30).toSeconds()));
+            return target;
+        });
+    }
+
+    private static Document updatedAtIndex() {
+        return new Document("name", "updatedAt").append("key", new Document("updatedAt", 1));
+    }
+
+    private static Document deletedAtIndex() {
+        return new Document("name", "deletedAt").append("key", new Document("deletedAt", 1))
+                .append("partialFilterExpression", new Document("deletedAt", new Document("$exists", true)));
+    }
+
+    private static Document uniqueIndex(String field) {
+        return new Document("name", field).append("key", new Document(field, 1).append("deletedAt", 1))
+                .append("unique", true);
+    }
+
+    private void givenExistingIndexes(Document... indexes) {
+        when(listIndexes.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(List.of(indexes));
+            return target;
+        });
+    }
+
+    @Test
+    void reconcile_missingIndexes_buildsThem() {
+        // Arrange
+        givenExistingIndexes(new Document("name", "_id_").append("key", new Document("_id", 1)));
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        verify(collection).createIndex(eq(new Document("userName", 1).append("deletedAt", 1)), any(IndexOptions.class));
+        verify(collection).createIndex(eq(new Document("email", 1).append("deletedAt", 1)), any(IndexOptions.class));
+        verify(collection).createIndex(eq(new Document("updatedAt", 1)), any(IndexOptions.class));
+        verify(collection).createIndex(eq(new Document("deletedAt", 1)), any(IndexOptions.class));
+        reconciler.getStatus().forEach(status -> assertEquals(IndexBuildState.READY, status.getState()));
+    }
+
+    @Test
+    void reconcile_matchingIndexes_doesNotRebuild() {
+        // Arrange
+        givenExistingIndexes(
+                uniqueIndex("userName"),
+                uniqueIndex("email"),
+                updatedAtIndex(),
+                deletedAtIndex());
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        verify(collection, never()).createIndex(any(Bson.class), any(IndexOptions.class));
+        verify(tombstones, never()).createIndex(any(Bson.class), any(IndexOptions.class));
+        reconciler.getStatus().forEach(status -> assertEquals(IndexBuildState.READY, status.getState()));
+    }
+
+    @Test
+    void reconcile_differentOptions_reportsConflict() {
+        // Arrange
+        givenExistingIndexes(
+                new Document("name", "userName").append("key", new Document("userName", 1)).append("unique", true),
+                uniqueIndex("email"),
+                updatedAtIndex(),
+                deletedAtIndex());
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        verify(collection, never()).createIndex(any(Bson.class), any(IndexOptions.class));
+        assertEquals(IndexBuildState.CONFLICT, reconciler.getStatus().get(0).getState());
+        assertEquals(IndexBuildState.READY, reconciler.getStatus().get(1).getState());
+    }
+
+    @Test
+    void reconcile_buildFails_reportsFailed() {
+        // Arrange
+        givenExistingIndexes();
+        when(collection.createIndex(eq(new Document("userName", 1).append("deletedAt", 1)), any(IndexOptions.class)))
+                .thenThrow(new MongoException("E11000 duplicate key error"));
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        IndexBuildStatus userName = reconciler.getStatus().get(0);
+        assertEquals(IndexBuildState.FAILED, userName.getState());
+        assertEquals("E11000 duplicate key error", userName.getMessage());
+        assertEquals(IndexBuildState.READY, reconciler.getStatus().get(1).getState());
+    }
+
+    @Test
+    void reconcile_listIndexesFails_reportsFailed() {
+        // Arrange
+        when(listIndexes.into(any())).thenThrow(new MongoException("Timed out waiting for a server"));
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        verify(collection, never()).createIndex(any(Bson.class), any(IndexOptions.class));
+        reconciler.getStatus().stream()
+                .filter(status -> status.getCollection().equals(UserIndexDefinitions.USERS_COLLECTION))
+                .forEach(status -> assertEquals(IndexBuildState.FAILED, status.getState()));
+        assertEquals(IndexBuildState.READY, reconciler.getStatus().get(4).getState());
+    }
+
+    @Test
+    void reconcile_retiredIndexes_areDroppedOnceTheirReplacementsAreReady() {
+        // Arrange
+        reconciler = new IndexReconciler(UserPartitions.single(mongoTemplate),
+                new UserIndexDefinitions(Duration.ofDays(30), LayoutPhase.PREPARE));
+        givenExistingIndexes(uniqueIndex("userName"), uniqueIndex("email"), updatedAtIndex(), deletedAtIndex());
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        verify(collection).createIndex(eq(new Document("userName", 1).append("deletedAt", -1)), any(IndexOptions.class));
+        verify(collection).createIndex(eq(new Document("un", 1).append("deletedAt", 1)), any(IndexOptions.class));
+        verify(collection).dropIndex("userName");
+        verify(collection).dropIndex("email");
+    }
+
+    @Test
+    void reconcile_replacementFails_keepsTheRetiredIndexes() {
+        // Arrange
+        reconciler = new IndexReconciler(UserPartitions.single(mongoTemplate),
+                new UserIndexDefinitions(Duration.ofDays(30), LayoutPhase.PREPARE));
+        givenExistingIndexes(uniqueIndex("userName"), uniqueIndex("email"), updatedAtIndex(), deletedAtIndex());
+        when(collection.createIndex(eq(new Document("em", 1).append("deletedAt", 1)), any(IndexOptions.class)))
+                .thenThrow(new MongoException("E11000 duplicate key error"));
+
+        // Act
+        reconciler.reconcile();
+
+        // Assert
+        verify(collection, never()).dropIndex(any(String.class));
+    }
+}
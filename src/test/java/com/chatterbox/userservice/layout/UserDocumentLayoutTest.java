@@ -0,0 +1,146 @@
+package com.chatterbox.userservice.layout;
+
+import com.chatterbox.userservice.model.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserDocumentLayoutTest {
+
+    private static final String USERS = "users_collection";
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private CompactLayoutProperties properties;
+    private UserDocumentLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        properties = new CompactLayoutProperties();
+        layout = new UserDocumentLayout(properties);
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.addApplicationListener(layout);
+        context.refresh();
+        mongoTemplate = new MongoTemplate(client, "users");
+        mongoTemplate.setApplicationContext(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    private static User user(String userName) {
+        User user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setUserName(userName);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(userName + "@example.com");
+        return user;
+    }
+
+    private Document stored(User user) {
+        return mongoTemplate.findById(new ObjectId(user.getId()), Document.class, USERS);
+    }
+
+    @Test
+    void save_inLegacyPhase_writesTheFullNames() {
+        // Arrange
+        User user = user("alice");
+
+        // Act
+        mongoTemplate.save(user);
+
+        // Assert
+        Document document = stored(user);
+        assertEquals("alice", document.getString("userName"));
+        assertTrue(document.containsKey(UserDocumentLayout.TYPE_KEY));
+        assertFalse(document.containsKey("un"));
+    }
+
+    @Test
+    void save_inMigratePhase_writesTheCompactNamesAndReadsThemBack() {
+        // Arrange
+        properties.setPhase(LayoutPhase.MIGRATE);
+        User user = user("alice");
+
+        // Act
+        mongoTemplate.save(user);
+
+        // Assert
+        Document document = stored(user);
+        assertEquals("alice", document.getString("un"));
+        assertEquals("alice@example.com", document.getString("em"));
+        assertEquals("First", document.getString("fn"));
+        assertFalse(document.containsKey("userName"));
+        assertFalse(document.containsKey(UserDocumentLayout.TYPE_KEY));
+        User read = mongoTemplate.findById(user.getId(), User.class);
+        assertEquals("alice", read.getUserName());
+        assertEquals("Last", read.getLastName());
+    }
+
+    @Test
+    void matching_inMigratePhase_findsUsersInBothLayouts() {
+        // Arrange
+        mongoTemplate.save(user("legacy"));
+        properties.setPhase(LayoutPhase.MIGRATE);
+        mongoTemplate.save(user("compact"));
+
+        // Act
+        List<User> legacy = mongoTemplate.find(new Query(layout.matching("userName", "legacy")), User.class);
+        List<User> compact = mongoTemplate.find(new Query(layout.matching("email", "compact@example.com")), User.class);
+        List<User> both = mongoTemplate.find(new Query(layout.matchingAny("userName", List.of("legacy", "compact"))),
+                User.class);
+
+        // Assert
+        assertEquals("legacy", legacy.get(0).getUserName());
+        assertEquals("compact", compact.get(0).getUserName());
+        assertEquals(2, both.size());
+    }
+
+    @Test
+    void matching_inCompactPhase_onlyMatchesTheCompactName() {
+        // Arrange
+        properties.setPhase(LayoutPhase.COMPACT);
+
+        // Act
+        Document criteria = layout.matching("userName", "alice").getCriteriaObject();
+
+        // Assert
+        assertEquals(new Document("un", "alice"), criteria);
+    }
+
+    @Test
+    void include_projectsBothNames() {
+        // Arrange
+        Query query = new Query();
+
+        // Act
+        UserDocumentLayout.include(query, "userName", "updatedAt");
+
+        // Assert
+        assertEquals(new Document("userName", 1).append("un", 1).append("updatedAt", 1), query.getFieldsObject());
+    }
+}
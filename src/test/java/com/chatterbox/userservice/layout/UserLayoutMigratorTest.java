@@ -0,0 +1,134 @@
+package com.chatterbox.userservice.layout;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserLayoutMigratorTest {
+
+    private static final String USERS = "users_collection";
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserPartitions partitions;
+    private CompactLayoutProperties properties;
+    private UserLayoutMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        partitions = UserPartitions.single(mongoTemplate);
+        properties = new CompactLayoutProperties();
+        properties.setPhase(LayoutPhase.MIGRATE);
+        properties.setMigrationBatchSize(7);
+        properties.setMigrationBatchPause(Duration.ZERO);
+        migrator = new UserLayoutMigrator(partitions, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        migrator.shutdown();
+        partitions.close();
+        client.close();
+        server.shutdown();
+    }
+
+    private void insertLegacyUsers(int count) {
+        // a template without the layout listener writes the legacy layout
+        IntStream.range(0, count).forEach(i -> {
+            User user = new User();
+            user.setId(new ObjectId().toHexString());
+            user.setUserName("user" + i);
+            user.setFirstName("First");
+            user.setLastName("Last");
+            user.setEmail("user" + i + "@example.com");
+            mongoTemplate.insert(user);
+        });
+    }
+
+    private void assertEveryUserCompact(int count) {
+        List<Document> documents = mongoTemplate.findAll(Document.class, USERS);
+        assertEquals(count, documents.size());
+        for (Document document : documents) {
+            assertTrue(document.containsKey("un"), document.toJson());
+            assertTrue(document.containsKey("em"), document.toJson());
+            assertFalse(document.containsKey("userName"), document.toJson());
+            assertFalse(document.containsKey(UserDocumentLayout.TYPE_KEY), document.toJson());
+        }
+    }
+
+    @Test
+    void migrate_rewritesEveryLegacyUserInPlace() {
+        // Arrange
+        insertLegacyUsers(20);
+
+        // Act
+        migrator.migrate();
+
+        // Assert
+        assertEveryUserCompact(20);
+        LayoutMigrationStatus status = migrator.getStatus();
+        assertEquals(20, status.getUsersMigrated());
+        assertEquals(0L, status.getLegacyUsersLeft());
+        Document checkpoint = mongoTemplate.findById(0, Document.class, UserLayoutMigrator.CHECKPOINT_COLLECTION);
+        assertTrue(checkpoint.getBoolean("done"));
+    }
+
+    @Test
+    void migrate_resumesFromTheCheckpointAndRevisitsUsersBehindIt() {
+        // Arrange
+        insertLegacyUsers(20);
+        Object tenthId = mongoTemplate.find(new Query().with(Sort.by("_id")), Document.class, USERS).get(9).get("_id");
+        mongoTemplate.save(new Document("_id", 0).append("lastId", tenthId).append("done", false),
+                UserLayoutMigrator.CHECKPOINT_COLLECTION);
+
+        // Act
+        migrator.migrate();
+
+        // Assert
+        assertEveryUserCompact(20);
+        assertEquals(20, migrator.getStatus().getUsersMigrated());
+        assertEquals(0L, migrator.getStatus().getLegacyUsersLeft());
+    }
+
+    @Test
+    void migrateAsync_beforeTheMigratePhase_startsNothing() {
+        // Arrange
+        insertLegacyUsers(1);
+        properties.setPhase(LayoutPhase.PREPARE);
+
+        // Act
+        LayoutMigrationStatus status = migrator.migrateAsync();
+
+        // Assert
+        assertEquals(LayoutMigrationState.FAILED, status.getState());
+        assertNotNull(status.getFailure());
+        assertEquals(LayoutMigrationState.IDLE, migrator.getStatus().getState());
+        assertTrue(mongoTemplate.findAll(Document.class, USERS).get(0).containsKey("userName"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.chatterbox.userservice.logging;
+
+import jakarta.servlet.ServletException;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogFilterTest {
+
+    @Test
+    void isSampled_rateZero_neverSamples() {
+        AccessLogFilter filter = new AccessLogFilter(0.0);
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(filter.isSampled());
+        }
+    }
+
+    @Test
+    void isSampled_rateOne_alwaysSamples() {
+        AccessLogFilter filter = new AccessLogFilter(1.0);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.isSampled());
+        }
+    }
+
+    @Test
+    void isSampled_partialRate_samplesApproximately() {
+        AccessLogFilter filter = new AccessLogFilter(0.25);
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.isSampled()) {
+                sampled++;
+            }
+        }
+        assertEquals(25_000, sampled, 2_000);
+    }
+
+    @Test
+    void doFilter_sampledRequest_clearsThreadContext() throws Exception {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(1.0);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertTrue(ThreadContext.isEmpty());
+    }
+
+    @Test
+    void doFilter_failingRequest_rethrowsAndClearsThreadContext() {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(0.0);
+        MockFilterChain failingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/users/1"), new MockHttpServletResponse(), failingChain));
+        assertTrue(ThreadContext.isEmpty());
+    }
+
+    @Test
+    void statusCode_reusesTheCachedString() {
+        assertEquals("200", AccessLogFilter.statusCode(200));
+        assertSame(AccessLogFilter.statusCode(503), AccessLogFilter.statusCode(503));
+        assertEquals("999", AccessLogFilter.statusCode(999));
+    }
+
+    @Test
+    void routeOf_returnsTheMatchedPatternOrUnmatched() {
+        // Arrange
+        MockHttpServletRequest matched = new MockHttpServletRequest("GET", "/api/users/username/alice");
+        String pattern = "/api/users/username/{username}";
+        matched.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+
+        // Act & Assert
+        assertSame(pattern, AccessLogFilter.routeOf(matched));
+        assertEquals(AccessLogFilter.UNMATCHED_ROUTE, AccessLogFilter.routeOf(new MockHttpServletRequest("GET", "/nope")));
+    }
+}
@@ -0,0 +1,142 @@
+package com.chatterbox.userservice.partition;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class UserPartitionsTest {
+
+    private static final List<String> IDS = IntStream.range(0, 20_000).mapToObj(i -> new ObjectId().toHexString()).toList();
+
+    @Test
+    void partitionOf_isStableAndWithinRange() {
+        for (String id : IDS.subList(0, 100)) {
+            int partition = UserPartitions.partitionOf(id, 5);
+            assertTrue(partition >= 0 && partition < 5);
+            assertEquals(partition, UserPartitions.partitionOf(id, 5));
+        }
+    }
+
+    @Test
+    void partitionOf_spreadsIdsEvenly() {
+        // Arrange
+        int[] counts = new int[4];
+
+        // Act
+        IDS.forEach(id -> counts[UserPartitions.partitionOf(id, 4)]++);
+
+        // Assert
+        for (int count : counts) {
+            assertTrue(Math.abs(count - IDS.size() / 4) < IDS.size() / 40, "uneven spread: " + count);
+        }
+    }
+
+    @Test
+    void partitionOf_addingPartition_movesOnlyUsersToTheNewOne() {
+        // Act
+        long moved = IDS.stream()
+                .filter(id -> UserPartitions.partitionOf(id, 4) != UserPartitions.partitionOf(id, 5))
+                .peek(id -> assertEquals(4, UserPartitions.partitionOf(id, 5)))
+                .count();
+
+        // Assert
+        assertTrue(Math.abs(moved - IDS.size() / 5) < IDS.size() / 50, "moved " + moved);
+    }
+
+    @Test
+    void single_usesThePrimaryAsOnlyPartition() {
+        // Arrange
+        MongoTemplate primary = mock(MongoTemplate.class);
+
+        // Act
+        try (UserPartitions partitions = UserPartitions.single(primary)) {
+            // Assert
+            assertFalse(partitions.isPartitioned());
+            assertSame(primary, partitions.forId(IDS.get(0)));
+            assertEquals(List.of(primary), partitions.all());
+        }
+    }
+
+    @Test
+    void fanOut_returnsResultsInPartitionOrder() {
+        // Arrange
+        List<MongoTemplate> templates = List.of(mock(MongoTemplate.class), mock(MongoTemplate.class), mock(MongoTemplate.class));
+
+        // Act
+        try (UserPartitions partitions = new UserPartitions(mock(MongoTemplate.class), templates)) {
+            List<Integer> results = partitions.fanOut(templates::indexOf);
+
+            // Assert
+            assertTrue(partitions.isPartitioned());
+            assertEquals(List.of(0, 1, 2), results);
+        }
+    }
+
+    @Test
+    void inParallel_failingTask_rethrowsItsException() {
+        // Arrange
+        List<Supplier<String>> tasks = List.of(() -> "ok", () -> {
+            throw new IllegalStateException("partition down");
+        });
+
+        // Act & Assert
+        try (UserPartitions partitions = new UserPartitions(mock(MongoTemplate.class),
+                List.of(mock(MongoTemplate.class), mock(MongoTemplate.class)))) {
+            IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> partitions.inParallel(tasks));
+            assertEquals("partition down", thrown.getMessage());
+        }
+    }
+
+    @Test
+    void inParallel_poolSaturated_runsTheOverflowOnTheCallingThread() {
+        // Arrange
+        Thread caller = Thread.currentThread();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch callerRan = new CountDownLatch(1);
+        int count = 2 + 2 * UserPartitions.QUEUED_TASKS_PER_THREAD + 10;
+        List<Supplier<Integer>> tasks = IntStream.range(0, count).<Supplier<Integer>>mapToObj(i -> () -> {
+            threads.add(Thread.currentThread());
+            if (Thread.currentThread() == caller) {
+                callerRan.countDown();
+            } else {
+                await(callerRan); // keeps the pool busy until the queue has overflowed
+            }
+            return i;
+        }).toList();
+
+        // Act
+        try (UserPartitions partitions = new UserPartitions(mock(MongoTemplate.class),
+                List.of(mock(MongoTemplate.class), mock(MongoTemplate.class)))) {
+            List<Integer> results = partitions.inParallel(tasks);
+
+            // Assert
+            assertEquals(IntStream.range(0, count).boxed().toList(), results);
+            assertTrue(threads.contains(caller));
+            assertEquals(3, threads.size(), "one pool thread per partition plus the caller");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
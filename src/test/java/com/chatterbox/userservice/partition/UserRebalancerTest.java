@@ -0,0 +1,163 @@
+package com.chatterbox.userservice.partition;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserLookupEntry;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the rebalancer against one in-memory MongoDB server per database.
+ */
+class UserRebalancerTest {
+
+    private final List<MongoServer> servers = new ArrayList<>();
+    private final List<MongoClient> clients = new ArrayList<>();
+    private final List<MongoTemplate> partitionTemplates = new ArrayList<>();
+    private MongoTemplate primary;
+    private UserPartitions partitions;
+    private UserRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        primary = template("users");
+        for (int i = 0; i < 3; i++) {
+            partitionTemplates.add(template("users_" + i));
+        }
+        partitions = new UserPartitions(primary, partitionTemplates);
+        PartitioningProperties properties = new PartitioningProperties();
+        properties.setRebalanceBatchSize(7);
+        rebalancer = new UserRebalancer(partitions, new UserLookupIndex(primary), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rebalancer.shutdown();
+        partitions.close();
+        clients.forEach(MongoClient::close);
+        servers.forEach(MongoServer::shutdown);
+    }
+
+    private MongoTemplate template(String database) {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        MongoClient client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        servers.add(server);
+        clients.add(client);
+        return new MongoTemplate(client, database);
+    }
+
+    private static User user(int i) {
+        User user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setUserName("user" + i);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail("user" + i + "@example.com");
+        return user;
+    }
+
+    private void assertEveryUserInItsPartition(List<User> users) {
+        for (User user : users) {
+            for (int i = 0; i < partitionTemplates.size(); i++) {
+                boolean present = partitionTemplates.get(i).findById(user.getId(), User.class) != null;
+                assertEquals(i == partitions.indexOf(user.getId()), present, "user " + user.getUserName());
+            }
+        }
+    }
+
+    @Test
+    void rebalance_migratesUsersOutOfThePrimaryDatabase() {
+        // Arrange
+        List<User> users = IntStream.range(0, 40).mapToObj(UserRebalancerTest::user).toList();
+        users.get(0).setDeletedAt(Instant.now());
+        users.forEach(primary::insert);
+
+        // Act
+        rebalancer.rebalance();
+
+        // Assert
+        assertEquals(0, primary.count(new Query(), User.class));
+        assertEveryUserInItsPartition(users);
+        assertEquals(40, rebalancer.getStatus().getUsersMoved());
+        assertNull(primary.findById(UserLookupIndex.key(UserLookupIndex.USER_NAME, "user0"), UserLookupEntry.class));
+        UserLookupEntry entry = primary.findById(UserLookupIndex.key(UserLookupIndex.EMAIL, "user1@example.com"),
+                UserLookupEntry.class);
+        assertNotNull(entry);
+        assertEquals(users.get(1).getId(), entry.getUserId());
+    }
+
+    @Test
+    void rebalance_afterAddingAPartition_movesOnlyTheUsersThatHashElsewhere() {
+        // Arrange
+        List<User> users = IntStream.range(0, 60).mapToObj(UserRebalancerTest::user).toList();
+        users.forEach(user -> partitionTemplates.get(UserPartitions.partitionOf(user.getId(), 2)).insert(user));
+        long misplaced = users.stream()
+                .filter(user -> UserPartitions.partitionOf(user.getId(), 2) != partitions.indexOf(user.getId()))
+                .count();
+
+        // Act
+        rebalancer.rebalance();
+
+        // Assert
+        assertEveryUserInItsPartition(users);
+        assertEquals(misplaced, rebalancer.getStatus().getUsersMoved());
+        assertEquals(60, rebalancer.getStatus().getUsersScanned());
+    }
+
+    @Test
+    void rebalance_keepsTheCopyAlreadyWrittenToTheNewPartition() {
+        // Arrange
+        User stale = IntStream.range(0, 100).mapToObj(UserRebalancerTest::user)
+                .filter(user -> partitions.indexOf(user.getId()) != 0)
+                .findFirst()
+                .orElseThrow();
+        partitionTemplates.get(0).insert(stale);
+        User updated = partitionTemplates.get(0).findById(stale.getId(), User.class);
+        updated.setFirstName("Updated");
+        partitions.forId(stale.getId()).insert(updated);
+
+        // Act
+        rebalancer.rebalance();
+
+        // Assert
+        assertNull(partitionTemplates.get(0).findById(stale.getId(), User.class));
+        assertEquals("Updated", partitions.forId(stale.getId()).findById(stale.getId(), User.class).getFirstName());
+    }
+
+    @Test
+    void rebalanceAsync_reportsCompletion() throws InterruptedException {
+        // Arrange
+        primary.insert(user(1));
+
+        // Act
+        rebalancer.rebalanceAsync();
+        for (int i = 0; i < 100 && rebalancer.getStatus().getState() == RebalanceState.RUNNING; i++) {
+            Thread.sleep(50);
+        }
+
+        // Assert
+        RebalanceStatus status = rebalancer.getStatus();
+        assertEquals(RebalanceState.COMPLETED, status.getState());
+        assertEquals(3, status.getPartitions());
+        assertEquals(1, status.getUsersMoved());
+        assertNotNull(status.getFinishedAt());
+    }
+}
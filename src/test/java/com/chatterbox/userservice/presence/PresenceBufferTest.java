@@ -0,0 +1,179 @@
+package com.chatterbox.userservice.presence;
+
+import com.chatterbox.userservice.index.UserIndexDefinitions;
+import com.chatterbox.userservice.layout.CompactLayoutProperties;
+import com.chatterbox.userservice.layout.LayoutPhase;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserLookupIndex;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.repository.UserRepositoryCustomImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the buffer against a real repository on an in-memory MongoDB server.
+ */
+class PresenceBufferTest {
+
+    private static final Instant T1 = Instant.parse("2025-05-06T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2025-05-06T10:00:05Z");
+    private static final Instant T3 = Instant.parse("2025-05-06T10:00:10Z");
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserRepository userRepository;
+    private PresenceProperties properties;
+    private PresenceBuffer presenceBuffer;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        userRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(UserRepository.class, RepositoryFragments.just(
+                        new UserRepositoryCustomImpl(UserPartitions.single(mongoTemplate),
+                                new UserLookupIndex(mongoTemplate),
+                                new UserIndexDefinitions(Duration.ofDays(30), LayoutPhase.LEGACY),
+                                new UserDocumentLayout(new CompactLayoutProperties()))));
+        properties = new PresenceProperties();
+        presenceBuffer = new PresenceBuffer(userRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        presenceBuffer.shutdown();
+        client.close();
+        server.shutdown();
+    }
+
+    private User saveUser(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(userName + "@example.com");
+        return userRepository.save(user);
+    }
+
+    private Instant storedLastSeen(String id) {
+        return mongoTemplate.findById(id, User.class).getLastSeenAt();
+    }
+
+    @Test
+    void record_isOnlyWrittenByFlush() {
+        // Arrange
+        User alice = saveUser("alice");
+
+        // Act
+        presenceBuffer.record(alice.getId(), T1);
+        presenceBuffer.record(alice.getId(), T2);
+
+        // Assert
+        assertNull(storedLastSeen(alice.getId()));
+        assertEquals(1, presenceBuffer.bufferedUsers());
+        assertEquals(1, presenceBuffer.flush());
+        assertEquals(T2, storedLastSeen(alice.getId()));
+        assertEquals(0, presenceBuffer.bufferedUsers());
+        assertEquals(0, presenceBuffer.flush());
+    }
+
+    @Test
+    void mergeInto_appliesBufferedHeartbeat() {
+        // Arrange
+        User bob = saveUser("bob");
+        presenceBuffer.record(bob.getId(), T2);
+        User read = userRepository.findById(bob.getId()).orElseThrow();
+
+        // Act
+        presenceBuffer.mergeInto(read);
+
+        // Assert
+        assertEquals(T2, read.getLastSeenAt());
+    }
+
+    @Test
+    void mergeInto_keepsLaterStoredValue() {
+        // Arrange
+        User carol = saveUser("carol");
+        presenceBuffer.record(carol.getId(), T3);
+        presenceBuffer.flush();
+        presenceBuffer.record(carol.getId(), T1);
+        User read = userRepository.findById(carol.getId()).orElseThrow();
+
+        // Act
+        presenceBuffer.mergeInto(read);
+
+        // Assert
+        assertEquals(T3, read.getLastSeenAt());
+    }
+
+    @Test
+    void flush_neverMovesLastSeenBackwards() {
+        // Arrange
+        User dave = saveUser("dave");
+        presenceBuffer.record(dave.getId(), T3);
+        presenceBuffer.flush();
+
+        // Act
+        presenceBuffer.record(dave.getId(), T2);
+        presenceBuffer.flush();
+
+        // Assert
+        assertEquals(T3, storedLastSeen(dave.getId()));
+    }
+
+    @Test
+    void flush_skipsDeletedAndUnknownUsers() {
+        // Arrange
+        User erin = saveUser("erin");
+        User frank = saveUser("frank");
+        userRepository.softDeleteById(frank.getId(), T1);
+        presenceBuffer.record(erin.getId(), T2);
+        presenceBuffer.record(frank.getId(), T2);
+        presenceBuffer.record("0123456789abcdef01234567", T2);
+
+        // Act
+        int flushed = presenceBuffer.flush();
+
+        // Assert
+        assertEquals(3, flushed);
+        assertEquals(T2, storedLastSeen(erin.getId()));
+        assertNull(storedLastSeen(frank.getId()));
+        assertEquals(2, mongoTemplate.count(new Query(), User.class));
+    }
+
+    @Test
+    void record_whenDisabled_writesRightAway() {
+        // Arrange
+        User grace = saveUser("grace");
+        properties.setEnabled(false);
+
+        // Act
+        presenceBuffer.record(grace.getId(), T1);
+
+        // Assert
+        assertEquals(T1, storedLastSeen(grace.getId()));
+        assertEquals(0, presenceBuffer.bufferedUsers());
+    }
+}
@@ -0,0 +1,86 @@
+package com.chatterbox.userservice.profiling;
+
+import com.chatterbox.userservice.exception.RecordingNotActiveException;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContinuousRecordingTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ContinuousRecording recording;
+
+    @BeforeEach
+    void setUp() {
+        ProfilingProperties properties = new ProfilingProperties();
+        properties.setMaxAge(Duration.ofMinutes(5));
+        properties.setDumpDirectory(tempDir.resolve("dumps"));
+        recording = new ContinuousRecording(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.shutdown();
+    }
+
+    private static boolean isRunning() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .anyMatch(running -> running.getName().equals(ContinuousRecording.RECORDING_NAME));
+    }
+
+    @Test
+    void dump_withoutRecording_throwsRecordingNotActive() {
+        assertThrows(RecordingNotActiveException.class, () -> recording.dump());
+    }
+
+    @Test
+    void start_thenDump_writesReadableRingBuffer() throws Exception {
+        // Arrange
+        recording.start(RecordingMode.DEFAULT);
+        UserOperationEvent event = new UserOperationEvent();
+        event.operation = "getAll";
+        event.outcome = UserOperationEventAspect.SUCCESS;
+        event.commit();
+
+        // Act
+        Path dump = recording.dump();
+
+        // Assert
+        assertTrue(dump.startsWith(tempDir.resolve("dumps")));
+        assertTrue(RecordingFile.readAllEvents(dump).stream()
+                .anyMatch(recorded -> recorded.getEventType().getName().equals(UserOperationEvent.NAME)));
+        assertTrue(recording.status().isActive());
+        assertEquals(Duration.ofMinutes(5), recording.status().getMaxAge());
+    }
+
+    @Test
+    void start_inAllocationMode_replacesRecordingAndStopEndsIt() throws Exception {
+        // Arrange
+        recording.start(RecordingMode.DEFAULT);
+
+        // Act
+        RecordingStatus status = recording.start(RecordingMode.ALLOCATION);
+
+        // Assert
+        assertEquals(RecordingMode.ALLOCATION, status.getMode());
+        assertEquals(1, FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(running -> running.getName().equals(ContinuousRecording.RECORDING_NAME)).count());
+        assertTrue(Files.size(recording.dump()) > 0);
+        assertFalse(recording.stop().isActive());
+        assertFalse(isRunning());
+    }
+}
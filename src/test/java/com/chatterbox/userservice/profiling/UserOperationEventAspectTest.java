@@ -0,0 +1,113 @@
+package com.chatterbox.userservice.profiling;
+
+import com.chatterbox.userservice.batching.InsertBatchingProperties;
+import com.chatterbox.userservice.batching.UserInsertBatcher;
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.exception.UserDoesNotExistException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.presence.PresenceBuffer;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.repository.UserTombstoneRepository;
+import com.chatterbox.userservice.rollup.SignupRollups;
+import com.chatterbox.userservice.service.UserService;
+import com.chatterbox.userservice.validator.UserServiceValidator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserOperationEventAspectTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Recording recording;
+    private UserRepository userRepository;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        UserOperationEventAspect aspect = new UserOperationEventAspect();
+        userRepository = mock(UserRepository.class);
+        AspectJProxyFactory repositoryProxy = new AspectJProxyFactory(userRepository);
+        repositoryProxy.addInterface(UserRepository.class);
+        repositoryProxy.addAspect(aspect);
+        AspectJProxyFactory tombstoneProxy = new AspectJProxyFactory(mock(UserTombstoneRepository.class));
+        tombstoneProxy.addInterface(UserTombstoneRepository.class);
+        tombstoneProxy.addAspect(aspect);
+
+        InsertBatchingProperties synchronousInserts = new InsertBatchingProperties();
+        synchronousInserts.setEnabled(false);
+        UserRepository repository = repositoryProxy.getProxy();
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(new UserService(repository,
+                new UserServiceValidator(), mock(UserChangeLog.class), tombstoneProxy.getProxy(),
+                new UserInsertBatcher(repository, synchronousInserts), mock(UserResponseCache.class),
+                mock(PresenceBuffer.class), mock(SignupRollups.class)));
+        serviceProxy.setProxyTargetClass(true);
+        serviceProxy.addAspect(aspect);
+        userService = serviceProxy.getProxy();
+
+        recording = new Recording();
+        recording.enable(UserOperationEvent.NAME);
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    private List<RecordedEvent> recordedEvents() throws Exception {
+        recording.stop();
+        Path file = tempDir.resolve("operations.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(UserOperationEvent.NAME))
+                .toList();
+    }
+
+    @Test
+    void operations_emitEventsWithOutcomeAndRepositoryCalls() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setId("1");
+        user.setUserName("jdoe");
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        when(userRepository.findById("2")).thenReturn(Optional.empty());
+        when(userRepository.softDeleteById(eq("1"), any(Instant.class))).thenReturn(true);
+
+        // Act
+        userService.getUserById("1");
+        assertThrows(UserDoesNotExistException.class, () -> userService.getUserById("2"));
+        userService.deleteUser("1");
+
+        // Assert
+        List<RecordedEvent> events = recordedEvents();
+        assertEquals(3, events.size());
+        assertEquals("getUserById", events.get(0).getString("operation"));
+        assertEquals("SUCCESS", events.get(0).getString("outcome"));
+        assertEquals(1, events.get(0).getInt("repositoryCalls"));
+        assertEquals("UserDoesNotExistException", events.get(1).getString("outcome"));
+        assertEquals("deleteUser", events.get(2).getString("operation"));
+        assertEquals(2, events.get(2).getInt("repositoryCalls")); // soft delete + tombstone
+        assertTrue(events.get(0).getDuration().toNanos() > 0);
+    }
+}
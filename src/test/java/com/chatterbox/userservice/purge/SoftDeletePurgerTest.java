@@ -0,0 +1,99 @@
+package com.chatterbox.userservice.purge;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the purger against an in-memory MongoDB server with a fixed clock.
+ */
+class SoftDeletePurgerTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-06T12:00:00Z");
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private PurgeProperties properties;
+    private SoftDeletePurger purger;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        properties = new PurgeProperties();
+        properties.setRetention(Duration.ofDays(7));
+        properties.setBatchSize(2);
+        purger = new SoftDeletePurger(UserPartitions.single(mongoTemplate), properties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        purger.shutdown();
+        client.close();
+        server.shutdown();
+    }
+
+    private void user(String id, Instant deletedAt) {
+        User user = new User();
+        user.setId(id);
+        user.setUserName("user" + id);
+        user.setEmail(id + "@example.com");
+        user.setDeletedAt(deletedAt);
+        mongoTemplate.insert(user);
+    }
+
+    @Test
+    void purge_removesOnlyUsersDeletedBeforeRetention() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            user("old" + i, NOW.minus(Duration.ofDays(8)));
+        }
+        user("recent", NOW.minus(Duration.ofDays(1)));
+        user("live", null);
+
+        // Act
+        long removed = purger.purge();
+
+        // Assert
+        assertEquals(5, removed);
+        List<String> remaining = mongoTemplate.findAll(User.class).stream().map(User::getId).sorted().toList();
+        assertEquals(List.of("live", "recent"), remaining);
+    }
+
+    @Test
+    void purge_throttlesToConfiguredRate() {
+        // Arrange
+        properties.setMaxDeletesPerSecond(20);
+        for (int i = 0; i < 6; i++) {
+            user("old" + i, NOW.minus(Duration.ofDays(30)));
+        }
+        long start = System.nanoTime();
+
+        // Act
+        long removed = purger.purge();
+
+        // Assert: three batches of two at 20 deletes per second take at least 300 ms
+        assertEquals(6, removed);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 290);
+    }
+}
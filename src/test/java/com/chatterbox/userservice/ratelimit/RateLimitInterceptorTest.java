@@ -0,0 +1,96 @@
+package com.chatterbox.userservice.ratelimit;
+
+import com.chatterbox.userservice.exception.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitInterceptorTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    static class Handlers {
+        public void lookup() {
+        }
+
+        @RateLimitTier(EndpointTier.EXPENSIVE)
+        public void scan() {
+        }
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), name);
+    }
+
+    @Test
+    void preHandle_usesApiKeyAndAnnotatedTier() throws Exception {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, "X-API-Key", Set.of("abc"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("X-API-Key", "abc");
+        when(rateLimiter.tryAcquire(EndpointTier.EXPENSIVE, "key:abc")).thenReturn(0L);
+
+        // Act & Assert
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("scan")));
+        verify(rateLimiter).tryAcquire(EndpointTier.EXPENSIVE, "key:abc");
+    }
+
+    @Test
+    void preHandle_withoutApiKey_usesRemoteAddressAndMethodTier() throws Exception {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, "X-API-Key", Set.of("abc"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/register");
+        request.setRemoteAddr("10.0.0.7");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("lookup"));
+
+        // Assert
+        verify(rateLimiter).tryAcquire(EndpointTier.WRITE, "ip:10.0.0.7");
+    }
+
+    @Test
+    void preHandle_withUnknownApiKey_usesRemoteAddress() throws Exception {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, "X-API-Key", Set.of("abc"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("X-API-Key", "made-up");
+        request.setRemoteAddr("10.0.0.8");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("lookup"));
+
+        // Assert
+        verify(rateLimiter).tryAcquire(EndpointTier.READ, "ip:10.0.0.8");
+    }
+
+    @Test
+    void preHandle_overLimit_throwsWithRetryAfterRoundedUp() throws Exception {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, "X-API-Key", Set.of("abc"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        when(rateLimiter.tryAcquire(EndpointTier.READ, "ip:127.0.0.1")).thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        // Act
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), handler("lookup")));
+
+        // Assert
+        assertEquals(2, exception.getRetryAfterSeconds());
+    }
+}
@@ -0,0 +1,79 @@
+package com.chatterbox.userservice.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getBudgets().put(EndpointTier.READ, new RateLimitProperties.Budget(2, 1));
+        properties.getBudgets().put(EndpointTier.EXPENSIVE, new RateLimitProperties.Budget(1, 1));
+        rateLimiter = new RateLimiter(properties, clock::get);
+    }
+
+    @Test
+    void tryAcquire_separateBudgetsPerTier() {
+        assertEquals(0, rateLimiter.tryAcquire(EndpointTier.EXPENSIVE, "client"));
+        assertTrue(rateLimiter.tryAcquire(EndpointTier.EXPENSIVE, "client") > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire(EndpointTier.READ, "client"));
+        assertEquals(0, rateLimiter.tryAcquire(EndpointTier.READ, "client"));
+        assertTrue(rateLimiter.tryAcquire(EndpointTier.READ, "client") > 0);
+    }
+
+    @Test
+    void tryAcquire_separateBudgetsPerClient() {
+        assertEquals(0, rateLimiter.tryAcquire(EndpointTier.EXPENSIVE, "a"));
+        assertEquals(0, rateLimiter.tryAcquire(EndpointTier.EXPENSIVE, "b"));
+        assertTrue(rateLimiter.tryAcquire(EndpointTier.EXPENSIVE, "a") > 0);
+    }
+
+    @Test
+    void tryAcquire_manyClients_evictsIdleBuckets() {
+        // Arrange
+        properties.setMaxTrackedBuckets(10);
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire(EndpointTier.READ, "client-" + i);
+        }
+
+        // Act: all earlier buckets have refilled by now
+        clock.set(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.tryAcquire(EndpointTier.READ, "newcomer");
+
+        // Assert
+        assertEquals(1, rateLimiter.trackedBuckets());
+    }
+
+    @Test
+    void tryAcquire_manyClients_sweepsABoundedBatchPerRequest() {
+        // Arrange
+        properties.setMaxTrackedBuckets(10);
+        for (int i = 0; i < 2 * RateLimiter.SWEEP_BATCH + 100; i++) {
+            clock.set(i); // keep the earlier buckets from refilling while the map fills up
+            rateLimiter.tryAcquire(EndpointTier.READ, "client-" + i);
+        }
+        clock.set(TimeUnit.SECONDS.toNanos(5));
+
+        // Act
+        rateLimiter.tryAcquire(EndpointTier.READ, "newcomer");
+        int afterOne = rateLimiter.trackedBuckets();
+        rateLimiter.tryAcquire(EndpointTier.READ, "second");
+        rateLimiter.tryAcquire(EndpointTier.READ, "third");
+
+        // Assert
+        assertTrue(afterOne > 10, "tracked " + afterOne);
+        assertTrue(rateLimiter.trackedBuckets() <= 10, "tracked " + rateLimiter.trackedBuckets());
+    }
+}
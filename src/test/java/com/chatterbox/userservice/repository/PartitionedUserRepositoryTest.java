@@ -0,0 +1,235 @@
+package com.chatterbox.userservice.repository;
+
+import com.chatterbox.userservice.index.UserIndexDefinitions;
+import com.chatterbox.userservice.layout.CompactLayoutProperties;
+import com.chatterbox.userservice.layout.LayoutPhase;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserLookupEntry;
+import com.chatterbox.userservice.partition.UserLookupIndex;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository in partitioned mode against one in-memory MongoDB server per partition, plus
+ * one for the primary database holding the lookup index.
+ */
+class PartitionedUserRepositoryTest {
+
+    private static final int PARTITIONS = 3;
+
+    private final List<MongoServer> servers = new ArrayList<>();
+    private final List<MongoClient> clients = new ArrayList<>();
+    private final List<MongoTemplate> partitionTemplates = new ArrayList<>();
+    private MongoTemplate primary;
+    private UserPartitions partitions;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        primary = template("users");
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitionTemplates.add(template("users_" + i));
+        }
+        UserIndexDefinitions indexDefinitions = new UserIndexDefinitions(Duration.ofDays(30), LayoutPhase.LEGACY);
+        partitionTemplates.forEach(template -> indexDefinitions.definitions().stream()
+                .filter(definition -> definition.getCollection().equals(UserIndexDefinitions.USERS_COLLECTION))
+                .forEach(definition -> template.getCollection(definition.getCollection())
+                        .createIndex(definition.keyDocument(), definition.toIndexOptions())));
+        partitions = new UserPartitions(primary, partitionTemplates);
+        userRepository = new MongoRepositoryFactory(primary)
+                .getRepository(UserRepository.class, RepositoryFragments.just(
+                        new UserRepositoryCustomImpl(partitions, new UserLookupIndex(primary), indexDefinitions,
+                                new UserDocumentLayout(new CompactLayoutProperties()))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        partitions.close();
+        clients.forEach(MongoClient::close);
+        servers.forEach(MongoServer::shutdown);
+    }
+
+    private MongoTemplate template(String database) {
+        MongoServer server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        MongoClient client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        servers.add(server);
+        clients.add(client);
+        return new MongoTemplate(client, database);
+    }
+
+    private static User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(userName + "@example.com");
+        return user;
+    }
+
+    @Test
+    void save_storesEachUserInItsPartitionOnly() {
+        // Arrange & Act
+        List<User> saved = IntStream.range(0, 30).mapToObj(i -> userRepository.save(user("user" + i))).toList();
+
+        // Assert
+        for (User user : saved) {
+            int partition = partitions.indexOf(user.getId());
+            for (int i = 0; i < PARTITIONS; i++) {
+                assertEquals(i == partition, partitionTemplates.get(i).findById(user.getId(), User.class) != null);
+            }
+            assertEquals(user.getId(), userRepository.findById(user.getId()).orElseThrow().getId());
+            assertEquals(user.getId(), userRepository.findByUserName(user.getUserName()).orElseThrow().getId());
+            assertEquals(user.getId(), userRepository.findByEmail(user.getEmail()).orElseThrow().getId());
+        }
+        assertEquals(0, primary.count(new Query(), User.class));
+        assertEquals(30, userRepository.findAll().size());
+        assertEquals(30, userRepository.count());
+        assertTrue(partitionTemplates.stream().allMatch(template -> template.count(new Query(), User.class) > 0));
+    }
+
+    @Test
+    void findAllById_collectsUsersFromEveryPartition() {
+        // Arrange
+        List<String> ids = IntStream.range(0, 12).mapToObj(i -> userRepository.save(user("user" + i)).getId()).toList();
+
+        // Act
+        Set<String> found = userRepository.findAllById(ids).stream().map(User::getId).collect(Collectors.toSet());
+
+        // Assert
+        assertEquals(Set.copyOf(ids), found);
+    }
+
+    @Test
+    void findAllHolding_findsHoldersInEveryPartition() {
+        // Arrange
+        List<User> saved = IntStream.range(0, 12).mapToObj(i -> userRepository.save(user("user" + i))).toList();
+        userRepository.softDeleteById(saved.get(3).getId(), Instant.now());
+        Set<String> userNames = saved.stream().limit(6).map(User::getUserName).collect(Collectors.toSet());
+        Set<String> emails = Set.of(saved.get(9).getEmail(), "nobody@example.com");
+
+        // Act
+        Set<String> found = userRepository.findAllHolding(userNames, emails).stream()
+                .map(User::getUserName)
+                .collect(Collectors.toSet());
+
+        // Assert
+        assertEquals(Set.of("user0", "user1", "user2", "user4", "user5", "user9"), found);
+        assertTrue(saved.stream().limit(6).map(user -> partitions.indexOf(user.getId())).distinct().count() > 1);
+    }
+
+    @Test
+    void insertUnordered_rejectsNamesHeldInAnyPartition() {
+        // Arrange
+        User henry = userRepository.save(user("henry"));
+        User otherKaren = user("karen");
+        otherKaren.setEmail("karen.two@example.com");
+        List<User> users = List.of(user("ivy"), user("henry"), user("jack"), user("karen"), otherKaren);
+
+        // Act
+        List<BulkWriteError> errors = userRepository.insertUnordered(users);
+
+        // Assert
+        assertEquals(List.of(1, 4), errors.stream().map(BulkWriteError::getIndex).toList());
+        errors.forEach(error -> assertEquals(11000, error.getCode()));
+        assertEquals(henry.getId(), userRepository.findByUserName("henry").orElseThrow().getId());
+        assertEquals(users.get(3).getId(), userRepository.findByUserName("karen").orElseThrow().getId());
+        assertTrue(userRepository.findByEmail("karen.two@example.com").isEmpty());
+        assertEquals(4, userRepository.count());
+    }
+
+    @Test
+    void save_changingUserName_releasesTheOldOne() {
+        // Arrange
+        User alice = userRepository.save(user("alice"));
+
+        // Act
+        alice.setUserName("alicia");
+        userRepository.save(alice);
+
+        // Assert
+        assertTrue(userRepository.findByUserName("alice").isEmpty());
+        assertEquals(alice.getId(), userRepository.findByUserName("alicia").orElseThrow().getId());
+        assertEquals(alice.getId(), userRepository.findByEmail("alice@example.com").orElseThrow().getId());
+        User newAlice = user("alice");
+        newAlice.setEmail("new.alice@example.com");
+        assertTrue(userRepository.insertUnordered(List.of(newAlice)).isEmpty());
+    }
+
+    @Test
+    void save_takenUserName_isRejectedAndKeepsTheUsersOwnEntries() {
+        // Arrange
+        userRepository.save(user("bob"));
+        User carol = userRepository.save(user("carol"));
+
+        // Act
+        carol.setUserName("bob");
+        carol.setEmail("carol.new@example.com");
+
+        // Assert
+        assertThrows(DuplicateKeyException.class, () -> userRepository.save(carol));
+        assertEquals(carol.getId(), userRepository.findByEmail("carol@example.com").orElseThrow().getId());
+        assertNull(primary.findById(UserLookupIndex.key(UserLookupIndex.EMAIL, "carol.new@example.com"),
+                UserLookupEntry.class));
+    }
+
+    @Test
+    void softDeleteById_releasesNameForNewRegistrations() {
+        // Arrange
+        User dave = userRepository.save(user("dave"));
+
+        // Act
+        assertTrue(userRepository.softDeleteById(dave.getId(), Instant.now()));
+        List<BulkWriteError> errors = userRepository.insertUnordered(List.of(user("dave")));
+
+        // Assert
+        assertFalse(userRepository.softDeleteById(dave.getId(), Instant.now()));
+        assertTrue(errors.isEmpty());
+        assertTrue(userRepository.findById(dave.getId()).isEmpty());
+        assertNotEquals(dave.getId(), userRepository.findByUserName("dave").orElseThrow().getId());
+    }
+
+    @Test
+    void truncate_emptiesEveryPartitionAndTheLookupIndex() {
+        // Arrange
+        IntStream.range(0, 10).forEach(i -> userRepository.save(user("user" + i)));
+
+        // Act
+        userRepository.truncate();
+
+        // Assert
+        assertTrue(userRepository.findAll().isEmpty());
+        partitionTemplates.forEach(template -> assertEquals(0, template.count(new Query(), User.class)));
+        assertEquals(0, primary.count(new Query(), UserLookupEntry.class));
+        assertTrue(userRepository.findByUserName("user1").isEmpty());
+    }
+}
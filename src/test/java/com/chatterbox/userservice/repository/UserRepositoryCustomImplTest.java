@@ -0,0 +1,179 @@
+package com.chatterbox.userservice.repository;
+
+import com.chatterbox.userservice.index.UserIndexDefinitions;
+import com.chatterbox.userservice.layout.CompactLayoutProperties;
+import com.chatterbox.userservice.layout.LayoutPhase;
+import com.chatterbox.userservice.layout.UserDocumentLayout;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserLookupIndex;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.resilience.Deadline;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository, including its custom fragment, against an in-memory MongoDB server.
+ */
+class UserRepositoryCustomImplTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserRepository userRepository;
+    private final List<BsonDocument> findCommands = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        CommandListener recorder = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if ("find".equals(event.getCommandName())) {
+                    findCommands.add(event.getCommand().clone());
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://" + hostAndPort(server.bind())))
+                .addCommandListener(recorder)
+                .build());
+        mongoTemplate = new MongoTemplate(client, "users");
+        userRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(UserRepository.class, RepositoryFragments.just(
+                        new UserRepositoryCustomImpl(UserPartitions.single(mongoTemplate),
+                                new UserLookupIndex(mongoTemplate),
+                                new UserIndexDefinitions(Duration.ofDays(30), LayoutPhase.LEGACY),
+                                new UserDocumentLayout(new CompactLayoutProperties()))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    private static String hostAndPort(InetSocketAddress address) {
+        return address.getHostString() + ":" + address.getPort();
+    }
+
+    private static User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(userName + "@example.com");
+        return user;
+    }
+
+    @Test
+    void customFinders_returnSavedUser() {
+        // Arrange
+        User saved = userRepository.save(user("alice"));
+
+        // Act & Assert
+        try (Deadline.Scope ignored = Deadline.start(Duration.ofSeconds(5))) {
+            assertEquals(saved.getId(), userRepository.findById(saved.getId()).orElseThrow().getId());
+            assertEquals(saved.getId(), userRepository.findByUserName("alice").orElseThrow().getId());
+            assertEquals(saved.getId(), userRepository.findByEmail("alice@example.com").orElseThrow().getId());
+            assertEquals(1, userRepository.findAll().size());
+        }
+        assertEquals(4, findCommands.size());
+        findCommands.forEach(command -> assertTrue(command.containsKey("maxTimeMS")));
+    }
+
+    @Test
+    void customFinders_withoutDeadline_work() {
+        userRepository.save(user("bob"));
+
+        assertTrue(userRepository.findByUserName("bob").isPresent());
+        assertTrue(userRepository.findByUserName("carol").isEmpty());
+        findCommands.forEach(command -> assertFalse(command.containsKey("maxTimeMS")));
+    }
+
+    @Test
+    void softDeleteById_hidesUserFromFinders() {
+        // Arrange
+        User saved = userRepository.save(user("dave"));
+        User other = userRepository.save(user("erin"));
+
+        // Act
+        boolean deleted = userRepository.softDeleteById(saved.getId(), Instant.now());
+
+        // Assert
+        assertTrue(deleted);
+        assertFalse(userRepository.softDeleteById(saved.getId(), Instant.now()));
+        assertTrue(userRepository.findById(saved.getId()).isEmpty());
+        assertTrue(userRepository.findByUserName("dave").isEmpty());
+        assertTrue(userRepository.findByEmail("dave@example.com").isEmpty());
+        assertEquals(List.of(other.getId()), userRepository.findAll().stream().map(User::getId).toList());
+        assertEquals(List.of(other.getId()), userRepository.findAllById(List.of(saved.getId(), other.getId()))
+                .stream().map(User::getId).toList());
+        assertEquals(2, mongoTemplate.count(new Query(), User.class));
+    }
+
+    @Test
+    void truncate_replacesCollectionWithEmptyIndexedOne() {
+        // Arrange
+        userRepository.save(user("frank"));
+        userRepository.save(user("grace"));
+
+        // Act
+        userRepository.truncate();
+
+        // Assert
+        assertTrue(userRepository.findAll().isEmpty());
+        List<String> indexes = mongoTemplate.getCollection(UserIndexDefinitions.USERS_COLLECTION).listIndexes()
+                .map(index -> index.getString("name")).into(new ArrayList<>());
+        assertTrue(indexes.containsAll(List.of("userName", "email", "updatedAt")), indexes.toString());
+        assertFalse(mongoTemplate.collectionExists(UserIndexDefinitions.USERS_COLLECTION + "_next"));
+        userRepository.save(user("frank"));
+        assertTrue(userRepository.findByUserName("frank").isPresent());
+    }
+
+    @Test
+    void insertUnordered_insertsAllButTheDuplicates() {
+        // Arrange
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index("userName", Sort.Direction.ASC).unique());
+        userRepository.save(user("henry"));
+        List<User> users = List.of(user("ivy"), user("henry"), user("jack"));
+
+        // Act
+        List<BulkWriteError> errors = userRepository.insertUnordered(users);
+
+        // Assert
+        assertEquals(1, errors.size());
+        assertEquals(1, errors.get(0).getIndex());
+        assertEquals(11000, errors.get(0).getCode());
+        assertEquals(users.get(0).getId(), userRepository.findByUserName("ivy").orElseThrow().getId());
+        assertEquals(users.get(2).getId(), userRepository.findByUserName("jack").orElseThrow().getId());
+        assertEquals(3, mongoTemplate.count(new Query(), User.class));
+    }
+}
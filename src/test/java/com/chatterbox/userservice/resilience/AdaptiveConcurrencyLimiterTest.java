@@ -0,0 +1,204 @@
+package com.chatterbox.userservice.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private ResilienceProperties.ConcurrencyLimitSettings settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new ResilienceProperties.ConcurrencyLimitSettings();
+        settings.setInitialLimit(10);
+        settings.setSampleWindow(10);
+    }
+
+    /**
+     * Runs `windows` sample windows of calls taking `rttNanos`, `concurrent` of them (or as many as
+     * the limit allows) in flight at once.
+     */
+    private static void complete(AdaptiveConcurrencyLimiter limiter, int concurrent, long rttNanos, int windows) {
+        for (int window = 0; window < windows; window++) {
+            int done = 0;
+            while (done < 10) {
+                int batch = Math.min(Math.min(concurrent, limiter.getLimit()), 10 - done);
+                for (int i = 0; i < batch; i++) {
+                    assertTrue(limiter.tryAcquire(Duration.ZERO));
+                }
+                for (int i = 0; i < batch; i++) {
+                    limiter.release(rttNanos);
+                }
+                done += batch;
+            }
+        }
+    }
+
+    @Test
+    void steadyLatency_atFullUse_growsLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        // Act
+        complete(limiter, 10, 2 * MILLIS, 5);
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void risingLatency_shrinksLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        complete(limiter, 10, 2 * MILLIS, 3);
+        int healthyLimit = limiter.getLimit();
+
+        // Act
+        complete(limiter, 10, 20 * MILLIS, 20);
+
+        // Assert
+        assertTrue(limiter.getLimit() <= healthyLimit * 2 / 3, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void quietPeriod_doesNotGrowLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        // Act
+        complete(limiter, 2, 2 * MILLIS, 20);
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        // Arrange
+        settings.setMinLimit(8);
+        settings.setMaxLimit(12);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        // Act & Assert
+        complete(limiter, 10, 2 * MILLIS, 50);
+        assertEquals(12, limiter.getLimit());
+        complete(limiter, 10, 200 * MILLIS, 20);
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void tryAcquire_overLimitWithFullQueue_rejectsAndCounts() {
+        // Arrange
+        settings.setMinLimit(1);
+        settings.setInitialLimit(1);
+        settings.setMaxQueued(0);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        assertTrue(limiter.tryAcquire(Duration.ZERO));
+
+        // Act
+        boolean acquired = limiter.tryAcquire(Duration.ofSeconds(1));
+
+        // Assert
+        assertFalse(acquired);
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_overLimit_waitsForFreedSlot() throws Exception {
+        // Arrange
+        settings.setMinLimit(1);
+        settings.setInitialLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        assertTrue(limiter.tryAcquire(Duration.ZERO));
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> limiter.tryAcquire(Duration.ofSeconds(5)));
+
+        // Act
+        Thread.sleep(50);
+        limiter.release(MILLIS);
+
+        // Assert
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    @Test
+    void tryAcquire_overLimit_givesUpAfterMaxWait() {
+        // Arrange
+        settings.setMinLimit(1);
+        settings.setInitialLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        assertTrue(limiter.tryAcquire(Duration.ZERO));
+
+        // Act
+        boolean acquired = limiter.tryAcquire(Duration.ofMillis(20));
+
+        // Assert
+        assertFalse(acquired);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void tryAcquire_concurrently_neverExceedsLimit() throws Exception {
+        // Arrange
+        settings.setMinLimit(4);
+        settings.setMaxLimit(4);
+        settings.setInitialLimit(4);
+        settings.setMaxQueued(100);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        AtomicInteger highest = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // Act
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            calls.add(executor.submit(() -> {
+                if (limiter.tryAcquire(Duration.ofSeconds(5))) {
+                    highest.accumulateAndGet(limiter.getInFlight(), Math::max);
+                    limiter.release(MILLIS);
+                }
+            }));
+        }
+        for (Future<?> call : calls) {
+            call.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(highest.get() <= 4, "in flight " + highest.get());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    @Test
+    void disabled_neverLimits() {
+        // Arrange
+        settings.setEnabled(false);
+        settings.setInitialLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(Duration.ZERO));
+        }
+        assertEquals(0, limiter.getRejectedCount());
+    }
+}
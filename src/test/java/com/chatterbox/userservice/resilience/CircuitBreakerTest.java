@@ -0,0 +1,104 @@
+package com.chatterbox.userservice.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.CircuitBreakerSettings settings = new ResilienceProperties.CircuitBreakerSettings();
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallRateThreshold(75);
+        settings.setSlowCallThreshold(Duration.ofSeconds(1));
+        settings.setOpenDuration(Duration.ofSeconds(5));
+        settings.setHalfOpenPermits(2);
+        breaker = new CircuitBreaker(settings, clock::get);
+    }
+
+    @Test
+    void failuresAboveThreshold_openBreaker() {
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        breaker.onFailure(FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure(FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(5, breaker.retryAfterSeconds());
+    }
+
+    @Test
+    void slowCallsAboveThreshold_openBreaker() {
+        breaker.onSuccess(SLOW);
+        breaker.onSuccess(SLOW);
+        breaker.onSuccess(SLOW);
+        breaker.onSuccess(FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void openBreaker_halfOpensAfterOpenDuration_andClosesOnSuccess() {
+        openBreaker();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void halfOpenFailure_reopensBreaker() {
+        openBreaker();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onFailure(FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void outcomesFromPreviousWindow_areForgotten() {
+        breaker.onFailure(FAST);
+        breaker.onFailure(FAST);
+        breaker.onFailure(FAST);
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        breaker.onFailure(FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(FAST);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
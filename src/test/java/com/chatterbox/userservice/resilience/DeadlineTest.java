@@ -0,0 +1,55 @@
+package com.chatterbox.userservice.resilience;
+
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineTest {
+
+    @Test
+    void remaining_withoutScope_isEmpty() {
+        assertTrue(Deadline.remaining().isEmpty());
+        assertDoesNotThrow(() -> Deadline.checkNotExceeded("findById"));
+    }
+
+    @Test
+    void nestedScope_cannotExtendOuterDeadline() {
+        try (Deadline.Scope outer = Deadline.start(Duration.ofMillis(100))) {
+            try (Deadline.Scope inner = Deadline.start(Duration.ofSeconds(10))) {
+                assertTrue(Deadline.remaining().orElseThrow().compareTo(Duration.ofMillis(100)) <= 0);
+            }
+            assertTrue(Deadline.remaining().isPresent());
+        }
+        assertTrue(Deadline.remaining().isEmpty());
+    }
+
+    @Test
+    void checkNotExceeded_afterDeadline_throwsException() throws InterruptedException {
+        try (Deadline.Scope scope = Deadline.start(Duration.ofMillis(1))) {
+            Thread.sleep(5);
+            assertThrows(DeadlineExceededException.class, () -> Deadline.checkNotExceeded("findById"));
+        }
+    }
+
+    @Test
+    void propagate_runsTaskUnderCallersDeadlineOnAnotherThread() throws Exception {
+        Supplier<Optional<Duration>> task;
+        try (Deadline.Scope scope = Deadline.start(Duration.ofSeconds(10))) {
+            task = Deadline.propagate(Deadline::remaining);
+        }
+
+        Optional<Duration> remaining = CompletableFuture.supplyAsync(task).get();
+
+        assertTrue(remaining.orElseThrow().compareTo(Duration.ofSeconds(10)) <= 0);
+        assertEquals(Optional.empty(), CompletableFuture.supplyAsync(Deadline.propagate(Deadline::remaining)).get());
+    }
+}
@@ -0,0 +1,237 @@
+package com.chatterbox.userservice.resilience;
+
+import com.chatterbox.userservice.batching.InsertBatchingProperties;
+import com.chatterbox.userservice.batching.UserInsertBatcher;
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.events.UserChangeEventProperties;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.exception.DeadlineExceededException;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.presence.PresenceBuffer;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.repository.UserTombstoneRepository;
+import com.chatterbox.userservice.rollup.SignupRollups;
+import com.chatterbox.userservice.service.UserService;
+import com.chatterbox.userservice.validator.UserServiceValidator;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RepositoryResilienceAspectTest {
+
+    private SlowUserRepository slowRepository;
+    private RepositoryResilienceAspect aspect;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getDeadlines().setDefaultBudget(Duration.ofMillis(150));
+        properties.getCircuitBreaker().setMinimumCalls(3);
+        properties.getCircuitBreaker().setSlowCallThreshold(Duration.ofMillis(50));
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofSeconds(30));
+        aspect = new RepositoryResilienceAspect(properties);
+
+        slowRepository = new SlowUserRepository();
+        UserRepository guardedRepository = guard(slowRepository.asRepository(), aspect);
+
+        InsertBatchingProperties synchronousInserts = new InsertBatchingProperties();
+        synchronousInserts.setEnabled(false);
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(new UserService(guardedRepository, new UserServiceValidator(),
+                new UserChangeLog(new UserChangeEventProperties()), mock(UserTombstoneRepository.class),
+                new UserInsertBatcher(guardedRepository, synchronousInserts), mock(UserResponseCache.class),
+                mock(PresenceBuffer.class), mock(SignupRollups.class)));
+        serviceProxy.setProxyTargetClass(true);
+        serviceProxy.addAspect(aspect);
+        userService = serviceProxy.getProxy();
+    }
+
+    private static UserRepository guard(UserRepository repository, RepositoryResilienceAspect aspect) {
+        AspectJProxyFactory repositoryProxy = new AspectJProxyFactory(repository);
+        repositoryProxy.addInterface(UserRepository.class);
+        repositoryProxy.addAspect(aspect);
+        return repositoryProxy.getProxy();
+    }
+
+    /**
+     * Lets `threads` callers make `calls` lookups each, at the same time, and returns how many
+     * were rejected.
+     */
+    private static int lookUpConcurrently(UserRepository repository, int threads, int calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> callers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                callers.add(executor.submit(() -> {
+                    int rejected = 0;
+                    for (int call = 0; call < calls; call++) {
+                        try {
+                            repository.findById("1");
+                        } catch (ServiceUnavailableException ex) {
+                            rejected++;
+                        }
+                    }
+                    return rejected;
+                }));
+            }
+            int rejected = 0;
+            for (Future<Integer> caller : callers) {
+                rejected += caller.get(1, TimeUnit.MINUTES);
+            }
+            return rejected;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setUserName("user" + id);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+
+    @Test
+    void slowStore_operationRunsOutOfDeadline_failsBeforeNextCall() {
+        // Arrange: register = findByUserName + findByEmail + insert, each 100 ms, budget 150 ms
+        slowRepository.setLatency(Duration.ofMillis(100));
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class, () -> userService.registerUser(user("1")));
+        assertEquals(2, slowRepository.calls());
+    }
+
+    @Test
+    void slowStore_opensBreaker_thenFailsFastWithoutCallingStore() {
+        // Arrange
+        slowRepository.setLatency(Duration.ofMillis(60));
+        for (int i = 0; i < 3; i++) {
+            userService.getAll();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, aspect.getCircuitBreaker().getState());
+        int callsBeforeOpen = slowRepository.calls();
+
+        // Act & Assert
+        ServiceUnavailableException exception = assertTimeout(Duration.ofMillis(50),
+                () -> assertThrows(ServiceUnavailableException.class, () -> userService.getAll()));
+        assertEquals(30, exception.getRetryAfterSeconds());
+        assertEquals(callsBeforeOpen, slowRepository.calls());
+    }
+
+    @Test
+    void failingStore_opensBreaker() {
+        // Arrange
+        slowRepository.setFailing(true);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertThrows(DataAccessResourceFailureException.class, () -> userService.getUserById("1"));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, aspect.getCircuitBreaker().getState());
+        assertThrows(ServiceUnavailableException.class, () -> userService.getUserById("1"));
+        assertEquals(3, slowRepository.calls());
+    }
+
+    @Test
+    void clientErrors_doNotOpenBreaker() {
+        // Arrange
+        slowRepository.setFailure(new DuplicateKeyException("E11000 duplicate key error"));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(DuplicateKeyException.class, () -> userService.getUserById("1"));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, aspect.getCircuitBreaker().getState());
+        assertEquals(5, slowRepository.calls());
+    }
+
+    @Test
+    void isStoreFailure_looksThroughCauses() {
+        assertTrue(RepositoryResilienceAspect.isStoreFailure(new DataAccessResourceFailureException("down")));
+        assertTrue(RepositoryResilienceAspect.isStoreFailure(new UncategorizedMongoDbException("wrapped",
+                new MongoSocketReadException("reset", new ServerAddress()))));
+        assertFalse(RepositoryResilienceAspect.isStoreFailure(new DuplicateKeyException("duplicate")));
+        assertFalse(RepositoryResilienceAspect.isStoreFailure(new IllegalArgumentException("bad id")));
+    }
+
+    @Test
+    void healthyStore_staysClosed() {
+        // Act
+        userService.registerUser(user("1"));
+        userService.getUserById("1");
+        userService.getUserByUserName("user1");
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, aspect.getCircuitBreaker().getState());
+    }
+
+    @Test
+    void overloadedStore_lowersConcurrencyLimitAndShedsExcess() throws Exception {
+        // Arrange: the breaker stays out of the way, callers over the limit barely wait
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getCircuitBreaker().setMinimumCalls(Integer.MAX_VALUE);
+        properties.getConcurrencyLimit().setMaxQueued(2);
+        properties.getConcurrencyLimit().setMaxQueueWait(Duration.ofMillis(5));
+        RepositoryResilienceAspect limitedAspect = new RepositoryResilienceAspect(properties);
+        AdaptiveConcurrencyLimiter limiter = limitedAspect.getConcurrencyLimiter();
+        UserRepository repository = guard(slowRepository.asRepository(), limitedAspect);
+        slowRepository.setLatency(Duration.ofMillis(5));
+        assertEquals(0, lookUpConcurrently(repository, 16, 20));
+        int healthyLimit = limiter.getLimit();
+
+        // Act: the store now serves 2 calls at a time, further calls queue up inside it
+        slowRepository.setCapacity(2);
+        int rejected = lookUpConcurrently(repository, 16, 20);
+
+        // Assert
+        assertTrue(healthyLimit > properties.getConcurrencyLimit().getInitialLimit(), "healthy limit " + healthyLimit);
+        assertTrue(limiter.getLimit() < healthyLimit / 2, "overloaded limit " + limiter.getLimit());
+        assertTrue(rejected > 0);
+        assertEquals(rejected, limiter.getRejectedCount());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void concurrencyLimiter_isPublishedAsMetrics() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        aspect.bindTo(registry);
+        userService.getAll();
+
+        // Assert
+        assertEquals(20, registry.get("chatterbox.repository.concurrency.limit").gauge().value());
+        assertEquals(0, registry.get("chatterbox.repository.concurrency.inflight").gauge().value());
+        assertEquals(0, registry.get("chatterbox.repository.concurrency.rejected").functionCounter().count());
+    }
+}
@@ -0,0 +1,99 @@
+package com.chatterbox.userservice.resilience;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.repository.UserRepository;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A deliberately slow, in-memory stand-in for `UserRepository`. Every call sleeps for the
+ * configured latency and can be switched to fail with a given exception, which lets tests reproduce a degraded MongoDB
+ * without a database. With a `capacity`, calls beyond it queue up like in an overloaded server:
+ * the latency grows in proportion to the calls in flight.
+ */
+class SlowUserRepository {
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int capacity = Integer.MAX_VALUE;
+    private volatile RuntimeException failure;
+
+    void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void resetPeakInFlight() {
+        peakInFlight.set(0);
+    }
+
+    int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    void setFailing(boolean failing) {
+        setFailure(failing ? new DataAccessResourceFailureException("Timed out waiting for a server") : null);
+    }
+
+    void setFailure(RuntimeException failure) {
+        this.failure = failure;
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    UserRepository asRepository() {
+        return (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(this, args);
+                    }
+                    calls.incrementAndGet();
+                    int concurrent = inFlight.incrementAndGet();
+                    peakInFlight.accumulateAndGet(concurrent, Math::max);
+                    try {
+                        double overload = Math.max(1.0, (double) concurrent / capacity);
+                        TimeUnit.NANOSECONDS.sleep((long) (latency.toNanos() * overload));
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return switch (method.getName()) {
+                        case "save" -> {
+                            User user = (User) args[0];
+                            users.put(user.getId(), user);
+                            yield user;
+                        }
+                        case "insertUnordered" -> {
+                            ((List<?>) args[0]).forEach(user -> users.put(((User) user).getId(), (User) user));
+                            yield List.of();
+                        }
+                        case "findById" -> Optional.ofNullable(users.get((String) args[0]));
+                        case "findByUserName" -> users.values().stream()
+                                .filter(user -> user.getUserName().equals(args[0])).findFirst();
+                        case "findByEmail" -> users.values().stream()
+                                .filter(user -> user.getEmail().equals(args[0])).findFirst();
+                        case "findAll" -> new ArrayList<>(users.values());
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
@@ -0,0 +1,136 @@
+package com.chatterbox.userservice.rollup;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserTombstone;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SignupRollupBackfillTest {
+
+    private static final Instant DAY = Instant.parse("2025-05-06T00:00:00Z");
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserPartitions partitions;
+    private SignupRollups rollups;
+    private SignupRollupBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        partitions = UserPartitions.single(mongoTemplate);
+        SignupRollupProperties properties = new SignupRollupProperties();
+        properties.setBackfillBatchSize(2);
+        rollups = new SignupRollups(mongoTemplate, properties);
+        backfill = new SignupRollupBackfill(partitions, rollups, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfill.shutdown();
+        partitions.close();
+        client.close();
+        server.shutdown();
+    }
+
+    private User insertUser(Instant createdAt) {
+        User user = new User();
+        user.setId(new ObjectId().toHexString());
+        user.setUserName("user" + user.getId());
+        user.setEmail(user.getId() + "@example.com");
+        user.setCreatedAt(createdAt);
+        return mongoTemplate.insert(user);
+    }
+
+    private List<SignupRollupPoint> hours() {
+        return rollups.series(RollupGranularity.HOUR, DAY.plusSeconds(9 * 3600), DAY.plusSeconds(12 * 3600));
+    }
+
+    @Test
+    void backfill_countsStoredUsersAndTombstonesPerHourAndDay() {
+        // Arrange
+        insertUser(DAY.plusSeconds(9 * 3600 + 60));
+        insertUser(DAY.plusSeconds(9 * 3600 + 120));
+        insertUser(DAY.plusSeconds(11 * 3600));
+        mongoTemplate.insert(new UserTombstone("gone", DAY.plusSeconds(11 * 3600 + 30)));
+        mongoTemplate.insert(new UserTombstone(UserTombstone.ALL_USERS, DAY.plusSeconds(11 * 3600 + 40)));
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(List.of(
+                new SignupRollupPoint(DAY.plusSeconds(9 * 3600), 2, 0),
+                new SignupRollupPoint(DAY.plusSeconds(10 * 3600), 0, 0),
+                new SignupRollupPoint(DAY.plusSeconds(11 * 3600), 1, 1)), hours());
+        assertEquals(List.of(new SignupRollupPoint(DAY, 3, 1)),
+                rollups.series(RollupGranularity.DAY, DAY, DAY.plusSeconds(1)));
+        RollupBackfillStatus status = backfill.getStatus();
+        assertEquals(3, status.getRegistrations());
+        assertEquals(1, status.getDeletions());
+        assertEquals(3, status.getBuckets());
+        assertNotNull(status.getCountedUntil());
+    }
+
+    @Test
+    void backfill_rerun_replacesItsCountsAndKeepsTheLiveOnes() {
+        // Arrange
+        User purged = insertUser(DAY.plusSeconds(9 * 3600 + 60));
+        insertUser(DAY.plusSeconds(11 * 3600));
+        backfill.backfill();
+        mongoTemplate.remove(Query.query(Criteria.where("id").is(purged.getId())), User.class);
+        rollups.registered(DAY.plusSeconds(11 * 3600 + 5));
+        rollups.flush();
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(List.of(
+                new SignupRollupPoint(DAY.plusSeconds(9 * 3600), 0, 0),
+                new SignupRollupPoint(DAY.plusSeconds(10 * 3600), 0, 0),
+                new SignupRollupPoint(DAY.plusSeconds(11 * 3600), 2, 0)), hours());
+    }
+
+    @Test
+    void backfill_countsUsersWithoutCreatedAtByTheirObjectIdTime() {
+        // Arrange
+        insertUser(DAY.plusSeconds(9 * 3600 + 60));
+        mongoTemplate.insert(new Document("_id", new ObjectId(Date.from(DAY.plusSeconds(10 * 3600 + 30))))
+                .append("userName", "legacy"), "users_collection");
+        mongoTemplate.insert(new Document("_id", "not-an-object-id").append("userName", "odd"), "users_collection");
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(List.of(
+                new SignupRollupPoint(DAY.plusSeconds(9 * 3600), 1, 0),
+                new SignupRollupPoint(DAY.plusSeconds(10 * 3600), 1, 0),
+                new SignupRollupPoint(DAY.plusSeconds(11 * 3600), 0, 0)), hours());
+        assertEquals(2, backfill.getStatus().getRegistrations());
+    }
+}
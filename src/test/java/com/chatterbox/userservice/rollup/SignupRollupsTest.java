@@ -0,0 +1,118 @@
+package com.chatterbox.userservice.rollup;
+
+import com.chatterbox.userservice.exception.InvalidRollupQueryException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SignupRollupsTest {
+
+    private static final Instant MORNING = Instant.parse("2025-05-06T10:15:00Z");
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private SignupRollupProperties properties;
+    private SignupRollups rollups;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        properties = new SignupRollupProperties();
+        rollups = new SignupRollups(mongoTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    private Document bucket(String id) {
+        return mongoTemplate.findById(id, Document.class, SignupRollups.COLLECTION);
+    }
+
+    @Test
+    void flush_addsTheCountersToTheirHourAndDayBuckets() {
+        // Arrange
+        rollups.registered(MORNING);
+        rollups.registered(MORNING.plusSeconds(60));
+        rollups.deleted(MORNING);
+        rollups.flush();
+        rollups.registered(MORNING);
+
+        // Act
+        int written = rollups.flush();
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(3, bucket("HOUR:2025-05-06T10:00:00Z").get(SignupRollups.REGISTERED, Number.class).longValue());
+        assertEquals(1, bucket("HOUR:2025-05-06T10:00:00Z").get(SignupRollups.DELETED, Number.class).longValue());
+        assertEquals(3, bucket("DAY:2025-05-06T00:00:00Z").get(SignupRollups.REGISTERED, Number.class).longValue());
+        assertEquals(0, rollups.flush());
+    }
+
+    @Test
+    void series_fillsEmptyBucketsAndAddsBackfilledAndUnflushedCounts() {
+        // Arrange
+        rollups.registered(MORNING);
+        rollups.flush();
+        mongoTemplate.save(new Document("_id", "HOUR:2025-05-06T10:00:00Z").append(SignupRollups.REGISTERED, 1)
+                .append(SignupRollups.BACKFILLED_REGISTERED, 5), SignupRollups.COLLECTION);
+        rollups.registered(MORNING.plusSeconds(3600));
+        rollups.deleted(MORNING.plusSeconds(3600));
+
+        // Act
+        List<SignupRollupPoint> series = rollups.series(RollupGranularity.HOUR,
+                Instant.parse("2025-05-06T09:30:00Z"), Instant.parse("2025-05-06T12:00:00Z"));
+
+        // Assert
+        assertEquals(List.of(
+                new SignupRollupPoint(Instant.parse("2025-05-06T09:00:00Z"), 0, 0),
+                new SignupRollupPoint(Instant.parse("2025-05-06T10:00:00Z"), 6, 0),
+                new SignupRollupPoint(Instant.parse("2025-05-06T11:00:00Z"), 1, 1)), series);
+    }
+
+    @Test
+    void series_invalidRanges_areRejected() {
+        // Arrange
+        properties.setMaxPoints(24);
+
+        // Act & Assert
+        assertThrows(InvalidRollupQueryException.class,
+                () -> rollups.series(RollupGranularity.DAY, MORNING, MORNING));
+        assertThrows(InvalidRollupQueryException.class,
+                () -> rollups.series(RollupGranularity.HOUR, MORNING, MORNING.plusSeconds(25 * 3600)));
+    }
+
+    @Test
+    void countingSince_isTheEarliestStartOfAnyInstance() throws InterruptedException {
+        // Arrange
+        Thread.sleep(5);
+        SignupRollups later = new SignupRollups(mongoTemplate, properties);
+        Instant laterStart = later.countingSince();
+
+        // Act
+        Instant since = rollups.countingSince();
+
+        // Assert
+        assertEquals(since, later.countingSince());
+        assertEquals(true, since.isBefore(laterStart));
+    }
+}
@@ -0,0 +1,113 @@
+package com.chatterbox.userservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private static List<String> ids(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::getId).toList();
+    }
+
+    @Test
+    void trigrams_padsWordsAndIgnoresCaseAndDuplicates() {
+        // Act
+        long[] trigrams = TrigramIndex.trigrams("Jon", "jon-");
+
+        // Assert
+        assertArrayEquals(TrigramIndex.trigrams("JON"), trigrams);
+        assertEquals(3, trigrams.length);
+    }
+
+    @Test
+    void search_ranksTypoTolerantMatches() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        index.put("1", "jsmith", "John", "Smith");
+        index.put("2", "jsmyth", "Jon", "Smyth");
+        index.put("3", "mgarcia", "Maria", "Garcia");
+
+        // Act
+        List<TrigramIndex.Match> matches = index.search("john smiht", 10, 0.3, 0.34);
+
+        // Assert
+        assertEquals("1", matches.get(0).getId());
+        assertTrue(matches.get(0).getScore() > 0.3);
+        assertTrue(!ids(matches).contains("3"));
+        assertEquals(List.of("3"), ids(index.search("garica", 10, 0.2, 0.3)));
+    }
+
+    @Test
+    void search_respectsLimitAndScoreOrder() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        index.put("a", "anna");
+        index.put("b", "annabel");
+        index.put("c", "annabella lee");
+
+        // Act
+        List<TrigramIndex.Match> matches = index.search("anna", 2, 0.0, 0.5);
+
+        // Assert
+        assertEquals(List.of("a", "b"), ids(matches));
+    }
+
+    @Test
+    void put_replacesPreviousVersionAndRemoveDropsDocument() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        index.put("1", "alice");
+        index.put("2", "bob");
+
+        // Act
+        index.put("1", "carol");
+        index.remove("2");
+
+        // Assert
+        assertEquals(1, index.size());
+        assertTrue(index.search("alice", 10, 0.0, 0.5).isEmpty());
+        assertTrue(index.search("bob", 10, 0.0, 0.5).isEmpty());
+        assertEquals(List.of("1"), ids(index.search("carol", 10, 0.0, 0.5)));
+    }
+
+    @Test
+    void compaction_keepsLiveDocumentsSearchable() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < 5000; i++) {
+            index.put("u" + i, "user" + i);
+        }
+
+        // Act: enough removals to trigger automatic compaction
+        for (int i = 0; i < 5000; i += 2) {
+            index.remove("u" + i);
+        }
+        index.put("u7", "renamed");
+        index.compact();
+
+        // Assert
+        assertEquals(2500, index.size());
+        assertEquals("u4999", index.search("user4999", 1, 0.0, 0.5).get(0).getId());
+        assertTrue(!ids(index.search("user4998", 10, 0.99, 0.5)).contains("u4998"));
+        assertEquals(List.of("u7"), ids(index.search("renamed", 10, 0.0, 0.5)));
+    }
+
+    @Test
+    void clear_removesEverything() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        index.put("1", "alice");
+
+        // Act
+        index.clear();
+        index.put("2", "alice");
+
+        // Assert
+        assertEquals(List.of("2"), ids(index.search("alice", 10, 0.0, 0.5)));
+    }
+}
@@ -0,0 +1,132 @@
+package com.chatterbox.userservice.search;
+
+import com.chatterbox.userservice.events.UserChangeEventProperties;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.events.UserChangeType;
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Loads the search index from an in-memory MongoDB server and follows the change log.
+ */
+class UserSearchIndexTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserRepository userRepository;
+    private UserChangeLog changeLog;
+    private UserSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findAllById(any())).thenAnswer(invocation ->
+                mongoTemplate.findAll(User.class).stream()
+                        .filter(user -> ((List<?>) invocation.getArgument(0)).contains(user.getId()))
+                        .toList());
+        UserChangeEventProperties eventProperties = new UserChangeEventProperties();
+        eventProperties.setBufferCapacity(4);
+        changeLog = new UserChangeLog(eventProperties);
+        searchIndex = new UserSearchIndex(UserPartitions.single(mongoTemplate), userRepository, changeLog, new SearchProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.shutdown();
+        client.close();
+        server.shutdown();
+    }
+
+    private User user(String id, String userName, String firstName, String lastName) {
+        User user = new User();
+        user.setId(id);
+        user.setUserName(userName);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(userName + "@example.com");
+        return user;
+    }
+
+    @Test
+    void search_beforeLoad_throwsServiceUnavailable() {
+        assertThrows(ServiceUnavailableException.class, () -> searchIndex.search("john", null));
+    }
+
+    private void loadIndex() {
+        searchIndex.onApplicationReady();
+        await().atMost(Duration.ofSeconds(5)).until(searchIndex::isReady);
+    }
+
+    @Test
+    void onApplicationReady_loadsUsersFromDatabase() {
+        // Arrange
+        mongoTemplate.insert(user("1", "jsmith", "John", "Smith"));
+        mongoTemplate.insert(user("2", "mgarcia", "Maria", "Garcia"));
+        mongoTemplate.insert(user("3", "jdoe", "Jane", "Doe"));
+
+        // Act
+        loadIndex();
+
+        // Assert
+        List<UserSearchResult> results = searchIndex.search("jon smiht", null);
+        assertEquals("1", results.get(0).getUser().getId());
+        assertEquals("3", searchIndex.search("jane do", 1).get(0).getUser().getId());
+    }
+
+    @Test
+    void publishedChanges_updateTheIndex() {
+        // Arrange
+        mongoTemplate.insert(user("1", "jsmith", "John", "Smith"));
+        loadIndex();
+        User renamed = mongoTemplate.save(user("1", "jsmythe", "Johnny", "Smythe"));
+
+        // Act
+        changeLog.publish(UserChangeType.UPDATED, "1", renamed);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).until(() -> !searchIndex.search("smythe", null).isEmpty());
+        changeLog.publish(UserChangeType.DELETED, "1", null);
+        await().atMost(Duration.ofSeconds(5)).until(() -> searchIndex.search("smythe", null).isEmpty());
+    }
+
+    @Test
+    void publishedChanges_beyondBufferCapacity_areRecoveredByReload() {
+        // Arrange
+        loadIndex();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            User user = mongoTemplate.insert(user("u" + i, "member" + i, "Member", "Number" + i));
+            changeLog.publish(UserChangeType.CREATED, user.getId(), user);
+        }
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).until(() -> searchIndex.search("member", 50).size() == 10);
+    }
+}
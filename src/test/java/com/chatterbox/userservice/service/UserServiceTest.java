@@ -1,8 +1,16 @@
 package com.chatterbox.userservice.service;
 
+import com.chatterbox.userservice.batching.UserInsertBatcher;
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.events.UserChangeType;
 import com.chatterbox.userservice.exception.UserDoesNotExistException;
 import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserTombstone;
+import com.chatterbox.userservice.presence.PresenceBuffer;
 import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.repository.UserTombstoneRepository;
+import com.chatterbox.userservice.rollup.SignupRollups;
 import com.chatterbox.userservice.validator.UserServiceValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +19,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +44,24 @@ import static org.mockito.Mockito.when;
     @Mock
     private UserServiceValidator validator;
 
+    @Mock
+    private UserChangeLog changeLog;
+
+    @Mock
+    private UserTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private UserInsertBatcher insertBatcher;
+
+    @Mock
+    private UserResponseCache responseCache;
+
+    @Mock
+    private PresenceBuffer presenceBuffer;
+
+    @Mock
+    private SignupRollups signupRollups;
+
     @InjectMocks
     private UserService userService;
 
@@ -45,13 +79,24 @@ import static org.mockito.Mockito.when;
 
     @Test
      void registerUser_validUser_success() {
+        // Arrange: the batcher stamps the user when it writes the batch
+        Instant writtenAt = Instant.parse("2025-05-06T12:00:00Z");
+        doAnswer(invocation -> {
+            user.setCreatedAt(writtenAt);
+            user.setUpdatedAt(writtenAt);
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(insertBatcher).insert(eq(user), any(Runnable.class));
+
         // Act
         String result = userService.registerUser(user);
 
         // Assert
         assertEquals(String.format("User registered with id %s, userName %s, firstName %s, lastName %s, and email %s",
                 user.getId(), user.getUserName(), user.getFirstName(), user.getLastName(), user.getEmail()), result);
-        verify(userRepository, times(1)).save(user);
+        verify(insertBatcher, times(1)).insert(eq(user), any(Runnable.class));
+        verify(changeLog).publish(UserChangeType.CREATED, "1", user);
+        verify(signupRollups).registered(writtenAt);
     }
 
     @Test
@@ -62,6 +107,39 @@ import static org.mockito.Mockito.when;
         // Assert
         assertEquals("User details updated", result);
         verify(userRepository, times(1)).save(user);
+        verify(changeLog).publish(UserChangeType.UPDATED, "1", user);
+        verify(responseCache).invalidate("1");
+    }
+
+    @Test
+     void updateUser_keepsCreatedAtOfStoredUser() {
+        // Arrange
+        User stored = new User();
+        stored.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(stored));
+        user.setCreatedAt(Instant.parse("2030-01-01T00:00:00Z"));
+
+        // Act
+        userService.updateUser(user);
+
+        // Assert
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), user.getCreatedAt());
+        assertTrue(user.getUpdatedAt().isAfter(user.getCreatedAt()));
+    }
+
+    @Test
+     void updateUser_keepsLastSeenAtOfStoredUser() {
+        // Arrange
+        User stored = new User();
+        stored.setLastSeenAt(Instant.parse("2024-01-01T00:00:00Z"));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(stored));
+
+        // Act
+        userService.updateUser(user);
+
+        // Assert
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), user.getLastSeenAt());
+        verify(presenceBuffer).mergeInto(user);
     }
 
     @Test
@@ -74,6 +152,7 @@ import static org.mockito.Mockito.when;
 
         // Assert
         assertEquals(user, result);
+        verify(presenceBuffer).mergeInto(user);
     }
 
     @Test
@@ -114,30 +193,51 @@ import static org.mockito.Mockito.when;
         assertEquals("User with userName john_doe not found", exception.getMessage());
     }
 
+    @Test
+     void recordHeartbeat_onlyBuffersTheHeartbeat() {
+        // Act
+        userService.recordHeartbeat(user.getId());
+
+        // Assert
+        verify(validator).validateUserId("1");
+        verify(presenceBuffer).record(eq("1"), any(Instant.class));
+        verifyNoInteractions(userRepository);
+        verifyNoInteractions(changeLog);
+    }
+
     @Test
      void deleteUser_userExists_success() {
         // Arrange
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.softDeleteById(eq(user.getId()), any(Instant.class))).thenReturn(true);
 
         // Act
         String result = userService.deleteUser(user.getId());
 
         // Assert
         assertEquals("User with id 1 is deleted or does not exist", result);
-        verify(userRepository, times(1)).delete(user);
+        verify(userRepository, times(1)).softDeleteById(eq(user.getId()), any(Instant.class));
+        verifyNoMoreInteractions(userRepository); // in particular no hard delete
+        verify(changeLog).publish(UserChangeType.DELETED, "1", null);
+        verify(responseCache).invalidate("1");
+        verify(tombstoneRepository).save(argThat(tombstone -> tombstone.getUserId().equals("1")));
+        verify(signupRollups).deleted(any(Instant.class));
     }
 
     @Test
      void deleteUser_userNotFound_success() {
         // Arrange
-        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        when(userRepository.softDeleteById(eq(user.getId()), any(Instant.class))).thenReturn(false);
 
         // Act
         String result = userService.deleteUser(user.getId());
 
         // Assert
         assertEquals("User with id 1 is deleted or does not exist", result);
-        verify(userRepository, times(0)).delete(user);
+        verify(userRepository, times(1)).softDeleteById(eq(user.getId()), any(Instant.class));
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(tombstoneRepository);
+        verifyNoInteractions(changeLog);
+        verifyNoInteractions(signupRollups);
     }
 
     @Test
@@ -147,7 +247,11 @@ import static org.mockito.Mockito.when;
 
         // Assert
         assertEquals("All users deleted", result);
-        verify(userRepository, times(1)).deleteAll();
+        verify(userRepository, times(1)).truncate();
+        verifyNoMoreInteractions(userRepository);
+        verify(changeLog).publish(UserChangeType.ALL_DELETED, null, null);
+        verify(responseCache).invalidateAll();
+        verify(tombstoneRepository).save(argThat(tombstone -> tombstone.getUserId().equals(UserTombstone.ALL_USERS)));
     }
 
     @Test
@@ -157,7 +261,8 @@ import static org.mockito.Mockito.when;
 
         // Assert
         assertEquals("All users deleted", result);
-        verify(userRepository, times(1)).deleteAll();
+        verify(userRepository, times(1)).truncate();
+        verifyNoMoreInteractions(userRepository);
     }
 }
 
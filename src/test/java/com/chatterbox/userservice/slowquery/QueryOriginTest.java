@@ -0,0 +1,34 @@
+package com.chatterbox.userservice.slowquery;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueryOriginTest {
+
+    @Test
+    void enter_nestsAndRestoresEnclosingOperation() {
+        try (QueryOrigin.Scope outer = QueryOrigin.enter("registerUser")) {
+            try (QueryOrigin.Scope inner = QueryOrigin.enter("getUserByEmail")) {
+                assertEquals("getUserByEmail", QueryOrigin.current());
+            }
+            assertEquals("registerUser", QueryOrigin.current());
+        }
+        assertNull(QueryOrigin.current());
+    }
+
+    @Test
+    void propagate_runsTaskUnderCallersOperationOnAnotherThread() throws Exception {
+        Supplier<String> task;
+        try (QueryOrigin.Scope ignored = QueryOrigin.enter("getAll")) {
+            task = QueryOrigin.propagate(QueryOrigin::current);
+        }
+
+        assertEquals("getAll", CompletableFuture.supplyAsync(task).get());
+        assertNull(CompletableFuture.supplyAsync(QueryOrigin.propagate(QueryOrigin::current)).get());
+    }
+}
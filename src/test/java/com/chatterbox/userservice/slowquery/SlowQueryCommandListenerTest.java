@@ -0,0 +1,133 @@
+package com.chatterbox.userservice.slowquery;
+
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records the queries sent to an in-memory MongoDB server, every one of them counting as slow.
+ */
+class SlowQueryCommandListenerTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private SlowQueryProperties properties;
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ZERO);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        slowQueryLog = new SlowQueryLog(properties, beans.getBeanProvider(UserPartitions.class));
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://" + address.getHostString() + ":" + address.getPort()))
+                .addCommandListener(new SlowQueryCommandListener(slowQueryLog, properties))
+                .build());
+        mongoTemplate = new MongoTemplate(client, "users");
+        beans.addBean("userPartitions", UserPartitions.single(mongoTemplate));
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLog.shutdown();
+        client.close();
+        server.shutdown();
+    }
+
+    private User user(String userName) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setEmail(userName + "@example.com");
+        return user;
+    }
+
+    @Test
+    void queries_areRecordedWithShapeAndOrigin() {
+        // Arrange
+        mongoTemplate.insert(user("jdoe"));
+
+        // Act
+        try (QueryOrigin.Scope ignored = QueryOrigin.enter("getUserByEmail")) {
+            mongoTemplate.findOne(Query.query(Criteria.where("email").is("jdoe@example.com")), User.class);
+            mongoTemplate.findOne(Query.query(Criteria.where("email").is("other@example.com")), User.class);
+        }
+
+        // Assert: the insert is no query, both finds share a shape
+        List<SlowQueryEntry> entries = slowQueryLog.getEntries();
+        assertEquals(1, entries.size());
+        SlowQueryEntry find = entries.get(0);
+        assertEquals("users", find.getDatabase());
+        assertEquals("users_collection", find.getCollection());
+        assertEquals("find", find.getCommand());
+        assertEquals("{\"filter\": {\"email\": \"?\"}}", find.getShape());
+        assertEquals(2, find.getCount());
+        assertEquals(List.of("getUserByEmail"), find.getOperations());
+    }
+
+    @Test
+    void newShape_isExplainedInTheBackground() {
+        // Act
+        mongoTemplate.find(Query.query(Criteria.where("userName").is("jdoe")), User.class);
+
+        // Assert: the in-memory server may not support explain, but the attempt completes either way
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> slowQueryLog.getEntries().get(0).getExplainState() != ExplainState.PENDING);
+        SlowQueryEntry entry = slowQueryLog.getEntries().get(0);
+        assertTrue(entry.getExplainState() == ExplainState.DONE || entry.getMessage() != null, entry.toString());
+    }
+
+    @Test
+    void queriesBelowThreshold_areNotRecorded() {
+        // Arrange
+        properties.setThreshold(Duration.ofMinutes(1));
+
+        // Act
+        mongoTemplate.find(Query.query(Criteria.where("userName").is("jdoe")), User.class);
+        mongoTemplate.count(new Query(), User.class);
+
+        // Assert
+        assertEquals(List.of(), slowQueryLog.getEntries());
+    }
+
+    @Test
+    void shapeDocumentOf_sharesNothingWithTheCommand() {
+        // Arrange
+        BsonDocument command = BsonDocument.parse("{find: 'users_collection', $db: 'users', lsid: {id: 1},"
+                + " filter: {email: 'jdoe@example.com'}, sort: {userName: 1}}");
+
+        // Act
+        BsonDocument shape = SlowQueryLog.shapeDocumentOf("find", command);
+        command.getDocument("filter").put("email", new BsonString("changed"));
+        command.getDocument("sort").put("userName", new BsonInt32(-1));
+
+        // Assert
+        assertEquals(BsonDocument.parse("{filter: {email: '?'}, sort: {userName: 1}}"), shape);
+    }
+}
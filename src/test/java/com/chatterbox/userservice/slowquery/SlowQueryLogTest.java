@@ -0,0 +1,157 @@
+package com.chatterbox.userservice.slowquery;
+
+import com.chatterbox.userservice.partition.UserPartitions;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowQueryLogTest {
+
+    private SlowQueryProperties properties;
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SlowQueryProperties();
+        properties.setExplain(false);
+        slowQueryLog = new SlowQueryLog(properties,
+                new StaticListableBeanFactory().getBeanProvider(UserPartitions.class));
+    }
+
+    private static BsonDocument findByEmail(String email) {
+        return BsonDocument.parse("{find: 'users_collection', filter: {email: '" + email + "', deletedAt: null},"
+                + " sort: {_id: 1}, limit: 2}");
+    }
+
+    @Test
+    void shapeOf_replacesValuesAndKeepsSort() {
+        // Act
+        String shape = SlowQueryLog.shapeOf("find", findByEmail("jdoe@example.com"));
+
+        // Assert
+        assertEquals("{\"filter\": {\"email\": \"?\", \"deletedAt\": \"?\"}, \"sort\": {\"_id\": 1}}", shape);
+    }
+
+    @Test
+    void shapeOf_collapsesInListsAndKeepsFieldReferences() {
+        // Arrange
+        BsonDocument first = BsonDocument.parse("{aggregate: 'users_collection', pipeline: ["
+                + "{$match: {userName: {$in: ['a', 'b', 'c']}}}, {$group: {_id: '$email', n: {$sum: 1}}}]}");
+        BsonDocument second = BsonDocument.parse("{aggregate: 'users_collection', pipeline: ["
+                + "{$match: {userName: {$in: ['d']}}}, {$group: {_id: '$email', n: {$sum: 1}}}]}");
+
+        // Act
+        String shape = SlowQueryLog.shapeOf("aggregate", first);
+
+        // Assert
+        assertEquals(shape, SlowQueryLog.shapeOf("aggregate", second));
+        assertTrue(shape.contains("{\"$in\": [\"?\"]}"), shape);
+        assertTrue(shape.contains("\"_id\": \"$email\""), shape);
+    }
+
+    @Test
+    void shapeOf_usesFirstStatementOfUpdate() {
+        // Arrange
+        BsonDocument update = BsonDocument.parse("{update: 'users_collection', updates: ["
+                + "{q: {_id: 'x', deletedAt: null}, u: {$max: {lastSeenAt: 1}}}]}");
+
+        // Act & Assert
+        assertEquals("{\"q\": {\"_id\": \"?\", \"deletedAt\": \"?\"}}", SlowQueryLog.shapeOf("update", update));
+    }
+
+    @Test
+    void explainedCommand_findsTheFilterOfTheShape() {
+        // Arrange
+        BsonDocument update = BsonDocument.parse("{update: 'users_collection', updates: [{q: {_id: 'a'}, u: {$set: {x: 1}}}]}");
+        BsonDocument aggregate = BsonDocument.parse("{aggregate: 'users_collection', pipeline: ["
+                + "{$match: {deletedAt: null}}, {$sort: {createdAt: -1}}, {$limit: 10}], cursor: {}}");
+
+        // Act
+        BsonDocument find = SlowQueryLog.explainedCommand("find", "users_collection",
+                SlowQueryLog.shapeDocumentOf("find", findByEmail("jdoe@example.com")));
+        BsonDocument updateFind = SlowQueryLog.explainedCommand("update", "users_collection",
+                SlowQueryLog.shapeDocumentOf("update", update));
+        BsonDocument pipeline = SlowQueryLog.explainedCommand("aggregate", "users_collection",
+                SlowQueryLog.shapeDocumentOf("aggregate", aggregate));
+
+        // Assert
+        assertEquals(BsonDocument.parse("{find: 'users_collection', filter: {email: '?', deletedAt: '?'},"
+                + " sort: {_id: 1}}"), find);
+        assertEquals(BsonDocument.parse("{find: 'users_collection', filter: {_id: '?'}}"), updateFind);
+        assertEquals(BsonDocument.parse("{aggregate: 'users_collection', pipeline: [{$match: {deletedAt: '?'}},"
+                + " {$sort: {createdAt: -1}}, {$limit: 10}], cursor: {}}"), pipeline);
+    }
+
+    @Test
+    void planStages_listsWinningPlanFromTheTop() {
+        // Arrange
+        BsonDocument indexed = BsonDocument.parse("{queryPlanner: {winningPlan: {stage: 'FETCH',"
+                + " inputStage: {stage: 'IXSCAN', indexName: 'email'}}, rejectedPlans: [{stage: 'COLLSCAN'}]}}");
+        BsonDocument scanned = BsonDocument.parse("{queryPlanner: {winningPlan: {queryPlan: {stage: 'LIMIT',"
+                + " inputStage: {stage: 'COLLSCAN', direction: 'forward'}}}}}");
+
+        // Act & Assert
+        assertEquals(List.of("FETCH", "IXSCAN email"), SlowQueryLog.planStages(indexed));
+        assertEquals(List.of("LIMIT", "COLLSCAN"), SlowQueryLog.planStages(scanned));
+        assertEquals(List.of(), SlowQueryLog.planStages(new BsonDocument()));
+    }
+
+    @Test
+    void record_groupsQueriesByShape() {
+        // Act
+        slowQueryLog.record("users", "find", findByEmail("a@example.com"), "getUserByEmail", Duration.ofMillis(120));
+        slowQueryLog.record("users", "find", findByEmail("b@example.com"), "registerUser", Duration.ofMillis(300));
+        slowQueryLog.record("users", "count", BsonDocument.parse("{count: 'users_collection', query: {}}"),
+                null, Duration.ofMillis(150));
+
+        // Assert
+        List<SlowQueryEntry> entries = slowQueryLog.getEntries();
+        assertEquals(2, entries.size());
+        SlowQueryEntry find = entries.get(0);
+        assertEquals("find", find.getCommand());
+        assertEquals("users_collection", find.getCollection());
+        assertEquals(2, find.getCount());
+        assertEquals(210.0, find.getAverageMillis(), 0.001);
+        assertEquals(300.0, find.getMaxMillis(), 0.001);
+        assertEquals(List.of("getUserByEmail", "registerUser"), find.getOperations());
+        assertEquals(ExplainState.SKIPPED, find.getExplainState());
+        assertFalse(find.isCollectionScan());
+        assertEquals(List.of(), entries.get(1).getOperations());
+    }
+
+    @Test
+    void record_beyondMaxShapes_dropsNewShapes() {
+        // Arrange
+        properties.setMaxShapes(1);
+        slowQueryLog.record("users", "find", findByEmail("a@example.com"), null, Duration.ofMillis(120));
+
+        // Act
+        slowQueryLog.record("users", "count", BsonDocument.parse("{count: 'users_collection', query: {}}"),
+                null, Duration.ofMillis(150));
+        slowQueryLog.record("users", "find", findByEmail("b@example.com"), null, Duration.ofMillis(120));
+
+        // Assert
+        assertEquals(1, slowQueryLog.getEntries().size());
+        assertEquals(2, slowQueryLog.getEntries().get(0).getCount());
+    }
+
+    @Test
+    void clear_forgetsEveryShape() {
+        // Arrange
+        slowQueryLog.record("users", "find", findByEmail("a@example.com"), null, Duration.ofMillis(120));
+
+        // Act
+        slowQueryLog.clear();
+
+        // Assert
+        assertEquals(List.of(), slowQueryLog.getEntries());
+    }
+}
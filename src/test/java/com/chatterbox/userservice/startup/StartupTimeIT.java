@@ -0,0 +1,86 @@
+package com.chatterbox.userservice.startup;
+
+import com.chatterbox.userservice.ChatterboxUserServiceApplication;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs in the `fast-startup` profile only. Launches the AOT-processed application in a fresh JVM
+ * and measures the wall-clock time from process launch until the first HTTP response arrives.
+ * The application logs its own view of the same figure (see StartupTimingFilter) to
+ * target/startup-time-it.log.
+ */
+class StartupTimeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        // Arrange
+        int port = freePort();
+        String classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !entry.endsWith("test-classes"))
+                .collect(Collectors.joining(File.pathSeparator));
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Dspring.aot.enabled=true",
+                "-cp", classpath,
+                ChatterboxUserServiceApplication.class.getName(),
+                "--server.port=" + port);
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/startup-probe")).build();
+
+        // Act
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/startup-time-it.log"))
+                .start();
+        try {
+            HttpResponse<String> response = awaitFirstResponse(client, request, process);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Assert
+            assertEquals(404, response.statusCode());
+            System.out.println("Time to first request (process launch -> first response): " + elapsedMillis + " ms");
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static HttpResponse<String> awaitFirstResponse(HttpClient client, HttpRequest request, Process process)
+            throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "Application exited during startup, see target/startup-time-it.log");
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (ConnectException notListeningYet) {
+                Thread.sleep(10);
+            }
+        }
+        throw new AssertionError("Application did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.chatterbox.userservice.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupTimingFilterTest {
+
+    @Test
+    void doFilter_marksFirstRequestServed() throws Exception {
+        // Arrange
+        StartupTimingFilter filter = new StartupTimingFilter();
+        assertFalse(filter.isFirstRequestServed());
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertTrue(filter.isFirstRequestServed());
+    }
+}
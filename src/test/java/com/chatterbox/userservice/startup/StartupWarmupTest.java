@@ -0,0 +1,200 @@
+package com.chatterbox.userservice.startup;
+
+import com.chatterbox.userservice.cache.ResponseCacheProperties;
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.controller.UserController;
+import com.chatterbox.userservice.exception.UserValidationException;
+import com.chatterbox.userservice.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the startup warmup against an in-memory MongoDB server and a mocked controller.
+ */
+class StartupWarmupTest {
+
+    private final UserController userController = mock(UserController.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final UserResponseCache responseCache = new UserResponseCache(objectMapper, new ResponseCacheProperties());
+    private final WarmupProperties properties = new WarmupProperties();
+    private MongoServer server;
+    private InetSocketAddress address;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private StartupWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        properties.setPasses(10);
+        properties.setPoolConnections(3);
+        when(userController.registerUser(any()))
+                .thenThrow(new UserValidationException(Map.of("email", "The field email must be a valid email address.")));
+        when(userController.getUserByUserName(anyString())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setUserName(invocation.getArgument(0));
+            return ResponseEntity.ok(user);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (warmup != null) {
+            warmup.shutdown();
+        }
+        client.close();
+        server.shutdown();
+    }
+
+    private void user(String userName, Instant updatedAt, Instant deletedAt) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setEmail(userName + "@example.com");
+        user.setUpdatedAt(updatedAt);
+        user.setDeletedAt(deletedAt);
+        mongoTemplate.insert(user);
+    }
+
+    private StartupWarmup start(MongoTemplate template) {
+        warmup = new StartupWarmup(userController, template, objectMapper, responseCache, properties);
+        warmup.onApplicationReady();
+        return warmup;
+    }
+
+    @Test
+    void isComplete_beforeApplicationReady_returnsFalse() {
+        // Arrange
+        warmup = new StartupWarmup(userController, mongoTemplate, objectMapper, responseCache, properties);
+
+        // Act & Assert
+        assertFalse(warmup.isComplete());
+    }
+
+    @Test
+    void warmup_preloadsTheMostRecentlyUpdatedLiveUsers_andRunsEveryPass() {
+        // Arrange
+        Instant now = Instant.now();
+        user("oldest", now.minusSeconds(300), null);
+        user("newest", now.minusSeconds(10), null);
+        user("recent", now.minusSeconds(60), null);
+        user("deleted", now, now);
+        properties.setPreloadUsers(2);
+
+        // Act
+        start(mongoTemplate);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10)).until(warmup::isFinished);
+        assertTrue(warmup.isComplete());
+        assertEquals("DONE", warmup.getPhase());
+        assertEquals(10, warmup.getPassesRun());
+        verify(userController, times(10)).registerUser(any());
+        verify(userController, times(6)).getUserByUserName("newest"); // 1 preload + 5 of the 10 passes
+        verify(userController, times(6)).getUserByUserName("recent");
+        verify(userController, never()).getUserByUserName("oldest");
+        verify(userController, never()).getUserByUserName("deleted");
+    }
+
+    @Test
+    void warmup_withoutUsers_looksUpTheSyntheticUser() {
+        // Act
+        start(mongoTemplate);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10)).until(warmup::isFinished);
+        verify(userController, times(10)).getUserByUserName(StartupWarmup.SYNTHETIC_USER_NAME);
+    }
+
+    @Test
+    void warmup_whenMongoIsUnreachable_runsOnlyTheInMemoryPasses() {
+        // Arrange
+        server.shutdownNow();
+        MongoClient unreachable = MongoClients.create(
+                "mongodb://" + address.getHostString() + ":" + address.getPort() + "/?serverSelectionTimeoutMS=200");
+
+        try {
+            // Act
+            start(new MongoTemplate(unreachable, "users"));
+
+            // Assert
+            await().atMost(Duration.ofSeconds(10)).until(warmup::isFinished);
+            assertEquals("DONE", warmup.getPhase());
+            verify(userController, times(10)).registerUser(any());
+            verify(userController, never()).getUserByUserName(anyString());
+        } finally {
+            unreachable.close();
+        }
+    }
+
+    @Test
+    void isComplete_whenTheBudgetRunsOut_returnsTrueBeforeTheWarmupFinishes() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new UserValidationException(Map.of("email", "invalid"));
+        }).when(userController).registerUser(any());
+        properties.setBudget(Duration.ofMillis(300));
+
+        try {
+            // Act
+            start(mongoTemplate);
+
+            // Assert
+            assertFalse(warmup.isComplete());
+            await().atMost(Duration.ofSeconds(5)).until(warmup::isComplete);
+            assertFalse(warmup.isFinished());
+        } finally {
+            release.countDown();
+        }
+        await().atMost(Duration.ofSeconds(5)).until(warmup::isFinished);
+        assertEquals("BUDGET_EXCEEDED", warmup.getPhase());
+        assertEquals(1, warmup.getPassesRun());
+    }
+
+    @Test
+    void warmup_whenDisabled_isCompleteAtOnce() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act
+        start(mongoTemplate);
+
+        // Assert
+        assertTrue(warmup.isComplete());
+        assertEquals("DISABLED", warmup.getPhase());
+        verify(userController, never()).registerUser(any());
+    }
+}
@@ -0,0 +1,41 @@
+package com.chatterbox.userservice.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WarmupHealthIndicatorTest {
+
+    private final StartupWarmup warmup = mock(StartupWarmup.class);
+    private final WarmupHealthIndicator indicator = new WarmupHealthIndicator(warmup);
+
+    @Test
+    void health_whileWarmingUp_isOutOfService() {
+        // Arrange
+        when(warmup.isComplete()).thenReturn(false);
+        when(warmup.getPhase()).thenReturn("SYNTHETIC_PASSES");
+        when(warmup.getPassesRun()).thenReturn(42);
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("SYNTHETIC_PASSES", health.getDetails().get("phase"));
+        assertEquals(42, health.getDetails().get("passes"));
+    }
+
+    @Test
+    void health_onceComplete_isUp() {
+        // Arrange
+        when(warmup.isComplete()).thenReturn(true);
+        when(warmup.getPhase()).thenReturn("DONE");
+
+        // Act & Assert
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+}
@@ -0,0 +1,91 @@
+package com.chatterbox.userservice.stats;
+
+import com.chatterbox.userservice.exception.ServiceUnavailableException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Computes user statistics against an in-memory MongoDB server.
+ */
+class UserStatsServiceTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        statsService = new UserStatsService(UserPartitions.single(mongoTemplate), new UserStatsProperties());
+        user("alice", null);
+        user("bob", null);
+        user("carol", null);
+        user("dave", Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        statsService.shutdown();
+        client.close();
+        server.shutdown();
+    }
+
+    private void user(String userName, Instant deletedAt) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setEmail(userName + "@example.com");
+        user.setDeletedAt(deletedAt);
+        mongoTemplate.insert(user);
+    }
+
+    @Test
+    void getStats_beforeFirstRefresh_throwsServiceUnavailable() {
+        assertThrows(ServiceUnavailableException.class, () -> statsService.getStats());
+    }
+
+    @Test
+    void getStats_afterRefresh_returnsCachedCounts() {
+        // Arrange
+        statsService.refresh();
+
+        // Act
+        user("erin", null);
+        UserStats stats = statsService.getStats();
+
+        // Assert: served from memory until the next refresh
+        assertEquals(3, stats.getTotalUsers());
+        assertEquals(1, stats.getPendingPurge());
+        assertFalse(stats.isExact());
+    }
+
+    @Test
+    void countExactly_countsLiveUsers() {
+        // Act
+        UserStats stats = statsService.countExactly();
+
+        // Assert
+        assertEquals(3, stats.getTotalUsers());
+        assertEquals(1, stats.getPendingPurge());
+        assertTrue(stats.isExact());
+    }
+}
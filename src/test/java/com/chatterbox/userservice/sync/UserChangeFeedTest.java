@@ -0,0 +1,188 @@
+package com.chatterbox.userservice.sync;
+
+import com.chatterbox.userservice.batching.InsertBatchingProperties;
+import com.chatterbox.userservice.events.UserChangeType;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.model.UserTombstone;
+import com.chatterbox.userservice.partition.UserPartitions;
+import com.chatterbox.userservice.resilience.ResilienceProperties;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the delta sync feed against an in-memory MongoDB server with a fixed clock.
+ */
+class UserChangeFeedTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-06T12:00:00Z");
+    private static final Instant T0 = NOW.minus(Duration.ofHours(1));
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "users");
+        SyncProperties properties = new SyncProperties();
+        properties.setMaxPageSize(3);
+        changeFeed = new UserChangeFeed(UserPartitions.single(mongoTemplate), properties, properties.getSettleTime(),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    private void user(String id, Instant createdAt, Instant updatedAt) {
+        User user = new User();
+        user.setId(id);
+        user.setUserName("user" + id);
+        user.setFirstName("First");
+        user.setEmail(id + "@example.com");
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(updatedAt);
+        mongoTemplate.insert(user);
+    }
+
+    private static Instant at(int minutes) {
+        return T0.plus(Duration.ofMinutes(minutes));
+    }
+
+    @Test
+    void changesSince_returnsUpsertsAndTombstonesInOrder() {
+        // Arrange
+        user("a", at(-10), at(5));
+        user("b", at(2), at(2));
+        user("old", at(-20), at(-20));
+        mongoTemplate.insert(new UserTombstone("c", at(3)));
+
+        // Act
+        UserChangesPage page = changeFeed.changesSince(T0, null);
+
+        // Assert
+        assertEquals(List.of("b", "c", "a"), page.getChanges().stream().map(UserChange::getUserId).toList());
+        assertEquals(List.of(UserChangeType.CREATED, UserChangeType.DELETED, UserChangeType.UPDATED),
+                page.getChanges().stream().map(UserChange::getType).toList());
+        assertFalse(page.isHasMore());
+        assertEquals(NOW.minusSeconds(1), page.getNextSince());
+    }
+
+    @Test
+    void changesSince_paginatesWithoutSplittingATimestamp() {
+        // Arrange
+        user("1", at(1), at(1));
+        user("2", at(2), at(2));
+        user("3", at(3), at(3));
+        mongoTemplate.insert(new UserTombstone("4", at(3)));
+        user("5", at(4), at(4));
+
+        // Act
+        UserChangesPage first = changeFeed.changesSince(T0, 10);
+        UserChangesPage second = changeFeed.changesSince(first.getNextSince(), 10);
+
+        // Assert
+        assertEquals(List.of("1", "2", "3", "4"), first.getChanges().stream().map(UserChange::getUserId).sorted().toList());
+        assertTrue(first.isHasMore());
+        assertEquals(at(3), first.getNextSince());
+        assertEquals(List.of("5"), second.getChanges().stream().map(UserChange::getUserId).toList());
+        assertFalse(second.isHasMore());
+    }
+
+    @Test
+    void changesSince_holdsBackChangesYoungerThanSettleTime() {
+        // Arrange
+        user("fresh", NOW.minusMillis(500), NOW.minusMillis(500));
+
+        // Act
+        UserChangesPage page = changeFeed.changesSince(T0, null);
+
+        // Assert
+        assertTrue(page.getChanges().isEmpty());
+        assertEquals(NOW.minusSeconds(1), page.getNextSince());
+    }
+
+    @Test
+    void settleTime_isNeverShorterThanTheLongestWrite() {
+        // Arrange
+        SyncProperties properties = new SyncProperties();
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.getDeadlines().getOperations().put("updateUser", Duration.ofSeconds(3));
+        resilience.getDeadlines().getOperations().put("getAll", Duration.ofSeconds(5));
+        InsertBatchingProperties batching = new InsertBatchingProperties();
+
+        // Act
+        Duration derived = UserChangeFeed.settleTime(properties, resilience, batching);
+        properties.setSettleTime(Duration.ofSeconds(10));
+        Duration configured = UserChangeFeed.settleTime(properties, resilience, batching);
+
+        // Assert: reads such as getAll do not count
+        assertEquals(Duration.ofMillis(3_002), derived);
+        assertEquals(Duration.ofSeconds(10), configured);
+    }
+
+    @Test
+    void changesSince_lateCommittingInsert_isNotSkipped() {
+        // Arrange: a registration stamped 1.5 s before the page was read commits only after it
+        SyncProperties properties = new SyncProperties();
+        Duration settleTime = UserChangeFeed.settleTime(properties, new ResilienceProperties(),
+                new InsertBatchingProperties());
+        UserChangesPage before = new UserChangeFeed(UserPartitions.single(mongoTemplate), properties, settleTime,
+                Clock.fixed(NOW, ZoneOffset.UTC)).changesSince(T0, null);
+        user("late", NOW.minusMillis(1_500), NOW.minusMillis(1_500));
+
+        // Act
+        UserChangesPage after = new UserChangeFeed(UserPartitions.single(mongoTemplate), properties, settleTime,
+                Clock.fixed(NOW.plusSeconds(5), ZoneOffset.UTC)).changesSince(before.getNextSince(), null);
+
+        // Assert
+        assertTrue(before.getChanges().isEmpty());
+        assertEquals(List.of("late"), after.getChanges().stream().map(UserChange::getUserId).toList());
+    }
+
+    @Test
+    void changesSince_deleteAll_isReportedAsAllDeleted() {
+        // Arrange
+        mongoTemplate.insert(new UserTombstone(UserTombstone.ALL_USERS, at(1)));
+
+        // Act
+        UserChange change = changeFeed.changesSince(T0, null).getChanges().get(0);
+
+        // Assert
+        assertEquals(UserChangeType.ALL_DELETED, change.getType());
+    }
+
+    @Test
+    void changesSince_beforeTombstoneRetention_requiresFullResync() {
+        // Act
+        UserChangesPage page = changeFeed.changesSince(NOW.minus(Duration.ofDays(31)), null);
+
+        // Assert
+        assertTrue(page.isFullResyncRequired());
+        assertTrue(page.getChanges().isEmpty());
+        assertEquals(NOW.minusSeconds(1), page.getNextSince());
+    }
+}
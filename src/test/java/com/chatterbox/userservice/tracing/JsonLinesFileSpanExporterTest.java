@@ -0,0 +1,58 @@
+package com.chatterbox.userservice.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonLinesFileSpanExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void export_appendsOneJsonLinePerSpan() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("traces/traces.jsonl");
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new JsonLinesFileSpanExporter(file)))
+                .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        // Act
+        Span parent = tracer.spanBuilder("POST /api/users/register").startSpan();
+        try (Scope ignored = parent.makeCurrent()) {
+            tracer.spanBuilder("UserService.registerUser").setAttribute("code.function", "registerUser")
+                    .startSpan().end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.close();
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+        assertEquals("UserService.registerUser", child.get("name").asText());
+        assertEquals("registerUser", child.get("attributes").get("code.function").asText());
+        assertEquals(root.get("span_id").asText(), child.get("parent_span_id").asText());
+        assertEquals(root.get("trace_id").asText(), child.get("trace_id").asText());
+        assertFalse(root.has("parent_span_id"));
+        assertTrue(child.get("durationMicros").isNumber());
+    }
+}
@@ -0,0 +1,86 @@
+package com.chatterbox.userservice.tracing;
+
+import com.chatterbox.userservice.model.User;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Traces commands sent to an in-memory MongoDB server.
+ */
+class MongoTracingCommandListenerTest {
+
+    @RegisterExtension
+    static final OpenTelemetryExtension otel = OpenTelemetryExtension.create();
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        tracer = otel.getOpenTelemetry().getTracer("test");
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://" + address.getHostString() + ":" + address.getPort()))
+                .addCommandListener(new MongoTracingCommandListener(tracer))
+                .build());
+        mongoTemplate = new MongoTemplate(client, "users");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void commands_becomeClientSpansUnderCurrentSpan() {
+        // Arrange
+        User user = new User();
+        user.setUserName("jdoe");
+        Span parent = tracer.spanBuilder("UserService.registerUser").startSpan();
+
+        // Act
+        try (Scope ignored = parent.makeCurrent()) {
+            mongoTemplate.insert(user);
+            mongoTemplate.findAll(User.class);
+        } finally {
+            parent.end();
+        }
+
+        // Assert
+        List<SpanData> commands = otel.getSpans().stream().filter(span -> span.getKind() == SpanKind.CLIENT).toList();
+        assertEquals(List.of("insert users_collection", "find users_collection"),
+                commands.stream().map(SpanData::getName).toList());
+        commands.forEach(span -> {
+            assertEquals(parent.getSpanContext().getSpanId(), span.getParentSpanId());
+            assertEquals("mongodb", span.getAttributes().get(AttributeKey.stringKey("db.system")));
+            assertEquals("users", span.getAttributes().get(AttributeKey.stringKey("db.name")));
+        });
+        assertTrue(commands.stream().noneMatch(span -> span.getAttributes().asMap().toString().contains("jdoe")));
+    }
+}
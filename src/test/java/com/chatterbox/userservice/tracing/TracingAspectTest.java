@@ -0,0 +1,104 @@
+package com.chatterbox.userservice.tracing;
+
+import com.chatterbox.userservice.batching.UserInsertBatcher;
+import com.chatterbox.userservice.cache.UserResponseCache;
+import com.chatterbox.userservice.events.UserChangeLog;
+import com.chatterbox.userservice.exception.UserAlreadyExistsException;
+import com.chatterbox.userservice.model.User;
+import com.chatterbox.userservice.presence.PresenceBuffer;
+import com.chatterbox.userservice.repository.UserRepository;
+import com.chatterbox.userservice.repository.UserTombstoneRepository;
+import com.chatterbox.userservice.rollup.SignupRollups;
+import com.chatterbox.userservice.service.UserService;
+import com.chatterbox.userservice.validator.UserServiceValidator;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TracingAspectTest {
+
+    @RegisterExtension
+    static final OpenTelemetryExtension otel = OpenTelemetryExtension.create();
+
+    private UserRepository userRepository;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        TracingAspect aspect = new TracingAspect(otel.getOpenTelemetry().getTracer("test"));
+        AspectJProxyFactory validatorProxy = new AspectJProxyFactory(new UserServiceValidator());
+        validatorProxy.setProxyTargetClass(true);
+        validatorProxy.addAspect(aspect);
+
+        userRepository = mock(UserRepository.class);
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(new UserService(userRepository,
+                validatorProxy.getProxy(), mock(UserChangeLog.class), mock(UserTombstoneRepository.class),
+                mock(UserInsertBatcher.class), mock(UserResponseCache.class), mock(PresenceBuffer.class),
+                mock(SignupRollups.class)));
+        serviceProxy.setProxyTargetClass(true);
+        serviceProxy.addAspect(aspect);
+        userService = serviceProxy.getProxy();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setUserName("jdoe");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("jdoe@example.com");
+        return user;
+    }
+
+    private Map<String, SpanData> spansByName() {
+        return otel.getSpans().stream().collect(Collectors.toMap(SpanData::getName, Function.identity()));
+    }
+
+    @Test
+    void registerUser_tracesServiceAndEachValidatorCheck() {
+        // Act
+        userService.registerUser(user());
+
+        // Assert
+        Map<String, SpanData> spans = spansByName();
+        SpanData register = spans.get("UserService.registerUser");
+        for (String check : List.of("UserServiceValidator.validateUser",
+                "UserServiceValidator.validateUserUniquenessForRegistration")) {
+            assertEquals(register.getSpanId(), spans.get(check).getParentSpanId(), check);
+            assertEquals(register.getTraceId(), spans.get(check).getTraceId(), check);
+        }
+        assertEquals(StatusCode.UNSET, register.getStatus().getStatusCode());
+    }
+
+    @Test
+    void registerUser_failingCheck_marksSpansAsError() {
+        // Arrange
+        User existing = user();
+        existing.setId("existing-id");
+        when(userRepository.findByUserName("jdoe")).thenReturn(Optional.of(existing));
+
+        // Act
+        assertThrows(UserAlreadyExistsException.class, () -> userService.registerUser(user()));
+
+        // Assert
+        Map<String, SpanData> spans = spansByName();
+        assertEquals(StatusCode.ERROR, spans.get("UserServiceValidator.validateUserUniquenessForRegistration")
+                .getStatus().getStatusCode());
+        assertEquals(StatusCode.ERROR, spans.get("UserService.registerUser").getStatus().getStatusCode());
+        assertEquals(1, spans.get("UserService.registerUser").getEvents().size()); // the recorded exception
+    }
+}
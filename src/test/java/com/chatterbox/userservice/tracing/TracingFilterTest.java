@@ -0,0 +1,83 @@
+package com.chatterbox.userservice.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import jakarta.servlet.FilterChain;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TracingFilterTest {
+
+    @RegisterExtension
+    static final OpenTelemetryExtension otel = OpenTelemetryExtension.create();
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    private TracingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new TracingFilter(otel.getOpenTelemetry().getPropagators(),
+                otel.getOpenTelemetry().getTracer("test"));
+    }
+
+    @Test
+    void request_withTraceparent_continuesCallerTraceAndNamesSpanAfterRoute() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/username/johndoe");
+        request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> loggedTraceId = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            loggedTraceId.set(ThreadContext.get(TracingFilter.TRACE_ID));
+            assertEquals(TRACE_ID, Span.current().getSpanContext().getTraceId());
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/username/{username}");
+            ((MockHttpServletResponse) res).setStatus(404);
+        };
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        SpanData span = otel.getSpans().get(0);
+        assertEquals("GET /api/users/username/{username}", span.getName());
+        assertEquals(SpanKind.SERVER, span.getKind());
+        assertEquals(TRACE_ID, span.getTraceId());
+        assertEquals(PARENT_SPAN_ID, span.getParentSpanId());
+        assertEquals(404L, span.getAttributes().get(AttributeKey.longKey("http.response.status_code")));
+        assertEquals(TRACE_ID, loggedTraceId.get());
+        assertNull(ThreadContext.get(TracingFilter.TRACE_ID));
+    }
+
+    @Test
+    void request_withoutTraceparent_startsNewTraceAndMarksServerErrors() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/register");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(503));
+
+        // Assert
+        SpanData span = otel.getSpans().get(0);
+        assertEquals("POST", span.getName());
+        assertFalse(span.getParentSpanContext().isValid());
+        assertEquals(StatusCode.ERROR, span.getStatus().getStatusCode());
+    }
+}
@@ -2,6 +2,7 @@ package com.chatterbox.userservice.validator;
 
 import com.chatterbox.userservice.exception.MandatoryFieldException;
 import com.chatterbox.userservice.exception.UserAlreadyExistsException;
+import com.chatterbox.userservice.exception.UserValidationException;
 import com.chatterbox.userservice.model.User;
 import com.chatterbox.userservice.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -35,57 +38,66 @@ class UserServiceValidatorTest {
     }
 
     @Test
-    void validateMandatoryFieldsWithBlankFirstNameThrowsException() {
+    void validateUserWithBlankFirstNameThrowsException() {
         // Arrange
+        when(user.getUserName()).thenReturn("username");
         when(user.getFirstName()).thenReturn(null);
-        
+        when(user.getLastName()).thenReturn("lastName");
+        when(user.getEmail()).thenReturn("email@email.com");
+
         // Act
-        MandatoryFieldException exception = assertThrows(MandatoryFieldException.class,
-                () -> validator.validateMandatoryFields(user));
+        UserValidationException exception = assertThrows(UserValidationException.class,
+                () -> validator.validateUser(user));
 
         // Assert
         assertEquals("The field firstName is mandatory and cannot be null or empty.", exception.getMessage());
+        assertEquals(Map.of("firstName", "The field firstName is mandatory and cannot be null or empty."),
+                exception.getFieldErrors());
     }
 
     @Test
-    void validateMandatoryFieldsWithBlankUserNameThrowsException() {
+    void validateUserWithSeveralInvalidFieldsReportsAllOfThem() {
         // Arrange
+        when(user.getUserName()).thenReturn(" ");
         when(user.getFirstName()).thenReturn("firstName");
-        when(user.getUserName()).thenReturn(null);
+        when(user.getLastName()).thenReturn("");
+        when(user.getEmail()).thenReturn("not-an-email");
 
         // Act
-        MandatoryFieldException exception = assertThrows(MandatoryFieldException.class,
-                () -> validator.validateMandatoryFields(user));
+        UserValidationException exception = assertThrows(UserValidationException.class,
+                () -> validator.validateUser(user));
 
         // Assert
-        assertEquals("The field userName is mandatory and cannot be null or empty.", exception.getMessage());
+        assertEquals(List.of("userName", "lastName", "email"), List.copyOf(exception.getFieldErrors().keySet()));
+        assertEquals("The field email must be a valid email address.", exception.getFieldErrors().get("email"));
     }
 
     @Test
-    void validateMandatoryFieldsWithBlankEmailThrowsException() {
+    void validateUserWithValidInputsDoNotThrowException() {
         // Arrange
-        when(user.getFirstName()).thenReturn("firstName");
         when(user.getUserName()).thenReturn("username");
-        when(user.getEmail()).thenReturn(null);
-
-        // Act
-        MandatoryFieldException exception = assertThrows(MandatoryFieldException.class,
-                () -> validator.validateMandatoryFields(user));
+        when(user.getFirstName()).thenReturn("firstName");
+        when(user.getLastName()).thenReturn("lastName");
+        when(user.getEmail()).thenReturn("email@email.com");
 
-        // Assert
-        assertEquals("The field email is mandatory and cannot be null or empty.", exception.getMessage());
+        // Act and Assert
+        assertDoesNotThrow(
+                () -> validator.validateUser(user));
     }
 
     @Test
-    void validateMandatoryFieldsWithValidInputsDoNotThrowException() {
+    void collectErrorsWithBlankEmailReturnsErrorWithoutThrowing() {
         // Arrange
-        when(user.getFirstName()).thenReturn("firstName");
         when(user.getUserName()).thenReturn("username");
-        when(user.getEmail()).thenReturn("email@email.com");
+        when(user.getFirstName()).thenReturn("firstName");
+        when(user.getLastName()).thenReturn("lastName");
+        when(user.getEmail()).thenReturn(null);
 
-        // Act and Assert
-        assertDoesNotThrow(
-                () -> validator.validateMandatoryFields(user));
+        // Act
+        Map<String, String> errors = validator.collectErrors(user);
+
+        // Assert
+        assertEquals(Map.of("email", "The field email is mandatory and cannot be null or empty."), errors);
     }
 
     @Test
@@ -0,0 +1,67 @@
+package com.chatterbox.userservice.validator;
+
+import com.chatterbox.userservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserValidationPipelineTest {
+
+    private final UserValidationPipeline pipeline = new UserValidationPipeline();
+
+    private static User user(String userName, String firstName, String lastName, String email) {
+        User user = new User();
+        user.setUserName(userName);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        return user;
+    }
+
+    @Test
+    void validate_validUser_returnsNoErrors() {
+        // Act
+        Map<String, String> errors = pipeline.validate(user("jdoe", "John", "Doe", "john.doe@example.com"));
+
+        // Assert
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void validate_invalidUser_reportsEveryFailingFieldInDeclarationOrder() {
+        // Act
+        Map<String, String> errors = pipeline.validate(user(null, "", " \t", null));
+
+        // Assert
+        assertEquals(List.of("userName", "firstName", "lastName", "email"), List.copyOf(errors.keySet()));
+        assertEquals("The field lastName is mandatory and cannot be null or empty.", errors.get("lastName"));
+        assertEquals("The field email is mandatory and cannot be null or empty.", errors.get("email"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"plain", "@example.com", "john@", "john@@example.com", "jo hn@example.com",
+            "john@example..com", "john@.example.com", "john@example.com.", "john@exa@mple.com"})
+    void validate_malformedEmail_isRejected(String email) {
+        // Act
+        Map<String, String> errors = pipeline.validate(user("jdoe", "John", "Doe", email));
+
+        // Assert
+        assertEquals(Map.of("email", "The field email must be a valid email address."), errors);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"john@example.com", "john.doe+chat@mail.example.co.uk", "j@localhost"})
+    void validate_wellFormedEmail_isAccepted(String email) {
+        // Act
+        Map<String, String> errors = pipeline.validate(user("jdoe", "John", "Doe", email));
+
+        // Assert
+        assertTrue(errors.isEmpty());
+    }
+}